@@ -34,7 +34,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -50,15 +54,23 @@ import org.apache.fineract.batch.domain.Header;
 import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractIdempotentCommandException;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
@@ -86,6 +98,9 @@ public class BatchApiServiceImpl implements BatchApiService {
     private final ResolutionHelper resolutionHelper;
     private final PlatformTransactionManager transactionManager;
     private final ErrorHandler errorHandler;
+    private final FineractProperties fineractProperties;
+    @Qualifier(TaskExecutorConstant.BATCH_REQUEST_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor batchRequestTaskExecutor;
 
     private final List<BatchFilter> batchFilters;
 
@@ -107,6 +122,84 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(false, requestList, uriInfo);
     }
 
+    /**
+     * Run the independent root requests concurrently, each root step and its dependent requests in separated transactions
+     * of one worker thread
+     *
+     * @param requestList
+     * @param uriInfo
+     * @return
+     */
+    @Override
+    public List<BatchResponse> handleBatchRequestsInParallel(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+        BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+        final List<BatchRequestNode> rootNodes;
+        try {
+            rootNodes = this.resolutionHelper.buildNodesTree(requestList);
+        } catch (BatchReferenceInvalidException e) {
+            return List.of(buildErrorResponse(e));
+        }
+
+        final int workers = Math.min(rootNodes.size(), fineractProperties.getBatch().getParallel().getMaxConcurrencyPerBatch());
+        final Queue<BatchRequestNode> pendingNodes = new ConcurrentLinkedQueue<>(rootNodes);
+        final List<BatchResponse> responseList = Collections.synchronizedList(new ArrayList<>(requestList.size()));
+        if (workers <= 1) {
+            callRootRequests(pendingNodes, responseList, uriInfo);
+        } else {
+            final FineractContext context = ThreadLocalContextUtil.getContext();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>(workers - 1);
+            // the request thread is one of the workers, so the batch still completes when the shared executor is saturated
+            for (int i = 1; i < workers; i++) {
+                try {
+                    futures.add(CompletableFuture.runAsync(new DelegatingSecurityContextRunnable(
+                            () -> callRootRequestsInWorker(pendingNodes, responseList, uriInfo, context)), batchRequestTaskExecutor));
+                } catch (TaskRejectedException e) {
+                    log.debug("Batch request executor is saturated, continuing with {} workers", i);
+                    break;
+                }
+            }
+            RuntimeException failure = null;
+            try {
+                callRootRequests(pendingNodes, responseList, uriInfo);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+        final List<BatchResponse> sortedResponses = new ArrayList<>(responseList);
+        sortedResponses.sort(Comparator.comparing(BatchResponse::getRequestId));
+        return sortedResponses;
+    }
+
+    private void callRootRequestsInWorker(Queue<BatchRequestNode> pendingNodes, List<BatchResponse> responseList, UriInfo uriInfo,
+            FineractContext context) {
+        ThreadLocalContextUtil.init(context);
+        BatchRequestContextHolder.setEnclosingTransaction(Optional.empty());
+        try {
+            callRootRequests(pendingNodes, responseList, uriInfo);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private void callRootRequests(Queue<BatchRequestNode> pendingNodes, List<BatchResponse> responseList, UriInfo uriInfo) {
+        BatchRequestNode rootNode;
+        while ((rootNode = pendingNodes.poll()) != null) {
+            ArrayList<BatchResponse> localResponseList = new ArrayList<>();
+            this.callRequestRecursive(rootNode.getRequest(), rootNode, localResponseList, uriInfo, false);
+            responseList.addAll(localResponseList);
+        }
+    }
+
     /**
      * Run the batch request in transaction
      *
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.event;
+
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published within the transaction of a command once it has been processed successfully, so that data derived from the
+ * changed entities (like a search index) can be refreshed once the transaction commits. Unlike the hook events it is
+ * published for every command, including the ones without a request body such as deletions.
+ */
+@Getter
+public class CommandProcessedEvent extends ApplicationEvent {
+
+    private final String entityName;
+    private final String actionName;
+    private final transient CommandProcessingResult result;
+
+    public CommandProcessedEvent(Object source, String entityName, String actionName, CommandProcessingResult result) {
+        super(source);
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.result = result;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the initial command sources of concurrent commands on a dedicated writer thread, several of them in one
+ * transaction, instead of one REQUIRES_NEW transaction per command on the request thread.
+ *
+ * The request thread waits until its command source is committed, so the idempotency key is claimed in the
+ * m_portfolio_command_source table before the command is processed, exactly like with the synchronous insert: a
+ * duplicate sent to any node is rejected by the unique constraint of the table and nothing is lost when a node dies.
+ * Keys being claimed or processed on this node are additionally kept in memory, so local duplicates are rejected
+ * without a database round trip.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandSourceAuditWriter {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final FineractProperties fineractProperties;
+    private final CommandSourceRepository commandSourceRepository;
+    private final CommandSourceService commandSourceService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, Boolean> inFlightKeys = new ConcurrentHashMap<>();
+    private BlockingQueue<PendingCommandSource> queue;
+    private ExecutorService writerExecutor;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(getAuditProperties().getQueueCapacity());
+        writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "command-source-audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        writerExecutor.execute(this::writeWhileRunning);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writerExecutor == null) {
+            return;
+        }
+        running = false;
+        writerExecutor.shutdown();
+        try {
+            if (!writerExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Command source audit writer did not stop in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public boolean isEnabled() {
+        FineractProperties.FineractCommandSourceAuditProperties auditProperties = getAuditProperties();
+        return auditProperties != null && auditProperties.isAsyncEnabled();
+    }
+
+    /**
+     * Marks the idempotency key as being processed on this node.
+     *
+     * @return false if the key is already being processed
+     */
+    public boolean tryAcquire(CommandWrapper wrapper, String idempotencyKey) {
+        return inFlightKeys.putIfAbsent(key(wrapper.actionName(), wrapper.entityName(), idempotencyKey), Boolean.TRUE) == null;
+    }
+
+    public void release(CommandWrapper wrapper, String idempotencyKey) {
+        inFlightKeys.remove(key(wrapper.actionName(), wrapper.entityName(), idempotencyKey));
+    }
+
+    /**
+     * Writes the initial command source together with those of the other commands waiting for the writer, and returns
+     * once it is committed. Falls back to a synchronous write when the queue is full or the writer is stopped.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException
+     *             if the idempotency key was already claimed
+     */
+    public CommandSource claim(CommandSource commandSource) {
+        PendingCommandSource pending = new PendingCommandSource(ThreadLocalContextUtil.getContext(), commandSource,
+                new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            log.debug("Command source audit queue is not available, writing command source synchronously");
+            return commandSourceService.saveResultNewTransaction(commandSource);
+        }
+        try {
+            return pending.written().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeWhileRunning() {
+        List<PendingCommandSource> batch = new ArrayList<>();
+        while (running) {
+            try {
+                PendingCommandSource first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, getAuditProperties().getBatchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Command source audit writer failed", e);
+            } finally {
+                batch.forEach(pending -> pending.written().completeExceptionally(new IllegalStateException("Command source not saved")));
+                batch.clear();
+            }
+        }
+    }
+
+    void flush() {
+        List<PendingCommandSource> batch = new ArrayList<>();
+        while (queue.drainTo(batch, getAuditProperties().getBatchSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingCommandSource> batch) {
+        Map<String, List<PendingCommandSource>> batchByTenant = batch.stream()
+                .collect(Collectors.groupingBy(pending -> pending.context().getTenantContext().getTenantIdentifier(), LinkedHashMap::new,
+                        Collectors.toList()));
+        batchByTenant.values().forEach(this::writeTenantBatch);
+    }
+
+    private void writeTenantBatch(List<PendingCommandSource> batch) {
+        ThreadLocalContextUtil.init(batch.get(0).context());
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> commandSourceRepository.saveAll(batch.stream().map(PendingCommandSource::commandSource).toList()));
+            batch.forEach(pending -> pending.written().complete(pending.commandSource()));
+        } catch (RuntimeException e) {
+            log.debug("Failed to write {} command sources in one batch, writing them one by one", batch.size(), e);
+            batch.forEach(this::writeSingle);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private void writeSingle(PendingCommandSource pending) {
+        CommandSource commandSource = pending.commandSource();
+        // the identifier may have been assigned by the rolled back batch
+        commandSource.setId(null);
+        try {
+            pending.written().complete(commandSourceService.saveResultNewTransaction(commandSource));
+        } catch (RuntimeException e) {
+            pending.written().completeExceptionally(e);
+        }
+    }
+
+    private String key(String actionName, String entityName, String idempotencyKey) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + actionName + ":" + entityName + ":" + idempotencyKey;
+    }
+
+    private FineractProperties.FineractCommandSourceAuditProperties getAuditProperties() {
+        FineractProperties.FineractCommandSourceProperties commandSourceProperties = fineractProperties.getCommandSource();
+        return commandSourceProperties == null ? null : commandSourceProperties.getAudit();
+    }
+
+    private record PendingCommandSource(FineractContext context, CommandSource commandSource, CompletableFuture<CommandSource> written) {
+    }
+}
@@ -59,13 +59,22 @@ public class CommandSourceService {
         return saveInitial(wrapper, jsonCommand, maker, idempotencyKey);
     }
 
+    /**
+     * Builds the initial command source without persisting it. Used when the command source is written by the
+     * {@link CommandSourceAuditWriter}, in one transaction with those of concurrent commands.
+     */
     @NotNull
-    private CommandSource saveInitial(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
+    public CommandSource prepareInitial(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
         CommandSource initialCommandSource = getInitialCommandSource(wrapper, jsonCommand, maker, idempotencyKey);
         if (initialCommandSource.getCommandJson() == null) {
             initialCommandSource.setCommandJson("{}");
         }
-        return commandSourceRepository.saveAndFlush(initialCommandSource);
+        return initialCommandSource;
+    }
+
+    @NotNull
+    private CommandSource saveInitial(CommandWrapper wrapper, JsonCommand jsonCommand, AppUser maker, String idempotencyKey) {
+        return commandSourceRepository.saveAndFlush(prepareInitial(wrapper, jsonCommand, maker, idempotencyKey));
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
@@ -35,6 +35,7 @@ import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
 import org.apache.fineract.commands.domain.CommandSource;
 import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.commands.event.CommandProcessedEvent;
 import org.apache.fineract.commands.exception.RollbackTransactionAsCommandIsNotApprovedByCheckerException;
 import org.apache.fineract.commands.exception.UnsupportedCommandException;
 import org.apache.fineract.commands.handler.NewCommandSourceHandler;
@@ -57,6 +58,7 @@ import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -78,6 +80,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final IdempotencyKeyGenerator idempotencyKeyGenerator;
     private final CommandSourceService commandSourceService;
+    private final CommandSourceAuditWriter commandSourceAuditWriter;
     private final ErrorHandler errorHandler;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
@@ -87,6 +90,26 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     @Retry(name = "executeCommand", fallbackMethod = "fallbackExecuteCommand")
     public CommandProcessingResult executeCommand(final CommandWrapper wrapper, final JsonCommand command,
             final boolean isApprovedByChecker) {
+        boolean sameTransaction = BatchRequestContextHolder.getEnclosingTransaction().isPresent();
+        boolean isRetry = fineractRequestContextHolder.getAttribute(COMMAND_SOURCE_ID, null) != null;
+        if (sameTransaction || isRetry || command.commandId() != null || !commandSourceAuditWriter.isEnabled()) {
+            return executeCommand(wrapper, command, isApprovedByChecker, null);
+        }
+        // The initial command source is written by the audit writer, together with those of concurrent commands
+        String idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
+        if (!commandSourceAuditWriter.tryAcquire(wrapper, idempotencyKey)) {
+            throw new IdempotentCommandProcessUnderProcessingException(wrapper, idempotencyKey);
+        }
+        try {
+            return executeCommand(wrapper, command, isApprovedByChecker, idempotencyKey);
+        } finally {
+            commandSourceAuditWriter.release(wrapper, idempotencyKey);
+        }
+    }
+
+    private CommandProcessingResult executeCommand(final CommandWrapper wrapper, final JsonCommand command,
+            final boolean isApprovedByChecker, final String batchedIdempotencyKey) {
+        boolean batchedClaim = batchedIdempotencyKey != null;
         // Do not store the idempotency key because of the exception handling
         setIdempotencyKeyStoreFlag(false);
 
@@ -99,15 +122,21 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             commandSource = commandSourceService.getCommandSource(commandId);
             idempotencyKey = commandSource.getIdempotencyKey();
         } else {
-            idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
+            idempotencyKey = batchedClaim ? batchedIdempotencyKey : idempotencyKeyResolver.resolve(wrapper);
+        }
+        if (!batchedClaim) {
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
         }
-        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
 
         boolean sameTransaction = BatchRequestContextHolder.getEnclosingTransaction().isPresent();
         if (commandSource == null) {
             AppUser user = context.authenticatedUser(wrapper);
-            commandSource = sameTransaction ? commandSourceService.saveInitialSameTransaction(wrapper, command, user, idempotencyKey)
-                    : commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+            if (batchedClaim) {
+                commandSource = claimCommandSource(wrapper, command, user, idempotencyKey);
+            } else {
+                commandSource = sameTransaction ? commandSourceService.saveInitialSameTransaction(wrapper, command, user, idempotencyKey)
+                        : commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+            }
             storeCommandIdInContext(commandSource); // Store command id as a request attribute
         }
         setIdempotencyKeyStoreFlag(true);
@@ -153,11 +182,22 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         }
 
         result.setRollbackTransaction(null);
+        applicationContext.publishEvent(new CommandProcessedEvent(this, wrapper.entityName(), wrapper.actionName(), result));
         publishHookEvent(wrapper.entityName(), wrapper.actionName(), command, result);
 
         return result;
     }
 
+    private CommandSource claimCommandSource(CommandWrapper wrapper, JsonCommand command, AppUser user, String idempotencyKey) {
+        try {
+            return commandSourceAuditWriter.claim(commandSourceService.prepareInitial(wrapper, command, user, idempotencyKey));
+        } catch (DataIntegrityViolationException e) {
+            // The key was claimed by another request, possibly on another node
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, false);
+            throw e;
+        }
+    }
+
     private void storeCommandIdInContext(CommandSource savedCommandSource) {
         if (savedCommandSource.getId() == null) {
             throw new IllegalStateException("Command source not saved");
@@ -19,8 +19,10 @@
 package org.apache.fineract.infrastructure.businessdate.service;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +44,7 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
     private final BusinessDateRepository repository;
     private final BusinessDateMapper mapper;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateSnapshotCache businessDateSnapshotCache;
 
     @Override
     public List<BusinessDateData> findAll() {
@@ -73,11 +76,16 @@ public class BusinessDateReadPlatformServiceImpl implements BusinessDateReadPlat
         businessDateMap.put(BusinessDateType.BUSINESS_DATE, tenantDate);
         businessDateMap.put(BusinessDateType.COB_DATE, tenantDate);
         if (configurationDomainService.isBusinessDateEnabled()) {
-            final List<BusinessDateData> businessDateDataList = this.findAll();
-            for (BusinessDateData businessDateData : businessDateDataList) {
-                businessDateMap.put(BusinessDateType.valueOf(businessDateData.getType()), businessDateData.getDate());
-            }
+            businessDateMap.putAll(businessDateSnapshotCache.get(this::findStoredBusinessDates));
         }
         return businessDateMap;
     }
+
+    private Map<BusinessDateType, LocalDate> findStoredBusinessDates() {
+        Map<BusinessDateType, LocalDate> storedBusinessDates = new EnumMap<>(BusinessDateType.class);
+        for (BusinessDate businessDate : repository.findAll()) {
+            storedBusinessDates.put(businessDate.getType(), businessDate.getDate());
+        }
+        return storedBusinessDates;
+    }
 }
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.businessdate.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps a per tenant snapshot of the stored business dates, so resolving the business dates of an incoming request does
+ * not need a database round trip. Snapshots expire after {@code fineract.cache.business-date-ttl-seconds} and are
+ * evicted whenever a business date is changed through {@link BusinessDateWritePlatformService}, on every node when the
+ * multi node cache is active.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessDateSnapshotCache {
+
+    public static final String CACHE_NAME = "businessDateSnapshots";
+
+    @Qualifier("distributedCacheManager")
+    private final CacheManager cacheManager;
+
+    public Map<BusinessDateType, LocalDate> get(Supplier<Map<BusinessDateType, LocalDate>> loader) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return loader.get();
+        }
+        return cache.get(cacheKey(), () -> Map.copyOf(loader.get()));
+    }
+
+    public void evict() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        String cacheKey = cacheKey();
+        cache.evict(cacheKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent request may have reloaded the old dates before the change became visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(cacheKey);
+                }
+            });
+        }
+    }
+
+    private String cacheKey() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+}
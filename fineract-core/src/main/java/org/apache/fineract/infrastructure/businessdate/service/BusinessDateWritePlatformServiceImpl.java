@@ -53,6 +53,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
     private final BusinessDateDataParserAndValidator dataValidator;
     private final BusinessDateRepository repository;
     private final ConfigurationDomainService configurationDomainService;
+    private final BusinessDateSnapshotCache businessDateSnapshotCache;
 
     @Override
     public CommandProcessingResult updateBusinessDate(@NotNull final JsonCommand command) {
@@ -123,6 +124,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         if (businessDate.isEmpty()) {
             BusinessDate newBusinessDate = BusinessDate.instance(businessDateType, newDate);
             repository.save(newBusinessDate);
+            businessDateSnapshotCache.evict();
             changes.put(type, newBusinessDate.getDate());
         } else {
             updateBusinessDate(businessDate.get(), newDate, changes);
@@ -137,6 +139,7 @@ public class BusinessDateWritePlatformServiceImpl implements BusinessDateWritePl
         }
         businessDate.setDate(newDate);
         repository.save(businessDate);
+        businessDateSnapshotCache.evict();
         changes.put(businessDate.getType().name(), newDate);
     }
 }
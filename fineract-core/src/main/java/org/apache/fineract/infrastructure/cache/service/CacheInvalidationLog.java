@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache invalidations published by the nodes of a cluster, stored in the tenant store database so every node sees them
+ * regardless of the tenant the invalidated entries belong to.
+ */
+@Component
+public class CacheInvalidationLog {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CacheInvalidationLog(@Qualifier("hikariTenantDataSource") final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void append(String nodeId, String cacheName, String cacheKey, long createdAt) {
+        jdbcTemplate.update("insert into cache_invalidation (node_id, cache_name, cache_key, created_at) values (?, ?, ?, ?)", nodeId,
+                cacheName, cacheKey, createdAt);
+    }
+
+    public List<CacheInvalidation> findCreatedSince(long createdAt) {
+        return jdbcTemplate.query(
+                "select id, node_id, cache_name, cache_key, created_at from cache_invalidation where created_at >= ? order by id",
+                (rs, rowNum) -> new CacheInvalidation(rs.getLong("id"), rs.getString("node_id"), rs.getString("cache_name"),
+                        rs.getString("cache_key"), rs.getLong("created_at")),
+                createdAt);
+    }
+
+    public List<CacheInvalidation> findCreatedSince(long createdAt, String cacheName) {
+        return jdbcTemplate.query(
+                "select id, node_id, cache_name, cache_key, created_at from cache_invalidation where created_at >= ? and cache_name = ?"
+                        + " order by id",
+                (rs, rowNum) -> new CacheInvalidation(rs.getLong("id"), rs.getString("node_id"), rs.getString("cache_name"),
+                        rs.getString("cache_key"), rs.getLong("created_at")),
+                createdAt, cacheName);
+    }
+
+    public void deleteCreatedBefore(long createdAt) {
+        jdbcTemplate.update("delete from cache_invalidation where created_at < ?", createdAt);
+    }
+
+    /**
+     * An evicted key of a cache, or the whole cache when the key is null.
+     */
+    public record CacheInvalidation(Long id, String nodeId, String cacheName, String cacheKey, long createdAt) {
+    }
+}
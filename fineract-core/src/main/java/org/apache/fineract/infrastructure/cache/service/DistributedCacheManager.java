@@ -0,0 +1,260 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationLog.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near cache for clustered deployments: entries are held in the node local Ehcache caches, while evictions and clears
+ * are published to the {@link CacheInvalidationLog} and applied by every other node on its next poll.
+ *
+ * Puts stay local, a node that misses an entry simply loads it. Evictions of non-string keys, or of keys too long for
+ * the log, are published as a clear of the whole cache.
+ */
+@Slf4j
+@Component(value = "distributedCacheManager")
+@RequiredArgsConstructor
+public class DistributedCacheManager implements CacheManager {
+
+    static final int MAX_KEY_LENGTH = 500;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    @Qualifier("ehCacheManager")
+    private final CacheManager ehCacheManager;
+    private final CacheInvalidationLog invalidationLog;
+    private final FineractProperties fineractProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+    // only accessed from the poller thread
+    private final Map<Long, Long> appliedInvalidations = new HashMap<>();
+    private long lastPolledAt;
+    private volatile ScheduledExecutorService poller;
+
+    @Override
+    public Cache getCache(final String name) {
+        Cache cache = ehCacheManager.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new InvalidationPublishingCache(cache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return ehCacheManager.getCacheNames();
+    }
+
+    public boolean isActive() {
+        return poller != null;
+    }
+
+    /**
+     * Starts publishing evictions and applying the evictions published by other nodes.
+     */
+    public synchronized void activate() {
+        if (poller != null) {
+            return;
+        }
+        long pollIntervalMillis = getInvalidationProperties().getPollIntervalMillis();
+        lastPolledAt = System.currentTimeMillis();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        poller = executor;
+    }
+
+    @PreDestroy
+    public synchronized void deactivate() {
+        ScheduledExecutorService executor = poller;
+        if (executor == null) {
+            return;
+        }
+        poller = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Cache invalidation poller did not stop in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the invalidations published by other nodes since the previous poll. Invalidations are read back for a grace
+     * period, so rows committed out of id order or written by a node with a slightly late clock are not missed.
+     */
+    void poll() {
+        FineractProperties.FineractCacheInvalidationProperties invalidationProperties = getInvalidationProperties();
+        long pollStartedAt = System.currentTimeMillis();
+        long since = lastPolledAt - invalidationProperties.getGracePeriodMillis();
+        try {
+            List<CacheInvalidation> invalidations = invalidationLog.findCreatedSince(since);
+            for (CacheInvalidation invalidation : invalidations) {
+                if (appliedInvalidations.putIfAbsent(invalidation.id(), invalidation.createdAt()) == null
+                        && !nodeId.equals(invalidation.nodeId())) {
+                    apply(invalidation);
+                }
+            }
+            appliedInvalidations.values().removeIf(createdAt -> createdAt < since);
+            lastPolledAt = pollStartedAt;
+            invalidationLog.deleteCreatedBefore(pollStartedAt - TimeUnit.MINUTES.toMillis(invalidationProperties.getRetentionMinutes()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll cache invalidations", e);
+        }
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        Cache cache = ehCacheManager.getCache(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.cacheKey() == null) {
+            cache.clear();
+        } else {
+            cache.evict(invalidation.cacheKey());
+        }
+    }
+
+    private void publish(String cacheName, Object key) {
+        if (!isActive()) {
+            return;
+        }
+        String cacheKey = key instanceof String stringKey && stringKey.length() <= MAX_KEY_LENGTH ? stringKey : null;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(cacheName, cacheKey);
+            return;
+        }
+        // other nodes must not reload the entry before the change is visible to them
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                append(cacheName, cacheKey);
+            }
+        });
+    }
+
+    private void append(String cacheName, String cacheKey) {
+        try {
+            invalidationLog.append(nodeId, cacheName, cacheKey, System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish the invalidation of cache {}, other nodes keep stale entries until they expire", cacheName, e);
+        }
+    }
+
+    private FineractProperties.FineractCacheInvalidationProperties getInvalidationProperties() {
+        return fineractProperties.getCache().getInvalidation();
+    }
+
+    private final class InvalidationPublishingCache implements Cache {
+
+        private final Cache delegate;
+
+        private InvalidationPublishingCache(Cache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return delegate.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+            publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = delegate.evictIfPresent(key);
+            publish(getName(), key);
+            return evicted;
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+            publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = delegate.invalidate();
+            publish(getName(), null);
+            return invalidated;
+        }
+    }
+}
@@ -18,16 +18,23 @@
  */
 package org.apache.fineract.infrastructure.cache.service;
 
+import jakarta.annotation.PreDestroy;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.cache.CacheApiConstants;
 import org.apache.fineract.infrastructure.cache.CacheEnumerations;
 import org.apache.fineract.infrastructure.cache.data.CacheData;
 import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationLog.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -35,29 +42,63 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * At present this implementation of {@link CacheManager} just delegates to the real {@link CacheManager} to use.
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
  * database on startup and allow user to switch implementation through UI/API
+ *
+ * A switch is published to the {@link CacheInvalidationLog}; every node polls the log once the cache type was first
+ * resolved and applies the switches made on other nodes, so all nodes of a cluster run with the same cache type.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 @RequiredArgsConstructor
 @Slf4j
 public class RuntimeDelegatingCacheManager implements CacheManager, InitializingBean {
 
+    static final String CACHE_TYPE_CHANGE = "$cacheType";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     @Qualifier("ehCacheManager")
     private final CacheManager ehCacheManager;
     @Qualifier("defaultCacheManager")
     private final CacheManager defaultCacheManager;
-    private CacheManager currentCacheManager;
+    private final DistributedCacheManager distributedCacheManager;
+    private final CacheInvalidationLog invalidationLog;
+    private final FineractProperties fineractProperties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // only accessed from the poller thread
+    private final Map<Long, Long> appliedCacheTypeChanges = new HashMap<>();
+    private long lastPolledAt;
+    private ScheduledExecutorService cacheTypePoller;
+    private volatile CacheManager currentCacheManager;
 
     @Override
     public void afterPropertiesSet() throws Exception {
         currentCacheManager = defaultCacheManager;
     }
 
+    @PreDestroy
+    public synchronized void stop() {
+        ScheduledExecutorService executor = cacheTypePoller;
+        if (executor == null) {
+            return;
+        }
+        cacheTypePoller = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Cache type poller did not stop in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public Cache getCache(final String name) {
         return currentCacheManager.getCache(name);
@@ -72,21 +113,109 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
 
         final boolean noCacheEnabled = currentCacheManager == defaultCacheManager;
         final boolean ehCacheEnabled = currentCacheManager == ehCacheManager;
+        final boolean distributedCacheEnabled = currentCacheManager == distributedCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehCacheEnabled);
+        final CacheData multiNodeCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
+
+        return Arrays.asList(noCache, singleNodeCache, multiNodeCache);
+    }
+
+    /**
+     * Switches this node to the given cache type and, when the persisted type changes, publishes the switch to the
+     * other nodes once the current transaction commits.
+     */
+    public synchronized Map<String, Object> switchToCache(final CacheType currentCacheType, final CacheType toCacheType) {
+        final Map<String, Object> changes = switchLocally(currentCacheType, toCacheType);
+        if (!changes.isEmpty()) {
+            publish(toCacheType);
+        }
+        startPolling();
+        return changes;
+    }
+
+    /**
+     * Applies the cache type switches published by other nodes since the previous poll, the latest one wins.
+     */
+    void poll() {
+        long pollStartedAt = System.currentTimeMillis();
+        long since = lastPolledAt - fineractProperties.getCache().getInvalidation().getGracePeriodMillis();
+        try {
+            CacheType switchedTo = null;
+            for (CacheInvalidation change : invalidationLog.findCreatedSince(since, CACHE_TYPE_CHANGE)) {
+                if (appliedCacheTypeChanges.putIfAbsent(change.id(), change.createdAt()) == null && !nodeId.equals(change.nodeId())) {
+                    switchedTo = CacheType.valueOf(change.cacheKey());
+                }
+            }
+            appliedCacheTypeChanges.values().removeIf(createdAt -> createdAt < since);
+            lastPolledAt = pollStartedAt;
+            if (switchedTo != null) {
+                synchronized (this) {
+                    log.info("Switching to cache type {} as switched on another node", switchedTo);
+                    switchLocally(getCurrentCacheType(), switchedTo);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll cache type switches", e);
+        }
+    }
 
-        return Arrays.asList(noCache, singleNodeCache);
+    private synchronized void startPolling() {
+        if (cacheTypePoller != null) {
+            return;
+        }
+        long pollIntervalMillis = fineractProperties.getCache().getInvalidation().getPollIntervalMillis();
+        lastPolledAt = System.currentTimeMillis();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-type-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        cacheTypePoller = executor;
+    }
+
+    private void publish(CacheType toCacheType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            appendCacheTypeChange(toCacheType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                appendCacheTypeChange(toCacheType);
+            }
+        });
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    private void appendCacheTypeChange(CacheType toCacheType) {
+        try {
+            invalidationLog.append(nodeId, CACHE_TYPE_CHANGE, toCacheType.name(), System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish the switch to cache type {}, other nodes keep their cache type until restarted", toCacheType, e);
+        }
+    }
+
+    private CacheType getCurrentCacheType() {
+        if (currentCacheManager == ehCacheManager) {
+            return CacheType.SINGLE_NODE;
+        }
+        return currentCacheManager == distributedCacheManager ? CacheType.MULTI_NODE : CacheType.NO_CACHE;
+    }
+
+    private Map<String, Object> switchLocally(final CacheType currentCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
+        final boolean noCacheEnabled = !currentCacheType.isEhcache() && !currentCacheType.isDistributedCache();
+        final boolean ehcacheEnabled = currentCacheType.isEhcache();
+        final boolean distributedCacheEnabled = currentCacheType.isDistributedCache();
 
         switch (toCacheType) {
             case INVALID -> {
@@ -97,6 +226,7 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                 }
                 currentCacheManager = defaultCacheManager;
+                distributedCacheManager.deactivate();
             }
             case SINGLE_NODE -> {
                 if (!ehcacheEnabled) {
@@ -104,12 +234,27 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
                     clearEhCache();
                 }
                 currentCacheManager = ehCacheManager;
+                distributedCacheManager.deactivate();
+
+                if (currentCacheManager.getCacheNames().size() == 0) {
+                    log.error("No caches configured for activated CacheManager {}", currentCacheManager);
+                }
+            }
+            case MULTI_NODE -> {
+                if (!distributedCacheEnabled) {
+                    changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
+                }
+                if (!distributedCacheManager.isActive()) {
+                    // entries cached before joining the cluster may have missed invalidations
+                    clearEhCache();
+                }
+                distributedCacheManager.activate();
+                currentCacheManager = distributedCacheManager;
 
                 if (currentCacheManager.getCacheNames().size() == 0) {
                     log.error("No caches configured for activated CacheManager {}", currentCacheManager);
                 }
             }
-            case MULTI_NODE -> throw new UnsupportedOperationException("Multi node cache is not supported");
         }
 
         return changes;
@@ -70,10 +70,28 @@ public class FineractProperties {
 
     private FineractLoanProperties loan;
 
+    private FineractSavingsProperties savings;
+
+    private FineractStandingInstructionProperties standingInstruction;
+
     private FineractSamplingProperties sampling;
 
     private FineractModulesProperties module;
 
+    private FineractSearchProperties search;
+
+    private FineractBatchProperties batch;
+
+    private FineractCommandSourceProperties commandSource;
+
+    private FineractHookProperties hook;
+
+    private FineractSmsProperties sms;
+
+    private FineractBulkImportProperties bulkImport;
+
+    private FineractCacheProperties cache;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -359,6 +377,18 @@ public class FineractProperties {
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private FineractReportAsyncProperties async;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReportAsyncProperties {
+
+        private int threadPoolSize;
+        private int queueCapacity;
+        private int maxConcurrentRunsPerTenant;
+        private int resultTtlMinutes;
+        private int runTimeoutMinutes;
     }
 
     @Getter
@@ -382,6 +412,18 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private FineractJobClusterProperties cluster;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractJobClusterProperties {
+
+        private boolean enabled;
+        private int leaseTimeoutSeconds;
+        private int heartbeatIntervalSeconds;
+        private int maxConcurrentJobsPerNode;
+        private long loadStaggerMillis;
     }
 
     @Getter
@@ -404,6 +446,16 @@ public class FineractProperties {
     public static class FineractDatabaseProperties {
 
         private String defaultMasterPassword;
+        private FineractReadReplicaProperties readReplica;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private long maxLagSeconds;
+        private long lagCheckIntervalSeconds;
     }
 
     @Getter
@@ -446,6 +498,75 @@ public class FineractProperties {
     public static class FineractLoanProperties {
 
         private FineractTransactionProcessorProperties transactionProcessor;
+        private FineractLoanAccrualProperties accrual;
+        private FineractLoanArrearsAgeingProperties arrearsAgeing;
+        private FineractLoanProvisioningProperties provisioning;
+
+        private FineractLoanDetailsProperties details;
+        private FineractLoanSchedulePreviewProperties schedulePreview;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsProperties {
+
+        private FineractSavingsHotAccountProperties hotAccount;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSavingsHotAccountProperties {
+
+        private boolean enabled;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractStandingInstructionProperties {
+
+        private int chunkSize;
+        private int threadPoolSize;
+        private int batchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanAccrualProperties {
+
+        private int chunkSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanArrearsAgeingProperties {
+
+        private int chunkSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanProvisioningProperties {
+
+        private int chunkSize;
+        private int threadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanDetailsProperties {
+
+        private boolean parallelEnabled;
+        private int threadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractLoanSchedulePreviewProperties {
+
+        private boolean enabled;
+        private long maxEntries;
+        private long resultTtlSeconds;
+        private long inputsTtlSeconds;
     }
 
     @Getter
@@ -483,6 +604,16 @@ public class FineractProperties {
     public static class FineractSecurityBasicAuth {
 
         private boolean enabled;
+        private FineractSecurityBasicAuthCredentialCache credentialCache;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSecurityBasicAuthCredentialCache {
+
+        private boolean enabled;
+        private long ttlSeconds;
+        private long maxEntries;
     }
 
     @Getter
@@ -528,4 +659,135 @@ public class FineractProperties {
     public static class FineractInvestorModuleProperties extends AbstractFineractModuleProperties {
 
     }
+
+    @Getter
+    @Setter
+    public static class FineractBatchProperties {
+
+        private FineractBatchParallelProperties parallel;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBatchParallelProperties {
+
+        private int threadPoolSize;
+        private int queueCapacity;
+        private int maxConcurrencyPerBatch;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCommandSourceProperties {
+
+        private FineractCommandSourceAuditProperties audit;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCommandSourceAuditProperties {
+
+        private boolean asyncEnabled;
+        private int queueCapacity;
+        private int batchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookProperties {
+
+        private FineractHookClientProperties client;
+        private FineractHookDeliveryProperties delivery;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookClientProperties {
+
+        private int maxIdleConnections;
+        private long keepAliveSeconds;
+        private long timeoutSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHookDeliveryProperties {
+
+        private int threadPoolSize;
+        private int queueCapacity;
+        private int maxConcurrentPerHook;
+        private int maxAttempts;
+        private long initialBackoffSeconds;
+        private long maxBackoffSeconds;
+        private int batchSize;
+        private int retentionDays;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSmsProperties {
+
+        private FineractSmsGatewayProperties gateway;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSmsGatewayProperties {
+
+        private int batchSize;
+        private int maxConcurrentPerProvider;
+        private int maxIdleConnections;
+        private long keepAliveSeconds;
+        private long timeoutSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractBulkImportProperties {
+
+        private int threadPoolSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheProperties {
+
+        private int businessDateTtlSeconds;
+        private int unreadNotificationTtlSeconds;
+        private Map<String, FineractCacheSpecProperties> caches = new HashMap<>();
+        private FineractCacheInvalidationProperties invalidation;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheSpecProperties {
+
+        private long heapEntries;
+        private long ttlSeconds;
+        private long offHeapMb;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheInvalidationProperties {
+
+        private long pollIntervalMillis;
+        private long gracePeriodMillis;
+        private int retentionMinutes;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchProperties {
+
+        private FineractSearchIndexProperties index;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchIndexProperties {
+
+        private String backend;
+        private String luceneDirectory;
+    }
 }
@@ -28,4 +28,11 @@ public final class TaskExecutorConstant {
     public static final String CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME = "fineractConfigurableThreadPoolTaskExecutor";
     public static final String EVENT_TASK_EXECUTOR_BEAN_NAME = "externalEventJmsProducerExecutor";
     public static final String LOAN_COB_CATCH_UP_TASK_EXECUTOR_BEAN_NAME = "loanCOBCatchUpThreadPoolTaskExecutor";
+    public static final String REPORT_RUN_TASK_EXECUTOR_BEAN_NAME = "reportRunThreadPoolTaskExecutor";
+    public static final String HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME = "hookDeliveryThreadPoolTaskExecutor";
+    public static final String BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME = "bulkImportThreadPoolTaskExecutor";
+    public static final String LOAN_PROVISIONING_TASK_EXECUTOR_BEAN_NAME = "loanProvisioningThreadPoolTaskExecutor";
+    public static final String STANDING_INSTRUCTION_TASK_EXECUTOR_BEAN_NAME = "standingInstructionThreadPoolTaskExecutor";
+    public static final String LOAN_DETAILS_TASK_EXECUTOR_BEAN_NAME = "loanDetailsThreadPoolTaskExecutor";
+    public static final String BATCH_REQUEST_TASK_EXECUTOR_BEAN_NAME = "batchRequestThreadPoolTaskExecutor";
 }
@@ -19,6 +19,11 @@
 package org.apache.fineract.infrastructure.core.serialization;
 
 import com.google.gson.Gson;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -108,6 +113,47 @@ public class DefaultToApiJsonSerializer<T> implements ToApiJsonSerializer<T> {
         return serializeWithSettings(delegatedSerializer, settings, singleObject);
     }
 
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Collection<? extends T> collection) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, collection.toArray());
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Page<? extends T> page) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings);
+        return streamWithSettings(delegatedSerializer, settings, page);
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Collection<? extends T> collection,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, collection.toArray());
+    }
+
+    @Override
+    public StreamingOutput serializeToStream(final ApiRequestJsonSerializationSettings settings, final Page<? extends T> page,
+            final Set<String> supportedResponseParameters) {
+        final Gson delegatedSerializer = findAppropriateSerializer(settings, supportedResponseParameters);
+        return streamWithSettings(delegatedSerializer, settings, page);
+    }
+
+    private StreamingOutput streamWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings,
+            final Object dataObject) {
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (gson != null) {
+                this.helper.serializeJsonTo(gson, dataObject, writer);
+            } else if (settings.isPrettyPrint()) {
+                this.excludeNothingWithPrettyPrintingOn.serialize(dataObject, writer);
+            } else {
+                this.excludeNothingWithPrettyPrintingOff.serialize(dataObject, writer);
+            }
+            writer.flush();
+        };
+    }
+
     private String serializeWithSettings(final Gson gson, final ApiRequestJsonSerializationSettings settings, final Object[] dataObject) {
         String json = null;
         if (gson != null) {
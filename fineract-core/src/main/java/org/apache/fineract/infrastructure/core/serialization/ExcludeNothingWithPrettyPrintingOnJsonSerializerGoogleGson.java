@@ -43,4 +43,8 @@ public final class ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson {
     public String serialize(final Object result) {
         return this.gson.toJson(result);
     }
+
+    public void serialize(final Object result, final Appendable writer) {
+        this.gson.toJson(result, writer);
+    }
 }
@@ -29,7 +29,9 @@ import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.fineract.infrastructure.core.api.DateAdapter;
 import org.apache.fineract.infrastructure.core.api.ExternalIdAdapter;
 import org.apache.fineract.infrastructure.core.api.JodaDateTimeAdapter;
@@ -50,15 +52,13 @@ import org.springframework.stereotype.Service;
 @Service
 public final class GoogleGsonSerializerHelper {
 
-    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
-        final ExclusionStrategy strategy = new ParameterListInclusionStrategy(responseParameters);
+    private static final int MAX_CACHED_PARTIAL_RESPONSE_SERIALIZERS = 512;
 
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+    // the type adapters of a Gson instance are built reflectively on first use, so instances are reused per field set
+    private final Map<PartialResponseSerializerKey, Gson> partialResponseSerializers = new ConcurrentHashMap<>();
+
+    public Gson createGsonBuilderForPartialResponseFiltering(final boolean prettyPrint, final Set<String> responseParameters) {
+        return partialResponseSerializer(new PartialResponseSerializerKey(true, prettyPrint, Set.copyOf(responseParameters)));
     }
 
     public Gson createGsonBuilderWithParameterExclusionSerializationStrategy(final Set<String> supportedParameters,
@@ -80,14 +80,7 @@ public final class GoogleGsonSerializerHelper {
             parameterNamesToSkip.removeAll(responseParameters);
         }
 
-        final ExclusionStrategy strategy = new ParameterListExclusionStrategy(parameterNamesToSkip);
-
-        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
-        registerTypeAdapters(builder);
-        if (prettyPrint) {
-            builder.setPrettyPrinting();
-        }
-        return builder.create();
+        return partialResponseSerializer(new PartialResponseSerializerKey(false, prettyPrint, Set.copyOf(parameterNamesToSkip)));
     }
 
     public String serializedJsonFrom(final Gson serializer, final Object[] dataObjects) {
@@ -98,6 +91,35 @@ public final class GoogleGsonSerializerHelper {
         return serializer.toJson(singleDataObject);
     }
 
+    public void serializeJsonTo(final Gson serializer, final Object dataObject, final Appendable writer) {
+        serializer.toJson(dataObject, writer);
+    }
+
+    private Gson partialResponseSerializer(final PartialResponseSerializerKey key) {
+        final Gson cached = this.partialResponseSerializers.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Gson gson = createPartialResponseSerializer(key);
+        // the field sets are chosen by the API caller, so the cache is bounded
+        if (this.partialResponseSerializers.size() < MAX_CACHED_PARTIAL_RESPONSE_SERIALIZERS) {
+            this.partialResponseSerializers.putIfAbsent(key, gson);
+        }
+        return gson;
+    }
+
+    private static Gson createPartialResponseSerializer(final PartialResponseSerializerKey key) {
+        final ExclusionStrategy strategy = key.inclusion() ? new ParameterListInclusionStrategy(key.parameterNames())
+                : new ParameterListExclusionStrategy(key.parameterNames());
+
+        final GsonBuilder builder = new GsonBuilder().addSerializationExclusionStrategy(strategy);
+        registerTypeAdapters(builder);
+        if (key.prettyPrint()) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
+    }
+
     public static Gson createSimpleGson() {
         return createGsonBuilder().create();
     }
@@ -126,4 +148,7 @@ public final class GoogleGsonSerializerHelper {
         builder.registerTypeAdapter(OffsetDateTime.class, new OffsetDateTimeAdapter());
         builder.registerTypeAdapter(ExternalId.class, new ExternalIdAdapter());
     }
+
+    private record PartialResponseSerializerKey(boolean inclusion, boolean prettyPrint, Set<String> parameterNames) {
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.core.serialization;
 
+import jakarta.ws.rs.core.StreamingOutput;
 import java.util.Collection;
 import java.util.Set;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -46,4 +47,16 @@ public interface ToApiJsonSerializer<T> {
     String serialize(ApiRequestJsonSerializationSettings settings, T single, Set<String> supportedResponseParameters);
 
     String serialize(ApiRequestJsonSerializationSettings settings, Page<T> singleObject, Set<String> supportedResponseParameters);
+
+    // Streaming variants write the JSON straight to the response instead of building it as a String first, meant for
+    // large list responses. Unsupported partial response parameters are still reported before anything is written.
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Collection<? extends T> collection);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Page<? extends T> page);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Collection<? extends T> collection,
+            Set<String> supportedResponseParameters);
+
+    StreamingOutput serializeToStream(ApiRequestJsonSerializationSettings settings, Page<? extends T> page,
+            Set<String> supportedResponseParameters);
 }
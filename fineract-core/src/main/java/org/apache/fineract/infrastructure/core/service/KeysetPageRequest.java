@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * Keyset pagination of a list query: the page is ordered by a sort column and the id as tie breaker, and continues after
+ * the {@link PageCursor} of the previous page instead of skipping an offset. Sort columns should be not null, records
+ * with a null sort key are not reachable through a cursor.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetPageRequest {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final String sortColumn;
+    private final String idColumn;
+    private final boolean descending;
+    private final PageCursor cursor;
+    private final int limit;
+    private final TotalCountMode totalCountMode;
+
+    /**
+     * Creates the keyset page request of a list query.
+     *
+     * @param searchParameters
+     *            request parameters with {@link SearchParameters#isCursorRequested()}
+     * @param idColumn
+     *            unique id column used as tie breaker, e.g. {@code l.id}
+     * @param sortColumns
+     *            the orderBy values supported for keyset pagination and their sort columns
+     * @param defaultSortColumn
+     *            sort column when no orderBy is requested
+     */
+    public static KeysetPageRequest from(final SearchParameters searchParameters, final String idColumn,
+            final Map<String, String> sortColumns, final String defaultSortColumn) {
+        String sortColumn = defaultSortColumn;
+        if (searchParameters.isOrderByRequested()) {
+            sortColumn = sortColumns.get(searchParameters.getOrderBy());
+            if (sortColumn == null) {
+                throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError(
+                        "validation.msg.orderBy.not.supported.with.cursor", "Ordering by '" + searchParameters.getOrderBy()
+                                + "' is not supported with a cursor, use one of " + String.join(", ", sortColumns.keySet()) + ".",
+                        "orderBy", searchParameters.getOrderBy())));
+            }
+        }
+        final boolean descending = "desc".equalsIgnoreCase(StringUtils.trim(searchParameters.getSortOrder()));
+        final PageCursor cursor = StringUtils.isBlank(searchParameters.getCursor()) ? null
+                : PageCursor.decode(searchParameters.getCursor(), sortColumn);
+        final int limit = searchParameters.isLimited() ? Math.min(searchParameters.getLimit(), MAX_LIMIT) : MAX_LIMIT;
+        return new KeysetPageRequest(sortColumn, idColumn, descending, cursor, limit, searchParameters.getTotalCountMode());
+    }
+
+    public boolean isSortedById() {
+        return this.sortColumn.equals(this.idColumn);
+    }
+}
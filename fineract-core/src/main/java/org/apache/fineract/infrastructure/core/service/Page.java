@@ -23,15 +23,29 @@ import java.util.List;
 
 public class Page<E> implements Serializable {
 
-    private final int totalFilteredRecords;
+    private final Integer totalFilteredRecords;
     private final List<E> pageItems;
+    private final String nextCursor;
 
     public Page(final List<E> pageItems, final int totalFilteredRecords) {
+        this(pageItems, Integer.valueOf(totalFilteredRecords), null);
+    }
+
+    /**
+     * Page of a keyset paginated query.
+     *
+     * @param totalFilteredRecords
+     *            total number of records, null when it was not requested
+     * @param nextCursor
+     *            cursor of the following page, null on the last page
+     */
+    public Page(final List<E> pageItems, final Integer totalFilteredRecords, final String nextCursor) {
         this.pageItems = pageItems;
         this.totalFilteredRecords = totalFilteredRecords;
+        this.nextCursor = nextCursor;
     }
 
-    public int getTotalFilteredRecords() {
+    public Integer getTotalFilteredRecords() {
         return this.totalFilteredRecords;
     }
 
@@ -39,4 +53,8 @@ public class Page<E> implements Serializable {
         return this.pageItems;
     }
 
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
 }
@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * Position of a keyset paginated {@link Page}: the sort key and id of the last record of the previous page. The cursor
+ * is handed out as an opaque, URL safe token which is bound to the sort column it was created for.
+ */
+@Getter
+public final class PageCursor {
+
+    private static final char SEPARATOR = '\n';
+    private static final char TYPE_LONG = 'L';
+    private static final char TYPE_DECIMAL = 'N';
+    private static final char TYPE_DATE = 'D';
+    private static final char TYPE_DATE_TIME = 'T';
+    private static final char TYPE_OFFSET_DATE_TIME = 'Z';
+    private static final char TYPE_STRING = 'S';
+
+    private final String sortColumn;
+    private final Object sortValue;
+    private final Long id;
+
+    public PageCursor(final String sortColumn, final Object sortValue, final Long id) {
+        this.sortColumn = sortColumn;
+        this.sortValue = normalize(sortValue);
+        this.id = id;
+    }
+
+    public String encode() {
+        final String token = sortColumn + SEPARATOR + typeOf(sortValue) + SEPARATOR + id + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()} for the same sort column.
+     *
+     * @throws PlatformApiDataValidationException
+     *             when the token is malformed or belongs to a different ordering
+     */
+    public static PageCursor decode(final String token, final String expectedSortColumn) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final String[] parts = decoded.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4 || parts[1].length() != 1 || !parts[0].equals(expectedSortColumn)) {
+                throw invalidCursor(token, null);
+            }
+            return new PageCursor(parts[0], parse(parts[1].charAt(0), parts[3]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalidCursor(token, e);
+        }
+    }
+
+    private static Object normalize(final Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof BigInteger) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    private static char typeOf(final Object value) {
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        } else if (value instanceof BigDecimal) {
+            return TYPE_DECIMAL;
+        } else if (value instanceof LocalDate) {
+            return TYPE_DATE;
+        } else if (value instanceof LocalDateTime) {
+            return TYPE_DATE_TIME;
+        } else if (value instanceof OffsetDateTime) {
+            return TYPE_OFFSET_DATE_TIME;
+        } else if (value instanceof String) {
+            return TYPE_STRING;
+        }
+        throw new IllegalArgumentException("Sort values of type " + (value == null ? "null" : value.getClass().getName())
+                + " are not supported by keyset pagination");
+    }
+
+    private static Object parse(final char type, final String value) {
+        return switch (type) {
+            case TYPE_LONG -> Long.valueOf(value);
+            case TYPE_DECIMAL -> new BigDecimal(value);
+            case TYPE_DATE -> LocalDate.parse(value);
+            case TYPE_DATE_TIME -> LocalDateTime.parse(value);
+            case TYPE_OFFSET_DATE_TIME -> OffsetDateTime.parse(value);
+            case TYPE_STRING -> value;
+            default -> throw new IllegalArgumentException("Unknown sort value type " + type);
+        };
+    }
+
+    private static PlatformApiDataValidationException invalidCursor(final String token, final Exception cause) {
+        return new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError("validation.msg.cursor.invalid",
+                "The cursor is not valid for the requested ordering, start again without a cursor.", "cursor", token)), cause);
+    }
+}
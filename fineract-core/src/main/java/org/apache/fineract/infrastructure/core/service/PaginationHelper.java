@@ -18,7 +18,14 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
@@ -30,6 +37,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class PaginationHelper {
 
+    private static final String KEYSET_SORT_VALUE = "keyset_sort_value";
+    private static final String KEYSET_ID = "keyset_id";
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final DatabaseTypeResolver databaseTypeResolver;
 
@@ -64,4 +75,102 @@ public class PaginationHelper {
 
         return new Page<>(items, ObjectUtils.defaultIfNull(totalFilteredRecords, 0));
     }
+
+    /**
+     * Fetches a keyset paginated page: the rows following the cursor of the request, ordered by its sort column and id.
+     * One extra row is read to decide whether a next cursor is handed out.
+     *
+     * @param sqlFetchRows
+     *            the list query without ordering and limit, starting with {@code select}
+     * @param hasWhereClause
+     *            whether the query already has a where clause the keyset condition is added to
+     */
+    public <E> Page<E> fetchPage(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final RowMapper<E> rowMapper,
+            final KeysetPageRequest pageRequest, final boolean hasWhereClause) {
+        final String query = sqlFetchRows.trim();
+        if (!query.regionMatches(true, 0, "select ", 0, 7)) {
+            throw new IllegalArgumentException("Keyset pagination requires a select query");
+        }
+        final String sortColumn = pageRequest.getSortColumn();
+        final String idColumn = pageRequest.getIdColumn();
+        final String direction = pageRequest.isDescending() ? " desc" : " asc";
+        final String comparison = pageRequest.isDescending() ? " < ?" : " > ?";
+
+        final StringBuilder sql = new StringBuilder(query.length() + 200);
+        sql.append("select ").append(sortColumn).append(" as ").append(KEYSET_SORT_VALUE).append(", ").append(idColumn).append(" as ")
+                .append(KEYSET_ID).append(", ").append(query.substring(7));
+        final List<Object> params = new ArrayList<>(Arrays.asList(args));
+        final PageCursor cursor = pageRequest.getCursor();
+        if (cursor != null) {
+            sql.append(hasWhereClause ? " and " : " where ");
+            if (pageRequest.isSortedById()) {
+                sql.append(idColumn).append(comparison);
+                params.add(cursor.getId());
+            } else {
+                sql.append("(").append(sortColumn).append(comparison).append(" or (").append(sortColumn).append(" = ? and ")
+                        .append(idColumn).append(comparison).append("))");
+                params.add(cursor.getSortValue());
+                params.add(cursor.getSortValue());
+                params.add(cursor.getId());
+            }
+        }
+        sql.append(" order by ").append(sortColumn).append(direction);
+        if (!pageRequest.isSortedById()) {
+            sql.append(", ").append(idColumn).append(direction);
+        }
+        sql.append(" ").append(sqlGenerator.limit(pageRequest.getLimit() + 1));
+
+        final List<KeysetRow<E>> rows = jt.query(sql.toString(), (rs, rowNum) -> new KeysetRow<>(rowMapper.mapRow(rs, rowNum), rs), // NOSONAR
+                params.toArray());
+
+        String nextCursor = null;
+        final List<E> items = new ArrayList<>(Math.min(rows.size(), pageRequest.getLimit()));
+        for (int i = 0; i < rows.size() && i < pageRequest.getLimit(); i++) {
+            items.add(rows.get(i).item);
+        }
+        if (rows.size() > pageRequest.getLimit()) {
+            final KeysetRow<E> last = rows.get(pageRequest.getLimit() - 1);
+            nextCursor = new PageCursor(sortColumn, last.sortValue, last.id).encode();
+        }
+        return new Page<>(items, countRows(jt, query, args, pageRequest.getTotalCountMode()), nextCursor);
+    }
+
+    private Integer countRows(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args, final TotalCountMode totalCountMode) {
+        if (totalCountMode == null || totalCountMode == TotalCountMode.NONE) {
+            return null;
+        }
+        if (totalCountMode == TotalCountMode.EXACT) {
+            return jt.queryForObject(sqlGenerator.countQueryResult(sqlFetchRows), Integer.class, args); // NOSONAR
+        }
+        return estimateRows(jt, sqlFetchRows, args);
+    }
+
+    /**
+     * Row estimate of the query planner; on MySQL the estimate of the driving table.
+     */
+    private Integer estimateRows(final JdbcTemplate jt, final String sqlFetchRows, final Object[] args) {
+        if (databaseTypeResolver.isMySQL()) {
+            final List<Map<String, Object>> plan = jt.queryForList("EXPLAIN " + sqlFetchRows, args); // NOSONAR
+            if (plan.isEmpty() || !(plan.get(0).get("rows") instanceof Number rows)) {
+                return null;
+            }
+            return rows.intValue();
+        }
+        final String plan = jt.queryForObject("EXPLAIN (FORMAT JSON) " + sqlFetchRows, String.class, args); // NOSONAR
+        final Matcher matcher = PLAN_ROWS.matcher(ObjectUtils.defaultIfNull(plan, ""));
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    private static final class KeysetRow<E> {
+
+        private final E item;
+        private final Object sortValue;
+        private final Long id;
+
+        private KeysetRow(final E item, final ResultSet rs) throws SQLException {
+            this.item = item;
+            this.sortValue = rs.getObject(KEYSET_SORT_VALUE);
+            this.id = rs.getLong(KEYSET_ID);
+        }
+    }
 }
@@ -50,6 +50,10 @@ public final class SearchParameters {
     private final Long categoryId;
     private final boolean isSelfUser;
 
+    // Keyset pagination, see KeysetPageRequest
+    private final String cursor;
+    private final TotalCountMode totalCountMode;
+
     public static SearchParameters from(final String sqlSearch, final Long officeId, final String externalId, final String name,
             final String hierarchy) {
         final Long staffId = null;
@@ -269,6 +273,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.cursor = null;
+        this.totalCountMode = null;
 
     }
 
@@ -298,6 +304,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = status;
+        this.cursor = null;
+        this.totalCountMode = null;
 
     }
 
@@ -327,6 +335,8 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = isSelfUser;
         this.status = null;
+        this.cursor = null;
+        this.totalCountMode = null;
     }
 
     private SearchParameters(final Long provisioningEntryId, final Long officeId, final Long productId, final Long categoryId,
@@ -353,6 +363,8 @@ public final class SearchParameters {
         this.categoryId = categoryId;
         this.isSelfUser = false;
         this.status = null;
+        this.cursor = null;
+        this.totalCountMode = null;
 
     }
 
@@ -382,7 +394,64 @@ public final class SearchParameters {
         this.categoryId = null;
         this.isSelfUser = false;
         this.status = null;
+        this.cursor = null;
+        this.totalCountMode = null;
+
+    }
+
+    private SearchParameters(final SearchParameters searchParameters, final String cursor, final TotalCountMode totalCountMode) {
+        this.sqlSearch = searchParameters.sqlSearch;
+        this.officeId = searchParameters.officeId;
+        this.externalId = searchParameters.externalId;
+        this.name = searchParameters.name;
+        this.hierarchy = searchParameters.hierarchy;
+        this.firstname = searchParameters.firstname;
+        this.lastname = searchParameters.lastname;
+        this.status = searchParameters.status;
+        this.offset = searchParameters.offset;
+        this.limit = searchParameters.limit;
+        this.orderBy = searchParameters.orderBy;
+        this.sortOrder = searchParameters.sortOrder;
+        this.accountNo = searchParameters.accountNo;
+        this.currencyCode = searchParameters.currencyCode;
+        this.staffId = searchParameters.staffId;
+        this.loanId = searchParameters.loanId;
+        this.savingsId = searchParameters.savingsId;
+        this.orphansOnly = searchParameters.orphansOnly;
+        this.provisioningEntryId = searchParameters.provisioningEntryId;
+        this.productId = searchParameters.productId;
+        this.categoryId = searchParameters.categoryId;
+        this.isSelfUser = searchParameters.isSelfUser;
+        this.cursor = cursor;
+        this.totalCountMode = totalCountMode;
+    }
+
+    /**
+     * Switches to keyset pagination when a cursor is passed; an empty cursor requests the first page. Without a cursor the
+     * offset based pagination is used unchanged.
+     *
+     * @param cursor
+     *            the {@link Page#getNextCursor()} of the previous page, empty for the first page
+     * @param totalCount
+     *            how the total number of records is determined, see {@link TotalCountMode}
+     */
+    public SearchParameters withCursor(final String cursor, final String totalCount) {
+        if (cursor == null) {
+            return this;
+        }
+        return new SearchParameters(this, cursor, TotalCountMode.fromString(totalCount));
+    }
+
+    public boolean isCursorRequested() {
+        return this.cursor != null;
+    }
+
+    public String getCursor() {
+        return this.cursor;
+    }
 
+    public TotalCountMode getTotalCountMode() {
+        return this.totalCountMode;
     }
 
     public boolean isOrderByRequested() {
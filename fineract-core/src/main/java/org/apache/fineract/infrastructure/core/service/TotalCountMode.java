@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.List;
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.data.ApiParameterError;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+
+/**
+ * How the total number of records is determined for a keyset paginated {@link Page}.
+ */
+public enum TotalCountMode {
+
+    /**
+     * Counts the matching records, the cost grows with the size of the result.
+     */
+    EXACT,
+    /**
+     * Uses the row estimate of the query planner.
+     */
+    APPROXIMATE,
+    /**
+     * Does not determine the total, the {@link Page#getTotalFilteredRecords()} is omitted.
+     */
+    NONE;
+
+    public static TotalCountMode fromString(final String totalCount) {
+        if (StringUtils.isBlank(totalCount)) {
+            return NONE;
+        }
+        try {
+            return valueOf(totalCount.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new PlatformApiDataValidationException(List.of(ApiParameterError.parameterError("validation.msg.totalCount.not.supported",
+                    "The totalCount value '" + totalCount + "' is not supported, use one of exact, approximate or none.", "totalCount",
+                    totalCount)), e);
+        }
+    }
+}
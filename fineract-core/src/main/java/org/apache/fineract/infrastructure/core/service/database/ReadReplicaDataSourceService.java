@@ -0,0 +1,270 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the read replica connection pools of the tenants and decides whether a read-only unit of work can be served
+ * by the replica of the tenant.
+ *
+ * The replication lag of every replica is sampled in the background once per configured interval, so request threads
+ * never wait for the check. A replica that is not sampled yet, unreachable, not replicating or lagging behind more than
+ * the configured threshold is skipped and the primary database is used instead.
+ */
+@Slf4j
+@Service
+public class ReadReplicaDataSourceService {
+
+    private static final String POSTGRESQL_REPLICATION_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) AS BIGINT) END";
+    private static final String MYSQL_REPLICATION_LAG_QUERY = "SHOW REPLICA STATUS";
+    // MySQL before 8.0.22 and MariaDB before 10.5.1 only know the legacy statement
+    private static final String MYSQL_LEGACY_REPLICATION_LAG_QUERY = "SHOW SLAVE STATUS";
+    private static final int MYSQL_PARSE_ERROR = 1064;
+    private static final int MYSQL_ACCESS_DENIED_ERROR = 1227;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final String[] MYSQL_REPLICATION_LAG_COLUMNS = { "Seconds_Behind_Source", "Seconds_Behind_Master" };
+
+    private final Map<Long, ReplicaPool> replicaPools = new ConcurrentHashMap<>();
+    private final FineractProperties fineractProperties;
+    private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService lagChecker;
+
+    public ReadReplicaDataSourceService(FineractProperties fineractProperties,
+            DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, DatabaseTypeResolver databaseTypeResolver,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.fineractProperties = fineractProperties;
+        this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
+        this.databaseTypeResolver = databaseTypeResolver;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Returns the replica data source of the tenant if replica routing is enabled, the tenant has a read replica
+     * configured and the replica is healthy; otherwise the given primary data source is returned.
+     */
+    public DataSource retrieveDataSource(final FineractPlatformTenantConnection tenantConnection, final DataSource primaryDataSource) {
+        if (!isReplicaRoutingEnabled() || !hasReadReplica(tenantConnection)) {
+            return primaryDataSource;
+        }
+        final ReplicaPool replicaPool = replicaPools.computeIfAbsent(tenantConnection.getConnectionId(),
+                key -> createReplicaPool(tenantConnection));
+        if (replicaPool.isUsable(getReadReplicaProperties().getMaxLagSeconds())) {
+            replicaPool.replicaCounter.increment();
+            return replicaPool.dataSource;
+        }
+        replicaPool.fallbackCounter.increment();
+        return primaryDataSource;
+    }
+
+    private boolean isReplicaRoutingEnabled() {
+        FineractProperties.FineractReadReplicaProperties readReplicaProperties = getReadReplicaProperties();
+        // in read-only mode the tenant data source already points to the read-only schema
+        return readReplicaProperties != null && readReplicaProperties.isEnabled() && !fineractProperties.getMode().isReadOnlyMode();
+    }
+
+    private boolean hasReadReplica(final FineractPlatformTenantConnection tenantConnection) {
+        return StringUtils.isNotBlank(tenantConnection.getReadOnlySchemaServer());
+    }
+
+    private FineractProperties.FineractReadReplicaProperties getReadReplicaProperties() {
+        return fineractProperties.getDatabase().getReadReplica();
+    }
+
+    private ReplicaPool createReplicaPool(final FineractPlatformTenantConnection tenantConnection) {
+        final DataSource dataSource = dataSourcePerTenantServiceFactory.createNewReplicaDataSourceFor(tenantConnection);
+        final ReplicaPool replicaPool = new ReplicaPool(dataSource,
+                Counter.builder("fineract.datasource.replica.routing").tag("connection", String.valueOf(tenantConnection.getConnectionId()))
+                        .tag("target", "replica").description("Read-only units of work routed to the read replica").register(meterRegistry),
+                Counter.builder("fineract.datasource.replica.routing").tag("connection", String.valueOf(tenantConnection.getConnectionId()))
+                        .tag("target", "primary").description("Read-only units of work routed to the primary database")
+                        .register(meterRegistry));
+        Gauge.builder("fineract.datasource.replica.lag", replicaPool, ReplicaPool::getLagSeconds)
+                .tag("connection", String.valueOf(tenantConnection.getConnectionId())).baseUnit("seconds")
+                .description("Last sampled replication lag of the read replica, -1 if unavailable").register(meterRegistry);
+        log.info("Read replica pool created for tenant connection {}", tenantConnection.getConnectionId());
+        startLagChecker().execute(() -> refreshReplicationLag(tenantConnection.getConnectionId(), replicaPool));
+        return replicaPool;
+    }
+
+    private synchronized ScheduledExecutorService startLagChecker() {
+        if (lagChecker == null) {
+            final long checkInterval = getReadReplicaProperties().getLagCheckIntervalSeconds();
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "read-replica-lag-checker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::refreshReplicationLag, checkInterval, checkInterval, TimeUnit.SECONDS);
+        }
+        return lagChecker;
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (this) {
+            if (lagChecker != null) {
+                lagChecker.shutdown();
+                try {
+                    if (!lagChecker.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                        log.warn("Read replica lag checker did not stop in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                lagChecker = null;
+            }
+        }
+        replicaPools.forEach((connectionId, replicaPool) -> {
+            if (replicaPool.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Unable to close the read replica pool of tenant connection {}", connectionId, e);
+                }
+            }
+        });
+        replicaPools.clear();
+    }
+
+    void refreshReplicationLag() {
+        replicaPools.forEach(this::refreshReplicationLag);
+    }
+
+    private void refreshReplicationLag(final Long connectionId, final ReplicaPool replicaPool) {
+        final boolean wasUsable = replicaPool.isUsable(getReadReplicaProperties().getMaxLagSeconds());
+        try (Connection connection = replicaPool.dataSource.getConnection()) {
+            replicaPool.lagSeconds = readReplicationLag(connection, replicaPool);
+            replicaPool.unavailableReason = null;
+        } catch (SQLException | RuntimeException e) {
+            replicaPool.lagSeconds = -1L;
+            final String reason = describeFailure(e);
+            // failures are logged when they start or change, not on every check
+            if (!reason.equals(replicaPool.unavailableReason)) {
+                log.error("Read replica of tenant connection {} is not usable, read-only traffic falls back to the primary database: {}",
+                        connectionId, reason);
+            }
+            replicaPool.unavailableReason = reason;
+            return;
+        }
+        final boolean usable = replicaPool.isUsable(getReadReplicaProperties().getMaxLagSeconds());
+        if (usable && !wasUsable) {
+            log.info("Read replica of tenant connection {} is used again, replication lag is {} seconds", connectionId,
+                    replicaPool.lagSeconds);
+        } else if (!usable && wasUsable) {
+            log.warn("Read replica of tenant connection {} lags {} seconds behind, read-only traffic falls back to the primary database",
+                    connectionId, replicaPool.lagSeconds);
+        }
+    }
+
+    private String describeFailure(final Exception e) {
+        if (e instanceof SQLException sqlException && sqlException.getErrorCode() == MYSQL_ACCESS_DENIED_ERROR) {
+            return "the replica user needs the REPLICATION CLIENT privilege (SLAVE MONITOR on MariaDB) to report the replication lag: "
+                    + e.getMessage();
+        }
+        return String.valueOf(e.getMessage());
+    }
+
+    private long readReplicationLag(final Connection connection, final ReplicaPool replicaPool) throws SQLException {
+        if (databaseTypeResolver.isPostgreSQL()) {
+            return readReplicationLag(connection, POSTGRESQL_REPLICATION_LAG_QUERY, true);
+        }
+        try {
+            return readReplicationLag(connection, replicaPool.mysqlLagQuery, false);
+        } catch (SQLException e) {
+            if (e.getErrorCode() != MYSQL_PARSE_ERROR || MYSQL_LEGACY_REPLICATION_LAG_QUERY.equals(replicaPool.mysqlLagQuery)) {
+                throw e;
+            }
+            replicaPool.mysqlLagQuery = MYSQL_LEGACY_REPLICATION_LAG_QUERY;
+            return readReplicationLag(connection, replicaPool.mysqlLagQuery, false);
+        }
+    }
+
+    private long readReplicationLag(final Connection connection, final String query, final boolean postgreSQL) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(query)) {
+            if (!resultSet.next()) {
+                // the configured read-only schema is not a replica (e.g. a read-only user on the primary)
+                return 0L;
+            }
+            if (postgreSQL) {
+                return resultSet.getLong(1);
+            }
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                if (StringUtils.equalsAnyIgnoreCase(metaData.getColumnLabel(i), MYSQL_REPLICATION_LAG_COLUMNS)) {
+                    final long lag = resultSet.getLong(i);
+                    if (resultSet.wasNull()) {
+                        throw new SQLException("Replication is not running");
+                    }
+                    return lag;
+                }
+            }
+            throw new SQLException("Replication lag is not reported by the replica");
+        }
+    }
+
+    private static final class ReplicaPool {
+
+        private final DataSource dataSource;
+        private final Counter replicaCounter;
+        private final Counter fallbackCounter;
+        private volatile long lagSeconds = -1L;
+        private volatile String unavailableReason;
+        private volatile String mysqlLagQuery = MYSQL_REPLICATION_LAG_QUERY;
+
+        private ReplicaPool(DataSource dataSource, Counter replicaCounter, Counter fallbackCounter) {
+            this.dataSource = dataSource;
+            this.replicaCounter = replicaCounter;
+            this.fallbackCounter = fallbackCounter;
+        }
+
+        private boolean isUsable(long maxLagSeconds) {
+            return lagSeconds >= 0 && lagSeconds <= maxLagSeconds;
+        }
+
+        private double getLagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marks the invocations of the read platform services and the reporting service made by API GET requests as read-only,
+ * so that their non-transactional JDBC queries are routed to the read replica of the tenant.
+ *
+ * Calls made within an active transaction are left alone: they keep using the connection bound to the transaction,
+ * and read-only transactions are routed by the transaction manager itself.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(value = "fineract.database.read-replica.enabled", havingValue = "true")
+public class ReadReplicaRoutingAspect {
+
+    @Around("execution(public * org.apache.fineract..*ReadPlatformServiceImpl.*(..))"
+            + " || execution(public * org.apache.fineract..ReadReportingServiceImpl.*(..))")
+    public Object routeToReadReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || !ReadReplicaRoutingContext.isApiReadRequest()) {
+            return joinPoint.proceed();
+        }
+        ReadReplicaRoutingContext.push(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadReplicaRoutingContext.pop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Holds the read-only routing hint of the current thread.
+ *
+ * Read-only transactions and read-only service calls push a marker when they start and pop it once they complete, so
+ * nested scopes (e.g. a write transaction started from within a read-only service) restore the outer hint afterwards.
+ * The {@link RoutingDataSource} consults {@link #isReadOnly()} when a new connection is acquired.
+ *
+ * Only the work of API GET requests is routed to a replica, see {@link #isApiReadRequest()}.
+ */
+public final class ReadReplicaRoutingContext {
+
+    private static final ThreadLocal<Deque<Boolean>> READ_ONLY_CONTEXT = new ThreadLocal<>();
+
+    private ReadReplicaRoutingContext() {}
+
+    public static void push(final boolean readOnly) {
+        Deque<Boolean> context = READ_ONLY_CONTEXT.get();
+        if (context == null) {
+            context = new ArrayDeque<>();
+            READ_ONLY_CONTEXT.set(context);
+        }
+        context.push(readOnly);
+    }
+
+    public static void pop() {
+        final Deque<Boolean> context = READ_ONLY_CONTEXT.get();
+        if (context != null) {
+            context.poll();
+            if (context.isEmpty()) {
+                READ_ONLY_CONTEXT.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether the current thread serves an API GET request. Batch jobs, background threads and the read-only steps of
+     * write requests act on what they read, so they keep reading from the primary database.
+     */
+    public static boolean isApiReadRequest() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes instanceof ServletRequestAttributes servletRequestAttributes
+                && HttpMethod.GET.matches(servletRequestAttributes.getRequest().getMethod());
+    }
+
+    public static boolean isReadOnly() {
+        final Deque<Boolean> context = READ_ONLY_CONTEXT.get();
+        return context != null && Boolean.TRUE.equals(context.peek());
+    }
+}
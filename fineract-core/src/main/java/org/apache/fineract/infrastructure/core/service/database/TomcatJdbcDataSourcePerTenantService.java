@@ -50,13 +50,16 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final ReadReplicaDataSourceService readReplicaDataSourceService;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final ReadReplicaDataSourceService readReplicaDataSourceService) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.readReplicaDataSourceService = readReplicaDataSourceService;
     }
 
     @Override
@@ -75,6 +78,10 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
                 return tenantSpecificDataSource;
             });
 
+            // read-only units of work may be served by the tenant's read replica
+            if (ReadReplicaRoutingContext.isReadOnly()) {
+                actualDataSource = readReplicaDataSourceService.retrieveDataSource(tenantConnection, actualDataSource);
+            }
         }
 
         return actualDataSource;
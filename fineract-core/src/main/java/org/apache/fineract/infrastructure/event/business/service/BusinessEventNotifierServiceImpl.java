@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.event.business.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,8 +41,10 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierService, InitializingBean {
 
-    private final Map<Class, List<BusinessEventListener>> preListeners = new HashMap<>();
-    private final Map<Class, List<BusinessEventListener>> postListeners = new HashMap<>();
+    // Listeners are registered while the application starts and looked up for every event, so the dispatch tables are
+    // immutable and replaced as a whole on registration; notifying needs neither locking nor allocation.
+    private volatile Map<Class, BusinessEventListener[]> preListeners = Map.of();
+    private volatile Map<Class, BusinessEventListener[]> postListeners = Map.of();
 
     private final ThreadLocal<Boolean> eventRecordingEnabled = ThreadLocal.withInitial(() -> false);
     private final ThreadLocal<List<BusinessEvent<?>>> recordedEvents = ThreadLocal.withInitial(ArrayList::new);
@@ -62,7 +65,7 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     @Override
     public void notifyPreBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        List<BusinessEventListener> businessEventListeners = preListeners.get(businessEvent.getClass());
+        BusinessEventListener[] businessEventListeners = preListeners.get(businessEvent.getClass());
         if (businessEventListeners != null) {
             for (BusinessEventListener eventListener : businessEventListeners) {
                 eventListener.onBusinessEvent(businessEvent);
@@ -71,26 +74,21 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     }
 
     @Override
-    public <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = preListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            preListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+    public synchronized <T extends BusinessEvent<?>> void addPreBusinessEventListener(Class<T> eventType,
+            BusinessEventListener<T> listener) {
+        preListeners = withListener(preListeners, eventType, listener);
     }
 
     @Override
     public void notifyPostBusinessEvent(BusinessEvent<?> businessEvent) {
         throwExceptionIfBulkEvent(businessEvent);
-        boolean isExternalEvent = !(businessEvent instanceof NoExternalEvent);
-        List<BusinessEventListener> businessEventListeners = postListeners.get(businessEvent.getClass());
+        BusinessEventListener[] businessEventListeners = postListeners.get(businessEvent.getClass());
         if (businessEventListeners != null) {
             for (BusinessEventListener eventListener : businessEventListeners) {
                 eventListener.onBusinessEvent(businessEvent);
             }
         }
-        if (isExternalEvent && isExternalEventPostingEnabled()) {
+        if (isExternalEventPostingEnabled() && !(businessEvent instanceof NoExternalEvent)) {
             // we only want to create external events for operations that were successful, hence the post listener
             if (isExternalEventConfiguredForPosting(businessEvent.getType())) {
                 if (isExternalEventRecordingEnabled()) {
@@ -103,13 +101,19 @@ public class BusinessEventNotifierServiceImpl implements BusinessEventNotifierSe
     }
 
     @Override
-    public <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType, BusinessEventListener<T> listener) {
-        List<BusinessEventListener> businessEventListeners = postListeners.get(eventType);
-        if (businessEventListeners == null) {
-            businessEventListeners = new ArrayList<>();
-            postListeners.put(eventType, businessEventListeners);
-        }
-        businessEventListeners.add(listener);
+    public synchronized <T extends BusinessEvent<?>> void addPostBusinessEventListener(Class<T> eventType,
+            BusinessEventListener<T> listener) {
+        postListeners = withListener(postListeners, eventType, listener);
+    }
+
+    private static Map<Class, BusinessEventListener[]> withListener(Map<Class, BusinessEventListener[]> listeners, Class eventType,
+            BusinessEventListener listener) {
+        Map<Class, BusinessEventListener[]> result = new HashMap<>(listeners);
+        BusinessEventListener[] existing = listeners.getOrDefault(eventType, new BusinessEventListener[0]);
+        BusinessEventListener[] updated = Arrays.copyOf(existing, existing.length + 1);
+        updated[existing.length] = listener;
+        result.put(eventType, updated);
+        return Map.copyOf(result);
     }
 
     private boolean isExternalEventRecordingEnabled() {
@@ -41,6 +41,8 @@ import org.apache.fineract.infrastructure.event.external.service.serialization.s
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -112,6 +114,10 @@ public class ExternalEventService {
 
     private void flushChangesBeforeSerialization() {
         entityManager.flush();
+        // lets the synchronizations write the changes they defer to the end of the transaction, e.g. the loan arrears
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationUtils.triggerFlush();
+        }
     }
 
     @PersistenceContext
@@ -56,7 +56,10 @@ public enum JobName {
     LOAN_DELINQUENCY_CLASSIFICATION("Loan Delinquency Classification"), //
     SEND_ASYNCHRONOUS_EVENTS("Send Asynchronous Events"), //
     PURGE_EXTERNAL_EVENTS("Purge External Events"), //
-    PURGE_PROCESSED_COMMANDS("Purge Processed Commands");
+    PURGE_PROCESSED_COMMANDS("Purge Processed Commands"), //
+    REBUILD_SEARCH_INDEX("Rebuild Search Index"), //
+    SEND_HOOK_DELIVERIES("Send Hook Deliveries"), //
+    FOLD_SAVINGS_ACCOUNT_PENDING_CREDITS("Fold Savings Account Pending Credits");
 
     private final String name;
 
@@ -39,6 +39,7 @@ import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping
 import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
 import org.apache.fineract.investor.domain.LoanOwnershipTransferBusinessEvent;
 import org.apache.fineract.investor.service.AccountingService;
+import org.apache.fineract.investor.service.ExternalAssetOwnerLookup;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.data.domain.Sort;
@@ -55,6 +56,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
     private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
     private final AccountingService accountingService;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final ExternalAssetOwnerLookup externalAssetOwnerLookup;
 
     @Override
     public Loan execute(Loan loan) {
@@ -62,6 +64,10 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         log.debug("start processing loan ownership transfer business step for loan with Id [{}]", loanId);
 
         LocalDate settlementDate = DateUtils.getBusinessLocalDate();
+        if (!externalAssetOwnerLookup.hasSettlingTransfer(loanId, settlementDate)) {
+            log.debug("no transfer is settling for loan with Id [{}]", loanId);
+            return loan;
+        }
         List<ExternalAssetOwnerTransfer> transferDataList = externalAssetOwnerTransferRepository.findAll(
                 (root, query, criteriaBuilder) -> criteriaBuilder.and(criteriaBuilder.equal(root.get("loanId"), loanId),
                         criteriaBuilder.equal(root.get("settlementDate"), settlementDate),
@@ -124,6 +130,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferRepository.save(activeExternalAssetOwnerTransfer);
         buybackExternalAssetOwnerTransfer = externalAssetOwnerTransferRepository.save(buybackExternalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.deleteByLoanIdAndOwnerTransfer(loan.getId(), activeExternalAssetOwnerTransfer);
+        externalAssetOwnerLookup.evict(loan.getId());
         accountingService.createJournalEntriesForBuybackAssetTransfer(loan, buybackExternalAssetOwnerTransfer);
         return buybackExternalAssetOwnerTransfer;
     }
@@ -170,6 +177,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferLoanMapping.setLoanId(loanId);
         externalAssetOwnerTransferLoanMapping.setOwnerTransfer(externalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.save(externalAssetOwnerTransferLoanMapping);
+        externalAssetOwnerLookup.evict(loanId);
     }
 
     private boolean isTransferable(final Loan loan) {
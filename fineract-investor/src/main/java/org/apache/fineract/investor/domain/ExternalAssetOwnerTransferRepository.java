@@ -19,9 +19,11 @@
 package org.apache.fineract.investor.domain;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.investor.data.ExternalTransferStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -47,6 +49,10 @@ public interface ExternalAssetOwnerTransferRepository
     @Query("select m.ownerTransfer.owner from ExternalAssetOwnerTransferLoanMapping m where m.loanId = :loanId")
     Optional<ExternalAssetOwner> findActiveOwnerByLoanId(@Param("loanId") Long loanId);
 
+    @Query("select distinct t.loanId from ExternalAssetOwnerTransfer t where t.settlementDate = :settlementDate and t.status in :statuses and t.effectiveDateTo >= :effectiveDateTo")
+    List<Long> findLoanIdsBySettlementDateAndStatus(@Param("settlementDate") LocalDate settlementDate,
+            @Param("statuses") Collection<ExternalTransferStatus> statuses, @Param("effectiveDateTo") LocalDate effectiveDateTo);
+
     @Query("SELECT t FROM ExternalAssetOwnerTransfer t WHERE t.loanId = :loanId AND t.effectiveDateTo > :effectiveDate order by t.id desc")
     List<ExternalAssetOwnerTransfer> findEffectiveTransfersOrderByIdDesc(@Param("loanId") Long loanId,
             @Param("effectiveDate") LocalDate effectiveDate);
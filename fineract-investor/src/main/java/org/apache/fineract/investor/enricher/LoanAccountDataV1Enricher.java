@@ -24,14 +24,14 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.AvroDateTimeMapper;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.service.ExternalAssetOwnerLookup;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanAccountDataV1Enricher implements DataEnricher<LoanAccountDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final ExternalAssetOwnerLookup externalAssetOwnerLookup;
     private final ExternalIdMapper externalIdMapper;
     private final AvroDateTimeMapper avroDateTimeMapper;
 
@@ -42,7 +42,7 @@ public class LoanAccountDataV1Enricher implements DataEnricher<LoanAccountDataV1
 
     @Override
     public void enrich(LoanAccountDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveByLoanId(data.getId()).ifPresent(transfer -> {
+        externalAssetOwnerLookup.findActiveTransfer(data.getId()).ifPresent(transfer -> {
             ExternalId transferOwnerExternalId = transfer.getOwner().getExternalId();
             data.setExternalOwnerId(externalIdMapper.mapExternalId(transferOwnerExternalId));
             data.setSettlementDate(avroDateTimeMapper.mapLocalDate(transfer.getSettlementDate()));
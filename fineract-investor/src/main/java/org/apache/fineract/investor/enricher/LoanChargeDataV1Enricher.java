@@ -22,14 +22,14 @@ import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanChargeDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.service.ExternalAssetOwnerLookup;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final ExternalAssetOwnerLookup externalAssetOwnerLookup;
     private final ExternalIdMapper externalIdMapper;
 
     @Override
@@ -39,7 +39,7 @@ public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1>
 
     @Override
     public void enrich(LoanChargeDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(data.getLoanId())
+        externalAssetOwnerLookup.findActiveOwner(data.getLoanId())
                 .ifPresent(owner -> data.setExternalOwnerId(externalIdMapper.mapExternalId(owner.getExternalId())));
     }
 }
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.investor.data.ExternalTransferStatus;
+import org.apache.fineract.investor.domain.ExternalAssetOwner;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Looks up the asset ownership of loans and keeps the results for the rest of the current transaction, which is a whole
+ * chunk during COB. Without an active transaction every call goes to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExternalAssetOwnerLookup {
+
+    private static final LocalDate FUTURE_DATE_9999_12_31 = LocalDate.of(9999, 12, 31);
+    private static final List<ExternalTransferStatus> SETTLING_STATUSES = List.of(ExternalTransferStatus.PENDING,
+            ExternalTransferStatus.BUYBACK);
+
+    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+
+    public Optional<ExternalAssetOwnerTransfer> findActiveTransfer(Long loanId) {
+        LookupScope scope = currentScope();
+        if (scope == null) {
+            return externalAssetOwnerTransferRepository.findActiveByLoanId(loanId);
+        }
+        return scope.activeTransfers.computeIfAbsent(loanId, externalAssetOwnerTransferRepository::findActiveByLoanId);
+    }
+
+    public Optional<ExternalAssetOwner> findActiveOwner(Long loanId) {
+        if (currentScope() == null) {
+            return externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(loanId);
+        }
+        return findActiveTransfer(loanId).map(ExternalAssetOwnerTransfer::getOwner);
+    }
+
+    /**
+     * Tells whether the loan may have a pending sale or buyback settling on the given date. The loan ids with such transfers are
+     * read once per transaction, so a false answer costs no query; a true answer has to be confirmed by the caller.
+     */
+    public boolean hasSettlingTransfer(Long loanId, LocalDate settlementDate) {
+        LookupScope scope = currentScope();
+        if (scope == null) {
+            return true;
+        }
+        return scope.settlingLoanIds.computeIfAbsent(settlementDate, date -> Set.copyOf(externalAssetOwnerTransferRepository
+                .findLoanIdsBySettlementDateAndStatus(date, SETTLING_STATUSES, FUTURE_DATE_9999_12_31))).contains(loanId);
+    }
+
+    public void evict(Long loanId) {
+        LookupScope scope = (LookupScope) TransactionSynchronizationManager.getResource(this);
+        if (scope != null) {
+            scope.activeTransfers.remove(loanId);
+        }
+    }
+
+    private LookupScope currentScope() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        LookupScope scope = (LookupScope) TransactionSynchronizationManager.getResource(this);
+        if (scope == null) {
+            scope = new LookupScope();
+            TransactionSynchronizationManager.bindResource(this, scope);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ExternalAssetOwnerLookup.this);
+                }
+            });
+        }
+        return scope;
+    }
+
+    private static final class LookupScope {
+
+        private final Map<Long, Optional<ExternalAssetOwnerTransfer>> activeTransfers = new HashMap<>();
+        private final Map<LocalDate, Set<Long>> settlingLoanIds = new HashMap<>();
+    }
+}
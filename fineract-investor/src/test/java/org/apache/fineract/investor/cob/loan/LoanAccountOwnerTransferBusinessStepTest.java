@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -51,6 +52,7 @@ import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping
 import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
 import org.apache.fineract.investor.domain.LoanOwnershipTransferBusinessEvent;
 import org.apache.fineract.investor.service.AccountingService;
+import org.apache.fineract.investor.service.ExternalAssetOwnerLookup;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.apache.fineract.portfolio.loanaccount.domain.LoanSummary;
 import org.jetbrains.annotations.NotNull;
@@ -79,6 +81,8 @@ public class LoanAccountOwnerTransferBusinessStepTest {
 
     @Mock
     private AccountingService accountingService;
+    @Mock
+    private ExternalAssetOwnerLookup externalAssetOwnerLookup;
     private LoanAccountOwnerTransferBusinessStep underTest;
 
     @BeforeEach
@@ -87,7 +91,21 @@ public class LoanAccountOwnerTransferBusinessStepTest {
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, actualDate)));
         underTest = new LoanAccountOwnerTransferBusinessStep(externalAssetOwnerTransferRepository,
-                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService);
+                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService, externalAssetOwnerLookup);
+        lenient().when(externalAssetOwnerLookup.hasSettlingTransfer(any(), eq(actualDate))).thenReturn(true);
+    }
+
+    @Test
+    public void givenLoanWithoutSettlingTransferIsSkipped() {
+        // given
+        final Loan loanForProcessing = Mockito.mock(Loan.class);
+        when(loanForProcessing.getId()).thenReturn(1L);
+        when(externalAssetOwnerLookup.hasSettlingTransfer(1L, actualDate)).thenReturn(false);
+        // when
+        final Loan processedLoan = underTest.execute(loanForProcessing);
+        // then
+        verifyNoInteractions(externalAssetOwnerTransferRepository, businessEventNotifierService);
+        assertEquals(processedLoan, loanForProcessing);
     }
 
     @Test
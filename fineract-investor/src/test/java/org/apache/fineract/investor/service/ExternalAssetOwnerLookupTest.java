@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ExternalAssetOwnerLookupTest {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2023, 6, 30);
+
+    @Mock
+    private ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+
+    private ExternalAssetOwnerLookup underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ExternalAssetOwnerLookup(externalAssetOwnerTransferRepository);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testActiveTransferIsReadOncePerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        ExternalAssetOwnerTransfer transfer = mock(ExternalAssetOwnerTransfer.class);
+        when(externalAssetOwnerTransferRepository.findActiveByLoanId(1L)).thenReturn(Optional.of(transfer));
+
+        assertSame(transfer, underTest.findActiveTransfer(1L).orElseThrow());
+        assertSame(transfer, underTest.findActiveTransfer(1L).orElseThrow());
+        underTest.evict(1L);
+        assertSame(transfer, underTest.findActiveTransfer(1L).orElseThrow());
+
+        verify(externalAssetOwnerTransferRepository, times(2)).findActiveByLoanId(1L);
+    }
+
+    @Test
+    public void testSettlingTransfersAreReadOncePerTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(externalAssetOwnerTransferRepository.findLoanIdsBySettlementDateAndStatus(eq(SETTLEMENT_DATE), anyCollection(), any()))
+                .thenReturn(List.of(2L));
+
+        assertFalse(underTest.hasSettlingTransfer(1L, SETTLEMENT_DATE));
+        assertTrue(underTest.hasSettlingTransfer(2L, SETTLEMENT_DATE));
+        assertFalse(underTest.hasSettlingTransfer(3L, SETTLEMENT_DATE));
+
+        verify(externalAssetOwnerTransferRepository, times(1)).findLoanIdsBySettlementDateAndStatus(eq(SETTLEMENT_DATE), anyCollection(),
+                any());
+    }
+
+    @Test
+    public void testWithoutTransactionTheCallerHasToCheck() {
+        assertTrue(underTest.hasSettlingTransfer(1L, SETTLEMENT_DATE));
+        verifyNoInteractions(externalAssetOwnerTransferRepository);
+    }
+}
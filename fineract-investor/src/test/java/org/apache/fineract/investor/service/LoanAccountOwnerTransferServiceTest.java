@@ -68,6 +68,8 @@ public class LoanAccountOwnerTransferServiceTest {
     private AccountingService accountingService;
     @Mock
     private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private ExternalAssetOwnerLookup externalAssetOwnerLookup;
 
     private LoanAccountOwnerTransferService underTest;
     private final LocalDate actualDate = LocalDate.now(ZoneId.systemDefault());
@@ -76,7 +78,7 @@ public class LoanAccountOwnerTransferServiceTest {
     public void setUp() {
         ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BUSINESS_DATE, actualDate)));
         underTest = new LoanAccountOwnerTransferServiceImpl(externalAssetOwnerTransferRepository,
-                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService);
+                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService, externalAssetOwnerLookup);
     }
 
     @Test
@@ -174,6 +174,8 @@ final class JournalEntriesApiResourceSwagger {
         @Schema(example = "2")
         public Long totalFilteredRecords;
         public List<JournalEntryTransactionItem> pageItems;
+        @Schema(description = "Cursor of the following page, only returned with keyset pagination when more records exist")
+        public String nextCursor;
     }
 
 }
@@ -27,6 +27,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -46,6 +47,7 @@ import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.exception.GeneralPlatformDomainRuleException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -70,6 +72,9 @@ import org.springframework.util.CollectionUtils;
 @RequiredArgsConstructor
 public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlatformService {
 
+    private static final Map<String, String> KEYSET_SORT_COLUMNS = Map.of("id", "journalEntry.id", "transactionDate",
+            "journalEntry.entry_date");
+
     private final JdbcTemplate jdbcTemplate;
     private final GLAccountReadPlatformService glAccountReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
@@ -235,8 +240,9 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
             final JournalEntryAssociationParametersData associationParametersData) {
 
         GLJournalEntryMapper rm = new GLJournalEntryMapper(associationParametersData);
+        final boolean keysetPaging = searchParameters.isCursorRequested();
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select ").append(sqlGenerator.calcFoundRows()).append(" ");
+        sqlBuilder.append("select ").append(keysetPaging ? "" : sqlGenerator.calcFoundRows()).append(" ");
         sqlBuilder.append(rm.schema());
 
         final Object[] objectArray = new Object[15];
@@ -349,6 +355,15 @@ public class JournalEntryReadPlatformServiceImpl implements JournalEntryReadPlat
                     " journalEntry.savings_transaction_id in (select id from m_savings_account_transaction where savings_account_id = ?)");
             objectArray[arrayPos] = searchParameters.getSavingsId();
             arrayPos = arrayPos + 1;
+
+            whereClose = " and ";
+        }
+
+        if (keysetPaging) {
+            final KeysetPageRequest pageRequest = KeysetPageRequest.from(searchParameters, "journalEntry.id", KEYSET_SORT_COLUMNS,
+                    "journalEntry.entry_date");
+            return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(), Arrays.copyOf(objectArray, arrayPos), rm,
+                    pageRequest, " and ".equals(whereClose));
         }
 
         if (searchParameters.isOrderByRequested()) {
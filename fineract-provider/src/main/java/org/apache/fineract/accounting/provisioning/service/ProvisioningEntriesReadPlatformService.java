@@ -20,6 +20,8 @@ package org.apache.fineract.accounting.provisioning.service;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
 import org.apache.fineract.accounting.provisioning.data.ProvisioningEntryData;
 import org.apache.fineract.infrastructure.core.service.Page;
@@ -29,6 +31,18 @@ public interface ProvisioningEntriesReadPlatformService {
 
     Collection<LoanProductProvisioningEntryData> retrieveLoanProductsProvisioningData(LocalDate date);
 
+    /**
+     * Streams the provisioning data of the active loans whose id is within [fromLoanId, toLoanId] to the consumer, one row at
+     * a time, without materializing the rows of the range.
+     */
+    void retrieveLoanProductsProvisioningData(LocalDate date, Long fromLoanId, Long toLoanId,
+            Consumer<LoanProductProvisioningEntryData> consumer);
+
+    /**
+     * @return the lowest and highest id of the active loans, or null if there are none
+     */
+    Pair<Long, Long> retrieveActiveLoanIdBounds();
+
     ProvisioningEntryData retrieveProvisioningEntryData(Long entryId);
 
     Page<ProvisioningEntryData> retrieveAllProvisioningEntries(Integer offset, Integer limit);
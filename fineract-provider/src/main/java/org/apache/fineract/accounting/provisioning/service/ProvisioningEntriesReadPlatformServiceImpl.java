@@ -26,10 +26,13 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
 import org.apache.fineract.accounting.provisioning.data.ProvisioningEntryData;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
@@ -57,6 +60,27 @@ public class ProvisioningEntriesReadPlatformServiceImpl implements ProvisioningE
         return this.jdbcTemplate.query(sql, mapper, formattedDate, formattedDate, formattedDate);
     }
 
+    @Override
+    public void retrieveLoanProductsProvisioningData(LocalDate date, Long fromLoanId, Long toLoanId,
+            Consumer<LoanProductProvisioningEntryData> consumer) {
+        String formattedDate = DateUtils.DEFAULT_DATE_FORMATTER.format(date);
+        LoanProductProvisioningEntryMapper mapper = new LoanProductProvisioningEntryMapper(sqlGenerator);
+        final String sql = mapper.schema() + " and loan.id between ? and ?";
+        this.jdbcTemplate.query(sql, rs -> {
+            consumer.accept(mapper.mapRow(rs, rs.getRow()));
+        }, formattedDate, formattedDate, formattedDate, fromLoanId, toLoanId);
+    }
+
+    @Override
+    public Pair<Long, Long> retrieveActiveLoanIdBounds() {
+        return this.jdbcTemplate.queryForObject("select min(id) as min_id, max(id) as max_id from m_loan where loan_status_id = 300",
+                (rs, rowNum) -> {
+                    Long minId = JdbcSupport.getLong(rs, "min_id");
+                    Long maxId = JdbcSupport.getLong(rs, "max_id");
+                    return minId == null ? null : Pair.of(minId, maxId);
+                });
+    }
+
     private static final class LoanProductProvisioningEntryMapper implements RowMapper<LoanProductProvisioningEntryData> {
 
         private final StringBuilder sqlQuery;
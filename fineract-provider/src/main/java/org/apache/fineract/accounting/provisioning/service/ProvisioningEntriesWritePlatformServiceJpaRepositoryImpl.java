@@ -19,12 +19,22 @@
 package org.apache.fineract.accounting.provisioning.service;
 
 import com.google.gson.JsonObject;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.fineract.accounting.glaccount.domain.GLAccount;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
@@ -40,10 +50,13 @@ import org.apache.fineract.accounting.provisioning.exception.ProvisioningEntryNo
 import org.apache.fineract.accounting.provisioning.exception.ProvisioningJournalEntriesCannotbeCreatedException;
 import org.apache.fineract.accounting.provisioning.serialization.ProvisioningEntriesDefinitionJsonDeserializer;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
@@ -59,6 +72,7 @@ import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -75,6 +89,8 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
     private final JournalEntryWritePlatformService journalEntryWritePlatformService;
     private final ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer;
     private final FromJsonHelper fromApiJsonHelper;
+    private final FineractProperties fineractProperties;
+    private final ThreadPoolTaskExecutor loanProvisioningTaskExecutor;
 
     @Override
     public CommandProcessingResult createProvisioningJournalEntries(Long provisioningEntryId, JsonCommand command) {
@@ -174,32 +190,101 @@ public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl implements
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(requestedEntry.getId()).build();
     }
 
+    /**
+     * Aggregates the reserved amounts per office, product, currency, category, criteria, overdue days and GL accounts. The active
+     * loans are split into id ranges of {@code fineract.loan.provisioning.chunk-size} loans, each range is streamed and aggregated
+     * independently (in parallel on the loan provisioning executor) and the partial sums are merged. The amount to reserve is
+     * still rounded per loan, so the totals are the same as when aggregating the whole portfolio at once.
+     */
     private Collection<LoanProductProvisioningEntry> generateLoanProvisioningEntry(ProvisioningEntry parent, LocalDate date) {
-        Collection<LoanProductProvisioningEntryData> entries = this.provisioningEntriesReadPlatformService
-                .retrieveLoanProductsProvisioningData(date);
-        Map<Integer, LoanProductProvisioningEntry> provisioningEntries = new HashMap<>();
-        for (LoanProductProvisioningEntryData data : entries) {
-            LoanProduct loanProduct = this.loanProductRepository.findById(data.getProductId()).orElseThrow();
-            Office office = this.officeRepositoryWrapper.findOneWithNotFoundDetection(data.getOfficeId());
-            ProvisioningCategory provisioningCategory = provisioningCategoryRepository.findById(data.getCategoryId()).orElse(null);
-            GLAccount liabilityAccount = glAccountRepository.findById(data.getLiablityAccount()).orElseThrow();
-            GLAccount expenseAccount = glAccountRepository.findById(data.getExpenseAccount()).orElseThrow();
-            MonetaryCurrency currency = loanProduct.getPrincipalAmount().getCurrency();
-            Money money = Money.of(currency, data.getBalance());
-            Money amountToReserve = money.percentageOf(data.getPercentage(), MoneyHelper.getRoundingMode());
-            Long criteraId = data.getCriteriaId();
+        Pair<Long, Long> loanIdBounds = this.provisioningEntriesReadPlatformService.retrieveActiveLoanIdBounds();
+        if (loanIdBounds == null) {
+            return new ArrayList<>();
+        }
+        final Map<Long, MonetaryCurrency> currencies = new HashMap<>();
+        for (LoanProduct loanProduct : this.loanProductRepository.findAll()) {
+            currencies.put(loanProduct.getId(), loanProduct.getPrincipalAmount().getCurrency());
+        }
+        final RoundingMode roundingMode = MoneyHelper.getRoundingMode();
+        final int chunkSize = Math.max(1, fineractProperties.getLoan().getProvisioning().getChunkSize());
+        final Queue<Pair<Long, Long>> pendingRanges = new ConcurrentLinkedQueue<>();
+        for (long fromId = loanIdBounds.getLeft(); fromId <= loanIdBounds.getRight(); fromId += chunkSize) {
+            pendingRanges.add(Pair.of(fromId, Math.min(fromId + chunkSize - 1, loanIdBounds.getRight())));
+        }
+        final Map<ProvisioningEntryKey, BigDecimal> reservedAmounts = new ConcurrentHashMap<>();
+        final int workers = Math.min(pendingRanges.size(), fineractProperties.getLoan().getProvisioning().getThreadPoolSize());
+        if (workers <= 1) {
+            aggregateLoanRanges(pendingRanges, date, currencies, roundingMode, reservedAmounts);
+        } else {
+            final FineractContext context = ThreadLocalContextUtil.getContext();
+            final List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    ThreadLocalContextUtil.init(context);
+                    try {
+                        aggregateLoanRanges(pendingRanges, date, currencies, roundingMode, reservedAmounts);
+                    } finally {
+                        ThreadLocalContextUtil.reset();
+                    }
+                }, loanProvisioningTaskExecutor));
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        final Map<Long, LoanProduct> loanProducts = new HashMap<>();
+        final Map<Long, Office> offices = new HashMap<>();
+        final Map<Long, ProvisioningCategory> provisioningCategories = new HashMap<>();
+        final Map<Long, GLAccount> glAccounts = new HashMap<>();
+        final List<LoanProductProvisioningEntry> provisioningEntries = new ArrayList<>(reservedAmounts.size());
+        for (Map.Entry<ProvisioningEntryKey, BigDecimal> reservedAmount : reservedAmounts.entrySet()) {
+            ProvisioningEntryKey key = reservedAmount.getKey();
+            LoanProduct loanProduct = loanProducts.computeIfAbsent(key.productId(),
+                    id -> this.loanProductRepository.findById(id).orElseThrow());
+            Office office = offices.computeIfAbsent(key.officeId(), this.officeRepositoryWrapper::findOneWithNotFoundDetection);
+            ProvisioningCategory provisioningCategory = provisioningCategories.computeIfAbsent(key.categoryId(),
+                    id -> provisioningCategoryRepository.findById(id).orElse(null));
+            GLAccount liabilityAccount = glAccounts.computeIfAbsent(key.liabilityAccountId(),
+                    id -> glAccountRepository.findById(id).orElseThrow());
+            GLAccount expenseAccount = glAccounts.computeIfAbsent(key.expenseAccountId(),
+                    id -> glAccountRepository.findById(id).orElseThrow());
             LoanProductProvisioningEntry entry = new LoanProductProvisioningEntry().setLoanProduct(loanProduct).setOffice(office)
-                    .setCurrencyCode(data.getCurrencyCode()).setProvisioningCategory(provisioningCategory)
-                    .setOverdueInDays(data.getOverdueInDays()).setReservedAmount(amountToReserve.getAmount())
-                    .setLiabilityAccount(liabilityAccount).setExpenseAccount(expenseAccount).setCriteriaId(criteraId);
+                    .setCurrencyCode(key.currencyCode()).setProvisioningCategory(provisioningCategory).setOverdueInDays(key.overdueInDays())
+                    .setReservedAmount(reservedAmount.getValue()).setLiabilityAccount(liabilityAccount).setExpenseAccount(expenseAccount)
+                    .setCriteriaId(key.criteriaId());
             entry.setEntry(parent);
-            if (!provisioningEntries.containsKey(entry.partialHashCode())) {
-                provisioningEntries.put(entry.partialHashCode(), entry);
-            } else {
-                LoanProductProvisioningEntry entry1 = provisioningEntries.get(entry.partialHashCode());
-                entry1.setReservedAmount(entry1.getReservedAmount().add(entry.getReservedAmount()));
-            }
+            provisioningEntries.add(entry);
+        }
+        return provisioningEntries;
+    }
+
+    private void aggregateLoanRanges(Queue<Pair<Long, Long>> pendingRanges, LocalDate date, Map<Long, MonetaryCurrency> currencies,
+            RoundingMode roundingMode, Map<ProvisioningEntryKey, BigDecimal> reservedAmounts) {
+        Pair<Long, Long> range;
+        while ((range = pendingRanges.poll()) != null) {
+            Map<ProvisioningEntryKey, BigDecimal> rangeAmounts = new HashMap<>();
+            this.provisioningEntriesReadPlatformService.retrieveLoanProductsProvisioningData(date, range.getLeft(), range.getRight(),
+                    data -> {
+                        MonetaryCurrency currency = currencies.get(data.getProductId());
+                        Money amountToReserve = Money.of(currency, data.getBalance()).percentageOf(data.getPercentage(), roundingMode);
+                        rangeAmounts.merge(ProvisioningEntryKey.of(data), amountToReserve.getAmount(), BigDecimal::add);
+                    });
+            rangeAmounts.forEach((key, amount) -> reservedAmounts.merge(key, amount, BigDecimal::add));
+        }
+    }
+
+    private record ProvisioningEntryKey(Long officeId, Long productId, String currencyCode, Long categoryId, Long criteriaId,
+            Long overdueInDays, Long liabilityAccountId, Long expenseAccountId) {
+
+        private static ProvisioningEntryKey of(LoanProductProvisioningEntryData data) {
+            return new ProvisioningEntryKey(data.getOfficeId(), data.getProductId(), data.getCurrencyCode(), data.getCategoryId(),
+                    data.getCriteriaId(), data.getOverdueInDays(), data.getLiablityAccount(), data.getExpenseAccount());
         }
-        return provisioningEntries.values();
     }
 }
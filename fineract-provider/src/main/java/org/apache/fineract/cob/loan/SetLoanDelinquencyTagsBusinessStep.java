@@ -55,7 +55,7 @@ public class SetLoanDelinquencyTagsBusinessStep implements LoanCOBBusinessStep {
                 // the
                 // current date and not the previous (COB) date.
                 ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
-                loanAccountDomainService.setLoanDelinquencyTag(loan, DateUtils.getBusinessLocalDate());
+                loanAccountDomainService.setLoanDelinquencyTagIfDue(loan, DateUtils.getBusinessLocalDate());
             } catch (RuntimeException re) {
                 log.error(
                         "Received [{}] exception while processing delinquency tag for loan with Id [{}], account number [{}], external Id [{}]",
@@ -34,6 +34,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
 import java.util.Arrays;
 import java.util.Collection;
@@ -83,7 +84,7 @@ public class AuditsApiResource {
             + "audits?officeId=1&includeJson=true")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = MakercheckersApiResourceSwagger.GetMakerCheckerResponse.class)))) })
-    public String retrieveAuditEntries(@Context final UriInfo uriInfo,
+    public StreamingOutput retrieveAuditEntries(@Context final UriInfo uriInfo,
             @QueryParam("actionName") @Parameter(description = "actionName") final String actionName,
             @QueryParam("entityName") @Parameter(description = "entityName") final String entityName,
             @QueryParam("resourceId") @Parameter(description = "resourceId") final Long resourceId,
@@ -115,13 +116,13 @@ public class AuditsApiResource {
         if (parameters.isPaged()) {
             final Page<AuditData> auditEntries = this.auditReadPlatformService.retrievePaginatedAuditEntries(extraCriteria,
                     settings.isIncludeJson(), parameters);
-            return this.toApiJsonSerializer.serialize(settings, auditEntries, RESPONSE_DATA_PARAMETERS);
+            return this.toApiJsonSerializer.serializeToStream(settings, auditEntries, RESPONSE_DATA_PARAMETERS);
         }
 
         final Collection<AuditData> auditEntries = this.auditReadPlatformService.retrieveAuditEntries(extraCriteria,
                 settings.isIncludeJson());
 
-        return this.toApiJsonSerializer.serialize(settings, auditEntries, RESPONSE_DATA_PARAMETERS);
+        return this.toApiJsonSerializer.serializeToStream(settings, auditEntries, RESPONSE_DATA_PARAMETERS);
     }
 
     @GET
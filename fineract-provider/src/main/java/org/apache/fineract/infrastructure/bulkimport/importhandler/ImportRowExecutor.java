@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.IntFunction;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the per-row imports of a workbook on the bulk import executor. At most twice the pool size of rows are in
+ * flight at any time; the results are returned in row order so the caller can write them back to the (not thread
+ * safe) workbook afterwards.
+ */
+@Component
+public class ImportRowExecutor {
+
+    private final ThreadPoolTaskExecutor bulkImportTaskExecutor;
+    private final int parallelism;
+
+    public ImportRowExecutor(
+            @Qualifier(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME) final ThreadPoolTaskExecutor bulkImportTaskExecutor,
+            final FineractProperties fineractProperties) {
+        this.bulkImportTaskExecutor = bulkImportTaskExecutor;
+        this.parallelism = fineractProperties.getBulkImport().getThreadPoolSize();
+    }
+
+    /**
+     * Imports the rows {@code 0..rowCount-1}; the row importer is expected to report row failures in its result rather
+     * than throwing.
+     */
+    public <T> List<T> execute(final int rowCount, final IntFunction<T> rowImporter) {
+        final List<T> results = new ArrayList<>(rowCount);
+        if (parallelism <= 1 || rowCount <= 1) {
+            for (int i = 0; i < rowCount; i++) {
+                results.add(rowImporter.apply(i));
+            }
+            return results;
+        }
+
+        final FineractContext fineractContext = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        final Semaphore inFlight = new Semaphore(parallelism * 2);
+        final List<CompletableFuture<T>> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            final int rowIndex = i;
+            final CompletableFuture<T> row = new CompletableFuture<>();
+            rows.add(row);
+            inFlight.acquireUninterruptibly();
+            try {
+                bulkImportTaskExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+                    try {
+                        ThreadLocalContextUtil.init(fineractContext);
+                        row.complete(rowImporter.apply(rowIndex));
+                    } catch (Throwable t) { // NOSONAR errors must fail the row too, or the caller waits forever
+                        row.completeExceptionally(t);
+                    } finally {
+                        ThreadLocalContextUtil.reset();
+                        inFlight.release();
+                    }
+                }, securityContext));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+        for (final CompletableFuture<T> row : rows) {
+            results.add(row.join());
+        }
+        return results;
+    }
+}
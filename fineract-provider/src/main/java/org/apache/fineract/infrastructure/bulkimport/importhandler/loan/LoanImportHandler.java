@@ -38,6 +38,7 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportRowExecutor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -72,6 +73,8 @@ public class LoanImportHandler implements ImportHandler {
 
     private final LoanRepaymentScheduleTransactionProcessorFactory loanRepaymentScheduleTransactionProcessorFactory;
 
+    private final ImportRowExecutor importRowExecutor;
+
     @Override
     public Count process(final Workbook workbook, final String locale, final String dateFormat) {
         List<LoanAccountData> loans = new ArrayList<>();
@@ -380,56 +383,72 @@ public class LoanImportHandler implements ImportHandler {
             final List<LoanTransactionData> loanRepayments, final List<DisbursementData> disbursalDates, final List<String> statuses,
             final String dateFormat) {
         Sheet loanSheet = workbook.getSheet(TemplatePopulateImportConstants.LOANS_SHEET_NAME);
+        final List<String> existingLoanIds = new ArrayList<>(loans.size());
+        for (LoanAccountData loan : loans) {
+            existingLoanIds.add(ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL, loanSheet.getRow(loan.getRowIndex())));
+        }
+
+        // the commands of each row run in parallel, the workbook is only touched from this thread
+        final List<LoanRowResult> rowResults = importRowExecutor.execute(loans.size(),
+                i -> importRow(loans, approvalDates, loanRepayments, disbursalDates, statuses, existingLoanIds, i, dateFormat));
+
         int successCount = 0;
         int errorCount = 0;
-        int progressLevel = 0;
-        String loanId;
-        String errorMessage;
         for (int i = 0; i < loans.size(); i++) {
             Row row = loanSheet.getRow(loans.get(i).getRowIndex());
             Cell errorReportCell = row.createCell(LoanConstants.FAILURE_REPORT_COL);
             Cell statusCell = row.createCell(LoanConstants.STATUS_COL);
-            CommandProcessingResult result = null;
-            loanId = EMPTY_STR;
-            try {
-                String status = statuses.get(i);
-                progressLevel = getProgressLevel(status);
-
-                if (progressLevel == 0 && loans.get(i) != null) {
-                    result = importLoan(loans, i, dateFormat);
-                    loanId = result.getLoanId().toString();
-                    progressLevel = 1;
-                } else {
-                    loanId = ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL, loanSheet.getRow(loans.get(i).getRowIndex()));
-                }
-
-                if (progressLevel <= 1 && approvalDates.get(i) != null) {
-                    progressLevel = importLoanApproval(approvalDates, result, i, dateFormat);
-                }
-
-                if (progressLevel <= 2 && disbursalDates.get(i) != null) {
-                    progressLevel = importDisbursalData(approvalDates, disbursalDates, result, i, dateFormat);
-                }
-
-                if (loanRepayments.get(i) != null) {
-                    progressLevel = importLoanRepayment(loanRepayments, result, i, dateFormat);
-                }
-
+            LoanRowResult rowResult = rowResults.get(i);
+            if (rowResult.imported()) {
                 successCount++;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
+            } else {
                 errorCount++;
-                log.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
-                writeLoanErrorMessage(workbook, loanId, errorMessage, progressLevel, statusCell, errorReportCell, row);
+                writeLoanErrorMessage(workbook, rowResult.loanId(), rowResult.errorMessage(), rowResult.progressLevel(), statusCell,
+                        errorReportCell, row);
             }
-
         }
         setReportHeaders(loanSheet);
         return Count.instance(successCount, errorCount);
     }
 
+    private LoanRowResult importRow(final List<LoanAccountData> loans, final List<LoanApprovalData> approvalDates,
+            final List<LoanTransactionData> loanRepayments, final List<DisbursementData> disbursalDates, final List<String> statuses,
+            final List<String> existingLoanIds, final int i, final String dateFormat) {
+        int progressLevel = 0;
+        String loanId = EMPTY_STR;
+        CommandProcessingResult result = null;
+        try {
+            String status = statuses.get(i);
+            progressLevel = getProgressLevel(status);
+
+            if (progressLevel == 0 && loans.get(i) != null) {
+                result = importLoan(loans, i, dateFormat);
+                loanId = result.getLoanId().toString();
+                progressLevel = 1;
+            } else {
+                loanId = existingLoanIds.get(i);
+            }
+
+            if (progressLevel <= 1 && approvalDates.get(i) != null) {
+                progressLevel = importLoanApproval(approvalDates, result, i, dateFormat);
+            }
+
+            if (progressLevel <= 2 && disbursalDates.get(i) != null) {
+                progressLevel = importDisbursalData(approvalDates, disbursalDates, result, i, dateFormat);
+            }
+
+            if (loanRepayments.get(i) != null) {
+                progressLevel = importLoanRepayment(loanRepayments, result, i, dateFormat);
+            }
+            return new LoanRowResult(true, loanId, progressLevel, null);
+        } catch (RuntimeException ex) {
+            log.error("Problem occurred in importEntity function", ex);
+            return new LoanRowResult(false, loanId, progressLevel, ImportHandlerUtils.getErrorMessage(ex));
+        }
+    }
+
     private void writeLoanErrorMessage(final Workbook workbook, final String loanId, final String errorMessage, final int progressLevel,
             final Cell statusCell, final Cell errorReportCell, final Row row) {
         String status = EMPTY_STR;
@@ -562,4 +581,5 @@ public class LoanImportHandler implements ImportHandler {
         return 0;
     }
 
+    private record LoanRowResult(boolean imported, String loanId, int progressLevel, String errorMessage) {}
 }
@@ -18,12 +18,17 @@
  */
 package org.apache.fineract.infrastructure.bulkimport.service;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
+import org.apache.commons.io.FileUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
@@ -148,19 +153,23 @@ public class BulkImportEventListener implements ApplicationListener<BulkImportEv
         DocumentCommand documentCommand = new DocumentCommand(modifiedParams, document.getId(), entityType.name(), null, document.getName(),
                 document.getFileName(), document.getSize(), URLConnection.guessContentTypeFromName(document.getFileName()), null, null);
 
-        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        // the result workbook is spooled to disk and streamed to the document store
+        Path resultFile = null;
         try {
-            try {
-                workbook.write(bos);
-            } finally {
-                bos.close();
+            resultFile = Files.createTempFile("bulk-import-result-", null);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(resultFile))) {
+                workbook.write(out);
+            }
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(resultFile))) {
+                this.documentService.updateDocument(documentCommand, in);
             }
         } catch (IOException io) {
             LOG.error("Problem occurred in onApplicationEvent function", io);
+        } finally {
+            if (resultFile != null) {
+                FileUtils.deleteQuietly(resultFile.toFile());
+            }
         }
-        byte[] bytes = bos.toByteArray();
-        ByteArrayInputStream bis = new ByteArrayInputStream(bytes);
-        this.documentService.updateDocument(documentCommand, bis);
     }
 
 }
@@ -20,17 +20,18 @@ package org.apache.fineract.infrastructure.bulkimport.service;
 
 import jakarta.ws.rs.core.Response;
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Collection;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.fineract.infrastructure.bulkimport.data.BulkImportEvent;
 import org.apache.fineract.infrastructure.bulkimport.data.GlobalEntityType;
 import org.apache.fineract.infrastructure.bulkimport.data.ImportData;
@@ -50,7 +51,6 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.tika.Tika;
-import org.apache.tika.io.TikaInputStream;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,88 +88,14 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
             final String dateFormat) {
         try {
             if (entity != null && inputStream != null && fileDetail != null && locale != null && dateFormat != null) {
-                final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                IOUtils.copy(inputStream, baos);
-                final byte[] bytes = baos.toByteArray();
-                InputStream clonedInputStream = new ByteArrayInputStream(bytes);
-                final BufferedInputStream bis = new BufferedInputStream(new ByteArrayInputStream(bytes));
-                final Tika tika = new Tika();
-                final TikaInputStream tikaInputStream = TikaInputStream.get(bis);
-                final String fileType = tika.detect(tikaInputStream);
-                if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
-                    // We had a problem where we tried to upload the downloaded
-                    // file from the import options, it was somehow changed the
-                    // extension we use this fix.
-                    throw new GeneralPlatformDomainRuleException("error.msg.invalid.file.extension",
-                            "Uploaded file extension is not recognized.");
-
-                }
-                Workbook workbook = new HSSFWorkbook(clonedInputStream);
-                GlobalEntityType entityType = null;
-                int primaryColumn = 0;
-                if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
-                    entityType = GlobalEntityType.CLIENTS_PERSON;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_ENTITY.toString())) {
-                    entityType = GlobalEntityType.CLIENTS_ENTITY;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CENTERS.toString())) {
-                    entityType = GlobalEntityType.CENTERS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GROUPS.toString())) {
-                    entityType = GlobalEntityType.GROUPS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.LOANS.toString())) {
-                    entityType = GlobalEntityType.LOANS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.LOAN_TRANSACTIONS.toString())) {
-                    entityType = GlobalEntityType.LOAN_TRANSACTIONS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GUARANTORS.toString())) {
-                    entityType = GlobalEntityType.GUARANTORS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.OFFICES.toString())) {
-                    entityType = GlobalEntityType.OFFICES;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CHART_OF_ACCOUNTS.toString())) {
-                    entityType = GlobalEntityType.CHART_OF_ACCOUNTS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GL_JOURNAL_ENTRIES.toString())) {
-                    entityType = GlobalEntityType.GL_JOURNAL_ENTRIES;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.STAFF.toString())) {
-                    entityType = GlobalEntityType.STAFF;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SHARE_ACCOUNTS.toString())) {
-                    entityType = GlobalEntityType.SHARE_ACCOUNTS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_ACCOUNT.toString())) {
-                    entityType = GlobalEntityType.SAVINGS_ACCOUNT;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_TRANSACTIONS.toString())) {
-                    entityType = GlobalEntityType.SAVINGS_TRANSACTIONS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS.toString())) {
-                    entityType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS.toString())) {
-                    entityType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS.toString())) {
-                    entityType = GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS.toString())) {
-                    entityType = GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS;
-                    primaryColumn = 0;
-                } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.USERS.toString())) {
-                    entityType = GlobalEntityType.USERS;
-                    primaryColumn = 0;
-                } else {
-                    workbook.close();
-                    throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
-
+                // the upload is spooled to disk instead of being copied around in memory
+                final Path uploadFile = Files.createTempFile("bulk-import-", null);
+                try {
+                    Files.copy(inputStream, uploadFile, StandardCopyOption.REPLACE_EXISTING);
+                    return importWorkbook(entity, uploadFile, fileDetail, locale, dateFormat);
+                } finally {
+                    FileUtils.deleteQuietly(uploadFile.toFile());
                 }
-                return publishEvent(primaryColumn, fileDetail, bis, entityType, workbook, locale, dateFormat);
             }
             throw new GeneralPlatformDomainRuleException("error.msg.null", "One or more of the given parameters not found");
         } catch (IOException e) {
@@ -180,6 +106,92 @@ public class BulkImportWorkbookServiceImpl implements BulkImportWorkbookService
         }
     }
 
+    private Long importWorkbook(final String entity, final Path uploadFile, final FormDataContentDisposition fileDetail,
+            final String locale, final String dateFormat) throws IOException {
+        final String fileType;
+        try (InputStream detectionInputStream = new BufferedInputStream(Files.newInputStream(uploadFile))) {
+            fileType = new Tika().detect(detectionInputStream);
+        }
+        if (!fileType.contains("msoffice") && !fileType.contains("application/vnd.ms-excel")) {
+            // We had a problem where we tried to upload the downloaded
+            // file from the import options, it was somehow changed the
+            // extension we use this fix.
+            throw new GeneralPlatformDomainRuleException("error.msg.invalid.file.extension", "Uploaded file extension is not recognized.");
+
+        }
+        final Workbook workbook;
+        try (InputStream workbookInputStream = Files.newInputStream(uploadFile)) {
+            workbook = new HSSFWorkbook(workbookInputStream);
+        }
+        GlobalEntityType entityType = null;
+        int primaryColumn = 0;
+        if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_PERSON.toString())) {
+            entityType = GlobalEntityType.CLIENTS_PERSON;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CLIENTS_ENTITY.toString())) {
+            entityType = GlobalEntityType.CLIENTS_ENTITY;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CENTERS.toString())) {
+            entityType = GlobalEntityType.CENTERS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GROUPS.toString())) {
+            entityType = GlobalEntityType.GROUPS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.LOANS.toString())) {
+            entityType = GlobalEntityType.LOANS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.LOAN_TRANSACTIONS.toString())) {
+            entityType = GlobalEntityType.LOAN_TRANSACTIONS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GUARANTORS.toString())) {
+            entityType = GlobalEntityType.GUARANTORS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.OFFICES.toString())) {
+            entityType = GlobalEntityType.OFFICES;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.CHART_OF_ACCOUNTS.toString())) {
+            entityType = GlobalEntityType.CHART_OF_ACCOUNTS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.GL_JOURNAL_ENTRIES.toString())) {
+            entityType = GlobalEntityType.GL_JOURNAL_ENTRIES;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.STAFF.toString())) {
+            entityType = GlobalEntityType.STAFF;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SHARE_ACCOUNTS.toString())) {
+            entityType = GlobalEntityType.SHARE_ACCOUNTS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_ACCOUNT.toString())) {
+            entityType = GlobalEntityType.SAVINGS_ACCOUNT;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.SAVINGS_TRANSACTIONS.toString())) {
+            entityType = GlobalEntityType.SAVINGS_TRANSACTIONS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS.toString())) {
+            entityType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS.toString())) {
+            entityType = GlobalEntityType.RECURRING_DEPOSIT_ACCOUNTS_TRANSACTIONS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS.toString())) {
+            entityType = GlobalEntityType.FIXED_DEPOSIT_ACCOUNTS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS.toString())) {
+            entityType = GlobalEntityType.FIXED_DEPOSIT_TRANSACTIONS;
+            primaryColumn = 0;
+        } else if (entity.trim().equalsIgnoreCase(GlobalEntityType.USERS.toString())) {
+            entityType = GlobalEntityType.USERS;
+            primaryColumn = 0;
+        } else {
+            workbook.close();
+            throw new GeneralPlatformDomainRuleException("error.msg.unable.to.find.resource", "Unable to find requested resource");
+
+        }
+        try (InputStream documentInputStream = new BufferedInputStream(Files.newInputStream(uploadFile))) {
+            return publishEvent(primaryColumn, fileDetail, documentInputStream, entityType, workbook, locale, dateFormat);
+        }
+    }
+
     private Long publishEvent(final Integer primaryColumn, final FormDataContentDisposition fileDetail,
             final InputStream clonedInputStreamWorkbook, final GlobalEntityType entityType, final Workbook workbook, final String locale,
             final String dateFormat) {
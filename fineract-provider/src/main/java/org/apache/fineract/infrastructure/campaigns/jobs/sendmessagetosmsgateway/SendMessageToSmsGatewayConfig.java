@@ -18,8 +18,14 @@
  */
 package org.apache.fineract.infrastructure.campaigns.jobs.sendmessagetosmsgateway;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
@@ -33,8 +39,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class SendMessageToSmsGatewayConfig {
@@ -52,6 +64,14 @@ public class SendMessageToSmsGatewayConfig {
     @Autowired
     @Qualifier(TaskExecutorConstant.DEFAULT_TASK_EXECUTOR_BEAN_NAME)
     private ThreadPoolTaskExecutor taskExecutor;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Autowired
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Autowired
+    private FineractProperties fineractProperties;
 
     @Bean
     protected Step sendMessageToSmsGatewayStep() {
@@ -67,6 +87,18 @@ public class SendMessageToSmsGatewayConfig {
 
     @Bean
     public SendMessageToSmsGatewayTasklet sendMessageToSmsGatewayTasklet() {
-        return new SendMessageToSmsGatewayTasklet(smsMessageRepository, notificationSenderService, smsConfigUtils, taskExecutor);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new SendMessageToSmsGatewayTasklet(smsMessageRepository, notificationSenderService, smsConfigUtils, taskExecutor,
+                jdbcTemplate, namedParameterJdbcTemplate, sqlGenerator, transactionTemplate, smsGatewayRestTemplate(), fineractProperties);
+    }
+
+    private RestTemplate smsGatewayRestTemplate() {
+        FineractProperties.FineractSmsGatewayProperties gatewayProperties = fineractProperties.getSms().getGateway();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(gatewayProperties.getMaxIdleConnections(), gatewayProperties.getKeepAliveSeconds(),
+                        TimeUnit.SECONDS))
+                .callTimeout(Duration.ofSeconds(gatewayProperties.getTimeoutSeconds())).build();
+        return new RestTemplate(new OkHttp3ClientHttpRequestFactory(client));
     }
 }
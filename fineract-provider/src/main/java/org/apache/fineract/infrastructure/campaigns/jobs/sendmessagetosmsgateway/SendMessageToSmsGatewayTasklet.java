@@ -20,18 +20,22 @@ package org.apache.fineract.infrastructure.campaigns.jobs.sendmessagetosmsgatewa
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
 import org.apache.fineract.infrastructure.campaigns.sms.constants.SmsCampaignConstants;
 import org.apache.fineract.infrastructure.campaigns.sms.exception.ConnectionFailureException;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
 import org.apache.fineract.infrastructure.sms.data.SmsMessageApiQueueResourceData;
 import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
@@ -41,99 +45,144 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Dispatches the PENDING outbound SMS messages to the message gateway. Pending messages are read in id order (keyset
+ * pagination), flagged as waiting for a delivery report with one bulk update per batch, and posted per provider on
+ * the task executor; the number of concurrent posts per provider is bounded so a slow gateway applies backpressure
+ * instead of piling up requests.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class SendMessageToSmsGatewayTasklet implements Tasklet {
 
+    private static final String PENDING_MESSAGES_SQL = "select m.id, m.mobile_no, m.message, m.is_notification, c.provider_id"
+            + " from sms_messages_outbound m left join sms_campaign c on c.id = m.campaign_id"
+            + " where m.status_enum = ? and m.id > ? order by m.id ";
+    private static final String UPDATE_STATUS_SQL = "update sms_messages_outbound set status_enum = :status where id in (:ids)";
+
     private final SmsMessageRepository smsMessageRepository;
     private final NotificationSenderService notificationSenderService;
     private final SmsConfigUtils smsConfigUtils;
     private final ThreadPoolTaskExecutor taskExecutor;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final FineractProperties fineractProperties;
+    private final Map<String, Semaphore> providerPermits = new ConcurrentHashMap<>();
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        int pageLimit = 200;
-        int page = 0;
-        int totalRecords;
+        final FineractProperties.FineractSmsGatewayProperties gatewayProperties = fineractProperties.getSms().getGateway();
+        final int batchSize = gatewayProperties.getBatchSize();
+        final FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        final String pendingMessagesSql = PENDING_MESSAGES_SQL + sqlGenerator.limit(batchSize);
+        final List<CompletableFuture<Void>> dispatches = new ArrayList<>();
+        long lastId = 0L;
+        List<PendingSmsMessage> pendingMessages;
         do {
-            PageRequest pageRequest = PageRequest.of(0, pageLimit);
-            org.springframework.data.domain.Page<SmsMessage> pendingMessages = smsMessageRepository
-                    .findByStatusType(SmsMessageStatusType.PENDING.getValue(), pageRequest);
-            List<SmsMessage> toSaveMessages = new ArrayList<>();
-            List<SmsMessage> toSendNotificationMessages = new ArrayList<>();
+            pendingMessages = jdbcTemplate.query(pendingMessagesSql,
+                    (rs, rowNum) -> new PendingSmsMessage(rs.getLong("id"), rs.getString("mobile_no"), rs.getString("message"),
+                            rs.getBoolean("is_notification"), JdbcSupport.getLong(rs, "provider_id")),
+                    SmsMessageStatusType.PENDING.getValue(), lastId);
+            if (pendingMessages.isEmpty()) {
+                break;
+            }
+            lastId = pendingMessages.get(pendingMessages.size() - 1).id();
+
+            final List<Long> messageIds = new ArrayList<>(pendingMessages.size());
+            final List<Long> notificationIds = new ArrayList<>();
+            final Map<Long, List<SmsMessageApiQueueResourceData>> messagesByProvider = new LinkedHashMap<>();
+            for (final PendingSmsMessage message : pendingMessages) {
+                if (message.notification()) {
+                    notificationIds.add(message.id());
+                } else {
+                    messageIds.add(message.id());
+                    messagesByProvider.computeIfAbsent(message.providerId(), providerId -> new ArrayList<>())
+                            .add(SmsMessageApiQueueResourceData.instance(message.id(), tenant.getTenantIdentifier(), null, null,
+                                    message.mobileNo(), message.message(), message.providerId()));
+                }
+            }
             try {
-                if (!CollectionUtils.isEmpty(pendingMessages.getContent())) {
-                    final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
-                    Iterator<SmsMessage> pendingMessageIterator = pendingMessages.iterator();
-                    Collection<SmsMessageApiQueueResourceData> apiQueueResourceDataCollection = new ArrayList<>();
-                    while (pendingMessageIterator.hasNext()) {
-                        SmsMessage smsData = pendingMessageIterator.next();
-                        if (smsData.isNotification()) {
-                            smsData.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
-                            toSendNotificationMessages.add(smsData);
-                        } else {
-                            SmsMessageApiQueueResourceData apiQueueResourceData = SmsMessageApiQueueResourceData.instance(smsData.getId(),
-                                    tenantIdentifier, null, null, smsData.getMobileNo(), smsData.getMessage(),
-                                    smsData.getSmsCampaign().getProviderId());
-                            apiQueueResourceDataCollection.add(apiQueueResourceData);
-                            smsData.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
-                            toSaveMessages.add(smsData);
-                        }
-                    }
-                    if (!toSaveMessages.isEmpty()) {
-                        smsMessageRepository.saveAll(toSaveMessages);
-                        smsMessageRepository.flush();
-                        taskExecutor.execute(new SmsTask(ThreadLocalContextUtil.getTenant(), apiQueueResourceDataCollection));
-                    }
-                    if (!toSendNotificationMessages.isEmpty()) {
-                        notificationSenderService.sendNotification(toSendNotificationMessages);
+                if (!messageIds.isEmpty()) {
+                    // committed before posting, so delivery reports never see a message still flagged as pending
+                    transactionTemplate
+                            .executeWithoutResult(status -> updateStatus(messageIds, SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT));
+                    for (final Map.Entry<Long, List<SmsMessageApiQueueResourceData>> entry : messagesByProvider.entrySet()) {
+                        dispatches.add(dispatch(tenant, entry.getKey(), entry.getValue()));
                     }
                 }
+                if (!notificationIds.isEmpty()) {
+                    final List<SmsMessage> notifications = smsMessageRepository.findAllById(notificationIds);
+                    notifications.forEach(sms -> sms.setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue()));
+                    notificationSenderService.sendNotification(notifications);
+                }
             } catch (Exception e) {
                 throw new ConnectionFailureException(SmsCampaignConstants.SMS, e);
             }
-            page++;
-            totalRecords = pendingMessages.getTotalPages();
-        } while (page < totalRecords);
+        } while (pendingMessages.size() == batchSize);
+
+        CompletableFuture.allOf(dispatches.toArray(new CompletableFuture[0])).join();
         return RepeatStatus.FINISHED;
     }
 
-    class SmsTask implements Runnable, ApplicationListener<ContextClosedEvent> {
-
-        private final FineractPlatformTenant tenant;
-        private final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas;
-
-        SmsTask(final FineractPlatformTenant tenant, final Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
-            this.tenant = tenant;
-            this.apiQueueResourceDatas = apiQueueResourceDatas;
+    private CompletableFuture<Void> dispatch(final FineractPlatformTenant tenant, final Long providerId,
+            final List<SmsMessageApiQueueResourceData> messages) throws InterruptedException {
+        final Semaphore permits = providerPermits.computeIfAbsent(tenant.getTenantIdentifier() + ":" + providerId,
+                key -> new Semaphore(fineractProperties.getSms().getGateway().getMaxConcurrentPerProvider()));
+        permits.acquire();
+        final CompletableFuture<Void> dispatch = new CompletableFuture<>();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    ThreadLocalContextUtil.setTenant(tenant);
+                    send(providerId, messages);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                    permits.release();
+                    dispatch.complete(null);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            try {
+                send(providerId, messages);
+            } finally {
+                permits.release();
+                dispatch.complete(null);
+            }
         }
+        return dispatch;
+    }
 
-        @Override
-        public void run() {
-            ThreadLocalContextUtil.setTenant(tenant);
-            connectAndSendToIntermediateServer(apiQueueResourceDatas);
+    private void send(final Long providerId, final List<SmsMessageApiQueueResourceData> messages) {
+        try {
+            connectAndSendToIntermediateServer(messages);
+        } catch (RuntimeException e) {
+            log.error("Sending {} SMS messages of provider {} to the message gateway failed", messages.size(), providerId, e);
+            updateStatus(messages.stream().map(SmsMessageApiQueueResourceData::getInternalId).toList(), SmsMessageStatusType.FAILED);
         }
+    }
 
-        @Override
-        public void onApplicationEvent(ContextClosedEvent event) {
-            taskExecutor.shutdown();
-            log.info("Shutting down the ExecutorService");
-        }
+    private void updateStatus(final List<Long> messageIds, final SmsMessageStatusType status) {
+        namedParameterJdbcTemplate.update(UPDATE_STATUS_SQL,
+                new MapSqlParameterSource("status", status.getValue()).addValue("ids", messageIds));
     }
 
-    private void connectAndSendToIntermediateServer(Collection<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
+    private void connectAndSendToIntermediateServer(List<SmsMessageApiQueueResourceData> apiQueueResourceDatas) {
         Map<String, Object> hostConfig = smsConfigUtils.getMessageGateWayRequestURI("sms",
                 SmsMessageApiQueueResourceData.toJsonString(apiQueueResourceDatas));
         URI uri = (URI) hostConfig.get("uri");
@@ -144,4 +193,6 @@ public class SendMessageToSmsGatewayTasklet implements Tasklet {
             throw new ConnectionFailureException(SmsCampaignConstants.SMS);
         }
     }
+
+    private record PendingSmsMessage(Long id, String mobileNo, String message, boolean notification, Long providerId) {}
 }
@@ -47,4 +47,74 @@ public class TaskExecutorConfig {
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorMaxPoolSize());
         return threadPoolTaskExecutor;
     }
+
+    @Bean(TaskExecutorConstant.REPORT_RUN_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor reportRunThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getReport().getAsync().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getReport().getAsync().getThreadPoolSize());
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getReport().getAsync().getQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("report-run-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor hookDeliveryThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getHook().getDelivery().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getHook().getDelivery().getThreadPoolSize());
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getHook().getDelivery().getQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("hook-delivery-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor bulkImportThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getBulkImport().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getBulkImport().getThreadPoolSize());
+        threadPoolTaskExecutor.setThreadNamePrefix("bulk-import-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.LOAN_PROVISIONING_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor loanProvisioningThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getLoan().getProvisioning().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getLoan().getProvisioning().getThreadPoolSize());
+        threadPoolTaskExecutor.setThreadNamePrefix("loan-provisioning-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.STANDING_INSTRUCTION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor standingInstructionThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getStandingInstruction().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getStandingInstruction().getThreadPoolSize());
+        threadPoolTaskExecutor.setThreadNamePrefix("standing-instruction-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.LOAN_DETAILS_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor loanDetailsThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getLoan().getDetails().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getLoan().getDetails().getThreadPoolSize());
+        threadPoolTaskExecutor.setThreadNamePrefix("loan-details-");
+        return threadPoolTaskExecutor;
+    }
+
+    /**
+     * Shared by all parallel batches, the number of tasks a single batch submits is limited by
+     * {@code fineract.batch.parallel.max-concurrency-per-batch}.
+     */
+    @Bean(TaskExecutorConstant.BATCH_REQUEST_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor batchRequestThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getBatch().getParallel().getThreadPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getBatch().getParallel().getThreadPoolSize());
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getBatch().getParallel().getQueueCapacity());
+        threadPoolTaskExecutor.setThreadNamePrefix("batch-request-");
+        return threadPoolTaskExecutor;
+    }
 }
@@ -20,12 +20,19 @@
 package org.apache.fineract.infrastructure.core.config.cache;
 
 import java.time.Duration;
+import java.util.List;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
 import javax.cache.spi.CachingProvider;
+import org.apache.fineract.infrastructure.businessdate.service.BusinessDateSnapshotCache;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleCache;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.cache.support.NoOpCacheManager;
@@ -36,51 +43,101 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     public static final String CONFIG_BY_NAME_CACHE_NAME = "configByName";
+    public static final String CREDENTIAL_VERIFICATIONS_CACHE_NAME = "credentialVerifications";
+    public static final String UNREAD_NOTIFICATIONS_CACHE_NAME = "unreadNotifications";
+
+    private static final long DEFAULT_HEAP_ENTRIES = 10000;
 
     @Bean
     public TransactionBoundCacheManager defaultCacheManager(JCacheCacheManager ehCacheManager) {
         SpecifiedCacheSupportingCacheManager cacheManager = new SpecifiedCacheSupportingCacheManager();
         cacheManager.setNoOpCacheManager(new NoOpCacheManager());
         cacheManager.setDelegateCacheManager(ehCacheManager);
-        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME);
+        cacheManager.setSupportedCaches(CONFIG_BY_NAME_CACHE_NAME, CREDENTIAL_VERIFICATIONS_CACHE_NAME);
         return new TransactionBoundCacheManager(cacheManager);
     }
 
     @Bean
-    public JCacheCacheManager ehCacheManager() {
+    public JCacheCacheManager ehCacheManager(FineractProperties fineractProperties) {
         JCacheCacheManager jCacheCacheManager = new JCacheCacheManager();
-        jCacheCacheManager.setCacheManager(getInternalEhCacheManager());
+        jCacheCacheManager.setCacheManager(getInternalEhCacheManager(fineractProperties));
         return jCacheCacheManager;
     }
 
-    private CacheManager getInternalEhCacheManager() {
+    private CacheManager getInternalEhCacheManager(FineractProperties fineractProperties) {
         CachingProvider provider = Caching.getCachingProvider();
         CacheManager cacheManager = provider.getCacheManager();
 
-        javax.cache.configuration.Configuration<Object, Object> defaultTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
-                        .withExpiry(ExpiryPolicyBuilder.noExpiration()).build());
-
-        cacheManager.createCache("users", defaultTemplate);
-        cacheManager.createCache("usersByUsername", defaultTemplate);
-        cacheManager.createCache("tenantsById", defaultTemplate);
-        cacheManager.createCache("offices", defaultTemplate);
-        cacheManager.createCache("officesForDropdown", defaultTemplate);
-        cacheManager.createCache("officesById", defaultTemplate);
-        cacheManager.createCache("charges", defaultTemplate);
-        cacheManager.createCache("funds", defaultTemplate);
-        cacheManager.createCache("code_values", defaultTemplate);
-        cacheManager.createCache("codes", defaultTemplate);
-        cacheManager.createCache("hooks", defaultTemplate);
-        cacheManager.createCache("tfConfig", defaultTemplate);
-        cacheManager.createCache(CONFIG_BY_NAME_CACHE_NAME, defaultTemplate);
-
-        javax.cache.configuration.Configuration<Object, Object> accessTokenTemplate = Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(10000))
-                        .withExpiry(ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofHours(2))).build());
-
-        cacheManager.createCache("userTFAccessToken", accessTokenTemplate);
+        FineractProperties.FineractCacheProperties cacheProperties = fineractProperties.getCache();
+        for (String cacheName : List.of("users", "usersByUsername", "tenantsById", "offices", "officesForDropdown", "officesById",
+                "charges", "funds", "code_values", "codes", "hooks", "tfConfig", CONFIG_BY_NAME_CACHE_NAME)) {
+            cacheManager.createCache(cacheName,
+                    cacheConfiguration(cacheProperties, cacheName, DEFAULT_HEAP_ENTRIES, ExpiryPolicyBuilder.noExpiration()));
+        }
+
+        cacheManager.createCache("userTFAccessToken", cacheConfiguration(cacheProperties, "userTFAccessToken", DEFAULT_HEAP_ENTRIES,
+                ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofHours(2))));
+
+        FineractProperties.FineractSecurityBasicAuthCredentialCache credentialCacheProperties = fineractProperties.getSecurity()
+                .getBasicauth().getCredentialCache();
+        if (credentialCacheProperties != null && credentialCacheProperties.isEnabled()) {
+            Duration timeToLive = Duration.ofSeconds(credentialCacheProperties.getTtlSeconds());
+            cacheManager.createCache(CREDENTIAL_VERIFICATIONS_CACHE_NAME, cacheConfiguration(cacheProperties,
+                    CREDENTIAL_VERIFICATIONS_CACHE_NAME, credentialCacheProperties.getMaxEntries(), timeToLiveExpiration(timeToLive)));
+        }
+
+        FineractProperties.FineractLoanSchedulePreviewProperties schedulePreviewProperties = fineractProperties.getLoan()
+                .getSchedulePreview();
+        if (schedulePreviewProperties != null && schedulePreviewProperties.isEnabled()) {
+            cacheManager.createCache(LoanScheduleCache.INPUTS_CACHE_NAME,
+                    cacheConfiguration(cacheProperties, LoanScheduleCache.INPUTS_CACHE_NAME, schedulePreviewProperties.getMaxEntries(),
+                            timeToLiveExpiration(Duration.ofSeconds(schedulePreviewProperties.getInputsTtlSeconds()))));
+            cacheManager.createCache(LoanScheduleCache.PREVIEWS_CACHE_NAME,
+                    cacheConfiguration(cacheProperties, LoanScheduleCache.PREVIEWS_CACHE_NAME, schedulePreviewProperties.getMaxEntries(),
+                            timeToLiveExpiration(Duration.ofSeconds(schedulePreviewProperties.getResultTtlSeconds()))));
+        }
+
+        if (cacheProperties != null) {
+            cacheManager.createCache(BusinessDateSnapshotCache.CACHE_NAME, cacheConfiguration(cacheProperties,
+                    BusinessDateSnapshotCache.CACHE_NAME, DEFAULT_HEAP_ENTRIES,
+                    timeToLiveExpiration(Duration.ofSeconds(cacheProperties.getBusinessDateTtlSeconds()))));
+            cacheManager.createCache(UNREAD_NOTIFICATIONS_CACHE_NAME, cacheConfiguration(cacheProperties, UNREAD_NOTIFICATIONS_CACHE_NAME,
+                    DEFAULT_HEAP_ENTRIES, timeToLiveExpiration(Duration.ofSeconds(cacheProperties.getUnreadNotificationTtlSeconds()))));
+        }
 
         return cacheManager;
     }
+
+    /**
+     * Builds the configuration of a cache from its defaults, overridden by the heap size, time to live and off-heap tier
+     * configured for it under {@code fineract.cache.caches}.
+     */
+    static javax.cache.configuration.Configuration<Object, Object> cacheConfiguration(
+            FineractProperties.FineractCacheProperties cacheProperties, String cacheName, long defaultHeapEntries,
+            ExpiryPolicy<Object, Object> defaultExpiry) {
+        FineractProperties.FineractCacheSpecProperties cacheSpec = cacheProperties == null ? null
+                : cacheProperties.getCaches().get(cacheName);
+        long heapEntries = cacheSpec != null && cacheSpec.getHeapEntries() > 0 ? cacheSpec.getHeapEntries() : defaultHeapEntries;
+        ExpiryPolicy<Object, Object> expiry = cacheSpec != null && cacheSpec.getTtlSeconds() > 0
+                ? timeToLiveExpiration(Duration.ofSeconds(cacheSpec.getTtlSeconds()))
+                : defaultExpiry;
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(heapEntries);
+        boolean offHeapEnabled = cacheSpec != null && cacheSpec.getOffHeapMb() > 0;
+        if (offHeapEnabled) {
+            resourcePools = resourcePools.offheap(cacheSpec.getOffHeapMb(), MemoryUnit.MB);
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools).withExpiry(expiry);
+        if (offHeapEnabled) {
+            // entries moved off the heap are stored in their serialized form
+            ClassLoader classLoader = CacheConfig.class.getClassLoader();
+            builder = builder.withKeySerializer(new PlainJavaSerializer<>(classLoader))
+                    .withValueSerializer(new PlainJavaSerializer<>(classLoader));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
+    }
+
+    private static ExpiryPolicy<Object, Object> timeToLiveExpiration(Duration timeToLive) {
+        return ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+    }
 }
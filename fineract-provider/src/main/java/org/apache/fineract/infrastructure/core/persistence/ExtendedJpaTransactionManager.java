@@ -23,6 +23,7 @@ import jakarta.persistence.FlushModeType;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingContext;
 import org.springframework.jdbc.datasource.JdbcTransactionObjectSupport;
 import org.springframework.orm.jpa.EntityManagerHolder;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -40,7 +41,14 @@ public class ExtendedJpaTransactionManager extends JpaTransactionManager {
 
     @Override
     protected void doBegin(Object transaction, TransactionDefinition definition) {
-        super.doBegin(transaction, definition);
+        // the routing hint has to be in place before the connection of the transaction is acquired
+        ReadReplicaRoutingContext.push(definition.isReadOnly() && ReadReplicaRoutingContext.isApiReadRequest());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReadReplicaRoutingContext.pop();
+            throw e;
+        }
         if (isReadOnlyTx(transaction)) {
             EntityManager entityManager = getCurrentEntityManager();
             if (entityManager != null) {
@@ -64,7 +72,11 @@ public class ExtendedJpaTransactionManager extends JpaTransactionManager {
 
     @Override
     protected void doCleanupAfterCompletion(Object transaction) {
-        super.doCleanupAfterCompletion(transaction);
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadReplicaRoutingContext.pop();
+        }
         invokeLifecycleCallbacks(TransactionLifecycleCallback::afterCompletion);
     }
 
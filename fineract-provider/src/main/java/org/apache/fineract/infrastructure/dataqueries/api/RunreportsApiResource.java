@@ -29,6 +29,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
@@ -41,8 +42,13 @@ import jakarta.ws.rs.core.UriInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
 import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.dataqueries.data.ReportExportType;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
+import org.apache.fineract.infrastructure.dataqueries.service.ReportRunService;
+import org.apache.fineract.infrastructure.documentmanagement.api.ContentResources;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
 import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
 import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
 import org.apache.fineract.infrastructure.security.exception.NoAuthorizationException;
@@ -62,6 +68,8 @@ public class RunreportsApiResource {
     private final PlatformSecurityContext context;
     private final ReadReportingService readExtraDataAndReportingService;
     private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ReportRunService reportRunService;
+    private final ToApiJsonSerializer<ReportRunData> reportRunDataSerializer;
 
     @GET
     @Path("/availableExports/{reportName}")
@@ -133,6 +141,57 @@ public class RunreportsApiResource {
         return reportingProcessService.processRequest(reportName, queryParams);
     }
 
+    @POST
+    @Path("{reportName}/runs")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Submit an asynchronous Report run", description = "Queues the report for execution in the background and returns the identifier of the report run. "
+            + "Accepts the same query parameters as the synchronous runreports resource. "
+            + "If the same user ran the report with identical parameters and the result has not expired yet, the existing run is returned.\n"
+            + "\n" + "Example Requests:\n" + "\n" + "runreports/Client%20Listing/runs?R_officeId=1&exportCSV=true")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = RunreportsApiResourceSwagger.ReportRunResponse.class))) })
+    public String submitReportRun(@PathParam("reportName") @Parameter(description = "reportName") final String reportName,
+            @Context final UriInfo uriInfo,
+            @DefaultValue("false") @QueryParam(IS_SELF_SERVICE_USER_REPORT_PARAMETER) @Parameter(description = IS_SELF_SERVICE_USER_REPORT_PARAMETER) final boolean isSelfServiceUserReport) {
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedStringMap();
+        queryParams.putAll(uriInfo.getQueryParameters());
+
+        final boolean parameterType = ApiParameterHelper.parameterType(queryParams);
+
+        checkUserPermissionForReport(reportName, parameterType);
+
+        queryParams.putSingle(IS_SELF_SERVICE_USER_REPORT_PARAMETER, Boolean.toString(isSelfServiceUserReport));
+
+        return this.reportRunDataSerializer.serialize(this.reportRunService.submitReportRun(reportName, queryParams, isSelfServiceUserReport));
+    }
+
+    @GET
+    @Path("runs/{runId}")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Retrieve the status of an asynchronous Report run", description = "Returns the status of a report run submitted by the current user.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = RunreportsApiResourceSwagger.ReportRunResponse.class))) })
+    public String retrieveReportRun(@PathParam("runId") @Parameter(description = "runId") final Long runId) {
+        this.context.authenticatedUser();
+        return this.reportRunDataSerializer.serialize(this.reportRunService.retrieveReportRun(runId));
+    }
+
+    @GET
+    @Path("runs/{runId}/result")
+    @Consumes({ MediaType.APPLICATION_JSON })
+    @Produces({ MediaType.APPLICATION_OCTET_STREAM })
+    @Operation(summary = "Download the result of an asynchronous Report run", description = "Streams the spooled output of a completed report run. "
+            + "The result is available until the run expires.")
+    @ApiResponses({ @ApiResponse(responseCode = "200", description = "Not Shown: The report output as it would be returned by the runreports resource") })
+    public Response retrieveReportRunResult(@PathParam("runId") @Parameter(description = "runId") final Long runId) {
+        this.context.authenticatedUser();
+        final FileData fileData = this.reportRunService.retrieveReportRunResult(runId);
+        return ContentResources.fileDataToResponse(fileData, "attachment");
+    }
+
     private void checkUserPermissionForReport(final String reportName, final boolean parameterType) {
         // Anyone can run a 'report' that is simply getting possible parameter
         // (dropdown listbox) values.
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.dataqueries.api;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.OffsetDateTime;
 import java.util.List;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
 import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
@@ -39,4 +40,29 @@ final class RunreportsApiResourceSwagger {
         public List<ResultsetRowData> data;
     }
 
+    @Schema(description = "ReportRunResponse")
+    public static final class ReportRunResponse {
+
+        private ReportRunResponse() {}
+
+        @Schema(example = "1")
+        public Long id;
+        @Schema(example = "Client Listing")
+        public String reportName;
+        @Schema(example = "COMPLETED")
+        public String status;
+        @Schema(example = "Client_Listing.csv")
+        public String fileName;
+        @Schema(example = "text/csv")
+        public String contentType;
+        @Schema(example = "2048")
+        public Long resultSize;
+        public String errorMessage;
+        public OffsetDateTime submittedAt;
+        public OffsetDateTime startedAt;
+        public OffsetDateTime completedAt;
+        public OffsetDateTime expiresAt;
+        @Schema(example = "false")
+        public Boolean reused;
+    }
 }
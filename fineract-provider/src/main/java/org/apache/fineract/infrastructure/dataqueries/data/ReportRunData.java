@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.data;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRun;
+
+/**
+ * Immutable data object representing the state of an asynchronous report run.
+ */
+@Getter
+@AllArgsConstructor
+public final class ReportRunData implements Serializable {
+
+    private final Long id;
+    private final String reportName;
+    private final String status;
+    private final String fileName;
+    private final String contentType;
+    private final Long resultSize;
+    private final String errorMessage;
+    private final OffsetDateTime submittedAt;
+    private final OffsetDateTime startedAt;
+    private final OffsetDateTime completedAt;
+    private final OffsetDateTime expiresAt;
+    private final boolean reused;
+
+    public static ReportRunData from(final ReportRun reportRun, final boolean reused) {
+        return new ReportRunData(reportRun.getId(), reportRun.getReportName(), reportRun.getStatus().name(), reportRun.getFileName(),
+                reportRun.getContentType(), reportRun.getResultSize(), reportRun.getErrorMessage(), reportRun.getSubmittedAt(),
+                reportRun.getStartedAt(), reportRun.getCompletedAt(), reportRun.getExpiresAt(), reused);
+    }
+}
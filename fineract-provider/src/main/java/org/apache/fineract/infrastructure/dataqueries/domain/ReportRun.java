@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * A report execution submitted through the asynchronous report-run API. The produced output is spooled into the
+ * configured content repository and can be downloaded until the run expires.
+ */
+@Entity
+@Table(name = "m_report_run")
+@Getter
+@NoArgsConstructor
+public class ReportRun extends AbstractPersistableCustom {
+
+    @Column(name = "report_name", nullable = false, length = 100)
+    private String reportName;
+
+    @Column(name = "parameters_hash", nullable = false, length = 64)
+    private String parametersHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportRunStatus status;
+
+    @Column(name = "submitted_by", nullable = false)
+    private Long submittedBy;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "file_name", length = 250)
+    private String fileName;
+
+    @Column(name = "file_location", length = 500)
+    private String fileLocation;
+
+    @Column(name = "storage_type")
+    private Integer storageType;
+
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "submitted_at", nullable = false)
+    private OffsetDateTime submittedAt;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private OffsetDateTime expiresAt;
+
+    public ReportRun(final String reportName, final String parametersHash, final Long submittedBy) {
+        this.reportName = reportName;
+        this.parametersHash = parametersHash;
+        this.submittedBy = submittedBy;
+        this.status = ReportRunStatus.QUEUED;
+        this.submittedAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    public void markRunning() {
+        this.status = ReportRunStatus.RUNNING;
+        this.startedAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    public void markCompleted(final String fileName, final String contentType, final String fileLocation, final Integer storageType,
+            final Long resultSize, final int resultTtlMinutes) {
+        this.status = ReportRunStatus.COMPLETED;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.fileLocation = fileLocation;
+        this.storageType = storageType;
+        this.resultSize = resultSize;
+        this.completedAt = DateUtils.getAuditOffsetDateTime();
+        this.expiresAt = this.completedAt.plusMinutes(resultTtlMinutes);
+    }
+
+    public void markFailed(final String errorMessage, final int resultTtlMinutes) {
+        this.status = ReportRunStatus.FAILED;
+        this.errorMessage = errorMessage == null ? null : errorMessage.substring(0, Math.min(errorMessage.length(), 1000));
+        this.completedAt = DateUtils.getAuditOffsetDateTime();
+        this.expiresAt = this.completedAt.plusMinutes(resultTtlMinutes);
+    }
+
+    /**
+     * Whether the run is still queued or running although it was submitted, or started, before the deadline. Such a run
+     * was left behind by a node that stopped.
+     */
+    public boolean isStale(final OffsetDateTime deadline) {
+        return (this.status == ReportRunStatus.QUEUED && this.submittedAt.isBefore(deadline))
+                || (this.status == ReportRunStatus.RUNNING && this.startedAt.isBefore(deadline));
+    }
+
+    public boolean isExpired() {
+        return this.expiresAt != null && DateUtils.getAuditOffsetDateTime().isAfter(this.expiresAt);
+    }
+}
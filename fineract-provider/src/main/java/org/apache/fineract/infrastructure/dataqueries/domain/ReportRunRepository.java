@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.domain;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ReportRunRepository extends JpaRepository<ReportRun, Long> {
+
+    Optional<ReportRun> findFirstByReportNameAndParametersHashAndSubmittedByAndStatusAndExpiresAtAfterOrderByIdDesc(String reportName,
+            String parametersHash, Long submittedBy, ReportRunStatus status, OffsetDateTime now);
+
+    Optional<ReportRun> findFirstByReportNameAndParametersHashAndSubmittedByAndStatusInAndSubmittedAtAfterOrderByIdDesc(String reportName,
+            String parametersHash, Long submittedBy, Collection<ReportRunStatus> statuses, OffsetDateTime submittedAfter);
+
+    @Query("select r from ReportRun r where r.expiresAt < :now order by r.id")
+    List<ReportRun> findExpired(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Query("select r from ReportRun r where r.status in :statuses and coalesce(r.startedAt, r.submittedAt) < :deadline order by r.id")
+    List<ReportRun> findStale(@Param("statuses") Collection<ReportRunStatus> statuses, @Param("deadline") OffsetDateTime deadline,
+            Pageable pageable);
+}
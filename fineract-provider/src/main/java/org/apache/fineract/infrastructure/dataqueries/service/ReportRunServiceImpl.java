@@ -0,0 +1,337 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRun;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRunRepository;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRunStatus;
+import org.apache.fineract.infrastructure.dataqueries.exception.ReportRunNotFoundException;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportRunServiceImpl implements ReportRunService {
+
+    private static final int EXPIRED_RUN_PURGE_BATCH_SIZE = 50;
+    private static final List<ReportRunStatus> IN_FLIGHT_STATUSES = List.of(ReportRunStatus.QUEUED, ReportRunStatus.RUNNING);
+
+    private final PlatformSecurityContext context;
+    private final ReadReportingService readReportingService;
+    private final ReportingProcessServiceProvider reportingProcessServiceProvider;
+    private final ReportRunRepository reportRunRepository;
+    private final ContentRepositoryFactory contentRepositoryFactory;
+    private final FineractProperties fineractProperties;
+    @Qualifier(TaskExecutorConstant.REPORT_RUN_TASK_EXECUTOR_BEAN_NAME)
+    private final ThreadPoolTaskExecutor reportRunTaskExecutor;
+
+    // active runs per tenant on this node, used to enforce fineract.report.async.max-concurrent-runs-per-tenant
+    private final Map<String, AtomicInteger> activeRunsByTenant = new ConcurrentHashMap<>();
+
+    @Override
+    public ReportRunData submitReportRun(final String reportName, final MultivaluedMap<String, String> queryParams,
+            final boolean isSelfServiceUserReport) {
+        final AppUser currentUser = this.context.authenticatedUser();
+        final boolean parameterType = ApiParameterHelper.parameterType(queryParams);
+        final String reportType = this.readReportingService.getReportType(reportName, isSelfServiceUserReport, parameterType);
+        final ReportingProcessService reportingProcessService = this.reportingProcessServiceProvider.findReportingProcessService(reportType);
+        if (reportingProcessService == null) {
+            throw new PlatformServiceUnavailableException("err.msg.report.service.implementation.missing",
+                    ReportingProcessServiceProvider.SERVICE_MISSING + reportType, reportType);
+        }
+
+        purgeExpiredReportRuns();
+
+        final String parametersHash = hashParameters(reportName, queryParams);
+        final ReportRun cachedRun = this.reportRunRepository
+                .findFirstByReportNameAndParametersHashAndSubmittedByAndStatusAndExpiresAtAfterOrderByIdDesc(reportName, parametersHash,
+                        currentUser.getId(), ReportRunStatus.COMPLETED, DateUtils.getAuditOffsetDateTime())
+                .orElse(null);
+        if (cachedRun != null) {
+            return ReportRunData.from(cachedRun, true);
+        }
+        // an identical run still in progress is shared as well; runs older than the run timeout are treated as abandoned
+        final ReportRun inFlightRun = this.reportRunRepository
+                .findFirstByReportNameAndParametersHashAndSubmittedByAndStatusInAndSubmittedAtAfterOrderByIdDesc(reportName,
+                        parametersHash, currentUser.getId(), IN_FLIGHT_STATUSES, getRunDeadline())
+                .orElse(null);
+        if (inFlightRun != null) {
+            return ReportRunData.from(inFlightRun, true);
+        }
+
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        acquireTenantSlot(tenantIdentifier);
+        final ReportRun reportRun;
+        try {
+            reportRun = this.reportRunRepository.saveAndFlush(new ReportRun(reportName, parametersHash, currentUser.getId()));
+        } catch (final RuntimeException e) {
+            releaseTenantSlot(tenantIdentifier);
+            throw e;
+        }
+        try {
+            final MultivaluedMap<String, String> runQueryParams = new MultivaluedStringMap(queryParams);
+            final FineractContext fineractContext = ThreadLocalContextUtil.getContext();
+            final Long reportRunId = reportRun.getId();
+            this.reportRunTaskExecutor.execute(new DelegatingSecurityContextRunnable(
+                    () -> executeReportRun(reportRunId, runQueryParams, reportingProcessService, fineractContext, tenantIdentifier),
+                    SecurityContextHolder.getContext()));
+        } catch (final TaskRejectedException e) {
+            releaseTenantSlot(tenantIdentifier);
+            reportRun.markFailed("Report run queue is full", getResultTtlMinutes());
+            this.reportRunRepository.saveAndFlush(reportRun);
+            throw new PlatformServiceUnavailableException("error.msg.report.run.queue.full",
+                    "Report run queue is full, please retry later", reportName, e);
+        }
+        return ReportRunData.from(reportRun, false);
+    }
+
+    @Override
+    public ReportRunData retrieveReportRun(final Long reportRunId) {
+        final ReportRun reportRun = findOwnReportRun(reportRunId);
+        if (reportRun.isStale(getRunDeadline())) {
+            failStaleReportRun(reportRun);
+        }
+        return ReportRunData.from(reportRun, false);
+    }
+
+    @Override
+    public FileData retrieveReportRunResult(final Long reportRunId) {
+        final ReportRun reportRun = findOwnReportRun(reportRunId);
+        if (reportRun.getStatus() != ReportRunStatus.COMPLETED || reportRun.isExpired()) {
+            throw new ReportRunNotFoundException(reportRunId, reportRun.isExpired() ? "EXPIRED" : reportRun.getStatus().name());
+        }
+        final ContentRepository contentRepository = this.contentRepositoryFactory
+                .getRepository(StorageType.fromInt(reportRun.getStorageType()));
+        return contentRepository.fetchReportResult(reportRun.getFileLocation(), reportRun.getFileName(), reportRun.getContentType());
+    }
+
+    private ReportRun findOwnReportRun(final Long reportRunId) {
+        final AppUser currentUser = this.context.authenticatedUser();
+        return this.reportRunRepository.findById(reportRunId).filter(run -> run.getSubmittedBy().equals(currentUser.getId()))
+                .orElseThrow(() -> new ReportRunNotFoundException(reportRunId));
+    }
+
+    private void executeReportRun(final Long reportRunId, final MultivaluedMap<String, String> queryParams,
+            final ReportingProcessService reportingProcessService, final FineractContext fineractContext, final String tenantIdentifier) {
+        Path spoolFile = null;
+        try {
+            ThreadLocalContextUtil.init(fineractContext);
+            final ReportRun reportRun = this.reportRunRepository.findById(reportRunId)
+                    .orElseThrow(() -> new ReportRunNotFoundException(reportRunId));
+            reportRun.markRunning();
+            this.reportRunRepository.saveAndFlush(reportRun);
+            try {
+                final Response response = reportingProcessService.processRequest(reportRun.getReportName(), queryParams);
+                if (response.getStatus() >= Response.Status.BAD_REQUEST.getStatusCode()) {
+                    throw new IllegalStateException("Report finished with HTTP status " + response.getStatus());
+                }
+                spoolFile = Files.createTempFile("report-run-" + reportRunId + "-", ".tmp");
+                try (OutputStream out = Files.newOutputStream(spoolFile)) {
+                    writeEntity(response.getEntity(), out);
+                }
+                final String contentType = response.getMediaType() == null ? MediaType.APPLICATION_OCTET_STREAM
+                        : response.getMediaType().toString();
+                final String fileName = resolveFileName(reportRun.getReportName(), response, contentType);
+
+                final ContentRepository contentRepository = this.contentRepositoryFactory.getRepository();
+                final String location;
+                try (InputStream in = Files.newInputStream(spoolFile)) {
+                    location = contentRepository.saveReportResult(in, Files.size(spoolFile), reportRunId, fileName);
+                }
+                reportRun.markCompleted(fileName, contentType, location, contentRepository.getStorageType().getValue(),
+                        Files.size(spoolFile), getResultTtlMinutes());
+            } catch (final Exception e) {
+                log.warn("Report run {} failed", reportRunId, e);
+                reportRun.markFailed(StringUtils.defaultIfBlank(e.getMessage(), e.getClass().getSimpleName()), getResultTtlMinutes());
+            }
+            this.reportRunRepository.saveAndFlush(reportRun);
+        } catch (final RuntimeException e) {
+            log.error("Unable to record the state of report run {}", reportRunId, e);
+        } finally {
+            deleteSpoolFile(spoolFile);
+            releaseTenantSlot(tenantIdentifier);
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private void writeEntity(final Object entity, final OutputStream out) throws IOException {
+        if (entity instanceof StreamingOutput streamingOutput) {
+            streamingOutput.write(out);
+        } else if (entity instanceof byte[] bytes) {
+            out.write(bytes);
+        } else if (entity instanceof ByteArrayOutputStream byteArrayOutputStream) {
+            byteArrayOutputStream.writeTo(out);
+        } else if (entity instanceof InputStream inputStream) {
+            try (inputStream) {
+                inputStream.transferTo(out);
+            }
+        } else if (entity != null) {
+            out.write(entity.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String resolveFileName(final String reportName, final Response response, final String contentType) {
+        final String contentDisposition = response.getHeaderString("Content-Disposition");
+        String fileName = StringUtils.substringAfter(contentDisposition, "filename=");
+        if (StringUtils.isBlank(fileName)) {
+            fileName = reportName + resolveFileExtension(contentType);
+        }
+        return StringUtils.strip(fileName, "\" ").replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private String resolveFileExtension(final String contentType) {
+        if (StringUtils.containsIgnoreCase(contentType, "json")) {
+            return ".json";
+        } else if (StringUtils.containsIgnoreCase(contentType, "csv")) {
+            return ".csv";
+        } else if (StringUtils.containsIgnoreCase(contentType, "pdf")) {
+            return ".pdf";
+        } else if (StringUtils.containsIgnoreCase(contentType, "html")) {
+            return ".html";
+        } else if (StringUtils.containsIgnoreCase(contentType, "excel")) {
+            return ".xls";
+        }
+        return ".bin";
+    }
+
+    private void purgeExpiredReportRuns() {
+        final List<ReportRun> staleRuns = this.reportRunRepository.findStale(IN_FLIGHT_STATUSES, getRunDeadline(),
+                PageRequest.of(0, EXPIRED_RUN_PURGE_BATCH_SIZE));
+        for (final ReportRun staleRun : staleRuns) {
+            try {
+                failStaleReportRun(staleRun);
+            } catch (final RuntimeException e) {
+                log.warn("Unable to fail abandoned report run {}", staleRun.getId(), e);
+            }
+        }
+        final List<ReportRun> expiredRuns = this.reportRunRepository.findExpired(DateUtils.getAuditOffsetDateTime(),
+                PageRequest.of(0, EXPIRED_RUN_PURGE_BATCH_SIZE));
+        for (final ReportRun expiredRun : expiredRuns) {
+            try {
+                if (expiredRun.getFileLocation() != null) {
+                    this.contentRepositoryFactory.getRepository(StorageType.fromInt(expiredRun.getStorageType()))
+                            .deleteReportResult(expiredRun.getFileLocation());
+                }
+                this.reportRunRepository.delete(expiredRun);
+            } catch (final RuntimeException e) {
+                log.warn("Unable to purge expired report run {}", expiredRun.getId(), e);
+            }
+        }
+    }
+
+    private void failStaleReportRun(final ReportRun reportRun) {
+        log.warn("Report run {} is still {} after {} minutes, failing it", reportRun.getId(), reportRun.getStatus(),
+                getRunTimeoutMinutes());
+        reportRun.markFailed("Report run did not finish within " + getRunTimeoutMinutes() + " minutes", getResultTtlMinutes());
+        this.reportRunRepository.saveAndFlush(reportRun);
+    }
+
+    private OffsetDateTime getRunDeadline() {
+        return DateUtils.getAuditOffsetDateTime().minusMinutes(getRunTimeoutMinutes());
+    }
+
+    private int getRunTimeoutMinutes() {
+        return this.fineractProperties.getReport().getAsync().getRunTimeoutMinutes();
+    }
+
+    private int getResultTtlMinutes() {
+        return this.fineractProperties.getReport().getAsync().getResultTtlMinutes();
+    }
+
+    private void acquireTenantSlot(final String tenantIdentifier) {
+        final int maxConcurrentRuns = this.fineractProperties.getReport().getAsync().getMaxConcurrentRunsPerTenant();
+        final AtomicInteger activeRuns = this.activeRunsByTenant.computeIfAbsent(tenantIdentifier, key -> new AtomicInteger());
+        if (activeRuns.incrementAndGet() > maxConcurrentRuns) {
+            activeRuns.decrementAndGet();
+            throw new PlatformServiceUnavailableException("error.msg.report.run.tenant.limit.reached",
+                    "Maximum number of concurrent report runs (" + maxConcurrentRuns + ") reached, please retry later", maxConcurrentRuns);
+        }
+    }
+
+    private void releaseTenantSlot(final String tenantIdentifier) {
+        final AtomicInteger activeRuns = this.activeRunsByTenant.get(tenantIdentifier);
+        if (activeRuns != null) {
+            activeRuns.decrementAndGet();
+        }
+    }
+
+    private void deleteSpoolFile(final Path spoolFile) {
+        if (spoolFile != null) {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (final IOException e) {
+                log.warn("Unable to delete report spool file {}", spoolFile, e);
+            }
+        }
+    }
+
+    static String hashParameters(final String reportName, final MultivaluedMap<String, String> queryParams) {
+        final Hasher hasher = Hashing.sha256().newHasher().putString(reportName, StandardCharsets.UTF_8);
+        new TreeMap<>(queryParams).forEach((key, values) -> {
+            hasher.putChar('&').putString(key, StandardCharsets.UTF_8);
+            values.forEach(value -> hasher.putChar('=').putString(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return hasher.hash().toString();
+    }
+}
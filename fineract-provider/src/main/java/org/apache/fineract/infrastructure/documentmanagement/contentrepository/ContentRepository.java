@@ -51,6 +51,12 @@ public interface ContentRepository {
 
     FileData fetchImage(ImageData imageData);
 
+    String saveReportResult(InputStream reportResult, long size, Long reportRunId, String fileName);
+
+    FileData fetchReportResult(String location, String fileName, String contentType);
+
+    void deleteReportResult(String location);
+
     StorageType getStorageType();
 
 }
@@ -24,6 +24,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Base64;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -118,6 +119,34 @@ public class FileSystemContentRepository implements ContentRepository {
         return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
+    @Override
+    public String saveReportResult(final InputStream reportResult, final long size, final Long reportRunId, final String fileName) {
+        // report results are generated by the platform itself, so the upload whitelists do not apply, only the tenant root
+        final String fileLocation = checkWithinTenantRootFolder(generateReportResultParentDirectory(reportRunId) + File.separator + fileName);
+        try (BufferedInputStream bis = new BufferedInputStream(reportResult)) {
+            Files.createParentDirs(new File(fileLocation));
+            FileUtils.copyInputStreamToFile(bis, new File(fileLocation)); // NOSONAR
+            return fileLocation;
+        } catch (final IOException ioException) {
+            log.warn("Failed to write report result!", ioException);
+            throw new ContentManagementException(fileName, ioException.getMessage(), ioException);
+        }
+    }
+
+    @Override
+    public FileData fetchReportResult(final String location, final String fileName, final String contentType) {
+        final File file = new File(checkWithinTenantRootFolder(location));
+        return new FileData(Files.asByteSource(file), fileName, contentType);
+    }
+
+    @Override
+    public void deleteReportResult(final String location) {
+        final File fileToBeDeleted = new File(checkWithinTenantRootFolder(location));
+        if (!fileToBeDeleted.delete()) {
+            log.warn("Unable to delete report result {}", location);
+        }
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.FILE_SYSTEM;
@@ -142,6 +171,26 @@ public class FileSystemContentRepository implements ContentRepository {
                 + "clients" + File.separator + resourceId;
     }
 
+    /**
+     * Generate the directory path for storing the spooled result of an asynchronous report run
+     */
+    private String generateReportResultParentDirectory(final Long reportRunId) {
+        return getTenantRootFolder() + File.separator + "reports" + File.separator + "runs" + File.separator + reportRunId;
+    }
+
+    private String getTenantRootFolder() {
+        return fineractProperties.getContent().getFilesystem().getRootFolder() + File.separator
+                + ThreadLocalContextUtil.getTenant().getName().replaceAll(" ", "").trim();
+    }
+
+    private String checkWithinTenantRootFolder(final String location) {
+        final Path target = Path.of(location).normalize();
+        if (!target.startsWith(Path.of(getTenantRootFolder()))) {
+            throw new ContentManagementException(location, String.format("Path traversal attempt: %s", target));
+        }
+        return target.toString();
+    }
+
     /**
      * Recursively create the directory if it does not exist.
      */
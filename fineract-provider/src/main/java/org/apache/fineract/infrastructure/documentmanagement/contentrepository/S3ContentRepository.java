@@ -29,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.Base64EncodedImage;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.documentmanagement.command.DocumentCommand;
 import org.apache.fineract.infrastructure.documentmanagement.data.DocumentData;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
@@ -125,6 +126,41 @@ public class S3ContentRepository implements ContentRepository {
         }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
     }
 
+    @Override
+    public String saveReportResult(final InputStream reportResult, final long size, final Long reportRunId, final String fileName) {
+        final String uploadReportResultFullPath = generateReportResultParentDirectory(reportRunId) + File.separator + fileName;
+        // report results can be large, stream them instead of buffering the whole result like putObject does
+        try {
+            this.s3Client.putObject(
+                    builder -> builder.bucket(fineractProperties.getContent().getS3().getBucketName()).key(uploadReportResultFullPath),
+                    RequestBody.fromInputStream(reportResult, size));
+        } catch (final SdkException e) {
+            throw new ContentManagementException(fileName, e.getMessage(), e);
+        }
+        return uploadReportResultFullPath;
+    }
+
+    @Override
+    public FileData fetchReportResult(final String location, final String fileName, final String contentType) {
+        return new FileData(new ByteSource() {
+
+            @Override
+            public InputStream openStream() throws IOException {
+                try {
+                    return s3Client.getObject(GetObjectRequest.builder().bucket(fineractProperties.getContent().getS3().getBucketName())
+                            .key(location).build());
+                } catch (final SdkException e) {
+                    throw new IOException(e);
+                }
+            }
+        }, fileName, contentType);
+    }
+
+    @Override
+    public void deleteReportResult(final String location) {
+        deleteObject(location);
+    }
+
     @Override
     public StorageType getStorageType() {
         return StorageType.S3;
@@ -139,6 +175,11 @@ public class S3ContentRepository implements ContentRepository {
         return "images" + File.separator + "clients" + File.separator + resourceId;
     }
 
+    private String generateReportResultParentDirectory(final Long reportRunId) {
+        return "reports" + File.separator + ThreadLocalContextUtil.getTenant().getTenantIdentifier() + File.separator + "runs"
+                + File.separator + reportRunId;
+    }
+
     private void deleteObject(final String location) {
         try {
             this.s3Client.deleteObject(builder -> builder.bucket(fineractProperties.getContent().getS3().getBucketName()).key(location));
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * A webhook invocation waiting for (or done with) delivery. Deliveries are attempted right after the triggering command
+ * and retried with exponential backoff by the Send Hook Deliveries job, so they survive restarts and outages of the
+ * destination. The version guards against two nodes attempting the same delivery.
+ */
+@Entity
+@Table(name = "m_hook_delivery")
+@Getter
+@NoArgsConstructor
+public class HookDelivery extends AbstractPersistableCustom {
+
+    @Column(name = "hook_id", nullable = false)
+    private Long hookId;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false, length = 100)
+    private String actionName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private HookDeliveryStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private OffsetDateTime deliveredAt;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    public HookDelivery(final Long hookId, final String entityName, final String actionName, final String payload,
+            final OffsetDateTime nextAttemptAt) {
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.status = HookDeliveryStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+        this.createdAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    public void markDelivered() {
+        this.status = HookDeliveryStatus.DELIVERED;
+        this.attempts++;
+        this.lastError = null;
+        this.deliveredAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    /**
+     * Records a failed attempt; the delivery is given up after the maximum number of attempts, otherwise it is retried
+     * after the given backoff.
+     */
+    public void markAttemptFailed(final String error, final int maxAttempts, final long backoffSeconds) {
+        this.attempts++;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 1000));
+        if (this.attempts >= maxAttempts) {
+            this.status = HookDeliveryStatus.FAILED;
+        } else {
+            this.nextAttemptAt = DateUtils.getAuditOffsetDateTime().plusSeconds(backoffSeconds);
+        }
+    }
+
+    public void postpone(final OffsetDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
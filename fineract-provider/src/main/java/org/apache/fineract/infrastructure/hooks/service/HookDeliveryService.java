@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+
+public interface HookDeliveryService {
+
+    /**
+     * Persists one delivery per hook and hands them to the delivery executor; deliveries that cannot be attempted
+     * right away are picked up by the Send Hook Deliveries job.
+     */
+    void enqueue(List<Hook> hooks, String entityName, String actionName, String payload);
+
+    void deliver(Long deliveryId);
+
+    /**
+     * Attempts the deliveries that are due, returns the number of deliveries attempted.
+     */
+    int deliverDue();
+
+    /**
+     * Deletes the delivered and failed deliveries older than the configured retention, returns the number of deleted
+     * deliveries.
+     */
+    int purgeFinished();
+}
@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+@Slf4j
+public class HookDeliveryServiceImpl implements HookDeliveryService {
+
+    static final String METRIC_NAME = "fineract.hook.delivery";
+
+    /**
+     * Deliveries handed to the executor are leased for this long, so the job does not pick them up while the first
+     * attempt is still in flight.
+     */
+    private static final long DELIVERY_LEASE_SECONDS = 120L;
+
+    private final HookDeliveryRepository hookDeliveryRepository;
+    private final HookRepository hookRepository;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final FineractProperties fineractProperties;
+    private final ThreadPoolTaskExecutor hookDeliveryTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> hookPermits = new ConcurrentHashMap<>();
+
+    public HookDeliveryServiceImpl(final HookDeliveryRepository hookDeliveryRepository, final HookRepository hookRepository,
+            final HookProcessorProvider hookProcessorProvider, final FineractProperties fineractProperties,
+            @Qualifier(TaskExecutorConstant.HOOK_DELIVERY_TASK_EXECUTOR_BEAN_NAME) final ThreadPoolTaskExecutor hookDeliveryTaskExecutor,
+            final ObjectProvider<MeterRegistry> meterRegistry) {
+        this.hookDeliveryRepository = hookDeliveryRepository;
+        this.hookRepository = hookRepository;
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.fineractProperties = fineractProperties;
+        this.hookDeliveryTaskExecutor = hookDeliveryTaskExecutor;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Override
+    public void enqueue(final List<Hook> hooks, final String entityName, final String actionName, final String payload) {
+        if (hooks.isEmpty()) {
+            return;
+        }
+        final List<HookDelivery> deliveries = new ArrayList<>(hooks.size());
+        for (final Hook hook : hooks) {
+            deliveries.add(new HookDelivery(hook.getId(), entityName, actionName, payload,
+                    DateUtils.getAuditOffsetDateTime().plusSeconds(DELIVERY_LEASE_SECONDS)));
+        }
+        final List<HookDelivery> savedDeliveries = this.hookDeliveryRepository.saveAll(deliveries);
+        final FineractContext fineractContext = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(savedDeliveries, fineractContext, securityContext);
+            return;
+        }
+        // The workers cannot see the delivery rows before the publishing transaction commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                submit(savedDeliveries, fineractContext, securityContext);
+            }
+        });
+    }
+
+    @Override
+    public void deliver(final Long deliveryId) {
+        final HookDelivery delivery = this.hookDeliveryRepository.findById(deliveryId).orElse(null);
+        if (delivery == null || delivery.getStatus() != HookDeliveryStatus.PENDING) {
+            return;
+        }
+        final Semaphore permits = this.hookPermits.computeIfAbsent(
+                ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + delivery.getHookId(),
+                key -> new Semaphore(this.fineractProperties.getHook().getDelivery().getMaxConcurrentPerHook()));
+        if (!permits.tryAcquire()) {
+            // The destination is saturated; the job retries it once the in-flight deliveries are done
+            delivery.postpone(DateUtils.getAuditOffsetDateTime());
+            save(delivery);
+            return;
+        }
+        try {
+            // Claim the delivery before calling the destination, only one node gets past the version check
+            delivery.postpone(DateUtils.getAuditOffsetDateTime().plusSeconds(DELIVERY_LEASE_SECONDS));
+            final HookDelivery claimed = save(delivery);
+            if (claimed != null) {
+                attempt(claimed);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public int deliverDue() {
+        final int batchSize = this.fineractProperties.getHook().getDelivery().getBatchSize();
+        final List<Long> deliveryIds = this.hookDeliveryRepository.findDueDeliveryIds(HookDeliveryStatus.PENDING,
+                DateUtils.getAuditOffsetDateTime(), PageRequest.of(0, batchSize));
+        for (final Long deliveryId : deliveryIds) {
+            deliver(deliveryId);
+        }
+        return deliveryIds.size();
+    }
+
+    @Override
+    public int purgeFinished() {
+        final int retentionDays = this.fineractProperties.getHook().getDelivery().getRetentionDays();
+        if (retentionDays <= 0) {
+            return 0;
+        }
+        return this.hookDeliveryRepository.deleteByStatusInAndCreatedAtBefore(List.of(HookDeliveryStatus.DELIVERED,
+                HookDeliveryStatus.FAILED), DateUtils.getAuditOffsetDateTime().minusDays(retentionDays));
+    }
+
+    private void submit(final List<HookDelivery> deliveries, final FineractContext fineractContext,
+            final SecurityContext securityContext) {
+        for (final HookDelivery delivery : deliveries) {
+            final Long deliveryId = delivery.getId();
+            try {
+                this.hookDeliveryTaskExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+                    try {
+                        ThreadLocalContextUtil.init(fineractContext);
+                        deliver(deliveryId);
+                    } finally {
+                        ThreadLocalContextUtil.reset();
+                    }
+                }, securityContext));
+            } catch (final TaskRejectedException e) {
+                log.warn("Hook delivery queue is full, delivery {} of hook {} is left to the Send Hook Deliveries job", deliveryId,
+                        delivery.getHookId());
+            }
+        }
+    }
+
+    private HookDelivery save(final HookDelivery delivery) {
+        try {
+            return this.hookDeliveryRepository.saveAndFlush(delivery);
+        } catch (final OptimisticLockingFailureException e) {
+            log.debug("Delivery {} of hook {} is handled by another node", delivery.getId(), delivery.getHookId());
+            return null;
+        }
+    }
+
+    private void attempt(final HookDelivery delivery) {
+        final Hook hook = this.hookRepository.findById(delivery.getHookId()).orElse(null);
+        final HookProcessor processor = hook == null ? null : this.hookProcessorProvider.getProcessor(hook);
+        final Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "success";
+        try {
+            if (processor == null) {
+                throw new IllegalStateException("No processor available for hook " + delivery.getHookId());
+            }
+            processor.process(hook, delivery.getPayload(), delivery.getEntityName(), delivery.getActionName(),
+                    ThreadLocalContextUtil.getContext());
+            delivery.markDelivered();
+        } catch (Exception e) {
+            outcome = "failure";
+            final FineractProperties.FineractHookDeliveryProperties properties = this.fineractProperties.getHook().getDelivery();
+            delivery.markAttemptFailed(e.getMessage(), properties.getMaxAttempts(),
+                    backoffSeconds(delivery.getAttempts(), properties.getInitialBackoffSeconds(), properties.getMaxBackoffSeconds()));
+            log.warn("Delivery {} of hook {} for entityName: {}, actionName: {} failed on attempt {}", delivery.getId(),
+                    delivery.getHookId(), delivery.getEntityName(), delivery.getActionName(), delivery.getAttempts(), e);
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME).tag("tenant", ThreadLocalContextUtil.getTenant().getTenantIdentifier())
+                    .tag("hook", String.valueOf(delivery.getHookId())).tag("outcome", outcome).register(this.meterRegistry));
+        }
+        save(delivery);
+    }
+
+    static long backoffSeconds(final int failedAttempts, final long initialBackoffSeconds, final long maxBackoffSeconds) {
+        final int exponent = Math.min(Math.max(failedAttempts - 1, 0), 30);
+        return Math.min(initialBackoffSeconds << exponent, maxBackoffSeconds);
+    }
+}
@@ -97,6 +97,13 @@ public class ScheduledJobDetail extends AbstractPersistableCustom {
     @Column(name = "is_misfired")
     private boolean triggerMisfired;
 
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_heartbeat")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leaseHeartbeat;
+
     public Map<String, Object> update(final JsonCommand command) {
         final Map<String, Object> actualChanges = new LinkedHashMap<>(9);
 
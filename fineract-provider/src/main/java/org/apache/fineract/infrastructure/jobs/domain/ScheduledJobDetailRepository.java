@@ -19,10 +19,13 @@
 package org.apache.fineract.infrastructure.jobs.domain;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -47,4 +50,14 @@ public interface ScheduledJobDetailRepository
 
     ScheduledJobDetail findByJobName(String jobName);
 
+    @Modifying(flushAutomatically = true)
+    @Query("update ScheduledJobDetail jobDetail set jobDetail.leaseHeartbeat = :heartbeat"
+            + " where jobDetail.leaseOwner = :leaseOwner and jobDetail.jobKey in :jobKeys")
+    int refreshLeases(@Param("leaseOwner") String leaseOwner, @Param("jobKeys") Collection<String> jobKeys,
+            @Param("heartbeat") Date heartbeat);
+
+    @Query("select jobDetail.jobKey from ScheduledJobDetail jobDetail where jobDetail.currentlyRunning = true"
+            + " and jobDetail.leaseOwner is not null and jobDetail.leaseHeartbeat < :expiry")
+    List<String> findJobKeysWithExpiredLease(@Param("expiry") Date expiry);
+
 }
@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renews the leases of the clustered jobs running on this node and fails over the jobs of nodes that stopped renewing
+ * theirs: the expired lease is released and the job is started again on this node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobLeaseHeartbeat implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final FineractProperties fineractProperties;
+    private final JobLeaseService jobLeaseService;
+    private final SchedularWritePlatformService schedularWritePlatformService;
+    private final TenantDetailsService tenantDetailsService;
+    private final JobRegisterService jobRegisterService;
+
+    private volatile ScheduledExecutorService heartbeat;
+
+    @Override
+    public synchronized void onApplicationEvent(ContextRefreshedEvent event) {
+        if (heartbeat != null || !fineractProperties.getMode().isBatchManagerEnabled() || !jobLeaseService.isClusterEnabled()) {
+            return;
+        }
+        long intervalSeconds = fineractProperties.getJob().getCluster().getHeartbeatIntervalSeconds();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::beat, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        heartbeat = executor;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        ScheduledExecutorService executor = heartbeat;
+        if (executor == null) {
+            return;
+        }
+        heartbeat = null;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Job lease heartbeat did not stop in {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void beat() {
+        for (final FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+            try {
+                ThreadLocalContextUtil.setTenant(tenant);
+                beat(tenant);
+            } catch (RuntimeException e) {
+                log.error("Job lease heartbeat failed for tenant {}", tenant.getTenantIdentifier(), e);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }
+    }
+
+    private void beat(final FineractPlatformTenant tenant) {
+        final Date now = new Date();
+        final Set<String> heldLeases = jobLeaseService.getHeldLeases(tenant.getTenantIdentifier());
+        if (!heldLeases.isEmpty()) {
+            schedularWritePlatformService.refreshJobLeases(jobLeaseService.getLeaseOwner(), heldLeases, now);
+        }
+        for (final ScheduledJobDetail scheduledJobDetail : schedularWritePlatformService.releaseExpiredJobLeases(now)) {
+            if (scheduledJobDetail.isActiveSchedular()) {
+                log.warn("Restarting job {} of tenant {} after its node stopped renewing the lease", scheduledJobDetail.getJobName(),
+                        tenant.getTenantIdentifier());
+                jobRegisterService.executeJob(scheduledJobDetail, SchedulerServiceConstants.TRIGGER_TYPE_CRON, Collections.emptySet());
+            }
+        }
+        final List<ScheduledJobDetail> scheduledJobDetails = schedularWritePlatformService.retrieveAllJobs(fineractProperties.getNodeId());
+        jobRegisterService.applyScheduleChanges(scheduledJobDetails);
+        startDeferredJob(tenant, scheduledJobDetails);
+    }
+
+    /**
+     * Starts a job that was deferred because every node was at the maximum number of concurrent jobs. Only one job is
+     * started per beat, its lease is taken by the scheduler thread and would not be counted by the capacity check yet.
+     */
+    private void startDeferredJob(final FineractPlatformTenant tenant, final List<ScheduledJobDetail> scheduledJobDetails) {
+        if (!jobLeaseService.hasCapacity() || !jobRegisterService.isSchedulerRunning()) {
+            return;
+        }
+        for (final ScheduledJobDetail scheduledJobDetail : scheduledJobDetails) {
+            if (jobLeaseService.isClusteredJob(scheduledJobDetail) && scheduledJobDetail.isTriggerMisfired()
+                    && scheduledJobDetail.isActiveSchedular() && !scheduledJobDetail.isCurrentlyRunning()) {
+                log.info("Starting deferred job {} of tenant {}", scheduledJobDetail.getJobName(), tenant.getTenantIdentifier());
+                jobRegisterService.executeJob(scheduledJobDetail, SchedulerServiceConstants.TRIGGER_TYPE_CRON, Collections.emptySet());
+                return;
+            }
+        }
+    }
+}
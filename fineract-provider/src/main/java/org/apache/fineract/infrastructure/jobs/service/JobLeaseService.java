@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Leases scheduled jobs to this node when the jobs are balanced over a cluster of batch managers. Every batch manager
+ * schedules the clustered jobs, the first node that leases the job row runs it and the other nodes are vetoed.
+ *
+ * A lease is kept alive by the heartbeat of its owner, a lease whose heartbeat is older than the lease timeout is taken
+ * over by another node. Loan COB is not clustered, it stays on the node configured for it since it is partitioned over
+ * the batch workers and has its own stuck job handling.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+    private final FineractProperties fineractProperties;
+
+    private final String leaseOwner = UUID.randomUUID().toString();
+    // tenant identifier -> keys of the jobs leased by this node
+    private final ConcurrentMap<String, Set<String>> heldLeases = new ConcurrentHashMap<>();
+
+    public boolean isClusterEnabled() {
+        FineractProperties.FineractJobClusterProperties clusterProperties = getClusterProperties();
+        return clusterProperties != null && clusterProperties.isEnabled();
+    }
+
+    public boolean isClusteredJob(final ScheduledJobDetail scheduledJobDetail) {
+        return isClusterEnabled() && !JobName.LOAN_COB.toString().equals(scheduledJobDetail.getJobName());
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public Date getLeaseExpiry(final Date now) {
+        return new Date(now.getTime() - TimeUnit.SECONDS.toMillis(getClusterProperties().getLeaseTimeoutSeconds()));
+    }
+
+    public boolean isLeaseExpired(final ScheduledJobDetail scheduledJobDetail, final Date now) {
+        return scheduledJobDetail.getLeaseOwner() != null
+                && (scheduledJobDetail.getLeaseHeartbeat() == null || scheduledJobDetail.getLeaseHeartbeat().before(getLeaseExpiry(now)));
+    }
+
+    public boolean isLeasedByAnotherNode(final ScheduledJobDetail scheduledJobDetail, final Date now) {
+        return scheduledJobDetail.getLeaseOwner() != null && !leaseOwner.equals(scheduledJobDetail.getLeaseOwner())
+                && !isLeaseExpired(scheduledJobDetail, now);
+    }
+
+    /**
+     * Whether this node may lease one more job, a non positive cap means no limit.
+     */
+    public boolean hasCapacity() {
+        int maxConcurrentJobs = getClusterProperties().getMaxConcurrentJobsPerNode();
+        return maxConcurrentJobs <= 0 || countHeldLeases() < maxConcurrentJobs;
+    }
+
+    /**
+     * Delay before this node competes for a fired trigger. It grows with the number of jobs the node is running, so the
+     * least loaded node usually wins the lease.
+     */
+    public long getLoadStaggerMillis() {
+        return countHeldLeases() * getClusterProperties().getLoadStaggerMillis();
+    }
+
+    public void acquire(final ScheduledJobDetail scheduledJobDetail, final Date now) {
+        scheduledJobDetail.setLeaseOwner(leaseOwner).setLeaseHeartbeat(now);
+        final String tenantIdentifier = getTenantIdentifier();
+        final String jobKey = scheduledJobDetail.getJobKey();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            hold(tenantIdentifier, jobKey);
+            return;
+        }
+        // a rolled back lease was never written, it must not count against the capacity or be renewed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                hold(tenantIdentifier, jobKey);
+            }
+        });
+    }
+
+    /**
+     * Releases the lease of a finished job.
+     *
+     * @return false if the lease was taken over by another node, the running flag of the job then belongs to that node
+     */
+    public boolean release(final ScheduledJobDetail scheduledJobDetail) {
+        Set<String> jobKeys = heldLeases.get(getTenantIdentifier());
+        if (jobKeys != null) {
+            jobKeys.remove(scheduledJobDetail.getJobKey());
+        }
+        if (scheduledJobDetail.getLeaseOwner() == null) {
+            return true;
+        }
+        if (!leaseOwner.equals(scheduledJobDetail.getLeaseOwner())) {
+            return false;
+        }
+        scheduledJobDetail.setLeaseOwner(null).setLeaseHeartbeat(null);
+        return true;
+    }
+
+    public Set<String> getHeldLeases(final String tenantIdentifier) {
+        return Set.copyOf(heldLeases.getOrDefault(tenantIdentifier, Set.of()));
+    }
+
+    int countHeldLeases() {
+        return heldLeases.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void hold(final String tenantIdentifier, final String jobKey) {
+        heldLeases.computeIfAbsent(tenantIdentifier, key -> ConcurrentHashMap.newKeySet()).add(jobKey);
+    }
+
+    private String getTenantIdentifier() {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+    }
+
+    private FineractProperties.FineractJobClusterProperties getClusterProperties() {
+        return fineractProperties.getJob() == null ? null : fineractProperties.getJob().getCluster();
+    }
+}
@@ -18,10 +18,15 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.jobs.data.JobParameterDTO;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
 
 public interface JobRegisterService {
 
+    void executeJob(ScheduledJobDetail scheduledJobDetail, String triggerType, Set<JobParameterDTO> jobParameterDTOSet);
+
     void executeJobWithParameters(Long jobId, String jobParametersJson);
 
     void rescheduleJob(Long jobId);
@@ -36,6 +41,11 @@ public interface JobRegisterService {
 
     void scheduleJob(ScheduledJobDetail scheduledJobDetails);
 
+    /**
+     * Reschedules the clustered jobs whose cron expression or active flag was changed on another node.
+     */
+    void applyScheduleChanges(List<ScheduledJobDetail> scheduledJobDetails);
+
     void stopAllSchedulers();
 
 }
@@ -21,12 +21,16 @@ package org.apache.fineract.infrastructure.jobs.service;
 import com.google.common.base.Splitter;
 import java.text.ParseException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.exception.JobIsNotFoundOrNotEnabledException;
@@ -79,6 +83,9 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
 
     private static final HashMap<String, Scheduler> SCHEDULERS = new HashMap<>(4);
 
+    // tenant identifier and job id -> cron expression the job is scheduled with on this node, empty if inactive
+    private final ConcurrentMap<String, String> scheduledCronExpressions = new ConcurrentHashMap<>();
+
     @Autowired
     private FineractProperties fineractProperties;
 
@@ -94,8 +101,12 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     @Autowired
     private JobNameService jobNameService;
 
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
     private static final String JOB_STARTER_METHOD_NAME = "run";
 
+    @Override
     public void executeJob(final ScheduledJobDetail scheduledJobDetail, String triggerType, Set<JobParameterDTO> jobParameterDTOSet) {
         try {
             final JobDataMap jobDataMap = new JobDataMap();
@@ -134,13 +145,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
 
     public void rescheduleJob(final ScheduledJobDetail scheduledJobDetail) {
         try {
-            final String jobIdentity = scheduledJobDetail.getJobKey();
-            final JobKey jobKey = constructJobKey(jobIdentity);
-            final String schedulername = getSchedulerName(scheduledJobDetail);
-            final Scheduler scheduler = SCHEDULERS.get(schedulername);
-            if (scheduler != null) {
-                scheduler.deleteJob(jobKey);
-            }
+            deleteJob(scheduledJobDetail);
             scheduleJob(scheduledJobDetail);
             this.schedularWritePlatformService.saveOrUpdate(scheduledJobDetail);
         } catch (final Exception throwable) {
@@ -165,11 +170,12 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         if (schedulerDetail.isSuspended()) {
             schedulerDetail.setSuspended(false);
             this.schedularWritePlatformService.updateSchedulerDetail(schedulerDetail);
-            if (schedulerDetail.isExecuteInstructionForMisfiredJobs()) {
-                final List<ScheduledJobDetail> scheduledJobDetails = this.schedularWritePlatformService
-                        .retrieveAllJobs(fineractProperties.getNodeId());
-                for (final ScheduledJobDetail jobDetail : scheduledJobDetails) {
-                    if (jobDetail.isTriggerMisfired()) {
+            // the misfire flags are cleared either way, the lease heartbeat would otherwise restart the clustered jobs
+            final List<ScheduledJobDetail> scheduledJobDetails = this.schedularWritePlatformService
+                    .retrieveAllJobs(fineractProperties.getNodeId());
+            for (final ScheduledJobDetail jobDetail : scheduledJobDetails) {
+                if (jobDetail.isTriggerMisfired()) {
+                    if (schedulerDetail.isExecuteInstructionForMisfiredJobs()) {
                         if (jobDetail.isActiveSchedular()) {
                             executeJob(jobDetail, SchedulerServiceConstants.TRIGGER_TYPE_CRON, Collections.emptySet());
                             jobDetail.setMismatchedJob(false);
@@ -190,9 +196,9 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
                                 log.error("Error occured.", e);
                             }
                         }
-                        jobDetail.setTriggerMisfired(false);
-                        this.schedularWritePlatformService.saveOrUpdate(jobDetail);
                     }
+                    jobDetail.setTriggerMisfired(false);
+                    this.schedularWritePlatformService.saveOrUpdate(jobDetail);
                 }
             }
         }
@@ -202,7 +208,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
     public void rescheduleJob(final Long jobId) {
         final ScheduledJobDetail scheduledJobDetail = this.schedularWritePlatformService.findByJobId(jobId);
         final String nodeIdStored = scheduledJobDetail.getNodeId().toString();
-        if (nodeIdStored.equals(fineractProperties.getNodeId()) || nodeIdStored.equals("0")) {
+        if (isRunnableOnThisNode(scheduledJobDetail)) {
             rescheduleJob(scheduledJobDetail);
         } else {
             scheduledJobDetail.setMismatchedJob(true);
@@ -220,7 +226,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         }
         final String nodeIdStored = scheduledJobDetail.getNodeId().toString();
 
-        if (nodeIdStored.equals(fineractProperties.getNodeId()) || nodeIdStored.equals("0")) {
+        if (isRunnableOnThisNode(scheduledJobDetail)) {
             executeJob(scheduledJobDetail, null, jobParameterDTOSet);
         } else {
             scheduledJobDetail.setMismatchedJob(true);
@@ -249,6 +255,7 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         try {
             final JobDetail jobDetail = createJobDetail(scheduledJobDetails, Collections.emptySet());
             scheduledJobDetails.setJobKey(getJobKeyAsString(jobDetail.getKey()));
+            scheduledCronExpressions.put(getScheduleKey(scheduledJobDetails), getScheduledCronExpression(scheduledJobDetails));
             if (!scheduledJobDetails.isActiveSchedular()) {
                 scheduledJobDetails.setNextRunTime(null);
                 scheduledJobDetails.setCurrentlyRunning(false);
@@ -266,7 +273,30 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
             scheduledJobDetails.setErrorLog(stackTrace);
             log.error("Could not schedule job: {}", scheduledJobDetails.getJobName(), throwable);
         }
-        scheduledJobDetails.setCurrentlyRunning(false);
+        // a node starting up must not reset a clustered job that is running on another node
+        if (!jobLeaseService.isLeasedByAnotherNode(scheduledJobDetails, new Date())) {
+            scheduledJobDetails.setCurrentlyRunning(false);
+        }
+    }
+
+    @Override
+    public void applyScheduleChanges(final List<ScheduledJobDetail> scheduledJobDetails) {
+        for (final ScheduledJobDetail scheduledJobDetail : scheduledJobDetails) {
+            final String scheduledCronExpression = scheduledCronExpressions.get(getScheduleKey(scheduledJobDetail));
+            if (!jobLeaseService.isClusteredJob(scheduledJobDetail) || scheduledCronExpression == null
+                    || scheduledCronExpression.equals(getScheduledCronExpression(scheduledJobDetail))) {
+                continue;
+            }
+            log.info("Rescheduling job {}, it was changed on another node", scheduledJobDetail.getJobName());
+            try {
+                deleteJob(scheduledJobDetail);
+            } catch (final SchedulerException e) {
+                log.error("Could not unschedule job: {}", scheduledJobDetail.getJobName(), e);
+                continue;
+            }
+            // the node that changed the job already stored its next run time
+            scheduleJob(scheduledJobDetail);
+        }
     }
 
     @Override
@@ -280,6 +310,28 @@ public class JobRegisterServiceImpl implements JobRegisterService, ApplicationLi
         }
     }
 
+    private boolean isRunnableOnThisNode(final ScheduledJobDetail scheduledJobDetail) {
+        final String nodeIdStored = scheduledJobDetail.getNodeId().toString();
+        return nodeIdStored.equals(fineractProperties.getNodeId()) || nodeIdStored.equals("0")
+                || jobLeaseService.isClusteredJob(scheduledJobDetail);
+    }
+
+    private void deleteJob(final ScheduledJobDetail scheduledJobDetail) throws SchedulerException {
+        final Scheduler scheduler = SCHEDULERS.get(getSchedulerName(scheduledJobDetail));
+        if (scheduler != null) {
+            scheduler.deleteJob(constructJobKey(scheduledJobDetail.getJobKey()));
+        }
+    }
+
+    private String getScheduleKey(final ScheduledJobDetail scheduledJobDetail) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + SchedulerServiceConstants.JOB_KEY_SEPERATOR
+                + scheduledJobDetail.getId();
+    }
+
+    private String getScheduledCronExpression(final ScheduledJobDetail scheduledJobDetail) {
+        return scheduledJobDetail.isActiveSchedular() ? StringUtils.defaultString(scheduledJobDetail.getCronExpression()) : "";
+    }
+
     private Scheduler getScheduler(final ScheduledJobDetail scheduledJobDetail) throws Exception {
         final String schedulername = getSchedulerName(scheduledJobDetail);
         Scheduler scheduler = SCHEDULERS.get(schedulername);
@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -47,4 +49,8 @@ public interface SchedularWritePlatformService {
 
     boolean processJobDetailForExecution(String jobKey, String triggerType);
 
+    void refreshJobLeases(String leaseOwner, Collection<String> jobKeys, Date heartbeat);
+
+    List<ScheduledJobDetail> releaseExpiredJobLeases(Date now);
+
 }
@@ -19,9 +19,12 @@
 package org.apache.fineract.infrastructure.jobs.service;
 
 import io.github.resilience4j.retry.annotation.Retry;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -37,6 +40,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 public class SchedularWritePlatformServiceJpaRepositoryImpl implements SchedularWritePlatformService {
 
@@ -48,19 +52,27 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
 
     private final JobDetailDataValidator dataValidator;
 
+    private final JobLeaseService jobLeaseService;
+
     @Autowired
     public SchedularWritePlatformServiceJpaRepositoryImpl(final ScheduledJobDetailRepository scheduledJobDetailsRepository,
             final ScheduledJobRunHistoryRepository scheduledJobRunHistoryRepository, final JobDetailDataValidator dataValidator,
-            final SchedulerDetailRepository schedulerDetailRepository) {
+            final SchedulerDetailRepository schedulerDetailRepository, final JobLeaseService jobLeaseService) {
         this.scheduledJobDetailsRepository = scheduledJobDetailsRepository;
         this.scheduledJobRunHistoryRepository = scheduledJobRunHistoryRepository;
         this.schedulerDetailRepository = schedulerDetailRepository;
         this.dataValidator = dataValidator;
+        this.jobLeaseService = jobLeaseService;
     }
 
     @Override
     public List<ScheduledJobDetail> retrieveAllJobs(final String nodeId) {
-        return this.scheduledJobDetailsRepository.findAllJobs(Integer.parseInt(nodeId));
+        if (!this.jobLeaseService.isClusterEnabled()) {
+            return this.scheduledJobDetailsRepository.findAllJobs(Integer.parseInt(nodeId));
+        }
+        // clustered jobs are scheduled on every node, the others stay on the node configured for them
+        return this.scheduledJobDetailsRepository.findAll().stream().filter(jobDetail -> this.jobLeaseService.isClusteredJob(jobDetail)
+                || jobDetail.getNodeId().toString().equals("0") || jobDetail.getNodeId().toString().equals(nodeId)).toList();
     }
 
     @Override
@@ -137,26 +149,73 @@ public class SchedularWritePlatformServiceJpaRepositoryImpl implements Schedular
     @Retry(name = "processJobDetailForExecution", fallbackMethod = "fallbackProcessJobDetailForExecution")
     public boolean processJobDetailForExecution(final String jobKey, final String triggerType) {
         boolean isStopExecution = false;
+        final Date now = new Date();
         final ScheduledJobDetail scheduledJobDetail = this.scheduledJobDetailsRepository.findByJobKeyWithLock(jobKey);
+        final boolean clusteredJob = this.jobLeaseService.isClusteredJob(scheduledJobDetail);
+        if (clusteredJob && scheduledJobDetail.isCurrentlyRunning() && this.jobLeaseService.isLeaseExpired(scheduledJobDetail, now)) {
+            log.warn("Taking over job {} from node {}, its lease expired at {}", jobKey, scheduledJobDetail.getLeaseOwner(),
+                    scheduledJobDetail.getLeaseHeartbeat());
+            scheduledJobDetail.setCurrentlyRunning(false);
+        }
+        // the trigger may be stale on a node that did not reschedule the job yet after it was changed or deactivated
         if (scheduledJobDetail.isCurrentlyRunning() || (triggerType.equals(SchedulerServiceConstants.TRIGGER_TYPE_CRON)
-                && scheduledJobDetail.getNextRunTime().after(new Date()))) {
+                && (!scheduledJobDetail.isActiveSchedular() || isBefore(now, scheduledJobDetail.getNextRunTime())))) {
             isStopExecution = true;
         }
         final SchedulerDetail schedulerDetail = retriveSchedulerDetail();
         if (triggerType.equals(SchedulerServiceConstants.TRIGGER_TYPE_CRON) && schedulerDetail.isSuspended()) {
             scheduledJobDetail.setTriggerMisfired(true);
             isStopExecution = true;
+        } else if (!isStopExecution && clusteredJob && !this.jobLeaseService.hasCapacity()) {
+            // every node may be at the cap, the lease heartbeat starts the job once a node has capacity again
+            log.warn("Job {} is deferred, this node already runs the maximum number of concurrent jobs", jobKey);
+            scheduledJobDetail.setTriggerMisfired(true);
+            isStopExecution = true;
         } else if (!isStopExecution) {
             scheduledJobDetail.setCurrentlyRunning(true);
             scheduledJobDetail.setMismatchedJob(false);
+            if (clusteredJob) {
+                scheduledJobDetail.setTriggerMisfired(false);
+                this.jobLeaseService.acquire(scheduledJobDetail, now);
+            }
         }
         this.scheduledJobDetailsRepository.save(scheduledJobDetail);
         return isStopExecution;
     }
 
+    @Transactional
+    @Override
+    public void refreshJobLeases(final String leaseOwner, final Collection<String> jobKeys, final Date heartbeat) {
+        this.scheduledJobDetailsRepository.refreshLeases(leaseOwner, jobKeys, heartbeat);
+    }
+
+    @Transactional
+    @Override
+    public List<ScheduledJobDetail> releaseExpiredJobLeases(final Date now) {
+        final List<ScheduledJobDetail> releasedJobs = new ArrayList<>();
+        final Date expiry = this.jobLeaseService.getLeaseExpiry(now);
+        for (final String jobKey : this.scheduledJobDetailsRepository.findJobKeysWithExpiredLease(expiry)) {
+            final ScheduledJobDetail scheduledJobDetail = this.scheduledJobDetailsRepository.findByJobKeyWithLock(jobKey);
+            // the owner may have renewed the lease, or another node released it, since the lookup
+            if (scheduledJobDetail.isCurrentlyRunning() && this.jobLeaseService.isLeaseExpired(scheduledJobDetail, now)) {
+                log.warn("Releasing job {}, the lease of node {} expired at {}", jobKey, scheduledJobDetail.getLeaseOwner(),
+                        scheduledJobDetail.getLeaseHeartbeat());
+                scheduledJobDetail.setCurrentlyRunning(false).setLeaseOwner(null).setLeaseHeartbeat(null);
+                this.scheduledJobDetailsRepository.save(scheduledJobDetail);
+                releasedJobs.add(scheduledJobDetail);
+            }
+        }
+        return releasedJobs;
+    }
+
+    private static boolean isBefore(final Date date, final Date other) {
+        return other != null && other.after(date);
+    }
+
     @SuppressWarnings("unused")
-    private boolean fallbackProcessJobDetailForExecution(Exception e) {
-        return false;
+    private boolean fallbackProcessJobDetailForExecution(final String jobKey, final String triggerType, final Exception e) {
+        log.error("Skipping the {} trigger of job {}, its details could not be processed", triggerType, jobKey, e);
+        return true;
     }
 
 }
@@ -54,6 +54,7 @@ public class SchedulerJobListener implements JobListener {
     private final AppUserRepositoryWrapper userRepository;
     private final GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
     private final BusinessDateReadPlatformService businessDateReadPlatformService;
+    private final JobLeaseService jobLeaseService;
     private int stackTraceLevel = 0;
 
     @Override
@@ -113,7 +114,9 @@ public class SchedulerJobListener implements JobListener {
         }
 
         scheduledJobDetails.setPreviousRunStartTime(context.getFireTime());
-        scheduledJobDetails.setCurrentlyRunning(false);
+        if (this.jobLeaseService.release(scheduledJobDetails)) {
+            scheduledJobDetails.setCurrentlyRunning(false);
+        }
 
         final ScheduledJobRunHistory runHistory = new ScheduledJobRunHistory().setScheduledJobDetail(scheduledJobDetails)
                 .setVersion(version).setStartTime(context.getFireTime()).setEndTime(new Date()).setStatus(status)
@@ -37,6 +37,7 @@ public class SchedulerTriggerListener implements TriggerListener {
 
     private final TenantDetailsService tenantDetailsService;
     private final SchedulerVetoer schedulerVetoer;
+    private final JobLeaseService jobLeaseService;
 
     @Override
     public String getName() {
@@ -54,9 +55,27 @@ public class SchedulerTriggerListener implements TriggerListener {
         FineractPlatformTenant tenant = tenantDetailsService.loadTenantById(tenantIdentifier);
         ThreadLocalContextUtil.setTenant(tenant);
         ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        if (jobLeaseService.isClusterEnabled()) {
+            staggerByLoad();
+        }
         return schedulerVetoer.veto(trigger, context);
     }
 
+    /**
+     * Every clustered node fires the same triggers, a busy node waits a little before competing for the job lease so an
+     * idle node gets it first.
+     */
+    private void staggerByLoad() {
+        long staggerMillis = jobLeaseService.getLoadStaggerMillis();
+        if (staggerMillis > 0) {
+            try {
+                Thread.sleep(staggerMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public void triggerMisfired(final Trigger trigger) {
         log.error("triggerMisfired() trigger={}", trigger);
@@ -140,9 +140,9 @@ public class TenantAwareBasicAuthenticationFilter extends BasicAuthenticationFil
                         final String baseUrl = request.getRequestURL().toString().replace(request.getPathInfo(), "/");
                         System.setProperty("baseUrl", baseUrl);
 
-                        final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
-                        if (ehcacheEnabled) {
-                            this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                        final CacheType cacheType = this.configurationDomainService.retrieveCacheType();
+                        if (cacheType.isEhcache() || cacheType.isDistributedCache()) {
+                            this.cacheWritePlatformService.switchToCache(cacheType);
                         } else {
                             this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                         }
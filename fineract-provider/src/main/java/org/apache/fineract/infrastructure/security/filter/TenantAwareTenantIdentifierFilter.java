@@ -127,9 +127,9 @@ public class TenantAwareTenantIdentifierFilter extends GenericFilterBean {
                             request.getContextPath() + apiUri);
                     System.setProperty("baseUrl", baseUrl);
 
-                    final boolean ehcacheEnabled = this.configurationDomainService.isEhcacheEnabled();
-                    if (ehcacheEnabled) {
-                        this.cacheWritePlatformService.switchToCache(CacheType.SINGLE_NODE);
+                    final CacheType cacheType = this.configurationDomainService.retrieveCacheType();
+                    if (cacheType.isEhcache() || cacheType.isDistributedCache()) {
+                        this.cacheWritePlatformService.switchToCache(cacheType);
                     } else {
                         this.cacheWritePlatformService.switchToCache(CacheType.NO_CACHE);
                     }
@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.cache.Cache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} remembering successful password verifications for a short time, so that clients sending the
+ * same Basic authentication credentials with every request do not pay for a bcrypt comparison each time.
+ *
+ * The cache key is a keyed hash (HMAC-SHA256 with a random per-node secret) of the tenant, the stored password hash and
+ * the presented password; the presented password itself is never stored. As the stored hash is part of the key, a
+ * password change invalidates the entries of the user. Only the password comparison is cached: the user details (enabled,
+ * locked, authorities) are still loaded and checked on every request. Failed verifications are not cached.
+ */
+public class CredentialVerificationCachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String METRIC_NAME = "fineract.security.credential.cache";
+
+    private final PasswordEncoder delegate;
+    private final Cache credentialVerificationCache;
+    private final MeterRegistry meterRegistry;
+    private final SecretKeySpec secretKey;
+    private final ThreadLocal<Mac> mac;
+    private final Map<String, Counter> hitCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> missCounters = new ConcurrentHashMap<>();
+
+    public CredentialVerificationCachingPasswordEncoder(PasswordEncoder delegate, Cache credentialVerificationCache,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.credentialVerificationCache = credentialVerificationCache;
+        this.meterRegistry = meterRegistry;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::createMac);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        String tenantIdentifier = getTenantIdentifier();
+        String key = credentialKey(tenantIdentifier, rawPassword, encodedPassword);
+        if (credentialVerificationCache.get(key) != null) {
+            hitCounters.computeIfAbsent(tenantIdentifier, tenant -> counter(tenant, "hit")).increment();
+            return true;
+        }
+        missCounters.computeIfAbsent(tenantIdentifier, tenant -> counter(tenant, "miss")).increment();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            credentialVerificationCache.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String credentialKey(String tenantIdentifier, CharSequence rawPassword, String encodedPassword) {
+        Mac hmac = mac.get();
+        hmac.update(tenantIdentifier.getBytes(StandardCharsets.UTF_8));
+        hmac.update((byte) 0);
+        hmac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        hmac.update((byte) 0);
+        hmac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hmac.doFinal());
+    }
+
+    private Mac createMac() {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(secretKey);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private Counter counter(String tenantIdentifier, String result) {
+        return Counter.builder(METRIC_NAME).tag("tenant", tenantIdentifier).tag("result", result)
+                .description("Basic authentication credential verification cache lookups").register(meterRegistry);
+    }
+
+    private static String getTenantIdentifier() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        return tenant == null ? "" : tenant.getTenantIdentifier();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.notification.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.cache.CacheConfig;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches the number of unread notifications per tenant user, so the notification refresh header can be resolved
+ * without a query on every authenticated request. Counts are invalidated by the notification services whenever
+ * notifications are created or marked as read, and expire after {@code fineract.cache.unread-notification-ttl-seconds}.
+ */
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final CacheManager cacheManager;
+
+    public long getUnreadCount(Long appUserId, Supplier<Long> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.UNREAD_NOTIFICATIONS_CACHE_NAME);
+        if (cache == null) {
+            return loader.get();
+        }
+        Long unreadCount = cache.get(cacheKey(appUserId), loader::get);
+        return unreadCount == null ? 0L : unreadCount;
+    }
+
+    public void invalidate(Long appUserId) {
+        invalidate(List.of(appUserId));
+    }
+
+    public void invalidate(Collection<Long> appUserIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.UNREAD_NOTIFICATIONS_CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        List<String> cacheKeys = appUserIds.stream().map(this::cacheKey).toList();
+        cacheKeys.forEach(cache::evict);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    cacheKeys.forEach(cache::evict);
+                }
+            });
+        }
+    }
+
+    private String cacheKey(Long appUserId) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + appUserId;
+    }
+}
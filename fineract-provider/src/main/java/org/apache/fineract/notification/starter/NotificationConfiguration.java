@@ -24,6 +24,7 @@ import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecific
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
+import org.apache.fineract.notification.cache.UnreadNotificationCounter;
 import org.apache.fineract.notification.eventandlistener.NotificationEventPublisher;
 import org.apache.fineract.notification.service.NotificationDomainService;
 import org.apache.fineract.notification.service.NotificationDomainServiceImpl;
@@ -37,7 +38,9 @@ import org.apache.fineract.notification.service.NotificationWritePlatformService
 import org.apache.fineract.notification.service.UserNotificationService;
 import org.apache.fineract.notification.service.UserNotificationServiceImpl;
 import org.apache.fineract.useradministration.domain.AppUserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -45,6 +48,12 @@ import org.springframework.jdbc.core.JdbcTemplate;
 @Configuration
 public class NotificationConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean(UnreadNotificationCounter.class)
+    public UnreadNotificationCounter unreadNotificationCounter(@Qualifier("distributedCacheManager") CacheManager cacheManager) {
+        return new UnreadNotificationCounter(cacheManager);
+    }
+
     @Bean
     @ConditionalOnMissingBean(NotificationDomainService.class)
     public NotificationDomainService notificationDomainService(BusinessEventNotifierService businessEventNotifierService,
@@ -55,8 +64,10 @@ public class NotificationConfiguration {
     @Bean
     @ConditionalOnMissingBean(NotificationReadPlatformService.class)
     public NotificationReadPlatformService notificationReadPlatformService(JdbcTemplate jdbcTemplate, PlatformSecurityContext context,
-            ColumnValidator columnValidator, PaginationHelper paginationHelper, DatabaseSpecificSQLGenerator sqlGenerator) {
-        return new NotificationReadPlatformServiceImpl(jdbcTemplate, context, columnValidator, paginationHelper, sqlGenerator);
+            ColumnValidator columnValidator, PaginationHelper paginationHelper, DatabaseSpecificSQLGenerator sqlGenerator,
+            UnreadNotificationCounter unreadNotificationCounter) {
+        return new NotificationReadPlatformServiceImpl(jdbcTemplate, context, columnValidator, paginationHelper, sqlGenerator,
+                unreadNotificationCounter);
     }
 
     @Bean
@@ -64,9 +75,11 @@ public class NotificationConfiguration {
     public NotificationWritePlatformService notificationWritePlatformService(
             NotificationGeneratorWritePlatformService notificationGeneratorWritePlatformService,
             NotificationGeneratorReadRepositoryWrapper notificationGeneratorReadRepositoryWrapper, AppUserRepository appUserRepository,
-            NotificationMapperWritePlatformService notificationMapperWritePlatformService) {
+            NotificationMapperWritePlatformService notificationMapperWritePlatformService,
+            UnreadNotificationCounter unreadNotificationCounter) {
         return new NotificationWritePlatformServiceImpl(notificationGeneratorWritePlatformService,
-                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService);
+                notificationGeneratorReadRepositoryWrapper, appUserRepository, notificationMapperWritePlatformService,
+                unreadNotificationCounter);
     }
 
     @Bean
@@ -277,6 +277,14 @@ public final class StandingInstructionData {
         return standingInstructionType;
     }
 
+    public Integer priority() {
+        Integer priorityValue = null;
+        if (this.priority != null) {
+            priorityValue = this.priority.getId().intValue();
+        }
+        return priorityValue;
+    }
+
     public AccountTransferRecurrenceType recurrenceType() {
         AccountTransferRecurrenceType recurrenceType = null;
         if (this.recurrenceType != null) {
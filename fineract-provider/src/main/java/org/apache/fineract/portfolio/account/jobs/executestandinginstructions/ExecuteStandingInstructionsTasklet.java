@@ -21,17 +21,29 @@ package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.AbstractPlatformServiceUnavailableException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
 import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDuesData;
 import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
@@ -49,88 +61,207 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+/**
+ * Executes the active standing instructions that are due on the business date.
+ * <p>
+ * The instructions are read in pages of {@code fineract.standing-instruction.chunk-size} using the instruction id as keyset cursor.
+ * The due ones are grouped so that instructions touching a common account (as source or destination) end up in the same group; the
+ * groups are disjoint and are executed in parallel on the standing instruction executor, while the instructions of a group are
+ * executed one by one in priority order. History rows and last run dates are written in JDBC batches of
+ * {@code fineract.standing-instruction.batch-size}.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class ExecuteStandingInstructionsTasklet implements Tasklet {
 
+    private static final String UPDATE_LAST_RUN_DATE_SQL = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? "
+            + "where id = ?";
+
     private final StandingInstructionReadPlatformService standingInstructionReadPlatformService;
     private final JdbcTemplate jdbcTemplate;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
     private final AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    private final FineractProperties fineractProperties;
+    private final ThreadPoolTaskExecutor standingInstructionTaskExecutor;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        Collection<StandingInstructionData> instructionData = standingInstructionReadPlatformService
-                .retrieveAll(StandingInstructionStatus.ACTIVE.getValue());
-        List<Throwable> errors = new ArrayList<>();
-        for (StandingInstructionData data : instructionData) {
-            boolean isDueForTransfer = false;
-            AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
-            StandingInstructionType instructionType = data.instructionType();
-            LocalDate transactionDate = DateUtils.getBusinessLocalDate();
-            if (recurrenceType.isPeriodicRecurrence()) {
-                final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
-                PeriodFrequencyType frequencyType = data.recurrenceFrequency();
-                LocalDate startDate = data.validFrom();
-                if (frequencyType.isMonthly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
-                    if (DateUtils.isBefore(startDate, data.validFrom())) {
-                        startDate = startDate.plusMonths(1);
-                    }
-                } else if (frequencyType.isYearly()) {
-                    startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
-                    if (DateUtils.isBefore(startDate, data.validFrom())) {
-                        startDate = startDate.plusYears(1);
+        LocalDate transactionDate = DateUtils.getBusinessLocalDate();
+        Queue<List<StandingInstructionData>> pendingGroups = new ConcurrentLinkedQueue<>(
+                groupByAccounts(retrieveInstructionsToExecute(transactionDate)));
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        int workers = Math.min(pendingGroups.size(), fineractProperties.getStandingInstruction().getThreadPoolSize());
+        if (workers <= 1) {
+            executeGroups(pendingGroups, transactionDate, errors);
+        } else {
+            FineractContext context = ThreadLocalContextUtil.getContext();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.runAsync(new DelegatingSecurityContextRunnable(() -> {
+                    ThreadLocalContextUtil.init(context);
+                    try {
+                        executeGroups(pendingGroups, transactionDate, errors);
+                    } finally {
+                        ThreadLocalContextUtil.reset();
                     }
-                }
-                isDueForTransfer = scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate,
-                        transactionDate);
-
+                }, SecurityContextHolder.getContext()), standingInstructionTaskExecutor));
             }
-            BigDecimal transactionAmount = data.amount();
-            if (data.toAccountType().isLoanAccount()
-                    && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
-                StandingInstructionDuesData standingInstructionDuesData = standingInstructionReadPlatformService
-                        .retriveLoanDuesData(data.toAccount().getId());
-                if (data.instructionType().isDuesAmoutTransfer()) {
-                    transactionAmount = standingInstructionDuesData.totalDueAmount();
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
                 }
-                if (recurrenceType.isDuesRecurrence()) {
-                    isDueForTransfer = LocalDate.now(DateUtils.getDateTimeZoneOfTenant()).equals(standingInstructionDuesData.dueDate());
+                throw e;
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(new ArrayList<>(errors));
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private List<StandingInstructionData> retrieveInstructionsToExecute(LocalDate transactionDate) {
+        int chunkSize = Math.max(1, fineractProperties.getStandingInstruction().getChunkSize());
+        List<StandingInstructionData> instructions = new ArrayList<>();
+        List<StandingInstructionData> page;
+        Long afterId = 0L;
+        do {
+            page = standingInstructionReadPlatformService.retrieveAll(StandingInstructionStatus.ACTIVE.getValue(), afterId, chunkSize);
+            for (StandingInstructionData data : page) {
+                // dues recurrences are only known to be due once the loan dues are read, just before the transfer
+                if (isScheduledForTransfer(data, transactionDate)
+                        || (data.toAccountType().isLoanAccount() && data.recurrenceType().isDuesRecurrence())) {
+                    instructions.add(data);
                 }
             }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == chunkSize);
+        return instructions;
+    }
+
+    private List<List<StandingInstructionData>> groupByAccounts(List<StandingInstructionData> instructions) {
+        Map<String, String> parents = new HashMap<>();
+        for (StandingInstructionData data : instructions) {
+            String fromRoot = findRoot(parents, accountKey(data.fromAccountType(), data.fromAccount()));
+            String toRoot = findRoot(parents, accountKey(data.toAccountType(), data.toAccount()));
+            if (!fromRoot.equals(toRoot)) {
+                parents.put(fromRoot, toRoot);
+            }
+        }
+        Map<String, List<StandingInstructionData>> groups = new LinkedHashMap<>();
+        for (StandingInstructionData data : instructions) {
+            String root = findRoot(parents, accountKey(data.fromAccountType(), data.fromAccount()));
+            groups.computeIfAbsent(root, key -> new ArrayList<>()).add(data);
+        }
+        Comparator<StandingInstructionData> executionOrder = Comparator
+                .comparing(StandingInstructionData::priority, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(StandingInstructionData::getId);
+        groups.values().forEach(group -> group.sort(executionOrder));
+        return new ArrayList<>(groups.values());
+    }
 
-            if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
-                final SavingsAccount fromSavingsAccount = null;
-                final boolean isRegularTransaction = true;
-                final boolean isExceptionForBalanceCheck = false;
-                AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
-                        data.toAccountType(), data.fromAccount().getId(), data.toAccount().getId(),
-                        data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
-                        data.transferType().getValue(), null, null, ExternalId.empty(), null, null, fromSavingsAccount,
-                        isRegularTransaction, isExceptionForBalanceCheck);
-                final boolean transferCompleted = transferAmount(errors, accountTransferDTO, data.getId());
-
-                if (transferCompleted) {
-                    final String updateQuery = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? where id = ?";
-                    jdbcTemplate.update(updateQuery, transactionDate, data.getId());
+    private static String findRoot(Map<String, String> parents, String key) {
+        String root = key;
+        String parent;
+        while ((parent = parents.get(root)) != null && !parent.equals(root)) {
+            root = parent;
+        }
+        if (!root.equals(key)) {
+            parents.put(key, root);
+        }
+        return root;
+    }
+
+    private static String accountKey(PortfolioAccountType accountType, PortfolioAccountData account) {
+        return accountType.name() + ":" + account.getId();
+    }
+
+    private void executeGroups(Queue<List<StandingInstructionData>> pendingGroups, LocalDate transactionDate, Queue<Throwable> errors) {
+        int batchSize = Math.max(1, fineractProperties.getStandingInstruction().getBatchSize());
+        List<Object[]> historyRows = new ArrayList<>();
+        List<Object[]> lastRunDates = new ArrayList<>();
+        try {
+            List<StandingInstructionData> group;
+            while ((group = pendingGroups.poll()) != null) {
+                for (StandingInstructionData data : group) {
+                    executeInstruction(data, transactionDate, errors, historyRows, lastRunDates);
+                    if (historyRows.size() >= batchSize) {
+                        writeResults(historyRows, lastRunDates);
+                    }
                 }
+            }
+        } finally {
+            writeResults(historyRows, lastRunDates);
+        }
+    }
 
+    private void executeInstruction(StandingInstructionData data, LocalDate transactionDate, Queue<Throwable> errors,
+            List<Object[]> historyRows, List<Object[]> lastRunDates) {
+        boolean isDueForTransfer = isScheduledForTransfer(data, transactionDate);
+        AccountTransferRecurrenceType recurrenceType = data.recurrenceType();
+        StandingInstructionType instructionType = data.instructionType();
+        BigDecimal transactionAmount = data.amount();
+        if (data.toAccountType().isLoanAccount()
+                && (recurrenceType.isDuesRecurrence() || (isDueForTransfer && instructionType.isDuesAmoutTransfer()))) {
+            StandingInstructionDuesData standingInstructionDuesData = standingInstructionReadPlatformService
+                    .retriveLoanDuesData(data.toAccount().getId());
+            if (data.instructionType().isDuesAmoutTransfer()) {
+                transactionAmount = standingInstructionDuesData.totalDueAmount();
+            }
+            if (recurrenceType.isDuesRecurrence()) {
+                isDueForTransfer = LocalDate.now(DateUtils.getDateTimeZoneOfTenant()).equals(standingInstructionDuesData.dueDate());
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+
+        if (isDueForTransfer && transactionAmount != null && transactionAmount.compareTo(BigDecimal.ZERO) > 0) {
+            final SavingsAccount fromSavingsAccount = null;
+            final boolean isRegularTransaction = true;
+            final boolean isExceptionForBalanceCheck = false;
+            AccountTransferDTO accountTransferDTO = new AccountTransferDTO(transactionDate, transactionAmount, data.fromAccountType(),
+                    data.toAccountType(), data.fromAccount().getId(), data.toAccount().getId(),
+                    data.name() + " Standing instruction trasfer ", null, null, null, null, data.toTransferType(), null, null,
+                    data.transferType().getValue(), null, null, ExternalId.empty(), null, null, fromSavingsAccount, isRegularTransaction,
+                    isExceptionForBalanceCheck);
+            final String errorLog = transferAmount(errors, accountTransferDTO, data.getId());
+            final boolean transferCompleted = errorLog.isEmpty();
+            historyRows.add(new Object[] { data.getId(), transferCompleted ? "success" : "failed", transactionAmount,
+                    DateUtils.getLocalDateTimeOfSystem(), errorLog });
+            if (transferCompleted) {
+                lastRunDates.add(new Object[] { transactionDate, data.getId() });
+            }
         }
-        return RepeatStatus.FINISHED;
     }
 
-    private boolean transferAmount(final List<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
-        boolean transferCompleted = true;
+    private boolean isScheduledForTransfer(StandingInstructionData data, LocalDate transactionDate) {
+        if (!data.recurrenceType().isPeriodicRecurrence()) {
+            return false;
+        }
+        final ScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+        PeriodFrequencyType frequencyType = data.recurrenceFrequency();
+        LocalDate startDate = data.validFrom();
+        if (frequencyType.isMonthly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay());
+            if (DateUtils.isBefore(startDate, data.validFrom())) {
+                startDate = startDate.plusMonths(1);
+            }
+        } else if (frequencyType.isYearly()) {
+            startDate = startDate.withDayOfMonth(data.recurrenceOnDay()).withMonth(data.recurrenceOnMonth());
+            if (DateUtils.isBefore(startDate, data.validFrom())) {
+                startDate = startDate.plusYears(1);
+            }
+        }
+        return scheduledDateGenerator.isDateFallsInSchedule(frequencyType, data.recurrenceInterval(), startDate, transactionDate);
+    }
+
+    private String transferAmount(final Queue<Throwable> errors, final AccountTransferDTO accountTransferDTO, final Long instructionId) {
         StringBuilder errorLog = new StringBuilder();
-        StringBuilder updateQuery = new StringBuilder(
-                "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, " + sqlGenerator.escape("status")
-                        + ", amount,execution_time, error_log) VALUES (");
         try {
             accountTransfersWritePlatformService.transferFunds(accountTransferDTO);
         } catch (final PlatformApiDataValidationException e) {
@@ -151,17 +282,18 @@ public class ExecuteStandingInstructionsTasklet implements Tasklet {
             errorLog.append("Exception while trasfering funds ").append(e.getMessage());
 
         }
-        updateQuery.append(instructionId).append(",");
-        if (errorLog.length() > 0) {
-            transferCompleted = false;
-            updateQuery.append("'failed'").append(",");
-        } else {
-            updateQuery.append("'success'").append(",");
+        return errorLog.toString();
+    }
+
+    private void writeResults(List<Object[]> historyRows, List<Object[]> lastRunDates) {
+        if (!historyRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, "
+                    + sqlGenerator.escape("status") + ", amount, execution_time, error_log) VALUES (?, ?, ?, ?, ?)", historyRows);
+            historyRows.clear();
+        }
+        if (!lastRunDates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_RUN_DATE_SQL, lastRunDates);
+            lastRunDates.clear();
         }
-        updateQuery.append(accountTransferDTO.getTransactionAmount().doubleValue());
-        updateQuery.append(", now(),");
-        updateQuery.append("'").append(errorLog).append("')");
-        jdbcTemplate.update(updateQuery.toString());
-        return transferCompleted;
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.portfolio.account.service;
 
 import java.util.Collection;
+import java.util.List;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.portfolio.account.data.StandingInstructionDTO;
 import org.apache.fineract.portfolio.account.data.StandingInstructionData;
@@ -35,6 +36,12 @@ public interface StandingInstructionReadPlatformService {
 
     Collection<StandingInstructionData> retrieveAll(Integer status);
 
+    /**
+     * Retrieves the next page of standing instructions with the given status that are valid and not yet run on the business date,
+     * ordered by id and starting after {@code afterId} (keyset pagination).
+     */
+    List<StandingInstructionData> retrieveAll(Integer status, Long afterId, int limit);
+
     StandingInstructionDuesData retriveLoanDuesData(Long loanId);
 
 }
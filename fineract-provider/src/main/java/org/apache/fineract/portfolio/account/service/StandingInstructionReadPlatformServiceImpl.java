@@ -341,6 +341,20 @@ public class StandingInstructionReadPlatformServiceImpl implements StandingInstr
         return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status);
     }
 
+    @Override
+    public List<StandingInstructionData> retrieveAll(final Integer status, final Long afterId, final int limit) {
+        final StringBuilder sqlBuilder = new StringBuilder(200);
+        String businessDate = sqlGenerator.currentBusinessDate();
+        sqlBuilder.append("select ");
+        sqlBuilder.append(this.standingInstructionMapper.schema());
+        sqlBuilder
+                .append(" where atsi.status=? and atsi.id > ? and " + businessDate + " >= atsi.valid_from and (atsi.valid_till IS NULL or "
+                        + businessDate + " < atsi.valid_till) ")
+                .append(" and  (atsi.last_run_date <> " + businessDate + " or atsi.last_run_date IS NULL)")
+                .append(" ORDER BY atsi.id ").append(sqlGenerator.limit(limit));
+        return this.jdbcTemplate.query(sqlBuilder.toString(), this.standingInstructionMapper, status, afterId);
+    }
+
     @Override
     public StandingInstructionData retrieveOne(final Long instructionId) {
 
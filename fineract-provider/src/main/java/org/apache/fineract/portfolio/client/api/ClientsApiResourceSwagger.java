@@ -168,6 +168,8 @@ final class ClientsApiResourceSwagger {
         @Schema(example = "2")
         public Integer totalFilteredRecords;
         public Set<GetClientsPageItemsResponse> pageItems;
+        @Schema(description = "Cursor of the following page, only returned with keyset pagination when more records exist")
+        public String nextCursor;
     }
 
     @Schema(description = "GetClientsClientIdResponse")
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.delinquency.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+
+/**
+ * Outcome of the last delinquency classification of a loan. The next evaluation date is the first business date on
+ * which the classification can change by the passing of time alone; a <code>null</code> value means that only a change
+ * on the loan itself can change it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "m_loan_delinquency_state")
+public class LoanDelinquencyState extends AbstractPersistableCustom {
+
+    @Column(name = "loan_id", nullable = false, unique = true)
+    private Long loanId;
+
+    @Column(name = "delinquency_bucket_id")
+    private Long delinquencyBucketId;
+
+    @Column(name = "oldest_unpaid_due_date")
+    private LocalDate oldestUnpaidDueDate;
+
+    @Column(name = "overdue_since_date")
+    private LocalDate overdueSinceDate;
+
+    @Column(name = "overdue_days", nullable = false)
+    private Long overdueDays;
+
+    @Column(name = "overdue_amount", scale = 6, precision = 19, nullable = false)
+    private BigDecimal overdueAmount;
+
+    @Column(name = "total_outstanding", scale = 6, precision = 19)
+    private BigDecimal totalOutstanding;
+
+    @Column(name = "last_evaluated_on_date", nullable = false)
+    private LocalDate lastEvaluatedOnDate;
+
+    @Column(name = "next_evaluation_date")
+    private LocalDate nextEvaluationDate;
+
+    public LoanDelinquencyState(Long loanId) {
+        this.loanId = loanId;
+    }
+}
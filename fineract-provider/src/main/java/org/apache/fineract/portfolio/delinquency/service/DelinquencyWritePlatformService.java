@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.delinquency.service;
 
+import java.time.LocalDate;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
@@ -47,6 +48,18 @@ public interface DelinquencyWritePlatformService {
 
     void applyDelinquencyTagToLoan(LoanScheduleDelinquencyData loanDelinquencyData);
 
+    /**
+     * Whether the stored delinquency state of the loan can be outdated on the given business date, so its classification
+     * has to be calculated again. Resolves the loan of the given data when missing.
+     */
+    boolean isLoanDelinquencyEvaluationDue(LoanScheduleDelinquencyData loanScheduleDelinquencyData, LocalDate businessDate);
+
+    /**
+     * Stores the outcome of a delinquency classification. When the loan was changed (transactions, charges) the loan is
+     * classified again on the next business date regardless of its ranges.
+     */
+    void updateLoanDelinquencyState(LoanScheduleDelinquencyData loanScheduleDelinquencyData, LocalDate businessDate, boolean loanChanged);
+
     CommandProcessingResult createDelinquencyAction(Long loanId, JsonCommand command);
 
 }
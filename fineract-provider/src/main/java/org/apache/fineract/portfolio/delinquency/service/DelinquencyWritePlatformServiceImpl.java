@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.delinquency.service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -25,6 +26,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,8 +35,10 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
 import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.MathUtil;
 import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDelinquencyRangeChangeBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.portfolio.delinquency.api.DelinquencyApiConstants;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyBucketData;
 import org.apache.fineract.portfolio.delinquency.data.DelinquencyRangeData;
@@ -46,6 +50,8 @@ import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
 import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRangeRepository;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyAction;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyActionRepository;
+import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyState;
+import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyStateRepository;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyTagHistory;
 import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyTagHistoryRepository;
 import org.apache.fineract.portfolio.delinquency.domain.LoanInstallmentDelinquencyTag;
@@ -81,6 +87,7 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
     private final LoanInstallmentDelinquencyTagRepository loanInstallmentDelinquencyTagRepository;
     private final LoanDelinquencyActionRepository loanDelinquencyActionRepository;
     private final DelinquencyActionParseAndValidator delinquencyActionParseAndValidator;
+    private final LoanDelinquencyStateRepository loanDelinquencyStateRepository;
 
     @Override
     public CommandProcessingResult createDelinquencyRange(JsonCommand command) {
@@ -97,6 +104,9 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         DelinquencyRange delinquencyRange = this.repositoryRange.getReferenceById(delinquencyRangeId);
         Map<String, Object> changes = new HashMap<>();
         delinquencyRange = updateDelinquencyRange(delinquencyRange, data, changes);
+        if (!changes.isEmpty()) {
+            invalidateLoanDelinquencyStates();
+        }
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(delinquencyRange.getId()).with(changes)
                 .build();
     }
@@ -132,6 +142,9 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
 
         Map<String, Object> changes = new HashMap<>();
         delinquencyBucket = updateDelinquencyBucket(delinquencyBucket, data, changes);
+        if (!changes.isEmpty()) {
+            invalidateLoanDelinquencyStates();
+        }
         return new CommandProcessingResultBuilder().withCommandId(command.commandId()).withEntityId(delinquencyBucket.getId()).with(changes)
                 .build();
     }
@@ -204,6 +217,58 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         }
     }
 
+    @Override
+    public boolean isLoanDelinquencyEvaluationDue(LoanScheduleDelinquencyData loanScheduleDelinquencyData, LocalDate businessDate) {
+        Loan loan = loanScheduleDelinquencyData.getLoan();
+        if (loan == null) {
+            loan = this.loanRepository.findOneWithNotFoundDetection(loanScheduleDelinquencyData.getLoanId());
+            loanScheduleDelinquencyData.setLoan(loan);
+        }
+        final LoanDelinquencyState loanDelinquencyState = loanDelinquencyStateRepository.findByLoanId(loan.getId()).orElse(null);
+        if (loanDelinquencyState == null || DateUtils.isAfter(loanDelinquencyState.getLastEvaluatedOnDate(), businessDate)) {
+            return true;
+        }
+        final LocalDate nextEvaluationDate = loanDelinquencyState.getNextEvaluationDate();
+        if (nextEvaluationDate != null && !DateUtils.isAfter(nextEvaluationDate, businessDate)) {
+            return true;
+        }
+        // Loan changes which did not go through the delinquency classification (re-schedule, product change, etc.)
+        return !Objects.equals(loanDelinquencyState.getDelinquencyBucketId(), getDelinquencyBucketId(loan))
+                || !MathUtil.isEqualTo(loanDelinquencyState.getTotalOutstanding(), getTotalOutstanding(loan))
+                || !DateUtils.isEqual(loanDelinquencyState.getOldestUnpaidDueDate(), getOldestUnpaidDueDate(loan));
+    }
+
+    @Override
+    public void updateLoanDelinquencyState(LoanScheduleDelinquencyData loanScheduleDelinquencyData, LocalDate businessDate,
+            boolean loanChanged) {
+        final Loan loan = loanScheduleDelinquencyData.getLoan();
+        final MonetaryCurrency currency = loan.getCurrency();
+        BigDecimal overdueAmount = BigDecimal.ZERO;
+        for (LoanRepaymentScheduleInstallment installment : loan.getRepaymentScheduleInstallments()) {
+            if (!installment.isObligationsMet() && DateUtils.isBefore(installment.getDueDate(), businessDate)) {
+                overdueAmount = overdueAmount.add(installment.getTotalOutstanding(currency).getAmount());
+            }
+        }
+        final LocalDate oldestUnpaidDueDate = getOldestUnpaidDueDate(loan);
+        final long overdueDays = loanScheduleDelinquencyData.getOverdueDays() == null ? 0L : loanScheduleDelinquencyData.getOverdueDays();
+        // Changes done today (chargebacks, backdated transactions) are only fully visible in the next day's calculation
+        final LocalDate nextEvaluationDate = loanChanged ? businessDate.plusDays(1)
+                : calculateNextEvaluationDate(loan, oldestUnpaidDueDate, loanScheduleDelinquencyData.getOverdueSinceDate(), overdueDays,
+                        businessDate);
+
+        final LoanDelinquencyState loanDelinquencyState = loanDelinquencyStateRepository.findByLoanId(loan.getId())
+                .orElseGet(() -> new LoanDelinquencyState(loan.getId()));
+        loanDelinquencyState.setDelinquencyBucketId(getDelinquencyBucketId(loan));
+        loanDelinquencyState.setOldestUnpaidDueDate(oldestUnpaidDueDate);
+        loanDelinquencyState.setOverdueSinceDate(loanScheduleDelinquencyData.getOverdueSinceDate());
+        loanDelinquencyState.setOverdueDays(overdueDays);
+        loanDelinquencyState.setOverdueAmount(overdueAmount);
+        loanDelinquencyState.setTotalOutstanding(getTotalOutstanding(loan));
+        loanDelinquencyState.setLastEvaluatedOnDate(businessDate);
+        loanDelinquencyState.setNextEvaluationDate(nextEvaluationDate);
+        loanDelinquencyStateRepository.save(loanDelinquencyState);
+    }
+
     @Override
     public CommandProcessingResult createDelinquencyAction(Long loanId, JsonCommand command) {
         final Loan loan = this.loanRepository.findOneWithNotFoundDetection(loanId);
@@ -423,6 +488,64 @@ public class DelinquencyWritePlatformServiceImpl implements DelinquencyWritePlat
         return changes;
     }
 
+    private LocalDate calculateNextEvaluationDate(final Loan loan, final LocalDate oldestUnpaidDueDate, final LocalDate overdueSinceDate,
+            final long overdueDays, final LocalDate businessDate) {
+        final LocalDate tomorrow = businessDate.plusDays(1);
+        if (overdueDays <= 0) {
+            // The loan gets delinquent once the oldest unpaid installment (or a chargeback) is overdue past the grace days
+            LocalDate nextEvaluationDate = oldestUnpaidDueDate == null ? null : oldestUnpaidDueDate.plusDays(1);
+            if (overdueSinceDate != null && (nextEvaluationDate == null || overdueSinceDate.plusDays(1).isBefore(nextEvaluationDate))) {
+                nextEvaluationDate = overdueSinceDate.plusDays(1);
+            }
+            return nextEvaluationDate == null || DateUtils.isAfter(nextEvaluationDate, tomorrow) ? nextEvaluationDate : tomorrow;
+        }
+        if (loan.isEnableInstallmentLevelDelinquency()) {
+            // Every overdue installment moves between the ranges on its own
+            return tomorrow;
+        }
+        if (!loan.hasDelinquencyBucket()) {
+            return null;
+        }
+        // The range changes when the overdue days reach the minimum of a range or go past the maximum of the current one
+        Long nextBoundary = null;
+        for (DelinquencyRange delinquencyRange : loan.getLoanProduct().getDelinquencyBucket().getRanges()) {
+            nextBoundary = nearestBoundary(nextBoundary, delinquencyRange.getMinimumAgeDays().longValue(), overdueDays);
+            if (delinquencyRange.getMaximumAgeDays() != null) {
+                nextBoundary = nearestBoundary(nextBoundary, delinquencyRange.getMaximumAgeDays() + 1L, overdueDays);
+            }
+        }
+        return nextBoundary == null ? null : businessDate.plusDays(nextBoundary - overdueDays);
+    }
+
+    private Long nearestBoundary(final Long nearest, final long boundary, final long overdueDays) {
+        if (boundary <= overdueDays || (nearest != null && nearest <= boundary)) {
+            return nearest;
+        }
+        return boundary;
+    }
+
+    private LocalDate getOldestUnpaidDueDate(final Loan loan) {
+        for (LoanRepaymentScheduleInstallment installment : loan.getRepaymentScheduleInstallments()) {
+            if (!installment.isObligationsMet()) {
+                return installment.getDueDate();
+            }
+        }
+        return null;
+    }
+
+    private Long getDelinquencyBucketId(final Loan loan) {
+        return loan.hasDelinquencyBucket() ? loan.getLoanProduct().getDelinquencyBucket().getId() : null;
+    }
+
+    private BigDecimal getTotalOutstanding(final Loan loan) {
+        return loan.getLoanSummary() == null ? null : loan.getLoanSummary().getTotalOutstanding();
+    }
+
+    private void invalidateLoanDelinquencyStates() {
+        // Range boundaries changed, every loan is classified again by the next run
+        loanDelinquencyStateRepository.deleteAllInBatch();
+    }
+
     private List<DelinquencyRange> sortDelinquencyRangesByMinAge(List<DelinquencyRange> ranges) {
         final Comparator<DelinquencyRange> orderByMinAge = new Comparator<DelinquencyRange>() {
 
@@ -1111,6 +1111,8 @@ final class LoansApiResourceSwagger {
         @Schema(example = "1")
         public Integer totalFilteredRecords;
         public Set<GetLoansLoanIdResponse> pageItems;
+        @Schema(description = "Cursor of the following page, only returned with keyset pagination when more records exist")
+        public String nextCursor;
     }
 
     @Schema(description = "PostLoansRequest")
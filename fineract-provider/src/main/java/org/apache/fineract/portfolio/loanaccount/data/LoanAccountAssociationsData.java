@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.calendar.data.CalendarData;
+import org.apache.fineract.portfolio.loanaccount.guarantor.data.GuarantorData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.apache.fineract.portfolio.note.data.NoteData;
+
+/**
+ * Associations of a loan retrieved for the loan detail view, together with the set of associations that were retrieved (to be
+ * returned even if empty). The time spent retrieving each of them is recorded in the
+ * {@code fineract.loan.associations.retrieval} timer.
+ */
+@Getter
+@Setter
+public class LoanAccountAssociationsData {
+
+    private Collection<LoanTransactionData> currentTransactions;
+    private CollectionData collectionData;
+    private Collection<LoanTransactionData> transactions;
+    private Collection<GuarantorData> guarantors;
+    private Collection<DisbursementData> disbursementData;
+    private Collection<LoanTermVariationsData> emiAmountVariations;
+    private LoanScheduleData repaymentSchedule;
+    private LoanScheduleData originalSchedule;
+    private Collection<LoanChargeData> charges;
+    private List<LoanCollateralManagementData> collaterals = new ArrayList<>();
+    private CalendarData meeting;
+    private Collection<NoteData> notes;
+    private PortfolioAccountData linkedAccount;
+    private final Set<String> retrievedAssociations = new HashSet<>();
+}
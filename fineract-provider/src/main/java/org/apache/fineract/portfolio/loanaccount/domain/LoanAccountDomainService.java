@@ -72,6 +72,15 @@ public interface LoanAccountDomainService {
      */
     void setLoanDelinquencyTag(Loan loan, LocalDate transactionDate);
 
+    /**
+     * This method is to set the Delinquency Classification of a loan by a periodic run: the classification is calculated
+     * only when the stored delinquency state of the loan can have changed since the last run
+     *
+     * @param loan
+     * @param businessDate
+     */
+    void setLoanDelinquencyTagIfDue(Loan loan, LocalDate businessDate);
+
     LoanTransaction makeRepayment(LoanTransactionType repaymentTransactionType, Loan loan, LocalDate transactionDate,
             BigDecimal transactionAmount, PaymentDetail paymentDetail, String noteText, ExternalId txnExternalId,
             boolean isRecoveryRepayment, String chargeRefundChargeType, boolean isAccountTransfer, HolidayDetailDTO holidayDetailDto,
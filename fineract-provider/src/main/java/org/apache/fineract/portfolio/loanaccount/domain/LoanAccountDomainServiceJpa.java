@@ -575,7 +575,24 @@ public class LoanAccountDomainServiceJpa implements LoanAccountDomainService {
     @Override
     public void setLoanDelinquencyTag(final Loan loan, final LocalDate transactionDate) {
         LoanScheduleDelinquencyData loanDelinquencyData = new LoanScheduleDelinquencyData(loan.getId(), transactionDate, null, loan);
-        loanDelinquencyData = this.delinquencyWritePlatformService.calculateDelinquencyData(loanDelinquencyData);
+        loanDelinquencyData = classifyLoanDelinquency(loanDelinquencyData);
+        this.delinquencyWritePlatformService.updateLoanDelinquencyState(loanDelinquencyData, DateUtils.getBusinessLocalDate(), true);
+    }
+
+    @Override
+    public void setLoanDelinquencyTagIfDue(final Loan loan, final LocalDate businessDate) {
+        LoanScheduleDelinquencyData loanDelinquencyData = new LoanScheduleDelinquencyData(loan.getId(), businessDate, null, loan);
+        if (!this.delinquencyWritePlatformService.isLoanDelinquencyEvaluationDue(loanDelinquencyData, businessDate)) {
+            log.debug("Skipping Loan {} delinquency classification, its delinquency state is unchanged", loan.getId());
+            return;
+        }
+        loanDelinquencyData = classifyLoanDelinquency(loanDelinquencyData);
+        this.delinquencyWritePlatformService.updateLoanDelinquencyState(loanDelinquencyData, businessDate, false);
+    }
+
+    private LoanScheduleDelinquencyData classifyLoanDelinquency(LoanScheduleDelinquencyData loanScheduleDelinquencyData) {
+        final LoanScheduleDelinquencyData loanDelinquencyData = this.delinquencyWritePlatformService
+                .calculateDelinquencyData(loanScheduleDelinquencyData);
         log.debug("Processing Loan {} with {} overdue days since date {}", loanDelinquencyData.getLoanId(),
                 loanDelinquencyData.getOverdueDays(), loanDelinquencyData.getOverdueSinceDate());
         // Set or Unset the Delinquency Classification Tag
@@ -584,6 +601,7 @@ public class LoanAccountDomainServiceJpa implements LoanAccountDomainService {
         } else {
             this.delinquencyWritePlatformService.removeDelinquencyTagToLoan(loanDelinquencyData.getLoan());
         }
+        return loanDelinquencyData;
     }
 
     @Override
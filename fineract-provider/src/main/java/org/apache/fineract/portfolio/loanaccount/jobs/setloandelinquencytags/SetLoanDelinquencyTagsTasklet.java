@@ -57,7 +57,7 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
         // Read Loan Ids with Loan Transaction Charge back
         Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData = this.loanTransactionRepository
                 .fetchLoanTransactionsByTypeAndLessOrEqualDate(LoanTransactionType.CHARGEBACK.getValue(), businessDate);
-        List<Long> processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData);
+        List<Long> processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData, businessDate);
         log.debug("{}: Records affected by setLoanDelinquencyTags: {}", ThreadLocalContextUtil.getTenant().getName(),
                 processedLoans.size());
 
@@ -69,16 +69,22 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
             loanScheduleDelinquencyData = this.loanRepaymentScheduleInstallmentRepository
                     .fetchLoanScheduleDataByDueDateAndObligationsMet(LoanStatus.ACTIVE.getValue(), businessDate, false, processedLoans);
         }
-        processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData);
+        processedLoans = applyDelinquencyTagToLoans(loanScheduleDelinquencyData, businessDate);
 
         return RepeatStatus.FINISHED;
     }
 
-    private List<Long> applyDelinquencyTagToLoans(Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData) {
+    private List<Long> applyDelinquencyTagToLoans(Collection<LoanScheduleDelinquencyData> loanScheduleDelinquencyData,
+            LocalDate businessDate) {
         List<Long> processedLoans = new ArrayList<>();
 
         log.debug("Were found {} items", loanScheduleDelinquencyData.size());
         for (LoanScheduleDelinquencyData loanDelinquencyData : loanScheduleDelinquencyData) {
+            processedLoans.add(loanDelinquencyData.getLoanId());
+            // Skip the loans which delinquency state can not have changed since the last run
+            if (!this.delinquencyWritePlatformService.isLoanDelinquencyEvaluationDue(loanDelinquencyData, businessDate)) {
+                continue;
+            }
             // Set the data used by Delinquency Classification method
             loanDelinquencyData = this.delinquencyWritePlatformService.calculateDelinquencyData(loanDelinquencyData);
             log.debug("Processing Loan {} with {} overdue days since date {}", loanDelinquencyData.getLoanId(),
@@ -89,8 +95,7 @@ public class SetLoanDelinquencyTagsTasklet implements Tasklet {
             } else {
                 this.delinquencyWritePlatformService.removeDelinquencyTagToLoan(loanDelinquencyData.getLoan());
             }
-
-            processedLoans.add(loanDelinquencyData.getLoanId());
+            this.delinquencyWritePlatformService.updateLoanDelinquencyState(loanDelinquencyData, businessDate, false);
         }
         return processedLoans;
     }
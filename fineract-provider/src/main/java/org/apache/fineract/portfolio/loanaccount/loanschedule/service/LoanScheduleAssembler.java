@@ -140,6 +140,7 @@ public class LoanScheduleAssembler {
     private final CalendarInstanceRepository calendarInstanceRepository;
     private final PlatformSecurityContext context;
     private final LoanUtilService loanUtilService;
+    private final LoanScheduleCache loanScheduleCache;
 
     @Autowired
     public LoanScheduleAssembler(final FromJsonHelper fromApiJsonHelper, final LoanProductRepository loanProductRepository,
@@ -152,7 +153,7 @@ public class LoanScheduleAssembler {
             final FloatingRatesReadPlatformService floatingRatesReadPlatformService,
             final VariableLoanScheduleFromApiJsonValidator variableLoanScheduleFromApiJsonValidator,
             final CalendarInstanceRepository calendarInstanceRepository, final PlatformSecurityContext context,
-            final LoanUtilService loanUtilService) {
+            final LoanUtilService loanUtilService, final LoanScheduleCache loanScheduleCache) {
         this.fromApiJsonHelper = fromApiJsonHelper;
         this.loanProductRepository = loanProductRepository;
         this.applicationCurrencyRepository = applicationCurrencyRepository;
@@ -170,6 +171,7 @@ public class LoanScheduleAssembler {
         this.calendarInstanceRepository = calendarInstanceRepository;
         this.context = context;
         this.loanUtilService = loanUtilService;
+        this.loanScheduleCache = loanScheduleCache;
     }
 
     public LoanApplicationTerms assembleLoanTerms(final JsonElement element) {
@@ -416,12 +418,14 @@ public class LoanScheduleAssembler {
                     .extractBigDecimalWithLocaleNamed(LoanApiConstants.interestRateDifferentialParameterName, element);
             final Boolean isFloatingInterestRate = this.fromApiJsonHelper
                     .extractBooleanNamed(LoanApiConstants.isFloatingInterestRateParameterName, element);
-            List<FloatingRatePeriodData> baseLendingRatePeriods = null;
-            try {
-                baseLendingRatePeriods = this.floatingRatesReadPlatformService.retrieveBaseLendingRate().getRatePeriods();
-            } catch (final FloatingRateNotFoundException ex) {
-                // Do not do anything
-            }
+            final List<FloatingRatePeriodData> baseLendingRatePeriods = this.loanScheduleCache.getBaseLendingRatePeriods(() -> {
+                try {
+                    return this.floatingRatesReadPlatformService.retrieveBaseLendingRate().getRatePeriods();
+                } catch (final FloatingRateNotFoundException ex) {
+                    // Do not do anything
+                    return null;
+                }
+            });
             FloatingRateDTO floatingRateDTO = new FloatingRateDTO(isFloatingInterestRate, expectedDisbursementDate, interestRateDiff,
                     baseLendingRatePeriods);
             Collection<FloatingRatePeriodData> applicableRates = loanProduct.fetchInterestRates(floatingRateDTO);
@@ -452,9 +456,8 @@ public class LoanScheduleAssembler {
             officeId = group.getOffice().getId();
         }
         final boolean isHolidayEnabled = this.configurationDomainService.isRescheduleRepaymentsOnHolidaysEnabled();
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId, expectedDisbursementDate,
-                HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
+        final List<Holiday> holidays = retrieveActiveHolidays(officeId, expectedDisbursementDate);
+        final WorkingDays workingDays = this.loanScheduleCache.getWorkingDays(this.workingDaysRepository::findOne);
         HolidayDetailDTO detailDTO = new HolidayDetailDTO(isHolidayEnabled, holidays, workingDays);
         final boolean isInterestToBeRecoveredFirstWhenGreaterThanEMI = this.configurationDomainService
                 .isInterestToBeRecoveredFirstWhenGreaterThanEMI();
@@ -657,9 +660,8 @@ public class LoanScheduleAssembler {
         }
 
         final LocalDate expectedDisbursementDate = this.fromApiJsonHelper.extractLocalDateNamed("expectedDisbursementDate", element);
-        final List<Holiday> holidays = this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId, expectedDisbursementDate,
-                HolidayStatusType.ACTIVE.getValue());
-        final WorkingDays workingDays = this.workingDaysRepository.findOne();
+        final List<Holiday> holidays = retrieveActiveHolidays(officeId, expectedDisbursementDate);
+        final WorkingDays workingDays = this.loanScheduleCache.getWorkingDays(this.workingDaysRepository::findOne);
 
         validateDisbursementDateIsOnNonWorkingDay(loanApplicationTerms.getExpectedDisbursementDate(), workingDays);
         validateDisbursementDateIsOnHoliday(loanApplicationTerms.getExpectedDisbursementDate(), isHolidayEnabled, holidays);
@@ -669,6 +671,11 @@ public class LoanScheduleAssembler {
         return assembleLoanScheduleFrom(loanApplicationTerms, isHolidayEnabled, holidays, workingDays, element, loanDisbursementDetails);
     }
 
+    private List<Holiday> retrieveActiveHolidays(final Long officeId, final LocalDate fromDate) {
+        return this.loanScheduleCache.getHolidays(officeId, fromDate,
+                () -> this.holidayRepository.findByOfficeIdAndGreaterThanDate(officeId, fromDate, HolidayStatusType.ACTIVE.getValue()));
+    }
+
     public LoanScheduleModel assembleLoanScheduleFrom(final LoanApplicationTerms loanApplicationTerms, final boolean isHolidayEnabled,
             final List<Holiday> holidays, final WorkingDays workingDays, final JsonElement element,
             List<LoanDisbursementDetails> disbursementDetails) {
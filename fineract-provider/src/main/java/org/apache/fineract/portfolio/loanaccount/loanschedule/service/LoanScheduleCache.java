@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.service;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.commands.event.CommandProcessedEvent;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.floatingrates.data.FloatingRatePeriodData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Memoizes loan schedule previews. The reference data a schedule is generated from (active holidays per office, working
+ * days and base lending rate periods) is kept in the {@value #INPUTS_CACHE_NAME} cache, while the schedules calculated
+ * for identical calculateLoanSchedule requests are kept in the {@value #PREVIEWS_CACHE_NAME} cache, keyed by the tenant,
+ * the business date and a hash of the request body.
+ *
+ * Both caches are cleared when a command changes loan products, charges, holidays, working days, floating rates, rates,
+ * currencies or global configurations (see {@link CommandProcessedEvent}), on every node when the multi node cache is
+ * active, so the services owning that data do not depend on this cache. Changes to other data a preview depends on,
+ * like meeting calendars or the loan cycle of a client, are picked up once the entries expire after
+ * {@code fineract.loan.schedule-preview.result-ttl-seconds}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanScheduleCache {
+
+    public static final String INPUTS_CACHE_NAME = "loanScheduleInputs";
+    public static final String PREVIEWS_CACHE_NAME = "loanSchedulePreviews";
+
+    private static final Set<String> SCHEDULE_INPUT_ENTITIES = Set.of("LOANPRODUCT", "CHARGE", "HOLIDAY", "WORKINGDAYS",
+            "FLOATINGRATE", "RATE", "CURRENCY", "CONFIGURATION");
+
+    @Qualifier("distributedCacheManager")
+    private final CacheManager cacheManager;
+
+    public List<Holiday> getHolidays(final Long officeId, final LocalDate fromDate, final Supplier<List<Holiday>> loader) {
+        return get(INPUTS_CACHE_NAME, tenantKey("holidays:" + officeId + ":" + fromDate), () -> List.copyOf(loader.get()));
+    }
+
+    public WorkingDays getWorkingDays(final Supplier<WorkingDays> loader) {
+        return get(INPUTS_CACHE_NAME, tenantKey("workingDays"), loader);
+    }
+
+    public List<FloatingRatePeriodData> getBaseLendingRatePeriods(final Supplier<List<FloatingRatePeriodData>> loader) {
+        return get(INPUTS_CACHE_NAME, tenantKey("baseLendingRatePeriods"), loader);
+    }
+
+    public LoanScheduleData getPreview(final JsonElement query, final Supplier<LoanScheduleData> loader) {
+        final String queryHash = Hashing.sha256().hashString(query.toString(), StandardCharsets.UTF_8).toString();
+        return get(PREVIEWS_CACHE_NAME, tenantKey(DateUtils.getBusinessLocalDate() + ":" + queryHash), loader);
+    }
+
+    @EventListener
+    public void onCommandProcessed(final CommandProcessedEvent event) {
+        if (SCHEDULE_INPUT_ENTITIES.contains(event.getEntityName())) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        final List<Cache> caches = Stream.of(INPUTS_CACHE_NAME, PREVIEWS_CACHE_NAME).map(cacheManager::getCache)
+                .filter(Objects::nonNull).toList();
+        caches.forEach(Cache::clear);
+        if (!caches.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // a concurrent preview may have loaded the old data before the change became visible
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCompletion(int status) {
+                    caches.forEach(Cache::clear);
+                }
+            });
+        }
+    }
+
+    private <T> T get(final String cacheName, final String key, final Supplier<T> loader) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        try {
+            return cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String tenantKey(final String key) {
+        return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + ":" + key;
+    }
+}
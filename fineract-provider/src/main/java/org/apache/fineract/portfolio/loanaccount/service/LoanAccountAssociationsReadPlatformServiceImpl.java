@@ -0,0 +1,309 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.service.AccountAssociationsReadPlatformService;
+import org.apache.fineract.portfolio.calendar.data.CalendarData;
+import org.apache.fineract.portfolio.calendar.service.CalendarReadPlatformService;
+import org.apache.fineract.portfolio.collateralmanagement.data.LoanCollateralResponseData;
+import org.apache.fineract.portfolio.collateralmanagement.service.LoanCollateralManagementReadPlatformService;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.data.CollectionData;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountAssociationsData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanChargeData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTermVariationsData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
+import org.apache.fineract.portfolio.loanaccount.data.RepaymentScheduleRelatedLoanData;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanStatus;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTermVariationType;
+import org.apache.fineract.portfolio.loanaccount.guarantor.data.GuarantorData;
+import org.apache.fineract.portfolio.loanaccount.guarantor.service.GuarantorReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleCalculationPlatformService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleHistoryReadPlatformService;
+import org.apache.fineract.portfolio.note.data.NoteData;
+import org.apache.fineract.portfolio.note.domain.NoteType;
+import org.apache.fineract.portfolio.note.service.NoteReadPlatformService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Retrieves the associations of the loan detail view concurrently. The JDBC backed reads run on the loan details executor, the
+ * repayment schedule and the original schedule are chained on the disbursement details they depend on, and the reads that work on
+ * JPA entities (collaterals, future schedule) stay on the calling thread. The time spent on each association is recorded in the
+ * {@value #METRIC_NAME} timer and in the debug log.
+ */
+@Slf4j
+public class LoanAccountAssociationsReadPlatformServiceImpl implements LoanAccountAssociationsReadPlatformService {
+
+    public static final String METRIC_NAME = "fineract.loan.associations.retrieval";
+
+    private final LoanReadPlatformService loanReadPlatformService;
+    private final LoanChargeReadPlatformService loanChargeReadPlatformService;
+    private final LoanScheduleCalculationPlatformService calculationPlatformService;
+    private final LoanScheduleHistoryReadPlatformService loanScheduleHistoryReadPlatformService;
+    private final GuarantorReadPlatformService guarantorReadPlatformService;
+    private final LoanCollateralManagementReadPlatformService loanCollateralManagementReadPlatformService;
+    private final CalendarReadPlatformService calendarReadPlatformService;
+    private final NoteReadPlatformService noteReadPlatformService;
+    private final AccountAssociationsReadPlatformService accountAssociationsReadPlatformService;
+    private final DelinquencyReadPlatformService delinquencyReadPlatformService;
+    private final FineractProperties fineractProperties;
+    private final ThreadPoolTaskExecutor loanDetailsTaskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    public LoanAccountAssociationsReadPlatformServiceImpl(final LoanReadPlatformService loanReadPlatformService,
+            final LoanChargeReadPlatformService loanChargeReadPlatformService,
+            final LoanScheduleCalculationPlatformService calculationPlatformService,
+            final LoanScheduleHistoryReadPlatformService loanScheduleHistoryReadPlatformService,
+            final GuarantorReadPlatformService guarantorReadPlatformService,
+            final LoanCollateralManagementReadPlatformService loanCollateralManagementReadPlatformService,
+            final CalendarReadPlatformService calendarReadPlatformService, final NoteReadPlatformService noteReadPlatformService,
+            final AccountAssociationsReadPlatformService accountAssociationsReadPlatformService,
+            final DelinquencyReadPlatformService delinquencyReadPlatformService, final FineractProperties fineractProperties,
+            final ThreadPoolTaskExecutor loanDetailsTaskExecutor, final ObjectProvider<MeterRegistry> meterRegistry) {
+        this.loanReadPlatformService = loanReadPlatformService;
+        this.loanChargeReadPlatformService = loanChargeReadPlatformService;
+        this.calculationPlatformService = calculationPlatformService;
+        this.loanScheduleHistoryReadPlatformService = loanScheduleHistoryReadPlatformService;
+        this.guarantorReadPlatformService = guarantorReadPlatformService;
+        this.loanCollateralManagementReadPlatformService = loanCollateralManagementReadPlatformService;
+        this.calendarReadPlatformService = calendarReadPlatformService;
+        this.noteReadPlatformService = noteReadPlatformService;
+        this.accountAssociationsReadPlatformService = accountAssociationsReadPlatformService;
+        this.delinquencyReadPlatformService = delinquencyReadPlatformService;
+        this.fineractProperties = fineractProperties;
+        this.loanDetailsTaskExecutor = loanDetailsTaskExecutor;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Override
+    public LoanAccountAssociationsData retrieveAssociations(final LoanAccountData loanBasicDetails,
+            final Set<String> associationParameters) {
+        final Long loanId = loanBasicDetails.getId();
+        final LoanAccountAssociationsData associations = new LoanAccountAssociationsData();
+        final Set<String> retrieved = associations.getRetrievedAssociations();
+        final Map<String, Duration> timings = new ConcurrentHashMap<>();
+        final Executor executor = associationExecutor();
+
+        final CompletableFuture<Collection<LoanTransactionData>> transactions = supply(executor, timings,
+                DataTableApiConstant.transactionsAssociateParamName, () -> this.loanReadPlatformService.retrieveLoanTransactions(loanId));
+        final CompletableFuture<CollectionData> collectionData = supply(executor, timings,
+                DataTableApiConstant.collectionAssociateParamName,
+                () -> this.delinquencyReadPlatformService.calculateLoanCollectionData(loanId));
+
+        CompletableFuture<Collection<GuarantorData>> guarantors = null;
+        CompletableFuture<Collection<DisbursementData>> disbursementData = null;
+        CompletableFuture<Collection<LoanTermVariationsData>> emiAmountVariations = null;
+        CompletableFuture<LoanScheduleData> repaymentSchedule = null;
+        CompletableFuture<LoanScheduleData> originalSchedule = null;
+        CompletableFuture<Collection<LoanChargeData>> charges = null;
+        CompletableFuture<CalendarData> meeting = null;
+        CompletableFuture<Collection<NoteData>> notes = null;
+        CompletableFuture<PortfolioAccountData> linkedAccount = null;
+
+        if (associationParameters.contains(DataTableApiConstant.guarantorsAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.guarantorsAssociateParamName);
+            guarantors = supply(executor, timings, DataTableApiConstant.guarantorsAssociateParamName,
+                    () -> this.guarantorReadPlatformService.retrieveGuarantorsForLoan(loanId));
+        }
+        if (associationParameters.contains(DataTableApiConstant.transactionsAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.transactionsAssociateParamName);
+        }
+        if (associationParameters.contains(DataTableApiConstant.multiDisburseDetailsAssociateParamName)
+                || associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.multiDisburseDetailsAssociateParamName);
+            disbursementData = supply(executor, timings, DataTableApiConstant.multiDisburseDetailsAssociateParamName,
+                    () -> this.loanReadPlatformService.retrieveLoanDisbursementDetails(loanId));
+        }
+        if (associationParameters.contains(DataTableApiConstant.emiAmountVariationsAssociateParamName)
+                || associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.emiAmountVariationsAssociateParamName);
+            emiAmountVariations = supply(executor, timings, DataTableApiConstant.emiAmountVariationsAssociateParamName,
+                    () -> this.loanReadPlatformService.retrieveLoanTermVariations(loanId, LoanTermVariationType.EMI_AMOUNT.getValue()));
+        }
+        if (associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.repaymentScheduleAssociateParamName);
+            final RepaymentScheduleRelatedLoanData repaymentScheduleRelatedData = loanBasicDetails.getTimeline()
+                    .repaymentScheduleRelatedData(loanBasicDetails.getCurrency(), loanBasicDetails.getPrincipal(),
+                            loanBasicDetails.getApprovedPrincipal(), loanBasicDetails.getInArrearsTolerance(),
+                            loanBasicDetails.getFeeChargesAtDisbursementCharged());
+            final BigDecimal totalPaidFeeCharges = loanBasicDetails.getSummary() != null
+                    ? loanBasicDetails.getSummary().getFeeChargesPaid()
+                    : BigDecimal.ZERO;
+            repaymentSchedule = disbursementData.thenApplyAsync(
+                    disbursements -> timed(timings, DataTableApiConstant.repaymentScheduleAssociateParamName,
+                            () -> this.loanReadPlatformService.retrieveRepaymentSchedule(loanId, repaymentScheduleRelatedData,
+                                    disbursements, loanBasicDetails.isInterestRecalculationEnabled(), totalPaidFeeCharges)),
+                    executor);
+
+            if (associationParameters.contains(DataTableApiConstant.futureScheduleAssociateParamName)
+                    && loanBasicDetails.isInterestRecalculationEnabled()) {
+                retrieved.add(DataTableApiConstant.futureScheduleAssociateParamName);
+            }
+            if (associationParameters.contains(DataTableApiConstant.originalScheduleAssociateParamName)
+                    && loanBasicDetails.isInterestRecalculationEnabled()
+                    && LoanStatus.fromInt(loanBasicDetails.getStatus().getId().intValue()).isActive()) {
+                retrieved.add(DataTableApiConstant.originalScheduleAssociateParamName);
+                originalSchedule = disbursementData.thenApplyAsync(
+                        disbursements -> timed(timings, DataTableApiConstant.originalScheduleAssociateParamName,
+                                () -> this.loanScheduleHistoryReadPlatformService.retrieveRepaymentArchiveSchedule(loanId,
+                                        repaymentScheduleRelatedData, disbursements)),
+                        executor);
+            }
+        }
+        if (associationParameters.contains(DataTableApiConstant.chargesAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.chargesAssociateParamName);
+            charges = supply(executor, timings, DataTableApiConstant.chargesAssociateParamName,
+                    () -> this.loanChargeReadPlatformService.retrieveLoanCharges(loanId));
+        }
+        if (associationParameters.contains(DataTableApiConstant.meetingAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.meetingAssociateParamName);
+            meeting = supply(executor, timings, DataTableApiConstant.meetingAssociateParamName,
+                    () -> this.calendarReadPlatformService.retrieveLoanCalendar(loanId));
+        }
+        if (associationParameters.contains(DataTableApiConstant.notesAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.notesAssociateParamName);
+            notes = supply(executor, timings, DataTableApiConstant.notesAssociateParamName,
+                    () -> this.noteReadPlatformService.retrieveNotesByResource(loanId, NoteType.LOAN.getValue()));
+        }
+        if (associationParameters.contains(DataTableApiConstant.linkedAccountAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.linkedAccountAssociateParamName);
+            linkedAccount = supply(executor, timings, DataTableApiConstant.linkedAccountAssociateParamName,
+                    () -> this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(loanId));
+        }
+
+        // works on the loan entity and its lazy collections, so it has to run on the calling thread
+        if (associationParameters.contains(DataTableApiConstant.collateralAssociateParamName)) {
+            retrieved.add(DataTableApiConstant.collateralAssociateParamName);
+            timed(timings, DataTableApiConstant.collateralAssociateParamName, () -> {
+                for (LoanCollateralResponseData loanCollateralManagement : this.loanCollateralManagementReadPlatformService
+                        .getLoanCollateralResponseDataList(loanId)) {
+                    associations.getCollaterals().add(loanCollateralManagement.toCommand());
+                }
+                return null;
+            });
+        }
+
+        final Collection<LoanTransactionData> currentTransactions = join(transactions);
+        associations.setCurrentTransactions(currentTransactions);
+        if (retrieved.contains(DataTableApiConstant.transactionsAssociateParamName) && !CollectionUtils.isEmpty(currentTransactions)) {
+            associations.setTransactions(currentTransactions);
+        }
+        associations.setCollectionData(join(collectionData));
+        associations.setGuarantors(nullIfEmpty(join(guarantors)));
+        associations.setDisbursementData(join(disbursementData));
+        associations.setEmiAmountVariations(join(emiAmountVariations));
+        associations.setRepaymentSchedule(join(repaymentSchedule));
+        associations.setOriginalSchedule(join(originalSchedule));
+        associations.setCharges(nullIfEmpty(join(charges)));
+        associations.setMeeting(join(meeting));
+        associations.setNotes(nullIfEmpty(join(notes)));
+        associations.setLinkedAccount(join(linkedAccount));
+
+        // loads the loan entity to recalculate the schedule, so it has to run on the calling thread
+        if (retrieved.contains(DataTableApiConstant.futureScheduleAssociateParamName)) {
+            timed(timings, DataTableApiConstant.futureScheduleAssociateParamName, () -> {
+                this.calculationPlatformService.updateFutureSchedule(associations.getRepaymentSchedule(), loanId);
+                return null;
+            });
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Associations of loan {} retrieved (time per association): {}", loanId, new TreeMap<>(timings));
+        }
+        return associations;
+    }
+
+    private Executor associationExecutor() {
+        if (!this.fineractProperties.getLoan().getDetails().isParallelEnabled()) {
+            return Runnable::run;
+        }
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        return task -> this.loanDetailsTaskExecutor.execute(new DelegatingSecurityContextRunnable(() -> {
+            ThreadLocalContextUtil.init(context);
+            try {
+                task.run();
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        }, securityContext));
+    }
+
+    private <T> CompletableFuture<T> supply(final Executor executor, final Map<String, Duration> timings, final String association,
+            final Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(() -> timed(timings, association, supplier), executor);
+    }
+
+    private <T> T timed(final Map<String, Duration> timings, final String association, final Supplier<T> supplier) {
+        final long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            timings.put(association, duration);
+            Timer.builder(METRIC_NAME).tag("association", association).register(this.meterRegistry).record(duration);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static <T extends Collection<?>> T nullIfEmpty(final T collection) {
+        return CollectionUtils.isEmpty(collection) ? null : collection;
+    }
+}
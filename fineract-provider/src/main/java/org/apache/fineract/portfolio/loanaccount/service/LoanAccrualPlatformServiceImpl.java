@@ -18,17 +18,22 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
+import java.lang.reflect.UndeclaredThrowableException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
 import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -36,12 +41,20 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
 
     private final LoanReadPlatformService loanReadPlatformService;
     private final LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    private final FineractProperties fineractProperties;
+    private final PlatformTransactionManager transactionManager;
 
+    /**
+     * Accrues all loans, every chunk (and every loan retried after a failed chunk) in its own transaction, so that a
+     * failing chunk neither rolls back the accruals already written nor the transaction of the calling job step.
+     */
     @Override
     public void addPeriodicAccruals(final LocalDate tillDate) throws JobExecutionException {
         Collection<LoanScheduleAccrualData> loanScheduleAccrualDataList = this.loanReadPlatformService
                 .retrievePeriodicAccrualData(tillDate);
-        addPeriodicAccruals(tillDate, loanScheduleAccrualDataList);
+        final TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        addPeriodicAccruals(tillDate, loanScheduleAccrualDataList, chunkTransaction);
     }
 
     @Override
@@ -54,28 +67,81 @@ public class LoanAccrualPlatformServiceImpl implements LoanAccrualPlatformServic
     @Override
     public void addPeriodicAccruals(final LocalDate tillDate, Collection<LoanScheduleAccrualData> loanScheduleAccrualDataList)
             throws JobExecutionException {
-        Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new HashMap<>();
+        // called for single loans within the transaction of a command or of the loan COB
+        addPeriodicAccruals(tillDate, loanScheduleAccrualDataList, null);
+    }
+
+    private void addPeriodicAccruals(final LocalDate tillDate, Collection<LoanScheduleAccrualData> loanScheduleAccrualDataList,
+            TransactionTemplate chunkTransaction) throws JobExecutionException {
+        Map<Long, Collection<LoanScheduleAccrualData>> loanDataMap = new LinkedHashMap<>();
         for (final LoanScheduleAccrualData accrualData : loanScheduleAccrualDataList) {
-            if (loanDataMap.containsKey(accrualData.getLoanId())) {
-                loanDataMap.get(accrualData.getLoanId()).add(accrualData);
-            } else {
-                Collection<LoanScheduleAccrualData> accrualDataList = new ArrayList<>();
-                accrualDataList.add(accrualData);
-                loanDataMap.put(accrualData.getLoanId(), accrualDataList);
-            }
+            loanDataMap.computeIfAbsent(accrualData.getLoanId(), loanId -> new ArrayList<>()).add(accrualData);
         }
 
         List<Throwable> errors = new ArrayList<>();
+        int chunkSize = Math.max(1, fineractProperties.getLoan().getAccrual().getChunkSize());
+        Map<Long, Collection<LoanScheduleAccrualData>> chunk = new LinkedHashMap<>();
         for (Map.Entry<Long, Collection<LoanScheduleAccrualData>> mapEntry : loanDataMap.entrySet()) {
+            chunk.put(mapEntry.getKey(), mapEntry.getValue());
+            if (chunk.size() == chunkSize) {
+                addPeriodicAccruals(tillDate, chunk, errors, chunkTransaction);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            addPeriodicAccruals(tillDate, chunk, errors, chunkTransaction);
+        }
+        if (!errors.isEmpty()) {
+            throw new JobExecutionException(errors);
+        }
+    }
+
+    private void addPeriodicAccruals(final LocalDate tillDate, Map<Long, Collection<LoanScheduleAccrualData>> chunk,
+            List<Throwable> errors, TransactionTemplate chunkTransaction) {
+        if (chunk.size() > 1) {
             try {
-                this.loanAccrualWritePlatformService.addPeriodicAccruals(tillDate, mapEntry.getKey(), mapEntry.getValue());
+                inTransaction(chunkTransaction, () -> this.loanAccrualWritePlatformService.addPeriodicAccruals(tillDate, chunk));
+                return;
+            } catch (Exception e) {
+                // the chunk was rolled back, it is retried loan by loan so that only the failing loans are reported
+                log.warn("Failed to add accrual transactions for a chunk of {} loans, retrying them one by one", chunk.size(), e);
+            }
+        }
+        for (Map.Entry<Long, Collection<LoanScheduleAccrualData>> mapEntry : chunk.entrySet()) {
+            try {
+                inTransaction(chunkTransaction,
+                        () -> this.loanAccrualWritePlatformService.addPeriodicAccruals(tillDate, mapEntry.getKey(), mapEntry.getValue()));
             } catch (Exception e) {
                 log.error("Failed to add accrual transaction for loan {}", mapEntry.getKey(), e);
                 errors.add(e);
             }
         }
-        if (!errors.isEmpty()) {
-            throw new JobExecutionException(errors);
+    }
+
+    private static void inTransaction(TransactionTemplate transaction, AccrualWork work) throws Exception {
+        if (transaction == null) {
+            work.run();
+            return;
+        }
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    work.run();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // checked exceptions have to leave the callback unchecked to roll the transaction back
+                    throw new UndeclaredThrowableException(e);
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw (Exception) e.getUndeclaredThrowable();
         }
     }
+
+    @FunctionalInterface
+    private interface AccrualWork {
+
+        void run() throws Exception;
+    }
 }
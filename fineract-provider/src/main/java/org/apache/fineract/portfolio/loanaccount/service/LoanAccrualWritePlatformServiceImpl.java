@@ -86,6 +86,7 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
     @Override
     @Transactional
     public void addAccrualAccounting(final Long loanId, final Collection<LoanScheduleAccrualData> loanScheduleAccrualData) {
+        final AccrualPostings postings = new AccrualPostings(context.authenticatedUser());
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccrual(loanId);
         Collection<LoanSchedulePeriodData> loanWaiverScheduleData = new ArrayList<>(1);
         Collection<LoanTransactionData> loanWaiverTransactionData = new ArrayList<>(1);
@@ -97,13 +98,31 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
             }
             updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
             updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, accrualData.getDueDateAsLocaldate());
-            addAccrualAccounting(accrualData);
+            addAccrualAccounting(accrualData, postings);
         }
+        postAccruals(postings);
     }
 
     @Override
     @Transactional
     public void addPeriodicAccruals(final LocalDate tillDate, Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData) {
+        final AccrualPostings postings = new AccrualPostings(context.authenticatedUser());
+        addPeriodicAccruals(tillDate, loanId, loanScheduleAccrualData, postings);
+        postAccruals(postings);
+    }
+
+    @Override
+    @Transactional
+    public void addPeriodicAccruals(final LocalDate tillDate, Map<Long, Collection<LoanScheduleAccrualData>> loanScheduleAccrualData) {
+        final AccrualPostings postings = new AccrualPostings(context.authenticatedUser());
+        for (Map.Entry<Long, Collection<LoanScheduleAccrualData>> entry : loanScheduleAccrualData.entrySet()) {
+            addPeriodicAccruals(tillDate, entry.getKey(), entry.getValue(), postings);
+        }
+        postAccruals(postings);
+    }
+
+    private void addPeriodicAccruals(final LocalDate tillDate, Long loanId, Collection<LoanScheduleAccrualData> loanScheduleAccrualData,
+            final AccrualPostings postings) {
         boolean firstTime = true;
         LocalDate accruedTill = null;
         Collection<LoanChargeData> chargeData = this.loanChargeReadPlatformService.retrieveLoanChargesForAccrual(loanId);
@@ -123,18 +142,19 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
                 if (accruedTill == null || DateUtils.isBefore(accruedTill, tillDate)) {
                     updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), tillDate);
                     updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, tillDate);
-                    addAccrualTillSpecificDate(tillDate, accrualData);
+                    addAccrualTillSpecificDate(tillDate, accrualData, postings);
                 }
             } else {
                 updateCharges(chargeData, accrualData, accrualData.getFromDateAsLocaldate(), accrualData.getDueDateAsLocaldate());
                 updateInterestIncome(accrualData, loanWaiverTransactionData, loanWaiverScheduleData, tillDate);
-                addAccrualAccounting(accrualData);
+                addAccrualAccounting(accrualData, postings);
                 accruedTill = accrualData.getDueDateAsLocaldate();
             }
         }
     }
 
-    private void addAccrualTillSpecificDate(final LocalDate tillDate, final LoanScheduleAccrualData accrualData) {
+    private void addAccrualTillSpecificDate(final LocalDate tillDate, final LoanScheduleAccrualData accrualData,
+            final AccrualPostings postings) {
         LocalDate interestStartDate = accrualData.getFromDateAsLocaldate();
         if (DateUtils.isBefore(accrualData.getFromDateAsLocaldate(), accrualData.getInterestCalculatedFrom())) {
             if (DateUtils.isBefore(accrualData.getInterestCalculatedFrom(), accrualData.getDueDateAsLocaldate())) {
@@ -204,12 +224,11 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
         }
         if (amount.compareTo(BigDecimal.ZERO) > 0) {
             addAccrualAccounting(accrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee, penaltyPortion,
-                    totalAccPenalty, tillDate);
+                    totalAccPenalty, tillDate, postings);
         }
     }
 
-    @Transactional
-    public void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData) {
+    private void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData, AccrualPostings postings) {
 
         BigDecimal amount = BigDecimal.ZERO;
         BigDecimal interestPortion = null;
@@ -257,47 +276,76 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
             final String chargeAccrualDateCriteria = configurationDomainService.getAccrualDateConfigForCharge();
             if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_DUE_DATE)) {
                 addAccrualAccounting(scheduleAccrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee,
-                        penaltyPortion, totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate());
+                        penaltyPortion, totalAccPenalty, scheduleAccrualData.getDueDateAsLocaldate(), postings);
             } else if (chargeAccrualDateCriteria.equalsIgnoreCase(ACCRUAL_ON_CHARGE_SUBMITTED_ON_DATE)) {
                 addAccrualAccounting(scheduleAccrualData, amount, interestPortion, totalAccInterest, feePortion, totalAccFee,
-                        penaltyPortion, totalAccPenalty, DateUtils.getBusinessLocalDate());
+                        penaltyPortion, totalAccPenalty, DateUtils.getBusinessLocalDate(), postings);
             }
         }
     }
 
     private void addAccrualAccounting(LoanScheduleAccrualData scheduleAccrualData, BigDecimal amount, BigDecimal interestPortion,
             BigDecimal totalAccInterest, BigDecimal feePortion, BigDecimal totalAccFee, BigDecimal penaltyPortion,
-            BigDecimal totalAccPenalty, final LocalDate accruedTill) throws DataAccessException {
-        AppUser user = context.authenticatedUser();
+            BigDecimal totalAccPenalty, final LocalDate accruedTill, final AccrualPostings postings) throws DataAccessException {
         Loan loan = loanRepository.getReferenceById(scheduleAccrualData.getLoanId());
         Office office = officeRepository.getReferenceById(scheduleAccrualData.getOfficeId());
-        LoanTransaction loanTransaction = loanTransactionRepository.saveAndFlush(accrueTransaction(loan, office, accruedTill, amount,
+        // the identity column assigns the id on insert, flushing the whole persistence context here is not needed
+        LoanTransaction loanTransaction = loanTransactionRepository.save(accrueTransaction(loan, office, accruedTill, amount,
                 interestPortion, feePortion, penaltyPortion, externalIdFactory.create()));
 
         Map<LoanChargeData, BigDecimal> applicableCharges = scheduleAccrualData.getApplicableCharges();
-        String chargesPaidSql = "INSERT INTO m_loan_charge_paid_by (loan_transaction_id, loan_charge_id, amount,installment_number) VALUES (?,?,?,?)";
         for (Map.Entry<LoanChargeData, BigDecimal> entry : applicableCharges.entrySet()) {
             LoanChargeData chargeData = entry.getKey();
-            this.jdbcTemplate.update(chargesPaidSql, loanTransaction.getId(), chargeData.getId(), entry.getValue(),
-                    scheduleAccrualData.getInstallmentNumber());
+            postings.chargesPaid.add(new Object[] { loanTransaction.getId(), chargeData.getId(), entry.getValue(),
+                    scheduleAccrualData.getInstallmentNumber() });
         }
 
         Map<String, Object> transactionMap = toMapData(loanTransaction.getId(), amount, interestPortion, feePortion, penaltyPortion,
                 scheduleAccrualData, accruedTill);
 
+        postings.installmentUpdates
+                .add(new Object[] { totalAccInterest, totalAccFee, totalAccPenalty, scheduleAccrualData.getRepaymentScheduleId() });
+        postings.accruedTillByLoan.put(scheduleAccrualData.getLoanId(), accruedTill);
+        postings.transactions.add(loanTransaction);
+
+        final Map<String, Object> accountingBridgeData = postings.accountingBridgeDataByLoan.get(scheduleAccrualData.getLoanId());
+        if (accountingBridgeData == null) {
+            postings.accountingBridgeDataByLoan.put(scheduleAccrualData.getLoanId(),
+                    deriveAccountingBridgeData(scheduleAccrualData, transactionMap));
+        } else {
+            @SuppressWarnings("unchecked")
+            final List<Map<String, Object>> newLoanTransactions = (List<Map<String, Object>>) accountingBridgeData
+                    .get("newLoanTransactions");
+            newLoanTransactions.add(transactionMap);
+        }
+    }
+
+    private void postAccruals(final AccrualPostings postings) {
+        if (postings.transactions.isEmpty()) {
+            return;
+        }
+        if (!postings.chargesPaid.isEmpty()) {
+            String chargesPaidSql = "INSERT INTO m_loan_charge_paid_by (loan_transaction_id, loan_charge_id, amount,installment_number) VALUES (?,?,?,?)";
+            this.jdbcTemplate.batchUpdate(chargesPaidSql, postings.chargesPaid);
+        }
+
         String repaymentUpdateSql = "UPDATE m_loan_repayment_schedule SET accrual_interest_derived=?, accrual_fee_charges_derived=?, "
                 + "accrual_penalty_charges_derived=? WHERE  id=?";
-        this.jdbcTemplate.update(repaymentUpdateSql, totalAccInterest, totalAccFee, totalAccPenalty,
-                scheduleAccrualData.getRepaymentScheduleId());
+        this.jdbcTemplate.batchUpdate(repaymentUpdateSql, postings.installmentUpdates);
 
         String updateLoan = "UPDATE m_loan  SET accrued_till=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
-        this.jdbcTemplate.update(updateLoan, accruedTill, user.getId(), DateUtils.getAuditOffsetDateTime(),
-                scheduleAccrualData.getLoanId());
-
-        businessEventNotifierService.notifyPostBusinessEvent(new LoanAccrualTransactionCreatedBusinessEvent(loanTransaction));
+        final List<Object[]> loanUpdates = new ArrayList<>(postings.accruedTillByLoan.size());
+        for (Map.Entry<Long, LocalDate> entry : postings.accruedTillByLoan.entrySet()) {
+            loanUpdates.add(new Object[] { entry.getValue(), postings.user.getId(), DateUtils.getAuditOffsetDateTime(), entry.getKey() });
+        }
+        this.jdbcTemplate.batchUpdate(updateLoan, loanUpdates);
 
-        final Map<String, Object> accountingBridgeData = deriveAccountingBridgeData(scheduleAccrualData, transactionMap);
-        this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
+        for (LoanTransaction loanTransaction : postings.transactions) {
+            businessEventNotifierService.notifyPostBusinessEvent(new LoanAccrualTransactionCreatedBusinessEvent(loanTransaction));
+        }
+        for (Map<String, Object> accountingBridgeData : postings.accountingBridgeDataByLoan.values()) {
+            this.journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
+        }
     }
 
     private Map<String, Object> deriveAccountingBridgeData(final LoanScheduleAccrualData loanScheduleAccrualData,
@@ -572,4 +620,22 @@ public class LoanAccrualWritePlatformServiceImpl implements LoanAccrualWritePlat
                 existingReversedTransactionIds, isAccountTransfer);
         journalEntryWritePlatformService.createJournalEntriesForLoan(accountingBridgeData);
     }
+
+    /**
+     * Accrual postings collected while computing the accruals of one or more loans, written with batched statements at the end
+     * of the unit of work.
+     */
+    private static final class AccrualPostings {
+
+        private final AppUser user;
+        private final List<Object[]> chargesPaid = new ArrayList<>();
+        private final List<Object[]> installmentUpdates = new ArrayList<>();
+        private final Map<Long, LocalDate> accruedTillByLoan = new LinkedHashMap<>();
+        private final Map<Long, Map<String, Object>> accountingBridgeDataByLoan = new LinkedHashMap<>();
+        private final List<LoanTransaction> transactions = new ArrayList<>();
+
+        private AccrualPostings(final AppUser user) {
+            this.user = user;
+        }
+    }
 }
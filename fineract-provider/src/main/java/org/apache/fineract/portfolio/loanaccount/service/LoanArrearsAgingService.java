@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
@@ -35,4 +36,15 @@ public interface LoanArrearsAgingService {
             boolean isInsertStatement);
 
     void updateScheduleWithPaidDetail(Map<Long, List<LoanSchedulePeriodData>> scheduleDate, List<Map<String, Object>> loanSummary);
+
+    /**
+     * Replaces the arrears ageing details of the given loans from their installment aggregates.
+     */
+    void updateLoanArrearsAgeingDetails(Collection<Long> loanIds);
+
+    /**
+     * Replaces the arrears ageing details of the loans with an id from <code>fromLoanId</code> (inclusive) to
+     * <code>toLoanId</code> (exclusive).
+     */
+    void updateLoanArrearsAgeingDetailsForLoanIdRange(Long fromLoanId, Long toLoanId);
 }
@@ -19,15 +19,19 @@
 package org.apache.fineract.portfolio.loanaccount.service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
@@ -59,16 +63,30 @@ import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleP
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @RequiredArgsConstructor
 public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
+    private static final String ARREARS_INSERT_SQL = "INSERT INTO m_loan_arrears_aging(loan_id,principal_overdue_derived,"
+            + "interest_overdue_derived,fee_charges_overdue_derived,penalty_charges_overdue_derived,total_overdue_derived,overdue_since_date_derived)";
+    private static final String LOAN_SUMMARY_SQL = "select ml.id as loanId, ml.principal_repaid_derived as principalAmtPaid, "
+            + "ml.principal_writtenoff_derived as principalAmtWrittenoff, ml.interest_repaid_derived as interestAmtPaid, "
+            + "ml.interest_waived_derived as interestAmtWaived, ml.fee_charges_repaid_derived as feeAmtPaid, "
+            + "ml.fee_charges_waived_derived as feeAmtWaived, ml.penalty_charges_repaid_derived as penaltyAmtPaid, "
+            + "ml.penalty_charges_waived_derived as penaltyAmtWaived from m_loan ml where ml.id IN (:loanIds) order by ml.id";
+
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     private final JdbcTemplate jdbcTemplate;
     private final BusinessEventNotifierService businessEventNotifierService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final EntityManager entityManager;
 
     @PostConstruct
     public void registerForNotification() {
@@ -101,7 +119,8 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
         int count = this.jdbcTemplate.queryForObject("select count(mla.loan_id) from m_loan_arrears_aging mla where mla.loan_id =?",
                 Integer.class, loan.getId());
         List<String> updateStatement = new ArrayList<>();
-        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loan.getId().toString(), sqlGenerator);
+        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor("ml.id IN(" + loan.getId() + ")",
+                sqlGenerator);
         Map<Long, List<LoanSchedulePeriodData>> scheduleDate = this.jdbcTemplate.query(originalScheduleExtractor.schema,
                 originalScheduleExtractor);
         if (scheduleDate.size() > 0) {
@@ -119,7 +138,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
     @Override
     public Map<Long, List<LoanSchedulePeriodData>> getScheduleDate(String loanId) {
-        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor(loanId, sqlGenerator);
+        OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor("ml.id IN(" + loanId + ")", sqlGenerator);
         return this.jdbcTemplate.query(originalScheduleExtractor.schema, originalScheduleExtractor);
     }
 
@@ -191,6 +210,111 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
     @Override
     public void createInsertStatements(List<String> insertStatement, Map<Long, List<LoanSchedulePeriodData>> scheduleDate,
             boolean isInsertStatement) {
+        for (LoanArrears arrears : calculateArrears(scheduleDate)) {
+            if (isInsertStatement) {
+                insertStatement.add(constructInsertStatement(arrears.loanId(), arrears.principalOverdue(), arrears.interestOverdue(),
+                        arrears.feeOverdue(), arrears.penaltyOverdue(), arrears.overDueSince()));
+            } else {
+                insertStatement.add(constructUpdateStatement(arrears.loanId(), arrears.principalOverdue(), arrears.interestOverdue(),
+                        arrears.feeOverdue(), arrears.penaltyOverdue(), arrears.overDueSince()));
+            }
+        }
+    }
+
+    @Override
+    public void updateLoanArrearsAgeingDetails(final Collection<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        replaceLoanArrearsAgeingDetails("loan_id IN (:loanIds)", "ml.id IN (:loanIds)", new MapSqlParameterSource("loanIds", loanIds));
+    }
+
+    @Override
+    public void updateLoanArrearsAgeingDetailsForLoanIdRange(final Long fromLoanId, final Long toLoanId) {
+        replaceLoanArrearsAgeingDetails("loan_id >= :fromLoanId and loan_id < :toLoanId", "ml.id >= :fromLoanId and ml.id < :toLoanId",
+                new MapSqlParameterSource("fromLoanId", fromLoanId).addValue("toLoanId", toLoanId));
+    }
+
+    /**
+     * Replaces the arrears of the selected loans: the overdue amounts of the loans ageing on the current schedule are
+     * aggregated from their installments by a single statement, the ones ageing on the original schedule are calculated
+     * and written as one batch.
+     */
+    private void replaceLoanArrearsAgeingDetails(final String arrearsFilter, final String loanFilter, final SqlParameterSource parameters) {
+        final NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        namedJdbcTemplate.update("DELETE FROM m_loan_arrears_aging WHERE " + arrearsFilter, parameters); // NOSONAR
+        int records = namedJdbcTemplate.update(buildQueryForInsertAgeingDetails(loanFilter), parameters);
+
+        final List<Long> loanIdsWithOriginalSchedule = namedJdbcTemplate
+                .queryForList(buildQueryForLoanIdentifiersWithOriginalSchedule(loanFilter), parameters, Long.class);
+        if (!loanIdsWithOriginalSchedule.isEmpty()) {
+            final SqlParameterSource loanIdParameters = new MapSqlParameterSource("loanIds", loanIdsWithOriginalSchedule);
+            final OriginalScheduleExtractor originalScheduleExtractor = new OriginalScheduleExtractor("ml.id IN (:loanIds)", sqlGenerator);
+            final Map<Long, List<LoanSchedulePeriodData>> scheduleDate = namedJdbcTemplate.query(originalScheduleExtractor.schema,
+                    loanIdParameters, originalScheduleExtractor);
+            updateScheduleWithPaidDetail(scheduleDate, namedJdbcTemplate.queryForList(LOAN_SUMMARY_SQL, loanIdParameters));
+            final List<Object[]> batch = new ArrayList<>();
+            for (LoanArrears arrears : calculateArrears(scheduleDate)) {
+                batch.add(new Object[] { arrears.loanId(), arrears.principalOverdue(), arrears.interestOverdue(), arrears.feeOverdue(),
+                        arrears.penaltyOverdue(), arrears.totalOverdue(), arrears.overDueSince() });
+            }
+            if (!batch.isEmpty()) {
+                records += this.jdbcTemplate.batchUpdate(ARREARS_INSERT_SQL + " VALUES (?, ?, ?, ?, ?, ?, ?)", batch).length;
+            }
+        }
+        log.debug("Records affected by updateLoanArrearsAgeingDetails: {}", records);
+    }
+
+    private String buildQueryForInsertAgeingDetails(final String loanFilter) {
+        final String principalOverdueCalculationSql = "SUM(COALESCE(mr.principal_amount, 0) - coalesce(mr.principal_completed_derived, 0) - coalesce(mr.principal_writtenoff_derived, 0))";
+        final String interestOverdueCalculationSql = "SUM(COALESCE(mr.interest_amount, 0) - coalesce(mr.interest_writtenoff_derived, 0) - coalesce(mr.interest_waived_derived, 0) - "
+                + "coalesce(mr.interest_completed_derived, 0))";
+        final String feeChargesOverdueCalculationSql = "SUM(COALESCE(mr.fee_charges_amount, 0) - coalesce(mr.fee_charges_writtenoff_derived, 0) - "
+                + "coalesce(mr.fee_charges_waived_derived, 0) - coalesce(mr.fee_charges_completed_derived, 0))";
+        final String penaltyChargesOverdueCalculationSql = "SUM(COALESCE(mr.penalty_charges_amount, 0) - coalesce(mr.penalty_charges_writtenoff_derived, 0) - "
+                + "coalesce(mr.penalty_charges_waived_derived, 0) - coalesce(mr.penalty_charges_completed_derived, 0))";
+
+        final StringBuilder insertSqlStatementBuilder = new StringBuilder(900);
+        insertSqlStatementBuilder.append(ARREARS_INSERT_SQL);
+        insertSqlStatementBuilder.append(" select ml.id as loanId,");
+        insertSqlStatementBuilder.append(principalOverdueCalculationSql + " as principal_overdue_derived,");
+        insertSqlStatementBuilder.append(interestOverdueCalculationSql + " as interest_overdue_derived,");
+        insertSqlStatementBuilder.append(feeChargesOverdueCalculationSql + " as fee_charges_overdue_derived,");
+        insertSqlStatementBuilder.append(penaltyChargesOverdueCalculationSql + " as penalty_charges_overdue_derived,");
+        insertSqlStatementBuilder.append(principalOverdueCalculationSql + "+" + interestOverdueCalculationSql + "+");
+        insertSqlStatementBuilder
+                .append(feeChargesOverdueCalculationSql + "+" + penaltyChargesOverdueCalculationSql + " as total_overdue_derived,");
+        insertSqlStatementBuilder.append("MIN(mr.duedate) as overdue_since_date_derived ");
+        insertSqlStatementBuilder.append(" FROM m_loan ml ");
+        insertSqlStatementBuilder.append(" INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
+        insertSqlStatementBuilder.append(" left join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id ");
+        insertSqlStatementBuilder.append(" WHERE ml.loan_status_id = 300 ");// active
+        insertSqlStatementBuilder.append(" and ").append(loanFilter);
+        insertSqlStatementBuilder.append(" and mr.completed_derived is false ");
+        insertSqlStatementBuilder.append(" and mr.duedate < ")
+                .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
+                .append(" ");
+        insertSqlStatementBuilder
+                .append(" and (prd.arrears_based_on_original_schedule = false or prd.arrears_based_on_original_schedule is null) ");
+        insertSqlStatementBuilder.append(" GROUP BY ml.id");
+        return insertSqlStatementBuilder.toString();
+    }
+
+    private String buildQueryForLoanIdentifiersWithOriginalSchedule(final String loanFilter) {
+        final StringBuilder loanIdentifier = new StringBuilder();
+        loanIdentifier.append("select ml.id as loanId FROM m_loan ml  ");
+        loanIdentifier.append("INNER JOIN m_loan_repayment_schedule mr on mr.loan_id = ml.id ");
+        loanIdentifier.append(
+                "inner join m_product_loan_recalculation_details prd on prd.product_id = ml.product_id and prd.arrears_based_on_original_schedule = true  ");
+        loanIdentifier.append("WHERE ml.loan_status_id = 300 and ").append(loanFilter);
+        loanIdentifier.append(" and mr.completed_derived is false  and mr.duedate < ")
+                .append(sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day"))
+                .append(" group by ml.id");
+        return loanIdentifier.toString();
+    }
+
+    private List<LoanArrears> calculateArrears(final Map<Long, List<LoanSchedulePeriodData>> scheduleDate) {
+        final List<LoanArrears> loanArrears = new ArrayList<>();
         for (Map.Entry<Long, List<LoanSchedulePeriodData>> entry : scheduleDate.entrySet()) {
             final Long loanId = entry.getKey();
             BigDecimal principalOverdue = BigDecimal.ZERO;
@@ -216,18 +340,10 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
                 }
             }
             if (principalOverdue.compareTo(BigDecimal.ZERO) > 0) {
-                String sqlStatement = null;
-                if (isInsertStatement) {
-                    sqlStatement = constructInsertStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                } else {
-                    sqlStatement = constructUpdateStatement(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue,
-                            overDueSince);
-                }
-                insertStatement.add(sqlStatement);
+                loanArrears.add(new LoanArrears(loanId, principalOverdue, interestOverdue, feeOverdue, penaltyOverdue, overDueSince));
             }
-
         }
+        return loanArrears;
     }
 
     private String constructInsertStatement(final Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue,
@@ -337,7 +453,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
 
         private final String schema;
 
-        OriginalScheduleExtractor(final String loanIdsAsString, DatabaseSpecificSQLGenerator sqlGenerator) {
+        OriginalScheduleExtractor(final String loanFilter, DatabaseSpecificSQLGenerator sqlGenerator) {
             final StringBuilder scheduleDetail = new StringBuilder();
             scheduleDetail.append("select ml.id as loanId, mr.duedate as dueDate, mr.principal_amount as principalAmount, ");
             scheduleDetail.append(
@@ -345,7 +461,7 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
             scheduleDetail.append("from m_loan ml  INNER JOIN m_loan_repayment_schedule_history mr on mr.loan_id = ml.id ");
             scheduleDetail.append("where mr.duedate  < "
                     + sqlGenerator.subDate(sqlGenerator.currentBusinessDate(), "COALESCE(ml.grace_on_arrears_ageing, 0)", "day") + " and ");
-            scheduleDetail.append("ml.id IN(").append(loanIdsAsString).append(") and  mr.version = (");
+            scheduleDetail.append(loanFilter).append(" and  mr.version = (");
             scheduleDetail.append("select max(lrs.version) from m_loan_repayment_schedule_history lrs where mr.loan_id = lrs.loan_id");
             scheduleDetail.append(") order by ml.id,mr.duedate");
             this.schema = scheduleDetail.toString();
@@ -385,11 +501,57 @@ public class LoanArrearsAgingServiceImpl implements LoanArrearsAgingService {
     }
 
     private void handleArrearsForLoan(Loan loan) {
-        if (loan != null && loan.isOpen() && loan.repaymentScheduleDetail().isInterestRecalculationEnabled()
-                && loan.loanProduct().isArrearsBasedOnOriginalSchedule()) {
-            updateLoanArrearsAgeingDetailsWithOriginalSchedule(loan);
-        } else {
-            updateLoanArrearsAgeingDetails(loan);
+        if (loan == null || loan.getId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            updateLoanArrearsAgeingDetails(List.of(loan.getId()));
+            return;
+        }
+        // The arrears of every loan changed by the transaction are written as one batch within it, before it is committed or
+        // before an external event is serialized, whichever comes first
+        @SuppressWarnings("unchecked")
+        Set<Long> pendingLoanIds = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendingLoanIds == null) {
+            final Set<Long> loanIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, loanIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void flush() {
+                    writePendingArrears(loanIds);
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writePendingArrears(loanIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LoanArrearsAgingServiceImpl.this);
+                }
+            });
+            pendingLoanIds = loanIds;
+        }
+        pendingLoanIds.add(loan.getId());
+    }
+
+    private void writePendingArrears(final Set<Long> loanIds) {
+        if (loanIds.isEmpty()) {
+            return;
+        }
+        // the arrears are calculated from the installments stored in the database
+        entityManager.flush();
+        updateLoanArrearsAgeingDetails(loanIds);
+        loanIds.clear();
+    }
+
+    private record LoanArrears(Long loanId, BigDecimal principalOverdue, BigDecimal interestOverdue, BigDecimal feeOverdue,
+            BigDecimal penaltyOverdue, LocalDate overDueSince) {
+
+        BigDecimal totalOverdue() {
+            return principalOverdue.add(interestOverdue).add(feeOverdue).add(penaltyOverdue);
         }
     }
 
@@ -49,6 +49,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ExternalIdFactory;
+import org.apache.fineract.infrastructure.core.service.KeysetPageRequest;
 import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
@@ -151,6 +152,7 @@ import org.springframework.util.CollectionUtils;
 public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, LoanReadPlatformServiceCommon {
 
     private static final String ACCRUAL_ON_CHARGE_SUBMITTED_ON_DATE = "submitted-date";
+    private static final Map<String, String> KEYSET_SORT_COLUMNS = Map.of("id", "l.id", "accountNo", "l.account_no");
     private final JdbcTemplate jdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanRepositoryWrapper loanRepositoryWrapper;
@@ -306,9 +308,10 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
         final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final boolean keysetPaging = searchParameters != null && searchParameters.isCursorRequested();
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
-        sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
+        sqlBuilder.append("select " + (keysetPaging ? "" : sqlGenerator.calcFoundRows()) + " ");
         sqlBuilder.append(loanMapper.loanSchema());
 
         // TODO - for time being this will data scope list of loans returned to
@@ -352,6 +355,12 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
                 arrayPos = arrayPos + 1;
             }
 
+            if (keysetPaging) {
+                final KeysetPageRequest pageRequest = KeysetPageRequest.from(searchParameters, "l.id", KEYSET_SORT_COLUMNS, "l.id");
+                return this.paginationHelper.fetchPage(this.jdbcTemplate, sqlBuilder.toString(),
+                        Arrays.copyOf(extraCriterias.toArray(), arrayPos), loanMapper, pageRequest, true);
+            }
+
             if (searchParameters.isOrderByRequested()) {
                 sqlBuilder.append(" order by ").append(searchParameters.getOrderBy());
                 this.columnValidator.validateSqlInjection(sqlBuilder.toString(), searchParameters.getOrderBy());
@@ -338,6 +338,10 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
 
     @Column(name = "total_savings_amount_on_hold", scale = 6, precision = 19, nullable = true)
     private BigDecimal savingsOnHoldAmount;
+
+    @Column(name = "is_hot_account", nullable = false)
+    private boolean hotAccount;
+
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "account", orphanRemoval = true, fetch = FetchType.LAZY)
     protected List<InteropIdentifier> identifiers = new ArrayList<>();
 
@@ -1102,6 +1106,37 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
     public SavingsAccountTransaction deposit(final SavingsAccountTransactionDTO transactionDTO,
             final SavingsAccountTransactionType savingsAccountTransactionType, final boolean backdatedTxnsAllowedTill,
             final Long relaxingDaysConfigForPivotDate, final String refNo) {
+        validateForDeposit(transactionDTO, backdatedTxnsAllowedTill, relaxingDaysConfigForPivotDate);
+
+        final Money amount = Money.of(this.currency, transactionDTO.getTransactionAmount());
+
+        final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(this, office(), transactionDTO.getPaymentDetail(),
+                transactionDTO.getTransactionDate(), amount, savingsAccountTransactionType, refNo);
+
+        if (backdatedTxnsAllowedTill) {
+            addTransactionToExisting(transaction);
+        } else {
+            addTransaction(transaction);
+        }
+
+        if (this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
+                || this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())) {
+            this.sub_status = SavingsAccountSubStatusEnum.NONE.getValue();
+        }
+
+        if (backdatedTxnsAllowedTill) {
+            this.summary.updateSummaryWithPivotConfig(this.currency, this.savingsAccountTransactionSummaryWrapper, transaction,
+                    this.savingsAccountTransactions);
+        }
+
+        return transaction;
+    }
+
+    /**
+     * Validates that a deposit with the given date is allowed on this account, without adding it to the account.
+     */
+    public void validateForDeposit(final SavingsAccountTransactionDTO transactionDTO, final boolean backdatedTxnsAllowedTill,
+            final Long relaxingDaysConfigForPivotDate) {
         final String resourceTypeName = depositAccountType().resourceName();
         if (isNotActive()) {
             final String defaultUserMessage = "Transaction is not allowed. Account is not active.";
@@ -1143,29 +1178,6 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
                 resourceTypeName);
 
         validateActivityNotBeforeClientOrGroupTransferDate(SavingsEvent.SAVINGS_DEPOSIT, transactionDTO.getTransactionDate());
-
-        final Money amount = Money.of(this.currency, transactionDTO.getTransactionAmount());
-
-        final SavingsAccountTransaction transaction = SavingsAccountTransaction.deposit(this, office(), transactionDTO.getPaymentDetail(),
-                transactionDTO.getTransactionDate(), amount, savingsAccountTransactionType, refNo);
-
-        if (backdatedTxnsAllowedTill) {
-            addTransactionToExisting(transaction);
-        } else {
-            addTransaction(transaction);
-        }
-
-        if (this.sub_status.equals(SavingsAccountSubStatusEnum.INACTIVE.getValue())
-                || this.sub_status.equals(SavingsAccountSubStatusEnum.DORMANT.getValue())) {
-            this.sub_status = SavingsAccountSubStatusEnum.NONE.getValue();
-        }
-
-        if (backdatedTxnsAllowedTill) {
-            this.summary.updateSummaryWithPivotConfig(this.currency, this.savingsAccountTransactionSummaryWrapper, transaction,
-                    this.savingsAccountTransactions);
-        }
-
-        return transaction;
     }
 
     public void validatePivotDateTransaction(LocalDate transactionDate, final boolean backdatedTxnsAllowedTill,
@@ -1432,15 +1444,27 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
         return transactionBeforeLastInterestPosting;
     }
 
+    /**
+     * Validates the balance after a new transaction. The transactions dated before the earliest transaction added in this unit of
+     * work (not persisted yet) are unchanged and were validated when they were posted, so they are only summed up to get the
+     * opening running balance; the balance checks are replayed from the earliest affected day only.
+     *
+     * Summing that prefix stays linear in the number of loaded transactions. It is kept on purpose instead of a persisted daily
+     * balance index: the account loads its transactions anyway (interest calculation needs them), so the in-memory pass adds
+     * nothing to the cost of loading them, whereas an index would have to be kept in step by every reversal, interest posting and
+     * reprocessing path. With backdated transactions limited to the pivot date only the transactions after it are loaded.
+     */
     public void validateAccountBalanceDoesNotBecomeNegative(final BigDecimal transactionAmount, final boolean isException,
             final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions, final boolean backdatedTxnsAllowedTill) {
 
-        List<SavingsAccountTransaction> transactionsSortedByDate = null;
-
-        if (backdatedTxnsAllowedTill) {
-            transactionsSortedByDate = retrieveSortedTransactions();
-        } else {
-            transactionsSortedByDate = retrieveListOfTransactions();
+        final List<SavingsAccountTransaction> accountTransactions = backdatedTxnsAllowedTill ? this.savingsAccountTransactions
+                : this.transactions;
+        LocalDate replayFromDate = null;
+        for (final SavingsAccountTransaction transaction : accountTransactions) {
+            if (transaction.getId() == null
+                    && (replayFromDate == null || DateUtils.isBefore(transaction.getTransactionDate(), replayFromDate))) {
+                replayFromDate = transaction.getTransactionDate();
+            }
         }
 
         Money runningBalance = Money.zero(this.currency);
@@ -1448,10 +1472,32 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
             runningBalance = Money.of(this.currency, this.summary.getRunningBalanceOnPivotDate());
         }
 
+        final OnHoldFundsCursor onHoldFunds = new OnHoldFundsCursor(depositAccountOnHoldTransactions);
         Money minRequiredBalance = minRequiredBalanceDerived(getCurrency());
         LocalDate lastSavingsDate = null;
+        final List<SavingsAccountTransaction> transactionsToReplay = new ArrayList<>();
+        for (final SavingsAccountTransaction transaction : accountTransactions) {
+            if (replayFromDate == null || !DateUtils.isBefore(transaction.getTransactionDate(), replayFromDate)) {
+                transactionsToReplay.add(transaction);
+            } else if (transaction.isNotReversed() && transaction.isCredit() && !transaction.isReversalTransaction()) {
+                runningBalance = runningBalance.plus(transaction.getAmount(this.currency));
+                if (lastSavingsDate == null || DateUtils.isAfter(transaction.getTransactionDate(), lastSavingsDate)) {
+                    lastSavingsDate = transaction.getTransactionDate();
+                }
+            } else if (transaction.isNotReversed() && transaction.isDebit() && !transaction.isReversalTransaction()) {
+                runningBalance = runningBalance.minus(transaction.getAmount(this.currency));
+                if (lastSavingsDate == null || DateUtils.isAfter(transaction.getTransactionDate(), lastSavingsDate)) {
+                    lastSavingsDate = transaction.getTransactionDate();
+                }
+            }
+        }
+        if (lastSavingsDate != null) {
+            minRequiredBalance = minRequiredBalance.plus(onHoldFunds.advanceTo(lastSavingsDate));
+        }
+        transactionsToReplay.sort(new SavingsAccountTransactionComparator());
+
         final BigDecimal withdrawalFee = null;
-        for (final SavingsAccountTransaction transaction : transactionsSortedByDate) {
+        for (final SavingsAccountTransaction transaction : transactionsToReplay) {
             if (transaction.isNotReversed() && transaction.isCredit() && !transaction.isReversalTransaction()) {
                 runningBalance = runningBalance.plus(transaction.getAmount(this.currency));
             } else if (transaction.isNotReversed() && transaction.isDebit() && !transaction.isReversalTransaction()) {
@@ -1460,23 +1506,8 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
                 continue;
             }
 
-            /*
-             * Loop through the onHold funds and see if we need to deduct or add to minimum required balance and the
-             * point in time the transaction was made:
-             */
-            if (depositAccountOnHoldTransactions != null) {
-                for (final DepositAccountOnHoldTransaction onHoldTransaction : depositAccountOnHoldTransactions) {
-                    // Compare the balance of the on hold:
-                    if (!DateUtils.isAfter(onHoldTransaction.getTransactionDate(), transaction.getTransactionDate())
-                            && (lastSavingsDate == null || DateUtils.isAfter(onHoldTransaction.getTransactionDate(), lastSavingsDate))) {
-                        if (onHoldTransaction.getTransactionType().isHold()) {
-                            minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
-                        } else {
-                            minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
-                        }
-                    }
-                }
-            }
+            // add the on hold funds placed or released up to the point in time the transaction was made
+            minRequiredBalance = minRequiredBalance.plus(onHoldFunds.advanceTo(transaction.getTransactionDate()));
 
             // deal with potential minRequiredBalance and
             // enforceMinRequiredBalance
@@ -1486,8 +1517,6 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
                             transactionAmount);
                 }
             }
-            lastSavingsDate = transaction.getTransactionDate();
-
         }
 
         // In overdraft cases, minRequiredBalance can be in violation after
@@ -1530,8 +1559,8 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
             runningBalance = Money.of(this.currency, this.summary.getRunningBalanceOnPivotDate());
         }
 
+        final OnHoldFundsCursor onHoldFunds = new OnHoldFundsCursor(depositAccountOnHoldTransactions);
         Money minRequiredBalance = minRequiredBalanceDerived(getCurrency());
-        LocalDate lastSavingsDate = null;
         for (final SavingsAccountTransaction transaction : transactionsSortedByDate) {
 
             transactionAmount = transaction.getAmount();
@@ -1542,23 +1571,8 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
                 runningBalance = runningBalance.minus(transaction.getAmount(this.currency));
             }
 
-            /*
-             * Loop through the onHold funds and see if we need to deduct or add to minimum required balance and the
-             * point in time the transaction was made:
-             */
-            if (depositAccountOnHoldTransactions != null) {
-                for (final DepositAccountOnHoldTransaction onHoldTransaction : depositAccountOnHoldTransactions) {
-                    // Compare the balance of the on hold:
-                    if (!DateUtils.isAfter(onHoldTransaction.getTransactionDate(), transaction.getTransactionDate())
-                            && (lastSavingsDate == null || DateUtils.isAfter(onHoldTransaction.getTransactionDate(), lastSavingsDate))) {
-                        if (onHoldTransaction.getTransactionType().isHold()) {
-                            minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
-                        } else {
-                            minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
-                        }
-                    }
-                }
-            }
+            // add the on hold funds placed or released up to the point in time the transaction was made
+            minRequiredBalance = minRequiredBalance.plus(onHoldFunds.advanceTo(transaction.getTransactionDate()));
 
             // enforceMinRequiredBalance
             if (transaction.canProcessBalanceCheck()) {
@@ -1574,7 +1588,6 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
                     }
                 }
             }
-            lastSavingsDate = transaction.getTransactionDate();
         }
 
         BigDecimal withdrawalFee = null;
@@ -3847,10 +3860,47 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom {
         return this.withHoldTax;
     }
 
+    public boolean isHotAccount() {
+        return this.hotAccount;
+    }
+
     public List<SavingsAccountTransactionDetailsForPostingPeriod> toSavingsAccountTransactionDetailsForPostingPeriodList(
             List<SavingsAccountTransaction> transactions) {
         return transactions.stream()
                 .map(transaction -> transaction.toSavingsAccountTransactionDetailsForPostingPeriod(this.currency, this.allowOverdraft))
                 .toList();
     }
+
+    /**
+     * Walks the on hold fund transactions in date order, so that the balance validation adds every hold or release to the minimum
+     * required balance once instead of scanning all of them for each savings transaction.
+     */
+    private final class OnHoldFundsCursor {
+
+        private final List<DepositAccountOnHoldTransaction> onHoldTransactions;
+        private int position;
+
+        private OnHoldFundsCursor(final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions) {
+            this.onHoldTransactions = depositAccountOnHoldTransactions == null ? new ArrayList<>()
+                    : new ArrayList<>(depositAccountOnHoldTransactions);
+            this.onHoldTransactions.sort((o1, o2) -> DateUtils.compare(o1.getTransactionDate(), o2.getTransactionDate()));
+        }
+
+        /**
+         * @return the net amount put on hold up to and including the date, not yet returned by a previous call
+         */
+        private Money advanceTo(final LocalDate date) {
+            Money onHoldAmount = Money.zero(currency);
+            while (this.position < this.onHoldTransactions.size()
+                    && !DateUtils.isAfter(this.onHoldTransactions.get(this.position).getTransactionDate(), date)) {
+                final DepositAccountOnHoldTransaction onHoldTransaction = this.onHoldTransactions.get(this.position++);
+                if (onHoldTransaction.getTransactionType().isHold()) {
+                    onHoldAmount = onHoldAmount.plus(onHoldTransaction.getAmount(currency));
+                } else {
+                    onHoldAmount = onHoldAmount.minus(onHoldTransaction.getAmount(currency));
+                }
+            }
+            return onHoldAmount;
+        }
+    }
 }
@@ -46,4 +46,11 @@ public interface SavingsAccountDomainService {
             boolean backdatedTxnsAllowedTill);
 
     SavingsAccountTransaction handleHold(SavingsAccount account, BigDecimal amount, LocalDate transactionDate, Boolean lienAllowed);
+
+    /**
+     * Posts the pending credits of a hot account as deposits, in the order they were received.
+     *
+     * @return the number of pending credits posted
+     */
+    int foldPendingCredits(SavingsAccount account, boolean backdatedTxnsAllowedTill);
 }
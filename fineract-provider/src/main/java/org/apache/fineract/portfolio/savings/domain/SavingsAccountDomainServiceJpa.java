@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
@@ -38,6 +39,8 @@ import org.apache.fineract.infrastructure.security.service.PlatformSecurityConte
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
 import org.apache.fineract.organisation.monetary.domain.Money;
 import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.note.domain.Note;
+import org.apache.fineract.portfolio.note.domain.NoteRepository;
 import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
 import org.apache.fineract.portfolio.savings.SavingsAccountTransactionType;
 import org.apache.fineract.portfolio.savings.SavingsTransactionBooleanValues;
@@ -58,6 +61,8 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
     private final ConfigurationDomainService configurationDomainService;
     private final DepositAccountOnHoldTransactionRepository depositAccountOnHoldTransactionRepository;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final SavingsAccountPendingCreditRepository savingsAccountPendingCreditRepository;
+    private final NoteRepository noteRepository;
 
     @Autowired
     public SavingsAccountDomainServiceJpa(final SavingsAccountRepositoryWrapper savingsAccountRepository,
@@ -66,7 +71,8 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
             final JournalEntryWritePlatformService journalEntryWritePlatformService,
             final ConfigurationDomainService configurationDomainService, final PlatformSecurityContext context,
             final DepositAccountOnHoldTransactionRepository depositAccountOnHoldTransactionRepository,
-            final BusinessEventNotifierService businessEventNotifierService) {
+            final BusinessEventNotifierService businessEventNotifierService,
+            final SavingsAccountPendingCreditRepository savingsAccountPendingCreditRepository, final NoteRepository noteRepository) {
         this.savingsAccountRepository = savingsAccountRepository;
         this.savingsAccountTransactionRepository = savingsAccountTransactionRepository;
         this.applicationCurrencyRepositoryWrapper = applicationCurrencyRepositoryWrapper;
@@ -75,6 +81,8 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         this.context = context;
         this.depositAccountOnHoldTransactionRepository = depositAccountOnHoldTransactionRepository;
         this.businessEventNotifierService = businessEventNotifierService;
+        this.savingsAccountPendingCreditRepository = savingsAccountPendingCreditRepository;
+        this.noteRepository = noteRepository;
     }
 
     @Transactional
@@ -85,6 +93,8 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         context.authenticatedUser();
         account.validateForAccountBlock();
         account.validateForDebitBlock();
+        // debits keep strict balance checks, so the credits received by a hot account are posted first
+        foldPendingCredits(account, backdatedTxnsAllowedTill);
         final boolean isSavingsInterestPostingAtCurrentPeriodEnd = this.configurationDomainService
                 .isSavingsInterestPostingAtCurrentPeriodEnd();
         final Long relaxingDaysConfigForPivotDate = this.configurationDomainService.retrieveRelaxingDaysConfigForPivotDate();
@@ -145,6 +155,27 @@ public class SavingsAccountDomainServiceJpa implements SavingsAccountDomainServi
         return withdrawal;
     }
 
+    @Transactional
+    @Override
+    public int foldPendingCredits(final SavingsAccount account, final boolean backdatedTxnsAllowedTill) {
+        if (!account.isHotAccount()) {
+            return 0;
+        }
+        // locks the pending credits, so a concurrent fold of the same account waits and then finds them deleted
+        final List<SavingsAccountPendingCredit> pendingCredits = this.savingsAccountPendingCreditRepository
+                .findBySavingsAccountIdOrderByIdAsc(account.getId());
+        for (final SavingsAccountPendingCredit pendingCredit : pendingCredits) {
+            final SavingsAccountTransaction deposit = handleDeposit(account, DateUtils.DEFAULT_DATE_FORMATTER,
+                    pendingCredit.getTransactionDate(), pendingCredit.getAmount(), pendingCredit.getPaymentDetail(), false, true,
+                    backdatedTxnsAllowedTill);
+            if (StringUtils.isNotBlank(pendingCredit.getNote())) {
+                this.noteRepository.save(Note.savingsTransactionNote(account, deposit, pendingCredit.getNote()));
+            }
+        }
+        this.savingsAccountPendingCreditRepository.deleteAllInBatch(pendingCredits);
+        return pendingCredits.size();
+    }
+
     @Transactional
     @Override
     public SavingsAccountTransaction handleDeposit(final SavingsAccount account, final DateTimeFormatter fmt,
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.domain.AbstractAuditableWithUTCDateTimeCustom;
+import org.apache.fineract.portfolio.paymentdetail.domain.PaymentDetail;
+
+/**
+ * A deposit to a hot savings account that is not posted to the account yet. It only references the account by id, so recording
+ * it neither reads nor locks the account row; the pending credits are posted as regular deposits before the next debit of the
+ * account or by the Fold Savings Account Pending Credits job.
+ */
+@Entity
+@Getter
+@Table(name = "m_savings_account_pending_credit")
+public class SavingsAccountPendingCredit extends AbstractAuditableWithUTCDateTimeCustom {
+
+    @Column(name = "savings_account_id", nullable = false)
+    private Long savingsAccountId;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+
+    @Column(name = "amount", scale = 6, precision = 19, nullable = false)
+    private BigDecimal amount;
+
+    @ManyToOne
+    @JoinColumn(name = "payment_detail_id")
+    private PaymentDetail paymentDetail;
+
+    @Column(name = "note", length = 1000)
+    private String note;
+
+    protected SavingsAccountPendingCredit() {}
+
+    public SavingsAccountPendingCredit(final Long savingsAccountId, final LocalDate transactionDate, final BigDecimal amount,
+            final PaymentDetail paymentDetail, final String note) {
+        this.savingsAccountId = savingsAccountId;
+        this.transactionDate = transactionDate;
+        this.amount = amount;
+        this.paymentDetail = paymentDetail;
+        this.note = note;
+    }
+}
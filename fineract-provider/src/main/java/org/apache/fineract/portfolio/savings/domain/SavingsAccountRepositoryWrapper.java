@@ -80,6 +80,24 @@ public class SavingsAccountRepositoryWrapper {
         return account;
     }
 
+    /**
+     * Loads the account row only, without its transactions and charges, and without locking it.
+     */
+    public SavingsAccount findOneWithoutCollectionsWithNotFoundDetection(final Long savingsId) {
+        return this.repository.findById(savingsId).orElseThrow(() -> new SavingsAccountNotFoundException(savingsId));
+    }
+
+    /**
+     * @return true if the savings account (not a GSIM child account) is in hot account mode, so that its deposits are recorded as
+     *         pending credits
+     */
+    public boolean isHotAccount(final Long savingsId) {
+        final List<Boolean> hotAccount = this.jdbcTemplate.queryForList(
+                "select is_hot_account from m_savings_account where id = ? and deposit_type_enum = ? and gsim_id is null", Boolean.class,
+                savingsId, DepositAccountType.SAVINGS_DEPOSIT.getValue());
+        return !hotAccount.isEmpty() && Boolean.TRUE.equals(hotAccount.get(0));
+    }
+
     @Transactional(readOnly = true)
     public SavingsAccount findOneWithNotFoundDetection(final Long savingsId, final DepositAccountType depositAccountType) {
         final SavingsAccount account = this.repository.findByIdAndDepositAccountType(savingsId, depositAccountType.getValue());
@@ -85,6 +85,8 @@ public interface SavingsAccountWritePlatformService {
 
     void setSubStatusDormant(Long savingsId);
 
+    void foldPendingCredits(Long savingsId);
+
     void escheat(Long savingsId);
 
     CommandProcessingResult postInterest(JsonCommand command);
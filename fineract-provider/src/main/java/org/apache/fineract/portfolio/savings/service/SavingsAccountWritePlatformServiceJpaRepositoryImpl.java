@@ -53,6 +53,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.data.ApiParameterError;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
@@ -113,6 +114,8 @@ import org.apache.fineract.portfolio.savings.domain.SavingsAccountAssembler;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountCharge;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountChargeRepositoryWrapper;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountDomainService;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCredit;
+import org.apache.fineract.portfolio.savings.domain.SavingsAccountPendingCreditRepository;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountRepositoryWrapper;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType;
 import org.apache.fineract.portfolio.savings.domain.SavingsAccountTransaction;
@@ -165,6 +168,8 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
     private final GSIMRepositoy gsimRepository;
     private final SavingsAccountInterestPostingService savingsAccountInterestPostingService;
     private final ErrorHandler errorHandler;
+    private final FineractProperties fineractProperties;
+    private final SavingsAccountPendingCreditRepository savingsAccountPendingCreditRepository;
 
     @Transactional
     @Override
@@ -286,6 +291,10 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.context.authenticatedUser();
 
         this.savingsAccountTransactionDataValidator.validate(command);
+        if (this.fineractProperties.getSavings().getHotAccount().isEnabled()
+                && this.savingAccountRepositoryWrapper.isHotAccount(savingsId)) {
+            return depositToHotAccount(savingsId, command);
+        }
         boolean isGsim = false;
 
         final boolean backdatedTxnsAllowedTill = this.savingAccountAssembler.getPivotConfigStatus();
@@ -350,6 +359,46 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         return transaction.getId();
     }
 
+    /**
+     * Records the deposit as a pending credit of the hot account. The account row is read without lock and is not updated, so
+     * concurrent deposits to the same account do not serialize; the credit is posted to the account before its next debit or by the
+     * Fold Savings Account Pending Credits job. No savings transaction exists yet, so the id of the pending credit is returned in the
+     * changes as pendingCreditId.
+     */
+    private CommandProcessingResult depositToHotAccount(final Long savingsId, final JsonCommand command) {
+        final SavingsAccount account = this.savingAccountRepositoryWrapper.findOneWithoutCollectionsWithNotFoundDetection(savingsId);
+        checkClientOrGroupActive(account);
+        account.validateForAccountBlock();
+        account.validateForCreditBlock();
+
+        final Locale locale = command.extractLocale();
+        final DateTimeFormatter fmt = DateTimeFormatter.ofPattern(command.dateFormat()).withLocale(locale);
+        final LocalDate transactionDate = command.localDateValueOfParameterNamed("transactionDate");
+        final BigDecimal transactionAmount = command.bigDecimalValueOfParameterNamed("transactionAmount");
+
+        this.savingsAccountTransactionDataValidator.validateTransactionWithPivotDate(transactionDate, account);
+        final SavingsAccountTransactionDTO transactionDTO = new SavingsAccountTransactionDTO(fmt, transactionDate, transactionAmount, null,
+                null, null);
+        account.validateForDeposit(transactionDTO, this.savingAccountAssembler.getPivotConfigStatus(),
+                this.configurationDomainService.retrieveRelaxingDaysConfigForPivotDate());
+
+        final Map<String, Object> changes = new LinkedHashMap<>();
+        final PaymentDetail paymentDetail = this.paymentDetailWritePlatformService.createAndPersistPaymentDetail(command, changes);
+        final SavingsAccountPendingCredit pendingCredit = this.savingsAccountPendingCreditRepository
+                .saveAndFlush(new SavingsAccountPendingCredit(savingsId, transactionDate, transactionAmount, paymentDetail,
+                        StringUtils.trimToNull(command.stringValueOfParameterNamed("note"))));
+        changes.put("pendingCreditId", pendingCredit.getId());
+
+        return new CommandProcessingResultBuilder() //
+                .withEntityId(savingsId) //
+                .withOfficeId(account.officeId()) //
+                .withClientId(account.clientId()) //
+                .withGroupId(account.groupId()) //
+                .withSavingsId(savingsId) //
+                .with(changes) //
+                .build();
+    }
+
     @Transactional
     @Override
     public CommandProcessingResult withdrawal(final Long savingsId, final JsonCommand command) {
@@ -900,6 +949,7 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         final AppUser user = this.context.authenticatedUser();
 
         final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId, false);
+        this.savingsAccountDomainService.foldPendingCredits(account, false);
         this.savingsAccountTransactionDataValidator.validateClosing(command, account);
 
         final boolean isLinkedWithAnyActiveLoan = this.accountAssociationsReadPlatformService.isLinkedWithAnyActiveAccount(savingsId);
@@ -1656,6 +1706,13 @@ public class SavingsAccountWritePlatformServiceJpaRepositoryImpl implements Savi
         this.savingAccountRepositoryWrapper.saveAndFlush(account);
     }
 
+    @Override
+    public void foldPendingCredits(Long savingsId) {
+        final boolean backdatedTxnsAllowedTill = this.savingAccountAssembler.getPivotConfigStatus();
+        final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId, backdatedTxnsAllowedTill);
+        this.savingsAccountDomainService.foldPendingCredits(account, backdatedTxnsAllowedTill);
+    }
+
     @Override
     public void escheat(Long savingsId) {
         final SavingsAccount account = this.savingAccountAssembler.assembleFrom(savingsId, false);
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.data;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.portfolio.client.domain.ClientEnumerations;
+import org.apache.fineract.portfolio.group.domain.GroupingTypeEnumerations;
+import org.apache.fineract.portfolio.loanaccount.data.LoanStatusEnumData;
+import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
+import org.apache.fineract.portfolio.savings.service.SavingsEnumerations;
+
+/**
+ * A searchable entity as it is stored in the search index, together with the office hierarchy used for data scoping.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchIndexDocument {
+
+    private final SearchIndexEntityType indexEntityType;
+    private final String entityType;
+    private final Long entityId;
+    private final String entityName;
+    private final String entityExternalId;
+    private final String entityAccountNo;
+    private final Long parentId;
+    private final String parentName;
+    private final String parentType;
+    private final String entityMobileNo;
+    private final Integer entityStatusEnum;
+    private final Integer subEntityType;
+    private final String officeHierarchy;
+
+    public SearchData toSearchData() {
+        final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(this.subEntityType);
+
+        EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
+
+        if (this.entityType.equalsIgnoreCase("client") || this.entityType.equalsIgnoreCase("clientidentifier")) {
+            entityStatus = ClientEnumerations.status(this.entityStatusEnum);
+        } else if (this.entityType.equalsIgnoreCase("group") || this.entityType.equalsIgnoreCase("center")) {
+            entityStatus = GroupingTypeEnumerations.status(this.entityStatusEnum);
+        } else if (this.entityType.equalsIgnoreCase("loan")) {
+            final LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(this.entityStatusEnum);
+            entityStatus = LoanEnumerations.status(loanStatusEnumData);
+        }
+
+        return new SearchData(this.entityId, this.entityAccountNo, this.entityExternalId, this.entityName, this.entityType, this.parentId,
+                this.parentName, this.parentType, this.entityMobileNo, entityStatus, subEntityTypeCode.getCode());
+    }
+}
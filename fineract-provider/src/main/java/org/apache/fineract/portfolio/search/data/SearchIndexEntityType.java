@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.data;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The kinds of entities covered by the global search. Groups and centers share the {@link #GROUP} type.
+ */
+public enum SearchIndexEntityType {
+
+    CLIENT(true), //
+    GROUP(true), //
+    LOAN(false), //
+    SAVING(false), //
+    SHARE(false), //
+    CLIENTIDENTIFIER(true);
+
+    private final boolean nameSearchable;
+
+    SearchIndexEntityType(boolean nameSearchable) {
+        this.nameSearchable = nameSearchable;
+    }
+
+    /**
+     * Whether the entity name takes part in the matching; for accounts the name is the product name, which is only
+     * displayed.
+     */
+    public boolean isNameSearchable() {
+        return this.nameSearchable;
+    }
+
+    /**
+     * Resolves the index type of an entity type reported by the search queries, e.g. {@code CENTER} is a
+     * {@link #GROUP}.
+     */
+    public static SearchIndexEntityType fromEntityType(final String entityType) {
+        if ("CENTER".equalsIgnoreCase(entityType)) {
+            return GROUP;
+        }
+        return valueOf(entityType.toUpperCase(Locale.ROOT));
+    }
+
+    public static Set<SearchIndexEntityType> fromSearchConditions(final SearchConditions searchConditions) {
+        final Set<SearchIndexEntityType> entityTypes = EnumSet.noneOf(SearchIndexEntityType.class);
+        if (searchConditions.isClientSearch()) {
+            entityTypes.add(CLIENT);
+        }
+        if (searchConditions.isGroupSearch()) {
+            entityTypes.add(GROUP);
+        }
+        if (searchConditions.isLoanSeach()) {
+            entityTypes.add(LOAN);
+        }
+        if (searchConditions.isSavingSeach()) {
+            entityTypes.add(SAVING);
+        }
+        if (searchConditions.isShareSeach()) {
+            entityTypes.add(SHARE);
+        }
+        if (searchConditions.isClientIdentifierSearch()) {
+            entityTypes.add(CLIENTIDENTIFIER);
+        }
+        return entityTypes;
+    }
+}
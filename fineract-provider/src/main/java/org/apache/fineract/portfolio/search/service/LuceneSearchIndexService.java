@@ -0,0 +1,416 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.exception.PlatformInternalServerException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Embedded Lucene search index, kept in one directory per tenant below {@code fineract.search.index.lucene-directory}.
+ *
+ * Every searchable value is indexed as a lowercase keyword (exact and prefix matching) and with all of its suffixes
+ * (infix matching through a prefix query, avoiding leading wildcards); names are additionally tokenized for fuzzy
+ * matching. Changes are committed to disk as they are indexed.
+ *
+ * A rebuild does not clear the index up front: every entry carries the generation it was written in, the rebuild
+ * overwrites the entries in a new generation and removes the leftovers of older generations at the end. Entries
+ * changed by regular index updates while a rebuild is running are not overwritten by the (possibly older) rows the
+ * rebuild read.
+ *
+ * The index is local to the node, hence this backend suits deployments where a single node handles the writes, or
+ * where the index directory is rebuilt regularly on each node.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = SearchIndexService.BACKEND_PROPERTY, havingValue = "lucene")
+@RequiredArgsConstructor
+public class LuceneSearchIndexService implements SearchIndexService, DisposableBean {
+
+    static final String FIELD_UID = "uid";
+    static final String FIELD_GENERATION = "generation";
+    static final String FIELD_INDEX_TYPE = "indexType";
+    static final String FIELD_HIERARCHY = "hierarchy";
+    static final String FIELD_KEYWORD = "keyword";
+    static final String FIELD_INFIX = "infix";
+    static final String FIELD_NAME_TOKENS = "nameTokens";
+    static final String NO_HIERARCHY = "-";
+
+    private static final String STORED_ENTITY_TYPE = "entityType";
+    private static final String STORED_ENTITY_ID = "entityId";
+    private static final String STORED_ENTITY_NAME = "entityName";
+    private static final String STORED_EXTERNAL_ID = "entityExternalId";
+    private static final String STORED_ACCOUNT_NO = "entityAccountNo";
+    private static final String STORED_PARENT_ID = "parentId";
+    private static final String STORED_PARENT_NAME = "parentName";
+    private static final String STORED_PARENT_TYPE = "parentType";
+    private static final String STORED_MOBILE_NO = "entityMobileNo";
+    private static final String STORED_STATUS = "entityStatusEnum";
+    private static final String STORED_SUB_ENTITY_TYPE = "subEntityType";
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+    private static final int MIN_FUZZY_TERM_LENGTH = 3;
+    private static final float PREFIX_BOOST = 2.0f;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Map<String, TenantIndex> tenantIndexes = new ConcurrentHashMap<>();
+
+    private final FineractProperties fineractProperties;
+    private final SearchIndexDocumentReader searchIndexDocumentReader;
+
+    @Override
+    public Collection<SearchData> search(final SearchConditions searchConditions, final String hierarchy, final int limit) {
+        final String term = StringUtils.trimToEmpty(searchConditions.getSearchQuery()).toLowerCase(Locale.ROOT);
+        final Set<SearchIndexEntityType> entityTypes = SearchIndexEntityType.fromSearchConditions(searchConditions);
+        if (term.isEmpty() || entityTypes.isEmpty()) {
+            return List.of();
+        }
+        final Query query = buildQuery(term, Boolean.TRUE.equals(searchConditions.getExactMatch()), entityTypes, hierarchy);
+        final TenantIndex tenantIndex = getTenantIndex();
+        try {
+            final IndexSearcher searcher = tenantIndex.searcherManager.acquire();
+            try {
+                final TopDocs topDocs = searcher.search(query, limit);
+                final StoredFields storedFields = searcher.storedFields();
+                final List<SearchData> result = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    result.add(toSearchData(storedFields.document(scoreDoc.doc)));
+                }
+                return result;
+            } finally {
+                tenantIndex.searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw indexFailure(e);
+        }
+    }
+
+    @Override
+    public void index(final Collection<SearchIndexDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        final TenantIndex tenantIndex = getTenantIndex();
+        try {
+            synchronized (tenantIndex) {
+                for (SearchIndexDocument document : documents) {
+                    final String uid = uid(document);
+                    tenantIndex.markUpdated(uid);
+                    tenantIndex.writer.updateDocument(new Term(FIELD_UID, uid), toDocument(document, tenantIndex.generation));
+                }
+            }
+            commit(tenantIndex);
+        } catch (IOException e) {
+            throw indexFailure(e);
+        }
+    }
+
+    @Override
+    public void remove(final SearchIndexEntityType entityType, final Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        final TenantIndex tenantIndex = getTenantIndex();
+        try {
+            synchronized (tenantIndex) {
+                for (Long entityId : entityIds) {
+                    final String uid = uid(entityType, entityId);
+                    tenantIndex.markUpdated(uid);
+                    tenantIndex.writer.deleteDocuments(new Term(FIELD_UID, uid));
+                }
+            }
+            commit(tenantIndex);
+        } catch (IOException e) {
+            throw indexFailure(e);
+        }
+    }
+
+    @Override
+    public void reindex() {
+        final TenantIndex tenantIndex = getTenantIndex();
+        if (!tenantIndex.reindexLock.tryLock()) {
+            log.warn("Search index of tenant {} is already being rebuilt", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            return;
+        }
+        try {
+            final String generation;
+            synchronized (tenantIndex) {
+                generation = UUID.randomUUID().toString();
+                tenantIndex.generation = generation;
+                tenantIndex.updatedDuringReindex = ConcurrentHashMap.newKeySet();
+            }
+            long indexed = 0;
+            for (SearchIndexEntityType entityType : SearchIndexEntityType.values()) {
+                List<SearchIndexDocument> batch;
+                Long afterId = 0L;
+                do {
+                    batch = searchIndexDocumentReader.readBatch(entityType, afterId, REINDEX_BATCH_SIZE);
+                    synchronized (tenantIndex) {
+                        for (SearchIndexDocument document : batch) {
+                            final String uid = uid(document);
+                            if (!tenantIndex.updatedDuringReindex.contains(uid)) {
+                                tenantIndex.writer.updateDocument(new Term(FIELD_UID, uid), toDocument(document, generation));
+                            }
+                            afterId = document.getEntityId();
+                        }
+                    }
+                    indexed += batch.size();
+                } while (batch.size() == REINDEX_BATCH_SIZE);
+            }
+            synchronized (tenantIndex) {
+                tenantIndex.writer.deleteDocuments(new BooleanQuery.Builder().add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                        .add(new TermQuery(new Term(FIELD_GENERATION, generation)), BooleanClause.Occur.MUST_NOT).build());
+                tenantIndex.updatedDuringReindex = null;
+            }
+            commit(tenantIndex);
+            log.info("Search index of tenant {} rebuilt with {} entries", ThreadLocalContextUtil.getTenant().getTenantIdentifier(), indexed);
+        } catch (IOException e) {
+            synchronized (tenantIndex) {
+                tenantIndex.updatedDuringReindex = null;
+            }
+            throw indexFailure(e);
+        } finally {
+            tenantIndex.reindexLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        tenantIndexes.values().forEach(TenantIndex::close);
+        tenantIndexes.clear();
+    }
+
+    static Query buildQuery(final String term, final boolean exactMatch, final Set<SearchIndexEntityType> entityTypes,
+            final String hierarchy) {
+        final BooleanQuery.Builder matching = new BooleanQuery.Builder();
+        if (exactMatch) {
+            matching.add(new TermQuery(new Term(FIELD_KEYWORD, term)), BooleanClause.Occur.SHOULD);
+        } else {
+            matching.add(new BoostQuery(new PrefixQuery(new Term(FIELD_KEYWORD, term)), PREFIX_BOOST), BooleanClause.Occur.SHOULD);
+            matching.add(new PrefixQuery(new Term(FIELD_INFIX, term)), BooleanClause.Occur.SHOULD);
+            for (String token : StringUtils.split(term)) {
+                if (token.length() >= MIN_FUZZY_TERM_LENGTH) {
+                    final int maxEdits = token.length() > 4 ? 2 : 1;
+                    matching.add(new FuzzyQuery(new Term(FIELD_NAME_TOKENS, token), maxEdits, 1), BooleanClause.Occur.SHOULD);
+                }
+            }
+        }
+
+        final BooleanQuery.Builder entityTypeFilter = new BooleanQuery.Builder();
+        for (SearchIndexEntityType entityType : entityTypes) {
+            entityTypeFilter.add(new TermQuery(new Term(FIELD_INDEX_TYPE, entityType.name())), BooleanClause.Occur.SHOULD);
+        }
+
+        // accounts without a client office are visible in all hierarchies, like in the database search
+        final BooleanQuery.Builder hierarchyFilter = new BooleanQuery.Builder();
+        hierarchyFilter.add(new PrefixQuery(new Term(FIELD_HIERARCHY, hierarchy)), BooleanClause.Occur.SHOULD);
+        hierarchyFilter.add(new TermQuery(new Term(FIELD_HIERARCHY, NO_HIERARCHY)), BooleanClause.Occur.SHOULD);
+
+        return new BooleanQuery.Builder().add(matching.build(), BooleanClause.Occur.MUST)
+                .add(entityTypeFilter.build(), BooleanClause.Occur.FILTER).add(hierarchyFilter.build(), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    static Document toDocument(final SearchIndexDocument document, final String generation) {
+        final Document doc = new Document();
+        doc.add(new StringField(FIELD_UID, uid(document), Field.Store.NO));
+        doc.add(new StringField(FIELD_GENERATION, generation, Field.Store.NO));
+        doc.add(new StringField(FIELD_INDEX_TYPE, document.getIndexEntityType().name(), Field.Store.YES));
+        doc.add(new StringField(FIELD_HIERARCHY, StringUtils.defaultIfEmpty(document.getOfficeHierarchy(), NO_HIERARCHY), Field.Store.NO));
+
+        if (document.getIndexEntityType().isNameSearchable()) {
+            addSearchableValue(doc, document.getEntityName());
+            if (document.getEntityName() != null) {
+                doc.add(new TextField(FIELD_NAME_TOKENS, document.getEntityName(), Field.Store.NO));
+            }
+        }
+        addSearchableValue(doc, document.getEntityAccountNo());
+        addSearchableValue(doc, document.getEntityExternalId());
+        addSearchableValue(doc, document.getEntityMobileNo());
+
+        addStoredValue(doc, STORED_ENTITY_TYPE, document.getEntityType());
+        doc.add(new StoredField(STORED_ENTITY_ID, document.getEntityId()));
+        addStoredValue(doc, STORED_ENTITY_NAME, document.getEntityName());
+        addStoredValue(doc, STORED_EXTERNAL_ID, document.getEntityExternalId());
+        addStoredValue(doc, STORED_ACCOUNT_NO, document.getEntityAccountNo());
+        if (document.getParentId() != null) {
+            doc.add(new StoredField(STORED_PARENT_ID, document.getParentId()));
+        }
+        addStoredValue(doc, STORED_PARENT_NAME, document.getParentName());
+        addStoredValue(doc, STORED_PARENT_TYPE, document.getParentType());
+        addStoredValue(doc, STORED_MOBILE_NO, document.getEntityMobileNo());
+        if (document.getEntityStatusEnum() != null) {
+            doc.add(new StoredField(STORED_STATUS, document.getEntityStatusEnum()));
+        }
+        if (document.getSubEntityType() != null) {
+            doc.add(new StoredField(STORED_SUB_ENTITY_TYPE, document.getSubEntityType()));
+        }
+        return doc;
+    }
+
+    static SearchData toSearchData(final Document doc) {
+        return new SearchIndexDocument(SearchIndexEntityType.valueOf(doc.get(FIELD_INDEX_TYPE)), doc.get(STORED_ENTITY_TYPE),
+                getLong(doc, STORED_ENTITY_ID), doc.get(STORED_ENTITY_NAME), doc.get(STORED_EXTERNAL_ID), doc.get(STORED_ACCOUNT_NO),
+                getLong(doc, STORED_PARENT_ID), doc.get(STORED_PARENT_NAME), doc.get(STORED_PARENT_TYPE), doc.get(STORED_MOBILE_NO),
+                getInteger(doc, STORED_STATUS), getInteger(doc, STORED_SUB_ENTITY_TYPE), null).toSearchData();
+    }
+
+    private static void addSearchableValue(final Document doc, final String value) {
+        if (StringUtils.isBlank(value)) {
+            return;
+        }
+        final String keyword = value.trim().toLowerCase(Locale.ROOT);
+        doc.add(new StringField(FIELD_KEYWORD, keyword, Field.Store.NO));
+        for (int i = 0; i < keyword.length(); i++) {
+            doc.add(new StringField(FIELD_INFIX, keyword.substring(i), Field.Store.NO));
+        }
+    }
+
+    private static void addStoredValue(final Document doc, final String name, final String value) {
+        if (value != null) {
+            doc.add(new StoredField(name, value));
+        }
+    }
+
+    private static Long getLong(final Document doc, final String name) {
+        final IndexableField field = doc.getField(name);
+        return field == null ? null : field.numericValue().longValue();
+    }
+
+    private static Integer getInteger(final Document doc, final String name) {
+        final IndexableField field = doc.getField(name);
+        return field == null ? null : field.numericValue().intValue();
+    }
+
+    private static String uid(final SearchIndexDocument document) {
+        return uid(document.getIndexEntityType(), document.getEntityId());
+    }
+
+    private static String uid(final SearchIndexEntityType entityType, final Long entityId) {
+        return entityType.name() + ":" + entityId;
+    }
+
+    private static void commit(final TenantIndex tenantIndex) throws IOException {
+        tenantIndex.writer.commit();
+        tenantIndex.searcherManager.maybeRefresh();
+    }
+
+    private TenantIndex getTenantIndex() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        return tenantIndexes.computeIfAbsent(tenantIdentifier, this::openTenantIndex);
+    }
+
+    private TenantIndex openTenantIndex(final String tenantIdentifier) {
+        final Path indexPath = Path.of(fineractProperties.getSearch().getIndex().getLuceneDirectory(), tenantIdentifier);
+        try {
+            final Directory directory = FSDirectory.open(indexPath);
+            final IndexWriter writer = new IndexWriter(directory,
+                    new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            log.info("Search index of tenant {} opened at {}", tenantIdentifier, indexPath);
+            return new TenantIndex(directory, writer, new SearcherManager(writer, null));
+        } catch (IOException e) {
+            throw indexFailure(e);
+        }
+    }
+
+    private static PlatformInternalServerException indexFailure(final IOException e) {
+        log.error("Search index could not be accessed", e);
+        return new PlatformInternalServerException("error.msg.search.index.failure", "Search index could not be accessed: " + e.getMessage());
+    }
+
+    private static final class TenantIndex {
+
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searcherManager;
+        private final ReentrantLock reindexLock = new ReentrantLock();
+        // guarded by the TenantIndex monitor
+        private String generation = "initial";
+        private Set<String> updatedDuringReindex;
+
+        private TenantIndex(Directory directory, IndexWriter writer, SearcherManager searcherManager) {
+            this.directory = directory;
+            this.writer = writer;
+            this.searcherManager = searcherManager;
+        }
+
+        private void markUpdated(String uid) {
+            if (updatedDuringReindex != null) {
+                updatedDuringReindex.add(uid);
+            }
+        }
+
+        private void close() {
+            try {
+                searcherManager.close();
+                writer.close();
+                directory.close();
+            } catch (IOException e) {
+                log.warn("Search index could not be closed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocumentReader.EntityQuery;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Search backend relying on the {@code pg_trgm} GIN indexes of the searchable columns, which PostgreSQL uses for
+ * {@code ILIKE '%term%'} and for the {@code %} similarity operator (fuzzy matching of names). The indexes are
+ * maintained by the database, so there is nothing to index.
+ *
+ * The extension and the indexes are only needed with this backend, hence they are not part of the tenant migrations:
+ * they are created in the background after startup for every tenant, concurrently so that the tables stay writable
+ * while the indexes are built, and again (if missing) by the {@code Rebuild Search Index} job.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = SearchIndexService.BACKEND_PROPERTY, havingValue = "postgresql")
+@RequiredArgsConstructor
+public class PostgreSQLTrigramSearchIndexService implements SearchIndexService, InitializingBean {
+
+    private static final String CREATE_EXTENSION_SQL = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+    private static final List<String> TRIGRAM_INDEXED_COLUMNS = List.of("m_client.account_no", "m_client.display_name",
+            "m_client.external_id", "m_client.mobile_no", "m_group.account_no", "m_group.display_name", "m_group.external_id",
+            "m_loan.account_no", "m_loan.external_id", "m_savings_account.account_no", "m_savings_account.external_id",
+            "m_share_account.account_no", "m_share_account.external_id", "m_client_identifier.document_key");
+
+    private final SearchIndexDocumentReader searchIndexDocumentReader;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final TenantDetailsService tenantDetailsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean indexesRequested = new AtomicBoolean();
+    private ExecutorService indexCreator;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!databaseTypeResolver.isPostgreSQL()) {
+            throw new IllegalStateException("The postgresql search index backend requires a PostgreSQL database");
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void createIndexesInBackground() {
+        if (!indexesRequested.compareAndSet(false, true)) {
+            return;
+        }
+        indexCreator = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "search-trigram-indexes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexCreator.submit(() -> {
+            for (FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+                try {
+                    ThreadLocalContextUtil.setTenant(tenant);
+                    createIndexes();
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (indexCreator != null) {
+            indexCreator.shutdownNow();
+        }
+    }
+
+    @Override
+    public Collection<SearchData> search(final SearchConditions searchConditions, final String hierarchy, final int limit) {
+        final String term = StringUtils.trimToEmpty(searchConditions.getSearchQuery());
+        final Set<SearchIndexEntityType> entityTypes = SearchIndexEntityType.fromSearchConditions(searchConditions);
+        if (term.isEmpty() || entityTypes.isEmpty()) {
+            return List.of();
+        }
+        final boolean exactMatch = Boolean.TRUE.equals(searchConditions.getExactMatch());
+
+        final MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("hierarchy", hierarchy + "%");
+        params.addValue("search", exactMatch ? term : "%" + term + "%");
+        params.addValue("term", term);
+        params.addValue("limit", limit);
+
+        final String sql = entityTypes.stream().map(entityType -> buildEntitySql(entityType, exactMatch))
+                .collect(Collectors.joining(" union all ")) + " limit :limit";
+        return searchIndexDocumentReader.query(sql, params).stream().map(SearchIndexDocument::toSearchData).toList();
+    }
+
+    @Override
+    public void index(final Collection<SearchIndexDocument> documents) {
+        // trigram indexes are maintained by the database
+    }
+
+    @Override
+    public void remove(final SearchIndexEntityType entityType, final Collection<Long> entityIds) {
+        // trigram indexes are maintained by the database
+    }
+
+    @Override
+    public void reindex() {
+        createIndexes();
+    }
+
+    private void createIndexes() {
+        final String tenantIdentifier = ThreadLocalContextUtil.getTenant().getTenantIdentifier();
+        try {
+            jdbcTemplate.execute(CREATE_EXTENSION_SQL);
+        } catch (DataAccessException e) {
+            log.error("Extension pg_trgm could not be created for tenant {}, the search will not use trigram indexes", tenantIdentifier, e);
+            return;
+        }
+        for (String indexedColumn : TRIGRAM_INDEXED_COLUMNS) {
+            final String table = StringUtils.substringBefore(indexedColumn, ".");
+            final String column = StringUtils.substringAfter(indexedColumn, ".");
+            // CONCURRENTLY cannot run in a transaction, the statement is executed in auto-commit mode
+            final String sql = "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + table + "_" + column + "_trgm_idx ON " + table
+                    + " USING gin (" + column + " gin_trgm_ops)";
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (DataAccessException e) {
+                log.error("Trigram index on {} could not be created for tenant {}", indexedColumn, tenantIdentifier, e);
+            }
+        }
+        log.info("Trigram search indexes of tenant {} are in place", tenantIdentifier);
+    }
+
+    private String buildEntitySql(final SearchIndexEntityType entityType, final boolean exactMatch) {
+        final EntityQuery query = searchIndexDocumentReader.getEntityQuery(entityType);
+        String matching = query.getMatchColumns().stream().map(column -> column + " ILIKE :search").collect(Collectors.joining(" or "));
+        if (!exactMatch && query.getNameColumn() != null) {
+            matching = matching + " or " + query.getNameColumn() + " % :term";
+        }
+        return "(" + query.getSelect() + " where " + query.getHierarchyCondition() + " and (" + matching + ") order by "
+                + query.getIdColumn() + " desc limit :limit)";
+    }
+}
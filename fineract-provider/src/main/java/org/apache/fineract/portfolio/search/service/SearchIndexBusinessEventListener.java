@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.commands.event.CommandProcessedEvent;
+import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientActivateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientRejectBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.CentersCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanApprovedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCloseBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanCreatedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanDisbursalBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanRejectedBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsActivateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsApproveBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCloseBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsRejectBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountApproveBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountCreateBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the Lucene search index up to date by re-indexing an entity once the transaction that created, changed or
+ * deleted it has been committed. Commands are followed through their {@link CommandProcessedEvent}, changes made outside
+ * of commands (e.g. by jobs) through the business events. Entities that can no longer be read are removed from the
+ * index; anything else is picked up by the {@code Rebuild Search Index} job.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = SearchIndexService.BACKEND_PROPERTY, havingValue = "lucene")
+public class SearchIndexBusinessEventListener {
+
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final SearchIndexService searchIndexService;
+    private final SearchIndexDocumentReader searchIndexDocumentReader;
+
+    @PostConstruct
+    public void addListeners() {
+        listen(ClientCreateBusinessEvent.class, SearchIndexEntityType.CLIENT, event -> event.get().getId());
+        listen(ClientActivateBusinessEvent.class, SearchIndexEntityType.CLIENT, event -> event.get().getId());
+        listen(ClientRejectBusinessEvent.class, SearchIndexEntityType.CLIENT, event -> event.get().getId());
+        listen(GroupsCreateBusinessEvent.class, SearchIndexEntityType.GROUP, event -> event.get().getResourceId());
+        listen(CentersCreateBusinessEvent.class, SearchIndexEntityType.GROUP, event -> event.get().getResourceId());
+        listen(LoanCreatedBusinessEvent.class, SearchIndexEntityType.LOAN, event -> event.get().getId());
+        listen(LoanApprovedBusinessEvent.class, SearchIndexEntityType.LOAN, event -> event.get().getId());
+        listen(LoanRejectedBusinessEvent.class, SearchIndexEntityType.LOAN, event -> event.get().getId());
+        listen(LoanDisbursalBusinessEvent.class, SearchIndexEntityType.LOAN, event -> event.get().getId());
+        listen(LoanCloseBusinessEvent.class, SearchIndexEntityType.LOAN, event -> event.get().getId());
+        listen(SavingsCreateBusinessEvent.class, SearchIndexEntityType.SAVING, event -> event.get().getId());
+        listen(SavingsApproveBusinessEvent.class, SearchIndexEntityType.SAVING, event -> event.get().getId());
+        listen(SavingsRejectBusinessEvent.class, SearchIndexEntityType.SAVING, event -> event.get().getId());
+        listen(SavingsActivateBusinessEvent.class, SearchIndexEntityType.SAVING, event -> event.get().getId());
+        listen(SavingsCloseBusinessEvent.class, SearchIndexEntityType.SAVING, event -> event.get().getId());
+        listen(ShareAccountCreateBusinessEvent.class, SearchIndexEntityType.SHARE, event -> event.get().getId());
+        listen(ShareAccountApproveBusinessEvent.class, SearchIndexEntityType.SHARE, event -> event.get().getId());
+    }
+
+    @EventListener
+    public void onCommandProcessed(CommandProcessedEvent event) {
+        final CommandProcessingResult result = event.getResult();
+        if (result == null || event.getEntityName() == null) {
+            return;
+        }
+        switch (event.getEntityName()) {
+            case "CLIENT" -> indexAfterCommit(SearchIndexEntityType.CLIENT, entityId(result.getClientId(), result));
+            case "GROUP", "CENTER" -> indexAfterCommit(SearchIndexEntityType.GROUP, entityId(result.getGroupId(), result));
+            case "LOAN" -> indexAfterCommit(SearchIndexEntityType.LOAN, entityId(result.getLoanId(), result));
+            case "SAVINGSACCOUNT" -> indexAfterCommit(SearchIndexEntityType.SAVING, entityId(result.getSavingsId(), result));
+            case "SHAREACCOUNT" -> indexAfterCommit(SearchIndexEntityType.SHARE, result.getResourceId());
+            case "CLIENTIDENTIFIER" -> indexAfterCommit(SearchIndexEntityType.CLIENTIDENTIFIER, result.getResourceId());
+            default -> {
+                // not searchable
+            }
+        }
+    }
+
+    private static Long entityId(Long entityId, CommandProcessingResult result) {
+        return entityId != null ? entityId : result.getResourceId();
+    }
+
+    private <T extends BusinessEvent<?>> void listen(Class<T> eventType, SearchIndexEntityType indexEntityType,
+            Function<T, Long> entityIdExtractor) {
+        businessEventNotifierService.addPostBusinessEventListener(eventType,
+                event -> indexAfterCommit(indexEntityType, entityIdExtractor.apply(event)));
+    }
+
+    private void indexAfterCommit(SearchIndexEntityType indexEntityType, Long entityId) {
+        if (entityId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(indexEntityType, entityId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCommit() {
+                index(indexEntityType, entityId);
+            }
+        });
+    }
+
+    private void index(SearchIndexEntityType indexEntityType, Long entityId) {
+        try {
+            final List<SearchIndexDocument> documents = searchIndexDocumentReader.read(indexEntityType, List.of(entityId));
+            if (documents.isEmpty()) {
+                searchIndexService.remove(indexEntityType, List.of(entityId));
+            } else {
+                searchIndexService.index(documents);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update the search index for {} with id {}", indexEntityType, entityId, e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the searchable entities from the database, either by id (to keep a search index up to date) or in id ordered
+ * batches (to rebuild a search index).
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexDocumentReader {
+
+    private static final Map<SearchIndexEntityType, EntityQuery> ENTITY_QUERIES = new EnumMap<>(SearchIndexEntityType.class);
+    private static final SearchIndexDocumentMapper DOCUMENT_MAPPER = new SearchIndexDocumentMapper();
+
+    static {
+        ENTITY_QUERIES.put(SearchIndexEntityType.CLIENT, new EntityQuery(
+                "select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName, c.external_id as entityExternalId, "
+                        + "c.account_no as entityAccountNo, c.office_id as parentId, o.name as parentName, c.mobile_no as entityMobileNo, "
+                        + "c.status_enum as entityStatusEnum, null as subEntityType, null as parentType, o.hierarchy as officeHierarchy "
+                        + "from m_client c join m_office o on o.id = c.office_id",
+                "c.id", "o.hierarchy like :hierarchy", List.of("c.account_no", "c.display_name", "c.external_id", "c.mobile_no"),
+                "c.display_name"));
+        ENTITY_QUERIES.put(SearchIndexEntityType.GROUP, new EntityQuery(
+                "select CASE WHEN g.level_id=1 THEN 'CENTER' ELSE 'GROUP' END as entityType, g.id as entityId, g.display_name as entityName, "
+                        + "g.external_id as entityExternalId, g.account_no as entityAccountNo, g.office_id as parentId, o.name as parentName, "
+                        + "null as entityMobileNo, g.status_enum as entityStatusEnum, null as subEntityType, null as parentType, "
+                        + "o.hierarchy as officeHierarchy from m_group g join m_office o on o.id = g.office_id",
+                "g.id", "o.hierarchy like :hierarchy", List.of("g.account_no", "g.display_name", "g.external_id"), "g.display_name"));
+        ENTITY_QUERIES.put(SearchIndexEntityType.LOAN, new EntityQuery(
+                "select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId, "
+                        + "l.account_no as entityAccountNo, coalesce(c.id,g.id) as parentId, coalesce(c.display_name,g.display_name) as parentName, "
+                        + "null as entityMobileNo, l.loan_status_id as entityStatusEnum, null as subEntityType, "
+                        + "CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType, o.hierarchy as officeHierarchy "
+                        + "from m_loan l left join m_client c on l.client_id = c.id left join m_group g ON l.group_id = g.id "
+                        + "left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id=l.product_id",
+                "l.id", "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("l.account_no", "l.external_id"), null));
+        ENTITY_QUERIES.put(SearchIndexEntityType.SAVING, new EntityQuery(
+                "select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, "
+                        + "s.account_no as entityAccountNo, coalesce(c.id,g.id) as parentId, coalesce(c.display_name, g.display_name) as parentName, "
+                        + "null as entityMobileNo, s.status_enum as entityStatusEnum, concat(s.deposit_type_enum, '') as subEntityType, "
+                        + "CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType, o.hierarchy as officeHierarchy "
+                        + "from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g ON s.group_id = g.id "
+                        + "left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id=s.product_id",
+                "s.id", "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("s.account_no", "s.external_id"), null));
+        ENTITY_QUERIES.put(SearchIndexEntityType.SHARE, new EntityQuery(
+                "select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId, "
+                        + "s.account_no as entityAccountNo, c.id as parentId, c.display_name as parentName, null as entityMobileNo, "
+                        + "s.status_enum as entityStatusEnum, null as subEntityType, 'client' as parentType, o.hierarchy as officeHierarchy "
+                        + "from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id "
+                        + "left join m_share_product sp on sp.id=s.product_id",
+                "s.id", "(o.hierarchy IS NULL OR o.hierarchy like :hierarchy)", List.of("s.account_no", "s.external_id"), null));
+        ENTITY_QUERIES.put(SearchIndexEntityType.CLIENTIDENTIFIER, new EntityQuery(
+                "select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName, null as entityExternalId, "
+                        + "null as entityAccountNo, c.id as parentId, c.display_name as parentName, null as entityMobileNo, "
+                        + "c.status_enum as entityStatusEnum, null as subEntityType, null as parentType, o.hierarchy as officeHierarchy "
+                        + "from m_client_identifier ci join m_client c on ci.client_id=c.id join m_office o on o.id = c.office_id",
+                "ci.id", "o.hierarchy like :hierarchy", List.of("ci.document_key"), null));
+    }
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+
+    public List<SearchIndexDocument> read(final SearchIndexEntityType entityType, final Collection<Long> ids) {
+        final EntityQuery query = getEntityQuery(entityType);
+        final String sql = query.getSelect() + " where " + query.getIdColumn() + " in (:ids)";
+        return namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("ids", ids), DOCUMENT_MAPPER);
+    }
+
+    /**
+     * Reads the next batch of entities with an id greater than the given one, in ascending id order.
+     */
+    public List<SearchIndexDocument> readBatch(final SearchIndexEntityType entityType, final Long afterId, final int batchSize) {
+        final EntityQuery query = getEntityQuery(entityType);
+        final String sql = query.getSelect() + " where " + query.getIdColumn() + " > :afterId order by " + query.getIdColumn() + " "
+                + sqlGenerator.limit(batchSize);
+        return namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("afterId", afterId), DOCUMENT_MAPPER);
+    }
+
+    /**
+     * Runs a query built from the {@link EntityQuery} select statements.
+     */
+    public List<SearchIndexDocument> query(final String sql, final SqlParameterSource params) {
+        return namedParameterJdbcTemplate.query(sql, params, DOCUMENT_MAPPER);
+    }
+
+    public EntityQuery getEntityQuery(final SearchIndexEntityType entityType) {
+        return ENTITY_QUERIES.get(entityType);
+    }
+
+    /**
+     * The select statement of an entity type along with the columns the global search matches against.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class EntityQuery {
+
+        private final String select;
+        private final String idColumn;
+        private final String hierarchyCondition;
+        private final List<String> matchColumns;
+        private final String nameColumn;
+    }
+
+    private static final class SearchIndexDocumentMapper implements RowMapper<SearchIndexDocument> {
+
+        @Override
+        public SearchIndexDocument mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
+            final String entityType = rs.getString("entityType");
+            return new SearchIndexDocument(SearchIndexEntityType.fromEntityType(entityType), entityType, JdbcSupport.getLong(rs, "entityId"),
+                    rs.getString("entityName"), rs.getString("entityExternalId"), rs.getString("entityAccountNo"),
+                    JdbcSupport.getLong(rs, "parentId"), rs.getString("parentName"), rs.getString("parentType"),
+                    rs.getString("entityMobileNo"), JdbcSupport.getInteger(rs, "entityStatusEnum"), JdbcSupport.getInteger(rs, "subEntityType"),
+                    rs.getString("officeHierarchy"));
+        }
+    }
+}
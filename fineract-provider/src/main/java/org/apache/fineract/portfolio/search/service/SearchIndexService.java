@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.Collection;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+
+/**
+ * A pluggable backend for the global search, selected with the {@code fineract.search.index.backend} property. When no
+ * backend is configured the search falls back to the plain database queries of {@link SearchReadPlatformServiceImpl}.
+ */
+public interface SearchIndexService {
+
+    String BACKEND_PROPERTY = "fineract.search.index.backend";
+
+    /**
+     * Finds the entities matching the search conditions within the given office hierarchy, by prefix, infix or (unless
+     * an exact match is requested) fuzzy matching.
+     */
+    Collection<SearchData> search(SearchConditions searchConditions, String hierarchy, int limit);
+
+    /**
+     * Adds or replaces the given documents in the index of the current tenant.
+     */
+    void index(Collection<SearchIndexDocument> documents);
+
+    /**
+     * Removes the given entities, which no longer exist or are no longer searchable, from the index of the current
+     * tenant.
+     */
+    void remove(SearchIndexEntityType entityType, Collection<Long> entityIds);
+
+    /**
+     * Rebuilds the index of the current tenant from the database.
+     */
+    void reindex();
+}
@@ -25,24 +25,20 @@ import java.sql.SQLException;
 import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.data.OfficeData;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
-import org.apache.fineract.portfolio.client.domain.ClientEnumerations;
-import org.apache.fineract.portfolio.group.domain.GroupingTypeEnumerations;
-import org.apache.fineract.portfolio.loanaccount.data.LoanStatusEnumData;
 import org.apache.fineract.portfolio.loanproduct.data.LoanProductData;
-import org.apache.fineract.portfolio.loanproduct.service.LoanEnumerations;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
-import org.apache.fineract.portfolio.savings.service.SavingsEnumerations;
 import org.apache.fineract.portfolio.search.SearchConstants;
 import org.apache.fineract.portfolio.search.data.AdHocQuerySearchConditions;
 import org.apache.fineract.portfolio.search.data.AdHocSearchQueryData;
 import org.apache.fineract.portfolio.search.data.SearchConditions;
 import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -51,17 +47,25 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 @RequiredArgsConstructor
 public class SearchReadPlatformServiceImpl implements SearchReadPlatformService {
 
+    private static final int SEARCH_RESULT_LIMIT = 50;
+
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     private final PlatformSecurityContext context;
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    // optional, the database is queried directly when no search index backend is configured
+    private final SearchIndexService searchIndexService;
 
     @Override
     public Collection<SearchData> retriveMatchingData(final SearchConditions searchConditions) {
         final AppUser currentUser = context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
+        if (searchIndexService != null) {
+            return searchIndexService.search(searchConditions, hierarchy, SEARCH_RESULT_LIMIT);
+        }
+
         final SearchMapper rm = new SearchMapper();
 
         final MapSqlParameterSource params = new MapSqlParameterSource();
@@ -139,7 +143,7 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
         sql.replace(sql.lastIndexOf(union), sql.length(), "");
 
         // only get the first 50 rows in case of searcing
-        sql.append(" ").append(sqlGenerator.limit(50, 0));
+        sql.append(" ").append(sqlGenerator.limit(SEARCH_RESULT_LIMIT, 0));
         return sql.toString();
     }
 
@@ -158,26 +162,10 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
             final Integer entityStatusEnum = JdbcSupport.getInteger(rs, "entityStatusEnum");
             final String parentType = rs.getString("parentType");
             final Integer subEntityTypeValue = JdbcSupport.getInteger(rs, "subEntityType");
-            final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(subEntityTypeValue);
-
-            EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
-
-            if (entityType.equalsIgnoreCase("client") || entityType.equalsIgnoreCase("clientidentifier")) {
-                entityStatus = ClientEnumerations.status(entityStatusEnum);
-            }
-
-            else if (entityType.equalsIgnoreCase("group") || entityType.equalsIgnoreCase("center")) {
-                entityStatus = GroupingTypeEnumerations.status(entityStatusEnum);
-            }
-
-            else if (entityType.equalsIgnoreCase("loan")) {
-                LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(entityStatusEnum);
-
-                entityStatus = LoanEnumerations.status(loanStatusEnumData);
-            }
 
-            return new SearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName, parentType,
-                    entityMobileNo, entityStatus, subEntityTypeCode.getCode());
+            return new SearchIndexDocument(SearchIndexEntityType.fromEntityType(entityType), entityType, entityId, entityName,
+                    entityExternalId, entityAccountNo, parentId, parentName, parentType, entityMobileNo, entityStatusEnum, subEntityTypeValue,
+                    null).toSearchData();
         }
 
     }
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.provisioning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.fineract.accounting.glaccount.domain.GLAccount;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountRepository;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.accounting.provisioning.data.LoanProductProvisioningEntryData;
+import org.apache.fineract.accounting.provisioning.domain.LoanProductProvisioningEntry;
+import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntry;
+import org.apache.fineract.accounting.provisioning.domain.ProvisioningEntryRepository;
+import org.apache.fineract.accounting.provisioning.serialization.ProvisioningEntriesDefinitionJsonDeserializer;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.office.domain.Office;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategory;
+import org.apache.fineract.organisation.provisioning.domain.ProvisioningCategoryRepository;
+import org.apache.fineract.organisation.provisioning.service.ProvisioningCriteriaReadPlatformService;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProductRepository;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ProvisioningEntriesWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final LocalDate PROVISIONING_DATE = LocalDate.of(2024, 3, 31);
+
+    @Mock
+    private ProvisioningEntriesReadPlatformService provisioningEntriesReadPlatformService;
+    @Mock
+    private ProvisioningCriteriaReadPlatformService provisioningCriteriaReadPlatformService;
+    @Mock
+    private LoanProductRepository loanProductRepository;
+    @Mock
+    private GLAccountRepository glAccountRepository;
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+    @Mock
+    private ProvisioningCategoryRepository provisioningCategoryRepository;
+    @Mock
+    private PlatformSecurityContext platformSecurityContext;
+    @Mock
+    private ProvisioningEntryRepository provisioningEntryRepository;
+    @Mock
+    private JournalEntryWritePlatformService journalEntryWritePlatformService;
+    @Mock
+    private ProvisioningEntriesDefinitionJsonDeserializer fromApiJsonDeserializer;
+    @Mock
+    private FromJsonHelper fromApiJsonHelper;
+    @Mock
+    private LoanProduct loanProduct;
+
+    private ThreadPoolTaskExecutor loanProvisioningTaskExecutor;
+    private ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, PROVISIONING_DATE)));
+        ReflectionTestUtils.setField(MoneyHelper.class, "roundingMode", RoundingMode.HALF_EVEN);
+
+        FineractProperties.FineractLoanProvisioningProperties provisioningProperties =
+                new FineractProperties.FineractLoanProvisioningProperties();
+        provisioningProperties.setChunkSize(10);
+        provisioningProperties.setThreadPoolSize(2);
+        FineractProperties.FineractLoanProperties loanProperties = new FineractProperties.FineractLoanProperties();
+        loanProperties.setProvisioning(provisioningProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setLoan(loanProperties);
+
+        loanProvisioningTaskExecutor = new ThreadPoolTaskExecutor();
+        loanProvisioningTaskExecutor.setCorePoolSize(2);
+        loanProvisioningTaskExecutor.setMaxPoolSize(2);
+        loanProvisioningTaskExecutor.initialize();
+
+        when(platformSecurityContext.authenticatedUser()).thenReturn(mock(AppUser.class));
+        when(loanProduct.getId()).thenReturn(1L);
+        when(loanProduct.getPrincipalAmount()).thenReturn(Money.zero(new MonetaryCurrency("USD", 2, 0)));
+        when(loanProductRepository.findAll()).thenReturn(List.of(loanProduct));
+        when(loanProductRepository.findById(1L)).thenReturn(Optional.of(loanProduct));
+        when(officeRepositoryWrapper.findOneWithNotFoundDetection(anyLong())).thenReturn(mock(Office.class));
+        when(provisioningCategoryRepository.findById(anyLong())).thenReturn(Optional.of(mock(ProvisioningCategory.class)));
+        when(glAccountRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(mock(GLAccount.class)));
+
+        underTest = new ProvisioningEntriesWritePlatformServiceJpaRepositoryImpl(provisioningEntriesReadPlatformService,
+                provisioningCriteriaReadPlatformService, loanProductRepository, glAccountRepository, officeRepositoryWrapper,
+                provisioningCategoryRepository, platformSecurityContext, provisioningEntryRepository, journalEntryWritePlatformService,
+                fromApiJsonDeserializer, fromApiJsonHelper, fineractProperties, loanProvisioningTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        loanProvisioningTaskExecutor.shutdown();
+        ReflectionTestUtils.setField(MoneyHelper.class, "roundingMode", null);
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testLoanRangesAreAggregatedPerEntryKeyWithPerLoanRounding() {
+        when(provisioningEntriesReadPlatformService.retrieveActiveLoanIdBounds()).thenReturn(Pair.of(1L, 25L));
+        List<Pair<Long, Long>> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            Long fromLoanId = invocation.getArgument(1);
+            Long toLoanId = invocation.getArgument(2);
+            requestedRanges.add(Pair.of(fromLoanId, toLoanId));
+            Consumer<LoanProductProvisioningEntryData> consumer = invocation.getArgument(3);
+            // 10.01 * 5% = 0.5005, each loan is rounded to 0.50 before summing
+            consumer.accept(provisioningData(1L, "10.01"));
+            consumer.accept(provisioningData(2L, "100"));
+            return null;
+        }).when(provisioningEntriesReadPlatformService).retrieveLoanProductsProvisioningData(eq(PROVISIONING_DATE), anyLong(), anyLong(),
+                any());
+
+        ProvisioningEntry entry = underTest.createProvisioningEntry(PROVISIONING_DATE, false);
+
+        assertEquals(3, requestedRanges.size());
+        assertTrue(requestedRanges.containsAll(List.of(Pair.of(1L, 10L), Pair.of(11L, 20L), Pair.of(21L, 25L))));
+        Map<Long, BigDecimal> reservedByOverdueDays = new HashMap<>();
+        for (LoanProductProvisioningEntry provisioningEntry : entry.getLoanProductProvisioningEntries()) {
+            reservedByOverdueDays.put(provisioningEntry.getOverdueInDays(), provisioningEntry.getReservedAmount());
+        }
+        assertEquals(2, reservedByOverdueDays.size());
+        assertEquals(0, new BigDecimal("1.50").compareTo(reservedByOverdueDays.get(1L)));
+        assertEquals(0, new BigDecimal("15.00").compareTo(reservedByOverdueDays.get(2L)));
+        verify(provisioningEntryRepository).saveAndFlush(entry);
+    }
+
+    @Test
+    public void testNoProvisioningDataIsReadWithoutActiveLoans() {
+        when(provisioningEntriesReadPlatformService.retrieveActiveLoanIdBounds()).thenReturn(null);
+
+        ProvisioningEntry entry = underTest.createProvisioningEntry(PROVISIONING_DATE, false);
+
+        assertTrue(entry.getLoanProductProvisioningEntries().isEmpty());
+        verify(provisioningEntriesReadPlatformService, never()).retrieveLoanProductsProvisioningData(any(), anyLong(), anyLong(), any());
+    }
+
+    private LoanProductProvisioningEntryData provisioningData(Long overdueInDays, String balance) {
+        return new LoanProductProvisioningEntryData().setOfficeId(1L).setProductId(1L).setCurrencyCode("USD").setCategoryId(1L)
+                .setCriteriaId(1L).setOverdueInDays(overdueInDays).setPercentage(new BigDecimal("5")).setBalance(new BigDecimal(balance))
+                .setLiablityAccount(10L).setExpenseAccount(11L);
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.UriInfo;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ErrorHandler errorHandler;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UriInfo uriInfo;
+
+    private final Map<Long, String> executedUrls = new ConcurrentHashMap<>();
+    private final Map<Long, String> executingTenants = new ConcurrentHashMap<>();
+    private ThreadPoolTaskExecutor taskExecutor;
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+
+        FineractProperties.FineractBatchParallelProperties parallelProperties = new FineractProperties.FineractBatchParallelProperties();
+        parallelProperties.setMaxConcurrencyPerBatch(2);
+        FineractProperties.FineractBatchProperties batchProperties = new FineractProperties.FineractBatchProperties();
+        batchProperties.setParallel(parallelProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setBatch(batchProperties);
+
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(4);
+        taskExecutor.initialize();
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        underTest = new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(new FromJsonHelper()), transactionManager, errorHandler,
+                fineractProperties, taskExecutor, List.of(), List.of(), entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testIndependentRequestsRunConcurrentlyAndDependentRequestsAfterTheirParent() {
+        // both root requests wait for each other, which only completes when they run at the same time
+        CountDownLatch rootRequestsStarted = new CountDownLatch(2);
+        CommandStrategy commandStrategy = (request, uriInfo) -> {
+            executedUrls.put(request.getRequestId(), request.getRelativeUrl());
+            executingTenants.put(request.getRequestId(), ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            if (request.getReference() == null) {
+                rootRequestsStarted.countDown();
+                try {
+                    assertTrue(rootRequestsStarted.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200)
+                    .setBody("{\"resourceId\":" + request.getRequestId() * 10 + "}");
+        };
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+
+        List<BatchRequest> requests = List.of(request(1L, "loans/1/transactions?command=repayment", null),
+                request(2L, "loans/2/transactions?command=repayment", null), request(3L, "loans/$.resourceId", 1L));
+
+        List<BatchResponse> responses = underTest.handleBatchRequestsInParallel(requests, uriInfo);
+
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(BatchResponse::getRequestId).collect(Collectors.toList()));
+        assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == 200));
+        assertEquals("loans/10", executedUrls.get(3L));
+        assertEquals(List.of("default"), executingTenants.values().stream().distinct().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRequestsAreProcessedWhenTheExecutorRejectsWorkers() {
+        taskExecutor.shutdown();
+        when(strategyProvider.getCommandStrategy(any())).thenReturn((request, uriInfo) -> new BatchResponse()
+                .setRequestId(request.getRequestId()).setStatusCode(200).setBody("{\"resourceId\":" + request.getRequestId() * 10 + "}"));
+
+        List<BatchRequest> requests = List.of(request(1L, "loans/1/transactions?command=repayment", null),
+                request(2L, "loans/2/transactions?command=repayment", null), request(3L, "loans/$.resourceId", 1L));
+
+        List<BatchResponse> responses = underTest.handleBatchRequestsInParallel(requests, uriInfo);
+
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(BatchResponse::getRequestId).collect(Collectors.toList()));
+        assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == 200));
+    }
+
+    private static BatchRequest request(Long requestId, String relativeUrl, Long reference) {
+        return new BatchRequest().setRequestId(requestId).setRelativeUrl(relativeUrl).setMethod("POST").setReference(reference);
+    }
+}
@@ -98,14 +98,14 @@ public class SetLoanDelinquencyTagsBusinessStepTest {
     @Test
     public void testExecuteSuccessScenario() throws Exception {
         // given
-        doNothing().when(loanAccountDomainService).setLoanDelinquencyTag(any(Loan.class), any(LocalDate.class));
+        doNothing().when(loanAccountDomainService).setLoanDelinquencyTagIfDue(any(Loan.class), any(LocalDate.class));
         Loan loanForProcessing = createLoan();
 
         // when
         Loan processedLoan = underTest.execute(loanForProcessing);
 
         // then
-        verify(loanAccountDomainService).setLoanDelinquencyTag(any(Loan.class), any(LocalDate.class));
+        verify(loanAccountDomainService).setLoanDelinquencyTagIfDue(any(Loan.class), any(LocalDate.class));
         assertEquals(processedLoan, loanForProcessing);
     }
 
@@ -137,14 +137,14 @@ public class SetLoanDelinquencyTagsBusinessStepTest {
     @Test
     public void testExecuteWhenSetLoanDelinquencyTagFails() throws Exception {
         // given
-        doThrow(new RuntimeException()).when(loanAccountDomainService).setLoanDelinquencyTag(any(Loan.class), any(LocalDate.class));
+        doThrow(new RuntimeException()).when(loanAccountDomainService).setLoanDelinquencyTagIfDue(any(Loan.class), any(LocalDate.class));
         Loan loanForProcessing = createLoan();
 
         // when
         final Throwable thrownException = assertThrows(RuntimeException.class, () -> underTest.execute(loanForProcessing));
 
         // then
-        verify(loanAccountDomainService).setLoanDelinquencyTag(any(Loan.class), any(LocalDate.class));
+        verify(loanAccountDomainService).setLoanDelinquencyTagIfDue(any(Loan.class), any(LocalDate.class));
         assertTrue(thrownException.getClass().isAssignableFrom(RuntimeException.class));
     }
 
@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.commands.domain.CommandSource;
+import org.apache.fineract.commands.domain.CommandSourceRepository;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class CommandSourceAuditWriterTest {
+
+    private static final CommandWrapper WRAPPER = CommandWrapper.wrap("CREATE", "CLIENT", null, null);
+
+    @Mock
+    private CommandSourceRepository commandSourceRepository;
+    @Mock
+    private CommandSourceService commandSourceService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommandSourceAuditWriter underTest;
+    private ExecutorService requestExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(commandSourceService.saveResultNewTransaction(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FineractProperties.FineractCommandSourceAuditProperties auditProperties = new FineractProperties.FineractCommandSourceAuditProperties();
+        auditProperties.setAsyncEnabled(true);
+        auditProperties.setQueueCapacity(10);
+        auditProperties.setBatchSize(10);
+        FineractProperties.FineractCommandSourceProperties commandSourceProperties = new FineractProperties.FineractCommandSourceProperties();
+        commandSourceProperties.setAudit(auditProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCommandSource(commandSourceProperties);
+
+        underTest = new CommandSourceAuditWriter(fineractProperties, commandSourceRepository, commandSourceService, transactionManager);
+        underTest.start();
+        requestExecutor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        underTest.stop();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testClaimReturnsOnceTheCommandSourceIsCommitted() {
+        CommandSource commandSource = commandSource("key-1");
+
+        assertSame(commandSource, underTest.claim(commandSource));
+
+        verify(commandSourceRepository).saveAll(List.of(commandSource));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    public void testConcurrentClaimsAreWrittenInOneTransaction() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(commandSourceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            }
+            return invocation.getArgument(0);
+        });
+        CommandSource first = commandSource("key-1");
+        CommandSource second = commandSource("key-2");
+        CommandSource third = commandSource("key-3");
+
+        Future<CommandSource> firstClaim = claimOnRequestThread(first);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        Future<CommandSource> secondClaim = claimOnRequestThread(second);
+        Future<CommandSource> thirdClaim = claimOnRequestThread(third);
+        awaitQueued(2);
+        releaseFirstBatch.countDown();
+
+        assertSame(first, firstClaim.get(5, TimeUnit.SECONDS));
+        assertSame(second, secondClaim.get(5, TimeUnit.SECONDS));
+        assertSame(third, thirdClaim.get(5, TimeUnit.SECONDS));
+        verify(commandSourceRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenRowByRowAndTheDuplicateIsRejected() throws Exception {
+        when(commandSourceRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        CommandSource duplicate = commandSource("key-1");
+        when(commandSourceService.saveResultNewTransaction(duplicate)).thenThrow(new DataIntegrityViolationException("duplicate"));
+        CommandSource other = commandSource("key-2");
+
+        assertThrows(DataIntegrityViolationException.class, () -> underTest.claim(duplicate));
+        assertSame(other, underTest.claim(other));
+
+        verify(commandSourceService).saveResultNewTransaction(other);
+    }
+
+    @Test
+    public void testStoppedWriterFallsBackToSynchronousWrite() {
+        underTest.stop();
+        CommandSource commandSource = commandSource("key-1");
+
+        assertSame(commandSource, underTest.claim(commandSource));
+
+        verify(commandSourceService).saveResultNewTransaction(commandSource);
+        verify(commandSourceRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testKeyIsHeldUntilReleased() {
+        assertTrue(underTest.tryAcquire(WRAPPER, "key-1"));
+        assertFalse(underTest.tryAcquire(WRAPPER, "key-1"));
+
+        underTest.release(WRAPPER, "key-1");
+
+        assertTrue(underTest.tryAcquire(WRAPPER, "key-1"));
+    }
+
+    private Future<CommandSource> claimOnRequestThread(CommandSource commandSource) {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        return requestExecutor.submit(() -> {
+            ThreadLocalContextUtil.init(context);
+            try {
+                return underTest.claim(commandSource);
+            } finally {
+                ThreadLocalContextUtil.reset();
+            }
+        });
+    }
+
+    private void awaitQueued(int size) throws InterruptedException {
+        BlockingQueue<?> queue = (BlockingQueue<?>) ReflectionTestUtils.getField(underTest, "queue");
+        for (int i = 0; i < 500 && queue.size() < size; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(size, queue.size());
+    }
+
+    private static CommandSource commandSource(String idempotencyKey) {
+        return CommandSource.fullEntryFrom(WRAPPER, JsonCommand.from("{}"), mock(AppUser.class), idempotencyKey, 200);
+    }
+}
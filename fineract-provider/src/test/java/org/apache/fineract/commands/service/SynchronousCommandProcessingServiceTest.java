@@ -19,6 +19,7 @@
 package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +34,7 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
@@ -45,6 +47,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -68,6 +71,8 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyGenerator idempotencyKeyGenerator;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private CommandSourceAuditWriter commandSourceAuditWriter;
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -160,4 +165,78 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
         verify(commandSourceService).generateErrorInfo(runtimeException);
     }
+
+    @Test
+    public void testExecuteCommandSuccessWithAsyncAudit() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+
+        NewCommandSourceHandler newCommandSourceHandler = Mockito.mock(NewCommandSourceHandler.class);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        when(newCommandSourceHandler.processCommand(jsonCommand)).thenReturn(commandProcessingResult);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(newCommandSourceHandler);
+
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceAuditWriter.isEnabled()).thenReturn(true);
+        when(commandSourceAuditWriter.tryAcquire(commandWrapper, idk)).thenReturn(true);
+
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        when(commandSourceService.prepareInitial(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceAuditWriter.claim(commandSource)).thenReturn(commandSource);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(commandSourceService, never()).saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk);
+        verify(commandSourceAuditWriter).claim(commandSource);
+        verify(commandSource).setStatus(CommandProcessingResultType.PROCESSED);
+        verify(commandSourceService).saveResultSameTransaction(commandSource);
+        verify(commandSourceAuditWriter).release(commandWrapper, idk);
+    }
+
+    @Test
+    public void testExecuteCommandWithAsyncAuditRejectsKeyClaimedOnAnotherNode() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        NewCommandSourceHandler newCommandSourceHandler = Mockito.mock(NewCommandSourceHandler.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(newCommandSourceHandler);
+
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceAuditWriter.isEnabled()).thenReturn(true);
+        when(commandSourceAuditWriter.tryAcquire(commandWrapper, idk)).thenReturn(true);
+        when(commandSourceAuditWriter.claim(Mockito.any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        CommandSource claimedCommandSource = Mockito.mock(CommandSource.class);
+        when(claimedCommandSource.getStatus()).thenReturn(CommandProcessingResultType.UNDER_PROCESSING.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(claimedCommandSource);
+
+        Assertions.assertThrows(IdempotentCommandProcessUnderProcessingException.class,
+                () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(newCommandSourceHandler, never()).processCommand(jsonCommand);
+        verify(commandSourceAuditWriter).release(commandWrapper, idk);
+    }
+
+    @Test
+    public void testExecuteCommandWithAsyncAuditRejectsKeyUnderProcessing() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        when(jsonCommand.commandId()).thenReturn(null);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(commandSourceAuditWriter.isEnabled()).thenReturn(true);
+        when(commandSourceAuditWriter.tryAcquire(commandWrapper, idk)).thenReturn(false);
+
+        Assertions.assertThrows(IdempotentCommandProcessUnderProcessingException.class,
+                () -> underTest.executeCommand(commandWrapper, jsonCommand, false));
+
+        verify(commandHandlerProvider, never()).getHandler(Mockito.any(), Mockito.any());
+    }
 }
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+public class ImportRowExecutorTest {
+
+    private ThreadPoolTaskExecutor taskExecutor;
+    private ImportRowExecutor underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(3);
+        taskExecutor.setMaxPoolSize(3);
+        taskExecutor.initialize();
+
+        FineractProperties.FineractBulkImportProperties bulkImportProperties = new FineractProperties.FineractBulkImportProperties();
+        bulkImportProperties.setThreadPoolSize(3);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setBulkImport(bulkImportProperties);
+        underTest = new ImportRowExecutor(taskExecutor, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskExecutor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRowsAreImportedInParallelWithResultsInRowOrder() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<String> results = underTest.execute(50, i -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                threads.add(Thread.currentThread().getName());
+                Thread.sleep(2);
+                return ThreadLocalContextUtil.getTenant().getTenantIdentifier() + "-" + i;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        assertEquals(IntStream.range(0, 50).mapToObj(i -> "default-" + i).toList(), results);
+        assertTrue(threads.stream().noneMatch(name -> name.equals(Thread.currentThread().getName())));
+        assertTrue(maxInFlight.get() <= 3);
+        assertEquals("default", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+    }
+
+    @Test
+    public void testErrorInRowFailsTheImportInsteadOfHanging() {
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        // a row that never completes would block the join, so the import runs on a thread that can be abandoned
+        CompletionException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            ThreadLocalContextUtil.init(context);
+            return assertThrows(CompletionException.class, () -> underTest.execute(5, i -> {
+                if (i == 3) {
+                    throw new NoClassDefFoundError("missing");
+                }
+                return i;
+            }));
+        });
+        assertInstanceOf(NoClassDefFoundError.class, e.getCause());
+    }
+}
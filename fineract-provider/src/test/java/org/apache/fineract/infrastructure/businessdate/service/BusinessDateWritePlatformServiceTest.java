@@ -69,6 +69,9 @@ public class BusinessDateWritePlatformServiceTest {
     @Mock
     private ConfigurationDomainService configurationDomainService;
 
+    @Mock
+    private BusinessDateSnapshotCache businessDateSnapshotCache;
+
     @Captor
     private ArgumentCaptor<BusinessDate> businessDateArgumentCaptor;
 
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationLog.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DistributedCacheManagerTest {
+
+    @Mock
+    private CacheInvalidationLog invalidationLog;
+
+    private ConcurrentMapCacheManager localCacheManager;
+    private DistributedCacheManager underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractCacheInvalidationProperties invalidation = new FineractProperties.FineractCacheInvalidationProperties();
+        invalidation.setPollIntervalMillis(60000);
+        invalidation.setGracePeriodMillis(5000);
+        invalidation.setRetentionMinutes(60);
+        FineractProperties.FineractCacheProperties cacheProperties = new FineractProperties.FineractCacheProperties();
+        cacheProperties.setInvalidation(invalidation);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCache(cacheProperties);
+
+        localCacheManager = new ConcurrentMapCacheManager("users", "code_values");
+        underTest = new DistributedCacheManager(localCacheManager, invalidationLog, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.deactivate();
+    }
+
+    @Test
+    public void testEvictionsArePublishedOnlyWhenActive() {
+        underTest.getCache("users").evict("default1.");
+        verify(invalidationLog, never()).append(anyString(), anyString(), anyString(), anyLong());
+
+        underTest.activate();
+        underTest.getCache("users").evict("default1.");
+        underTest.getCache("code_values").clear();
+        underTest.getCache("code_values").evict("x".repeat(DistributedCacheManager.MAX_KEY_LENGTH + 1));
+
+        verify(invalidationLog).append(anyString(), eq("users"), eq("default1."), anyLong());
+        verify(invalidationLog, times(2)).append(anyString(), eq("code_values"), isNull(), anyLong());
+    }
+
+    @Test
+    public void testPollAppliesInvalidationsOfOtherNodesOnce() {
+        underTest.activate();
+        underTest.getCache("users").evict("own");
+        ArgumentCaptor<String> nodeId = ArgumentCaptor.forClass(String.class);
+        verify(invalidationLog).append(nodeId.capture(), eq("users"), eq("own"), anyLong());
+
+        Cache users = localCacheManager.getCache("users");
+        Cache codeValues = localCacheManager.getCache("code_values");
+        users.put("remote", "stale");
+        users.put("own", "fresh");
+        codeValues.put("cv", "stale");
+        long now = System.currentTimeMillis();
+        when(invalidationLog.findCreatedSince(anyLong())).thenReturn(List.of(
+                new CacheInvalidation(1L, "other-node", "users", "remote", now),
+                new CacheInvalidation(2L, nodeId.getValue(), "users", "own", now),
+                new CacheInvalidation(3L, "other-node", "code_values", null, now)));
+
+        underTest.poll();
+
+        assertNull(users.get("remote"));
+        assertNotNull(users.get("own"));
+        assertNull(codeValues.get("cv"));
+
+        users.put("remote", "reloaded");
+        underTest.poll();
+
+        assertEquals("reloaded", users.get("remote").get());
+        verify(invalidationLog, times(2)).deleteCreatedBefore(anyLong());
+    }
+}
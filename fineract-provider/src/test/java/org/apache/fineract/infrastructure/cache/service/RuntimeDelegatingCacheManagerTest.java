@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.infrastructure.cache.domain.CacheType;
+import org.apache.fineract.infrastructure.cache.service.CacheInvalidationLog.CacheInvalidation;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RuntimeDelegatingCacheManagerTest {
+
+    @Mock
+    private DistributedCacheManager distributedCacheManager;
+    @Mock
+    private CacheInvalidationLog invalidationLog;
+
+    private final ConcurrentMapCacheManager ehCacheManager = new ConcurrentMapCacheManager("users");
+    private RuntimeDelegatingCacheManager underTest;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        FineractProperties.FineractCacheInvalidationProperties invalidation = new FineractProperties.FineractCacheInvalidationProperties();
+        invalidation.setPollIntervalMillis(60000);
+        invalidation.setGracePeriodMillis(5000);
+        FineractProperties.FineractCacheProperties cacheProperties = new FineractProperties.FineractCacheProperties();
+        cacheProperties.setInvalidation(invalidation);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setCache(cacheProperties);
+
+        underTest = new RuntimeDelegatingCacheManager(ehCacheManager, new NoOpCacheManager(), distributedCacheManager, invalidationLog,
+                fineractProperties);
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.stop();
+    }
+
+    @Test
+    public void testSwitchIsPublishedOnlyWhenTheCacheTypeChanges() {
+        underTest.switchToCache(CacheType.NO_CACHE, CacheType.NO_CACHE);
+        verify(invalidationLog, never()).append(anyString(), anyString(), anyString(), anyLong());
+
+        underTest.switchToCache(CacheType.NO_CACHE, CacheType.SINGLE_NODE);
+
+        verify(invalidationLog).append(anyString(), eq(RuntimeDelegatingCacheManager.CACHE_TYPE_CHANGE), eq("SINGLE_NODE"), anyLong());
+        assertSame(ehCacheManager.getCache("users"), underTest.getCache("users"));
+    }
+
+    @Test
+    public void testPollAppliesTheLatestSwitchOfOtherNodes() {
+        underTest.switchToCache(CacheType.NO_CACHE, CacheType.SINGLE_NODE);
+        ArgumentCaptor<String> nodeId = ArgumentCaptor.forClass(String.class);
+        verify(invalidationLog).append(nodeId.capture(), anyString(), anyString(), anyLong());
+        long now = System.currentTimeMillis();
+        when(invalidationLog.findCreatedSince(anyLong(), eq(RuntimeDelegatingCacheManager.CACHE_TYPE_CHANGE))).thenReturn(List.of(
+                new CacheInvalidation(1L, "other-node", RuntimeDelegatingCacheManager.CACHE_TYPE_CHANGE, "NO_CACHE", now),
+                new CacheInvalidation(2L, "other-node", RuntimeDelegatingCacheManager.CACHE_TYPE_CHANGE, "MULTI_NODE", now),
+                new CacheInvalidation(3L, nodeId.getValue(), RuntimeDelegatingCacheManager.CACHE_TYPE_CHANGE, "SINGLE_NODE", now)));
+
+        underTest.poll();
+
+        verify(distributedCacheManager).activate();
+        when(distributedCacheManager.getCache("users")).thenReturn(ehCacheManager.getCache("users"));
+        assertSame(ehCacheManager.getCache("users"), underTest.getCache("users"));
+        verify(invalidationLog).append(anyString(), anyString(), anyString(), anyLong());
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.campaigns.jobs.sendmessagetosmsgateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.campaigns.helper.SmsConfigUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.gcm.service.NotificationSenderService;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessage;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageRepository;
+import org.apache.fineract.infrastructure.sms.domain.SmsMessageStatusType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SendMessageToSmsGatewayTaskletTest {
+
+    @Mock
+    private SmsMessageRepository smsMessageRepository;
+    @Mock
+    private NotificationSenderService notificationSenderService;
+    @Mock
+    private SmsConfigUtils smsConfigUtils;
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private RestTemplate restTemplate;
+    @Mock
+    private SmsMessage notification;
+
+    private SendMessageToSmsGatewayTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+
+        FineractProperties.FineractSmsGatewayProperties gatewayProperties = new FineractProperties.FineractSmsGatewayProperties();
+        gatewayProperties.setBatchSize(10);
+        gatewayProperties.setMaxConcurrentPerProvider(1);
+        FineractProperties.FineractSmsProperties smsProperties = new FineractProperties.FineractSmsProperties();
+        smsProperties.setGateway(gatewayProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSms(smsProperties);
+
+        when(sqlGenerator.limit(10)).thenReturn("LIMIT 0,10");
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(smsConfigUtils.getMessageGateWayRequestURI(eq("sms"), anyString()))
+                .thenReturn(Map.of("uri", URI.create("http://localhost/sms"), "entity", new HttpEntity<>("body")));
+
+        underTest = new SendMessageToSmsGatewayTasklet(smsMessageRepository, notificationSenderService, smsConfigUtils, taskExecutor,
+                jdbcTemplate, namedParameterJdbcTemplate, sqlGenerator, transactionTemplate, restTemplate, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPendingMessagesAreDispatchedPerProvider() throws Exception {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(SmsMessageStatusType.PENDING.getValue()), eq(0L)))
+                .thenAnswer(invocation -> mapRows(invocation, pending(1L, false, 1L), pending(2L, false, 2L), pending(3L, true, null)));
+        when(smsMessageRepository.findAllById(List.of(3L))).thenReturn(List.of(notification));
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.ACCEPTED));
+
+        RepeatStatus result = underTest.execute(null, null);
+
+        assertEquals(RepeatStatus.FINISHED, result);
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).update(anyString(), parameters.capture());
+        assertEquals(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue(), parameters.getValue().getValue("status"));
+        assertEquals(List.of(1L, 2L), parameters.getValue().getValue("ids"));
+        verify(restTemplate, times(2)).exchange(any(URI.class), eq(HttpMethod.POST), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        verify(notification).setStatusType(SmsMessageStatusType.WAITING_FOR_DELIVERY_REPORT.getValue());
+        verify(notificationSenderService).sendNotification(List.of(notification));
+    }
+
+    @Test
+    public void testRejectedGatewayRequestMarksMessagesFailed() throws Exception {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(SmsMessageStatusType.PENDING.getValue()), eq(0L)))
+                .thenAnswer(invocation -> mapRows(invocation, pending(1L, false, 1L)));
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(HttpStatus.BAD_GATEWAY));
+
+        underTest.execute(null, null);
+
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate, times(2)).update(anyString(), parameters.capture());
+        assertEquals(SmsMessageStatusType.FAILED.getValue(), parameters.getAllValues().get(1).getValue("status"));
+        assertEquals(List.of(1L), parameters.getAllValues().get(1).getValue("ids"));
+    }
+
+    private static ResultSet pending(Long id, boolean notification, Long providerId) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getString("mobile_no")).thenReturn("+1555000" + id);
+        when(resultSet.getString("message")).thenReturn("Message " + id);
+        when(resultSet.getBoolean("is_notification")).thenReturn(notification);
+        when(resultSet.findColumn("provider_id")).thenReturn(5);
+        when(resultSet.getLong(5)).thenReturn(providerId == null ? 0L : providerId);
+        when(resultSet.wasNull()).thenReturn(providerId == null);
+        return resultSet;
+    }
+
+    private static List<Object> mapRows(InvocationOnMock invocation, ResultSet... rows) throws SQLException {
+        RowMapper<?> rowMapper = invocation.getArgument(1);
+        List<Object> result = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            result.add(rowMapper.mapRow(rows[i], i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.infrastructure.core.service.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DefaultToApiJsonSerializerTest {
+
+    private static final Set<String> SUPPORTED_PARAMETERS = Set.of("id", "name", "status");
+
+    private GoogleGsonSerializerHelper helper;
+    private DefaultToApiJsonSerializer<Item> underTest;
+
+    @BeforeEach
+    public void setUp() {
+        helper = new GoogleGsonSerializerHelper();
+        underTest = new DefaultToApiJsonSerializer<>(new ExcludeNothingWithPrettyPrintingOffJsonSerializerGoogleGson(),
+                new ExcludeNothingWithPrettyPrintingOnJsonSerializerGoogleGson(), new CommandProcessingResultJsonSerializer(), helper);
+    }
+
+    @Test
+    public void testPartialResponseSerializerIsReusedForSameFields() {
+        assertSame(helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("id", "name")),
+                helper.createGsonBuilderForPartialResponseFiltering(false, Set.of("name", "id")));
+        assertSame(helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, true, Set.of("id")),
+                helper.createGsonBuilderWithParameterExclusionSerializationStrategy(SUPPORTED_PARAMETERS, true, Set.of("id")));
+    }
+
+    @Test
+    public void testStreamedPageMatchesSerializedPage() throws IOException {
+        Page<Item> page = new Page<>(List.of(new Item(1L, "first", "active"), new Item(2L, "second", "closed")), 2);
+
+        assertStreamedEquals(underTest.serialize(settings(false, Set.of()), page, SUPPORTED_PARAMETERS),
+                underTest.serializeToStream(settings(false, Set.of()), page, SUPPORTED_PARAMETERS));
+        assertStreamedEquals(underTest.serialize(settings(true, Set.of("id", "name")), page, SUPPORTED_PARAMETERS),
+                underTest.serializeToStream(settings(true, Set.of("id", "name")), page, SUPPORTED_PARAMETERS));
+    }
+
+    @Test
+    public void testStreamedCollectionMatchesSerializedCollection() throws IOException {
+        List<Item> items = List.of(new Item(1L, "first", "active"));
+
+        assertStreamedEquals(underTest.serialize(settings(false, Set.of("name")), items),
+                underTest.serializeToStream(settings(false, Set.of("name")), items));
+    }
+
+    private static void assertStreamedEquals(String expected, StreamingOutput streamingOutput) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        streamingOutput.write(output);
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static ApiRequestJsonSerializationSettings settings(boolean prettyPrint, Set<String> responseParameters) {
+        return ApiRequestJsonSerializationSettings.from(prettyPrint, responseParameters, false, false, false);
+    }
+
+    private record Item(Long id, String name, String status) {
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaginationHelperTest {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "l.id", "accountNo", "l.account_no");
+
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PaginationHelper underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(databaseTypeResolver.isMySQL()).thenReturn(false);
+        when(databaseTypeResolver.isPostgreSQL()).thenReturn(true);
+        underTest = new PaginationHelper(new DatabaseSpecificSQLGenerator(databaseTypeResolver), databaseTypeResolver);
+    }
+
+    @Test
+    public void testCursorRoundTripKeepsSortValueType() {
+        PageCursor cursor = new PageCursor("l.submittedon_date", java.sql.Date.valueOf(LocalDate.of(2023, 5, 1)), 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode(), "l.submittedon_date");
+
+        assertThat(decoded.getSortValue()).isEqualTo(LocalDate.of(2023, 5, 1));
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    public void testCursorOfDifferentOrderingIsRejected() {
+        String token = new PageCursor("l.account_no", "000000042", 42L).encode();
+
+        assertThrows(PlatformApiDataValidationException.class, () -> PageCursor.decode(token, "l.id"));
+        assertThrows(PlatformApiDataValidationException.class, () -> PageCursor.decode("not a cursor", "l.id"));
+    }
+
+    @Test
+    public void testFirstPageReturnsNextCursorWithoutCounting() throws Exception {
+        SearchParameters searchParameters = SearchParameters.forLoans(null, null, null, 2, "accountNo", null, null).withCursor("", null);
+        KeysetPageRequest pageRequest = KeysetPageRequest.from(searchParameters, "l.id", SORT_COLUMNS, "l.id");
+        mockRows(List.of("000000001", "000000002", "000000003"), List.of(1L, 2L, 3L));
+
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, "select l.id from m_loan l where l.loan_status_id = ?", new Object[] { 300 },
+                (rs, rowNum) -> rs.getLong("keyset_id"), pageRequest, true);
+
+        assertThat(page.getPageItems()).containsExactly(1L, 2L);
+        assertThat(page.getTotalFilteredRecords()).isNull();
+        PageCursor nextCursor = PageCursor.decode(page.getNextCursor(), "l.account_no");
+        assertThat(nextCursor.getSortValue()).isEqualTo("000000002");
+        assertThat(nextCursor.getId()).isEqualTo(2L);
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    public void testFollowingPageContinuesAfterCursor() throws Exception {
+        String cursor = new PageCursor("l.account_no", "000000002", 2L).encode();
+        SearchParameters searchParameters = SearchParameters.forLoans(null, null, null, 2, "accountNo", "DESC", null).withCursor(cursor,
+                "exact");
+        KeysetPageRequest pageRequest = KeysetPageRequest.from(searchParameters, "l.id", SORT_COLUMNS, "l.id");
+        ArgumentCaptor<String> sql = mockRows(List.of("000000001"), List.of(1L));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(3);
+
+        Page<Long> page = underTest.fetchPage(jdbcTemplate, "select l.id from m_loan l where l.loan_status_id = ?", new Object[] { 300 },
+                (rs, rowNum) -> rs.getLong("keyset_id"), pageRequest, true);
+
+        assertThat(sql.getValue()).contains("and (l.account_no < ? or (l.account_no = ? and l.id < ?))")
+                .contains("order by l.account_no desc, l.id desc").contains("LIMIT 3");
+        assertThat(page.getPageItems()).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotalFilteredRecords()).isEqualTo(3);
+    }
+
+    @Test
+    public void testUnsupportedOrderingIsRejectedForCursor() {
+        SearchParameters searchParameters = SearchParameters.forLoans(null, null, null, 2, "l.principal_amount", null, null)
+                .withCursor("", null);
+
+        assertThrows(PlatformApiDataValidationException.class, () -> KeysetPageRequest.from(searchParameters, "l.id", SORT_COLUMNS, "l.id"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<String> mockRows(List<String> sortValues, List<Long> ids) throws Exception {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<Object> rowMapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getObject("keyset_sort_value")).thenReturn(sortValues.get(i));
+                when(rs.getLong("keyset_id")).thenReturn(ids.get(i));
+                rows.add(rowMapper.mapRow(rs, i));
+            }
+            return rows;
+        });
+        return sql;
+    }
+}
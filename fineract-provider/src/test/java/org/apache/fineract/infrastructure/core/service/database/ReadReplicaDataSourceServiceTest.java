@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReadReplicaDataSourceServiceTest {
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+    @Mock
+    private DataSource primaryDataSource;
+    @Mock(extraInterfaces = AutoCloseable.class)
+    private DataSource replicaDataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData resultSetMetaData;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FineractPlatformTenantConnection tenantConnection = FineractPlatformTenantConnection.builder().connectionId(1L)
+            .schemaServer("primary").readOnlySchemaServer("replica").build();
+    private FineractProperties.FineractReadReplicaProperties readReplicaProperties;
+    private ReadReplicaDataSourceService underTest;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        readReplicaProperties = new FineractProperties.FineractReadReplicaProperties();
+        readReplicaProperties.setEnabled(true);
+        readReplicaProperties.setMaxLagSeconds(5);
+        readReplicaProperties.setLagCheckIntervalSeconds(10);
+        FineractProperties.FineractDatabaseProperties databaseProperties = new FineractProperties.FineractDatabaseProperties();
+        databaseProperties.setReadReplica(readReplicaProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setDatabase(databaseProperties);
+        fineractProperties.setMode(new FineractProperties.FineractModeProperties());
+
+        given(meterRegistryProvider.getIfAvailable(any())).willReturn(meterRegistry);
+        given(dataSourcePerTenantServiceFactory.createNewReplicaDataSourceFor(tenantConnection)).willReturn(replicaDataSource);
+        given(databaseTypeResolver.isPostgreSQL()).willReturn(true);
+        given(replicaDataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(anyString())).willReturn(resultSet);
+        given(resultSet.next()).willReturn(true);
+
+        underTest = new ReadReplicaDataSourceService(fineractProperties, dataSourcePerTenantServiceFactory, databaseTypeResolver,
+                meterRegistryProvider);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    public void testReadOnlyWorkIsRoutedToHealthyReplica() throws SQLException {
+        given(resultSet.getLong(1)).willReturn(1L);
+
+        assertSame(replicaDataSource, retrieveDataSourceAfterLagCheck());
+        assertTrue(meterRegistry.get("fineract.datasource.replica.routing").tag("target", "replica").counter().count() >= 1.0);
+        assertEquals(1.0, meterRegistry.get("fineract.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() throws SQLException {
+        given(resultSet.getLong(1)).willReturn(30L);
+
+        assertSame(primaryDataSource, retrieveDataSourceAfterLagCheck());
+        assertTrue(meterRegistry.get("fineract.datasource.replica.routing").tag("target", "primary").counter().count() >= 1.0);
+    }
+
+    @Test
+    public void testUnavailableReplicaFallsBackToPrimary() throws SQLException {
+        given(replicaDataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+
+        assertSame(primaryDataSource, retrieveDataSourceAfterLagCheck());
+        assertEquals(-1.0, meterRegistry.get("fineract.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    public void testLegacyReplicaStatusStatementIsUsedWhenNewOneIsNotSupported() throws SQLException {
+        given(databaseTypeResolver.isPostgreSQL()).willReturn(false);
+        given(statement.executeQuery("SHOW REPLICA STATUS"))
+                .willThrow(new SQLException("You have an error in your SQL syntax", "42000", 1064));
+        given(statement.executeQuery("SHOW SLAVE STATUS")).willReturn(resultSet);
+        given(resultSet.getMetaData()).willReturn(resultSetMetaData);
+        given(resultSetMetaData.getColumnCount()).willReturn(1);
+        given(resultSetMetaData.getColumnLabel(1)).willReturn("Seconds_Behind_Master");
+        given(resultSet.getLong(1)).willReturn(2L);
+
+        assertSame(replicaDataSource, retrieveDataSourceAfterLagCheck());
+    }
+
+    @Test
+    public void testReplicaPoolsAreClosedOnShutdown() throws Exception {
+        underTest.retrieveDataSource(tenantConnection, primaryDataSource);
+
+        underTest.close();
+
+        verify((AutoCloseable) replicaDataSource).close();
+    }
+
+    private DataSource retrieveDataSourceAfterLagCheck() {
+        // the first call creates the replica pool, its lag is then sampled in the background
+        underTest.retrieveDataSource(tenantConnection, primaryDataSource);
+        underTest.refreshReplicationLag();
+        return underTest.retrieveDataSource(tenantConnection, primaryDataSource);
+    }
+
+    @Test
+    public void testPrimaryIsUsedWhenReplicaRoutingIsDisabled() {
+        readReplicaProperties.setEnabled(false);
+
+        assertSame(primaryDataSource, underTest.retrieveDataSource(tenantConnection, primaryDataSource));
+        verifyNoInteractions(dataSourcePerTenantServiceFactory);
+    }
+}
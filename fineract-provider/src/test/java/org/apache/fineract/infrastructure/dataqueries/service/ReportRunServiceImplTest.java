@@ -0,0 +1,268 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.data.ReportRunData;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRun;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRunRepository;
+import org.apache.fineract.infrastructure.dataqueries.domain.ReportRunStatus;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepository;
+import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryFactory;
+import org.apache.fineract.infrastructure.documentmanagement.domain.StorageType;
+import org.apache.fineract.infrastructure.report.provider.ReportingProcessServiceProvider;
+import org.apache.fineract.infrastructure.report.service.ReportingProcessService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReportRunServiceImplTest {
+
+    private static final String REPORT_NAME = "Client Listing";
+
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private ReadReportingService readReportingService;
+    @Mock
+    private ReportingProcessServiceProvider reportingProcessServiceProvider;
+    @Mock
+    private ReportingProcessService reportingProcessService;
+    @Mock
+    private ReportRunRepository reportRunRepository;
+    @Mock
+    private ContentRepositoryFactory contentRepositoryFactory;
+    @Mock
+    private ContentRepository contentRepository;
+    @Mock
+    private ThreadPoolTaskExecutor reportRunTaskExecutor;
+    @Mock
+    private AppUser appUser;
+
+    private FineractProperties fineractProperties;
+    private ReportRunServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+
+        FineractProperties.FineractReportAsyncProperties asyncProperties = new FineractProperties.FineractReportAsyncProperties();
+        asyncProperties.setMaxConcurrentRunsPerTenant(1);
+        asyncProperties.setResultTtlMinutes(30);
+        asyncProperties.setRunTimeoutMinutes(60);
+        FineractProperties.FineractReportProperties reportProperties = new FineractProperties.FineractReportProperties();
+        reportProperties.setAsync(asyncProperties);
+        fineractProperties = new FineractProperties();
+        fineractProperties.setReport(reportProperties);
+
+        when(context.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(1L);
+        when(readReportingService.getReportType(anyString(), anyBoolean(), anyBoolean())).thenReturn("Table");
+        when(reportingProcessServiceProvider.findReportingProcessService("Table")).thenReturn(reportingProcessService);
+        when(reportRunRepository.saveAndFlush(any(ReportRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(contentRepositoryFactory.getRepository()).thenReturn(contentRepository);
+        when(contentRepository.getStorageType()).thenReturn(StorageType.FILE_SYSTEM);
+
+        underTest = new ReportRunServiceImpl(context, readReportingService, reportingProcessServiceProvider, reportRunRepository,
+                contentRepositoryFactory, fineractProperties, reportRunTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testSubmittedReportIsSpooledIntoContentRepository() {
+        AtomicReference<Runnable> submittedTask = new AtomicReference<>();
+        doAnswer(invocation -> {
+            submittedTask.set(invocation.getArgument(0));
+            return null;
+        }).when(reportRunTaskExecutor).execute(any(Runnable.class));
+        AtomicReference<String> spooledContent = new AtomicReference<>();
+        when(contentRepository.saveReportResult(any(InputStream.class), anyLong(), any(), eq("Client_Listing.csv")))
+                .thenAnswer(invocation -> {
+                    try (InputStream in = invocation.getArgument(0)) {
+                        spooledContent.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return "/tmp/default/reports/runs/1/Client_Listing.csv";
+                });
+        when(reportingProcessService.processRequest(eq(REPORT_NAME), any()))
+                .thenReturn(Response.ok("id,name\n1,John\n").type("text/csv").build());
+
+        ReportRunData submitted = underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+        assertEquals(ReportRunStatus.QUEUED.name(), submitted.getStatus());
+
+        ReportRun reportRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        when(reportRunRepository.findById(any())).thenReturn(Optional.of(reportRun));
+        submittedTask.get().run();
+
+        assertEquals(ReportRunStatus.COMPLETED, reportRun.getStatus());
+        assertEquals("Client_Listing.csv", reportRun.getFileName());
+        assertEquals("text/csv", reportRun.getContentType());
+        assertEquals("id,name\n1,John\n", spooledContent.get());
+        assertTrue(reportRun.getExpiresAt().isAfter(reportRun.getCompletedAt()));
+    }
+
+    @Test
+    public void testCompletedRunWithSameParametersIsReused() {
+        ReportRun completedRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        completedRun.markCompleted("Client_Listing.csv", "text/csv", "location", StorageType.FILE_SYSTEM.getValue(), 10L, 30);
+        when(reportRunRepository.findFirstByReportNameAndParametersHashAndSubmittedByAndStatusAndExpiresAtAfterOrderByIdDesc(
+                eq(REPORT_NAME), anyString(), anyLong(), eq(ReportRunStatus.COMPLETED), any())).thenReturn(Optional.of(completedRun));
+
+        ReportRunData result = underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+
+        assertTrue(result.isReused());
+        verify(reportRunTaskExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testInFlightRunWithSameParametersIsShared() {
+        ReportRun runningRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        runningRun.markRunning();
+        when(reportRunRepository.findFirstByReportNameAndParametersHashAndSubmittedByAndStatusInAndSubmittedAtAfterOrderByIdDesc(
+                eq(REPORT_NAME), anyString(), anyLong(), any(), any())).thenReturn(Optional.of(runningRun));
+
+        ReportRunData result = underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+
+        assertTrue(result.isReused());
+        assertEquals(ReportRunStatus.RUNNING.name(), result.getStatus());
+        verify(reportRunTaskExecutor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testFailedRunExpires() {
+        AtomicReference<Runnable> submittedTask = new AtomicReference<>();
+        doAnswer(invocation -> {
+            submittedTask.set(invocation.getArgument(0));
+            return null;
+        }).when(reportRunTaskExecutor).execute(any(Runnable.class));
+        when(reportingProcessService.processRequest(eq(REPORT_NAME), any())).thenThrow(new IllegalStateException("boom"));
+
+        underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+        ReportRun reportRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        when(reportRunRepository.findById(any())).thenReturn(Optional.of(reportRun));
+        submittedTask.get().run();
+
+        assertEquals(ReportRunStatus.FAILED, reportRun.getStatus());
+        assertEquals(reportRun.getCompletedAt().plusMinutes(30), reportRun.getExpiresAt());
+    }
+
+    @Test
+    public void testAbandonedRunIsFailedAndExpiredByThePurge() {
+        ReportRun abandonedRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        abandonedRun.markRunning();
+        ReflectionTestUtils.setField(abandonedRun, "startedAt", DateUtils.getAuditOffsetDateTime().minusMinutes(90));
+        when(reportRunRepository.findStale(eq(List.of(ReportRunStatus.QUEUED, ReportRunStatus.RUNNING)), any(), any()))
+                .thenReturn(List.of(abandonedRun));
+
+        underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+
+        assertEquals(ReportRunStatus.FAILED, abandonedRun.getStatus());
+        assertEquals(abandonedRun.getCompletedAt().plusMinutes(30), abandonedRun.getExpiresAt());
+        verify(reportRunRepository).saveAndFlush(abandonedRun);
+    }
+
+    @Test
+    public void testPolledRunLeftQueuedPastTheTimeoutIsFailed() {
+        ReportRun queuedRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        ReflectionTestUtils.setField(queuedRun, "submittedAt", DateUtils.getAuditOffsetDateTime().minusMinutes(90));
+        ReportRun recentRun = new ReportRun(REPORT_NAME, "hash", 1L);
+        when(reportRunRepository.findById(1L)).thenReturn(Optional.of(queuedRun));
+        when(reportRunRepository.findById(2L)).thenReturn(Optional.of(recentRun));
+
+        assertEquals(ReportRunStatus.FAILED.name(), underTest.retrieveReportRun(1L).getStatus());
+        assertEquals(ReportRunStatus.QUEUED.name(), underTest.retrieveReportRun(2L).getStatus());
+    }
+
+    @Test
+    public void testTenantConcurrencyLimitIsEnforced() {
+        underTest.submitReportRun(REPORT_NAME, queryParams("1"), false);
+
+        assertThrows(PlatformServiceUnavailableException.class, () -> underTest.submitReportRun(REPORT_NAME, queryParams("2"), false));
+    }
+
+    @Test
+    public void testParameterHashDependsOnParameterValuesOnly() {
+        MultivaluedMap<String, String> first = new MultivaluedStringMap();
+        first.putSingle("R_officeId", "1");
+        first.putSingle("exportCSV", "true");
+        MultivaluedMap<String, String> second = new MultivaluedStringMap();
+        second.putSingle("exportCSV", "true");
+        second.putSingle("R_officeId", "1");
+
+        assertEquals(ReportRunServiceImpl.hashParameters(REPORT_NAME, first), ReportRunServiceImpl.hashParameters(REPORT_NAME, second));
+        assertNotEquals(ReportRunServiceImpl.hashParameters(REPORT_NAME, first),
+                ReportRunServiceImpl.hashParameters(REPORT_NAME, queryParams("2")));
+    }
+
+    private MultivaluedMap<String, String> queryParams(String officeId) {
+        MultivaluedMap<String, String> queryParams = new MultivaluedStringMap();
+        queryParams.put("R_officeId", List.of(officeId));
+        queryParams.putSingle("exportCSV", "true");
+        return queryParams;
+    }
+}
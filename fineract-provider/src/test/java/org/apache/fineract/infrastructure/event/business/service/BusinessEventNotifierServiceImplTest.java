@@ -37,6 +37,7 @@ import org.apache.fineract.infrastructure.event.external.service.ExternalEventSe
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -198,6 +199,37 @@ class BusinessEventNotifierServiceImplTest {
         verifyNoInteractions(externalEventService);
     }
 
+    @Test
+    public void testNotifyPostBusinessEventShouldNotifyListenersInRegistrationOrder() {
+        // given
+        configureExternalEventsProperties(false);
+
+        MockBusinessEvent event = new MockBusinessEvent();
+        BusinessEventListener<MockBusinessEvent> firstListener = mockListener();
+        BusinessEventListener<MockBusinessEvent> secondListener = mockListener();
+        BusinessEventListener<MockBusinessEvent> preListener = mockListener();
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, firstListener);
+        underTest.addPreBusinessEventListener(MockBusinessEvent.class, preListener);
+        underTest.addPostBusinessEventListener(MockBusinessEvent.class, secondListener);
+        // when
+        underTest.notifyPostBusinessEvent(event);
+        // then
+        InOrder inOrder = Mockito.inOrder(firstListener, secondListener);
+        inOrder.verify(firstListener).onBusinessEvent(event);
+        inOrder.verify(secondListener).onBusinessEvent(event);
+        verify(preListener, never()).onBusinessEvent(any());
+    }
+
+    @Test
+    public void testNotifyPostBusinessEventWithoutListenersShouldNotCheckTheExternalConfigurationWhenPostingIsDisabled() {
+        // given
+        configureExternalEventsProperties(false);
+        // when
+        underTest.notifyPostBusinessEvent(new MockBusinessEvent());
+        // then
+        verifyNoInteractions(externalEventConfigurationRepository, externalEventService);
+    }
+
     private void configureExternalEventsProperties(boolean isExternalEventsEnabled) {
         FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDelivery;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryStatus;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class HookDeliveryServiceImplTest {
+
+    @Mock
+    private HookDeliveryRepository hookDeliveryRepository;
+    @Mock
+    private HookRepository hookRepository;
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+    @Mock
+    private HookProcessor hookProcessor;
+    @Mock
+    private ThreadPoolTaskExecutor hookDeliveryTaskExecutor;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+    @Mock
+    private Hook hook;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HookDeliveryServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+
+        FineractProperties.FineractHookDeliveryProperties deliveryProperties = new FineractProperties.FineractHookDeliveryProperties();
+        deliveryProperties.setMaxConcurrentPerHook(2);
+        deliveryProperties.setMaxAttempts(3);
+        deliveryProperties.setInitialBackoffSeconds(30);
+        deliveryProperties.setMaxBackoffSeconds(3600);
+        deliveryProperties.setBatchSize(10);
+        deliveryProperties.setRetentionDays(30);
+        FineractProperties.FineractHookProperties hookProperties = new FineractProperties.FineractHookProperties();
+        hookProperties.setDelivery(deliveryProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setHook(hookProperties);
+
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        when(hook.getId()).thenReturn(7L);
+        when(hookRepository.findById(7L)).thenReturn(Optional.of(hook));
+        when(hookProcessorProvider.getProcessor(hook)).thenReturn(hookProcessor);
+        when(hookDeliveryRepository.saveAndFlush(any(HookDelivery.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        underTest = new HookDeliveryServiceImpl(hookDeliveryRepository, hookRepository, hookProcessorProvider, fineractProperties,
+                hookDeliveryTaskExecutor, meterRegistryProvider);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testSuccessfulDeliveryIsMarkedDelivered() throws Exception {
+        HookDelivery delivery = new HookDelivery(7L, "CLIENT", "CREATE", "{}", null);
+        when(hookDeliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+
+        underTest.deliver(1L);
+
+        verify(hookProcessor).process(eq(hook), eq("{}"), eq("CLIENT"), eq("CREATE"), any());
+        assertEquals(HookDeliveryStatus.DELIVERED, delivery.getStatus());
+        assertEquals(1, delivery.getAttempts());
+        assertEquals(1L, meterRegistry.get(HookDeliveryServiceImpl.METRIC_NAME).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    public void testFailedDeliveryIsRetriedUntilMaxAttempts() throws Exception {
+        HookDelivery delivery = new HookDelivery(7L, "CLIENT", "CREATE", "{}", null);
+        when(hookDeliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+        doThrow(new IllegalStateException("connection refused")).when(hookProcessor).process(any(), any(), any(), any(), any());
+
+        underTest.deliver(1L);
+        assertEquals(HookDeliveryStatus.PENDING, delivery.getStatus());
+        assertEquals("connection refused", delivery.getLastError());
+        assertTrue(delivery.getNextAttemptAt().isAfter(delivery.getCreatedAt()));
+
+        underTest.deliver(1L);
+        underTest.deliver(1L);
+        assertEquals(HookDeliveryStatus.FAILED, delivery.getStatus());
+        assertEquals(3, delivery.getAttempts());
+    }
+
+    @Test
+    public void testRejectedDeliveryIsLeftForTheJob() {
+        HookDelivery delivery = new HookDelivery(7L, "CLIENT", "CREATE", "{}", null);
+        when(hookDeliveryRepository.saveAll(anyList())).thenReturn(List.of(delivery));
+        doThrow(new TaskRejectedException("full")).when(hookDeliveryTaskExecutor).execute(any(Runnable.class));
+
+        underTest.enqueue(List.of(hook), "CLIENT", "CREATE", "{}");
+
+        assertEquals(HookDeliveryStatus.PENDING, delivery.getStatus());
+        assertEquals(0, delivery.getAttempts());
+    }
+
+    @Test
+    public void testDeliveryIsSubmittedOnceThePublishingTransactionCommits() {
+        HookDelivery delivery = new HookDelivery(7L, "CLIENT", "CREATE", "{}", null);
+        when(hookDeliveryRepository.saveAll(anyList())).thenReturn(List.of(delivery));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.enqueue(List.of(hook), "CLIENT", "CREATE", "{}");
+            verify(hookDeliveryTaskExecutor, never()).execute(any(Runnable.class));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(hookDeliveryTaskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void testDeliveryClaimedByAnotherNodeIsNotSent() throws Exception {
+        HookDelivery delivery = new HookDelivery(7L, "CLIENT", "CREATE", "{}", null);
+        when(hookDeliveryRepository.findById(1L)).thenReturn(Optional.of(delivery));
+        when(hookDeliveryRepository.saveAndFlush(delivery)).thenThrow(new OptimisticLockingFailureException("claimed"));
+
+        underTest.deliver(1L);
+
+        verify(hookProcessor, never()).process(any(), any(), any(), any(), any());
+        assertEquals(0, delivery.getAttempts());
+    }
+
+    @Test
+    public void testFinishedDeliveriesArePurgedAfterTheRetention() {
+        when(hookDeliveryRepository.deleteByStatusInAndCreatedAtBefore(anyList(), any())).thenReturn(5);
+
+        assertEquals(5, underTest.purgeFinished());
+        verify(hookDeliveryRepository)
+                .deleteByStatusInAndCreatedAtBefore(eq(List.of(HookDeliveryStatus.DELIVERED, HookDeliveryStatus.FAILED)), any());
+    }
+
+    @Test
+    public void testBackoffGrowsExponentiallyUpToTheMaximum() {
+        assertEquals(30L, HookDeliveryServiceImpl.backoffSeconds(1, 30, 3600));
+        assertEquals(60L, HookDeliveryServiceImpl.backoffSeconds(2, 30, 3600));
+        assertEquals(240L, HookDeliveryServiceImpl.backoffSeconds(4, 30, 3600));
+        assertEquals(3600L, HookDeliveryServiceImpl.backoffSeconds(12, 30, 3600));
+    }
+}
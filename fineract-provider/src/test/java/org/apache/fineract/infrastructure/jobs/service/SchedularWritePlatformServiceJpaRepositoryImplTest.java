@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.data.JobDetailDataValidator;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetailRepository;
+import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobRunHistoryRepository;
+import org.apache.fineract.infrastructure.jobs.domain.SchedulerDetail;
+import org.apache.fineract.infrastructure.jobs.domain.SchedulerDetailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SchedularWritePlatformServiceJpaRepositoryImplTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Mock
+    private ScheduledJobDetailRepository scheduledJobDetailRepository;
+    @Mock
+    private ScheduledJobRunHistoryRepository scheduledJobRunHistoryRepository;
+    @Mock
+    private SchedulerDetailRepository schedulerDetailRepository;
+    @Mock
+    private JobDetailDataValidator dataValidator;
+
+    private JobLeaseService jobLeaseService;
+    private SchedularWritePlatformServiceJpaRepositoryImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+
+        FineractProperties.FineractJobClusterProperties clusterProperties = new FineractProperties.FineractJobClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setLeaseTimeoutSeconds(120);
+        clusterProperties.setMaxConcurrentJobsPerNode(1);
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setCluster(clusterProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setJob(jobProperties);
+        jobLeaseService = new JobLeaseService(fineractProperties);
+
+        when(schedulerDetailRepository.findAll()).thenReturn(List.of(new SchedulerDetail()));
+        when(scheduledJobDetailRepository.save(any(ScheduledJobDetail.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        underTest = new SchedularWritePlatformServiceJpaRepositoryImpl(scheduledJobDetailRepository, scheduledJobRunHistoryRepository,
+                dataValidator, schedulerDetailRepository, jobLeaseService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testClusteredJobIsLeasedToThisNode() {
+        ScheduledJobDetail job = job("Add Accrual Transactions");
+
+        assertFalse(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertTrue(job.isCurrentlyRunning());
+        assertEquals(jobLeaseService.getLeaseOwner(), job.getLeaseOwner());
+        assertEquals(1, jobLeaseService.countHeldLeases());
+    }
+
+    @Test
+    public void testJobLeasedByLiveNodeIsVetoed() {
+        ScheduledJobDetail job = job("Add Accrual Transactions").setCurrentlyRunning(true).setLeaseOwner(OTHER_NODE)
+                .setLeaseHeartbeat(new Date());
+
+        assertTrue(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertEquals(OTHER_NODE, job.getLeaseOwner());
+    }
+
+    @Test
+    public void testExpiredLeaseIsTakenOver() {
+        ScheduledJobDetail job = job("Add Accrual Transactions").setCurrentlyRunning(true).setLeaseOwner(OTHER_NODE)
+                .setLeaseHeartbeat(minutesAgo(10));
+
+        assertFalse(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertTrue(job.isCurrentlyRunning());
+        assertEquals(jobLeaseService.getLeaseOwner(), job.getLeaseOwner());
+    }
+
+    @Test
+    public void testJobIsLeftToOtherNodesWhenNodeIsAtCapacity() {
+        ScheduledJobDetail first = job("Add Accrual Transactions");
+        ScheduledJobDetail second = job("Update Loan Arrears Ageing");
+
+        assertFalse(underTest.processJobDetailForExecution(first.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+        assertTrue(underTest.processJobDetailForExecution(second.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertFalse(second.isCurrentlyRunning());
+        assertNull(second.getLeaseOwner());
+        assertTrue(second.isTriggerMisfired());
+
+        assertTrue(jobLeaseService.release(first));
+        assertFalse(underTest.processJobDetailForExecution(second.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+        assertFalse(second.isTriggerMisfired());
+    }
+
+    @Test
+    public void testStaleTriggerOfDeactivatedJobIsVetoed() {
+        ScheduledJobDetail job = job("Add Accrual Transactions").setActiveSchedular(false).setNextRunTime(null);
+
+        assertTrue(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertFalse(job.isCurrentlyRunning());
+        assertEquals(0, jobLeaseService.countHeldLeases());
+    }
+
+    @Test
+    public void testActiveJobWithoutNextRunTimeIsExecuted() {
+        ScheduledJobDetail job = job("Add Accrual Transactions").setNextRunTime(null);
+
+        assertFalse(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertTrue(job.isCurrentlyRunning());
+    }
+
+    @Test
+    public void testLeaseIsHeldOnlyOnceTheTransactionCommits() {
+        ScheduledJobDetail committed = job("Add Accrual Transactions");
+        ScheduledJobDetail rolledBack = job("Update Loan Arrears Ageing");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.processJobDetailForExecution(rolledBack.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON);
+            assertEquals(0, jobLeaseService.countHeldLeases());
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.initSynchronization();
+
+            underTest.processJobDetailForExecution(committed.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON);
+            assertEquals(0, jobLeaseService.countHeldLeases());
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Set.of(committed.getJobKey()), jobLeaseService.getHeldLeases("default"));
+    }
+
+    @Test
+    public void testLoanCobIsNotLeased() {
+        ScheduledJobDetail job = job(JobName.LOAN_COB.toString());
+
+        assertFalse(underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON));
+
+        assertTrue(job.isCurrentlyRunning());
+        assertNull(job.getLeaseOwner());
+        assertEquals(0, jobLeaseService.countHeldLeases());
+    }
+
+    @Test
+    public void testOnlyExpiredLeasesAreReleased() {
+        ScheduledJobDetail expired = job("Add Accrual Transactions").setCurrentlyRunning(true).setLeaseOwner(OTHER_NODE)
+                .setLeaseHeartbeat(minutesAgo(10));
+        ScheduledJobDetail renewed = job("Update Loan Arrears Ageing").setCurrentlyRunning(true).setLeaseOwner(OTHER_NODE)
+                .setLeaseHeartbeat(new Date());
+        when(scheduledJobDetailRepository.findJobKeysWithExpiredLease(any(Date.class)))
+                .thenReturn(List.of(expired.getJobKey(), renewed.getJobKey()));
+
+        List<ScheduledJobDetail> released = underTest.releaseExpiredJobLeases(new Date());
+
+        assertEquals(List.of(expired), released);
+        assertFalse(expired.isCurrentlyRunning());
+        assertNull(expired.getLeaseOwner());
+        assertTrue(renewed.isCurrentlyRunning());
+    }
+
+    @Test
+    public void testLeaseTakenOverByAnotherNodeKeepsRunningFlag() {
+        ScheduledJobDetail job = job("Add Accrual Transactions");
+        underTest.processJobDetailForExecution(job.getJobKey(), SchedulerServiceConstants.TRIGGER_TYPE_CRON);
+        job.setLeaseOwner(OTHER_NODE).setLeaseHeartbeat(new Date());
+
+        assertFalse(jobLeaseService.release(job));
+        assertEquals(0, jobLeaseService.countHeldLeases());
+    }
+
+    private ScheduledJobDetail job(String jobName) {
+        ScheduledJobDetail job = new ScheduledJobDetail().setJobName(jobName).setJobKey(jobName + "JobDetail1 _ DEFAULT")
+                .setNodeId(1).setActiveSchedular(true).setNextRunTime(minutesAgo(1));
+        when(scheduledJobDetailRepository.findByJobKeyWithLock(job.getJobKey())).thenReturn(job);
+        return job;
+    }
+
+    private static Date minutesAgo(long minutes) {
+        return new Date(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minutes));
+    }
+}
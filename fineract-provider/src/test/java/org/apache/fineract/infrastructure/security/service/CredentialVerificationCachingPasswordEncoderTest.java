@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+public class CredentialVerificationCachingPasswordEncoderTest {
+
+    private static final String ENCODED_PASSWORD = "{bcrypt}$2a$10$hash";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private final ConcurrentMapCache cache = new ConcurrentMapCache("credentialVerifications");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CredentialVerificationCachingPasswordEncoder underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        underTest = new CredentialVerificationCachingPasswordEncoder(delegate, cache, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testSuccessfulVerificationIsCached() {
+        when(delegate.matches("password", ENCODED_PASSWORD)).thenReturn(true);
+
+        assertTrue(underTest.matches("password", ENCODED_PASSWORD));
+        assertTrue(underTest.matches("password", ENCODED_PASSWORD));
+
+        verify(delegate, times(1)).matches(any(), anyString());
+        assertEquals(1.0, meterRegistry.get("fineract.security.credential.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("fineract.security.credential.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    public void testFailedVerificationIsNotCached() {
+        when(delegate.matches("wrong", ENCODED_PASSWORD)).thenReturn(false);
+
+        assertFalse(underTest.matches("wrong", ENCODED_PASSWORD));
+        assertFalse(underTest.matches("wrong", ENCODED_PASSWORD));
+
+        verify(delegate, times(2)).matches("wrong", ENCODED_PASSWORD);
+    }
+
+    @Test
+    public void testChangedPasswordHashIsVerifiedAgain() {
+        when(delegate.matches("password", ENCODED_PASSWORD)).thenReturn(true);
+        when(delegate.matches("password", "{bcrypt}$2a$10$newHash")).thenReturn(false);
+
+        assertTrue(underTest.matches("password", ENCODED_PASSWORD));
+        assertFalse(underTest.matches("password", "{bcrypt}$2a$10$newHash"));
+    }
+
+    @Test
+    public void testVerificationIsCachedPerTenant() {
+        when(delegate.matches("password", ENCODED_PASSWORD)).thenReturn(true);
+        assertTrue(underTest.matches("password", ENCODED_PASSWORD));
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+        assertTrue(underTest.matches("password", ENCODED_PASSWORD));
+
+        verify(delegate, times(2)).matches("password", ENCODED_PASSWORD);
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.account.jobs.executestandinginstructions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformServiceUnavailableException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.account.PortfolioAccountType;
+import org.apache.fineract.portfolio.account.data.AccountTransferDTO;
+import org.apache.fineract.portfolio.account.data.PortfolioAccountData;
+import org.apache.fineract.portfolio.account.data.StandingInstructionData;
+import org.apache.fineract.portfolio.account.domain.AccountTransferRecurrenceType;
+import org.apache.fineract.portfolio.account.domain.AccountTransferType;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionPriority;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionStatus;
+import org.apache.fineract.portfolio.account.domain.StandingInstructionType;
+import org.apache.fineract.portfolio.account.service.AccountTransferEnumerations;
+import org.apache.fineract.portfolio.account.service.AccountTransfersWritePlatformService;
+import org.apache.fineract.portfolio.account.service.StandingInstructionReadPlatformService;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.common.service.CommonEnumerations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+public class ExecuteStandingInstructionsTaskletTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+    private static final Integer ACTIVE = StandingInstructionStatus.ACTIVE.getValue();
+    private static final String UPDATE_LAST_RUN_DATE_SQL = "UPDATE m_account_transfer_standing_instructions SET last_run_date = ? "
+            + "where id = ?";
+    private static final String HISTORY_SQL = "INSERT INTO m_account_transfer_standing_instructions_history (standing_instruction_id, "
+            + "status, amount, execution_time, error_log) VALUES (?, ?, ?, ?, ?)";
+
+    @Mock
+    private StandingInstructionReadPlatformService standingInstructionReadPlatformService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private AccountTransfersWritePlatformService accountTransfersWritePlatformService;
+    @Mock
+    private ThreadPoolTaskExecutor standingInstructionTaskExecutor;
+
+    private final Map<String, List<Object[]>> writtenRows = new HashMap<>();
+    private ExecuteStandingInstructionsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+
+        FineractProperties.FineractStandingInstructionProperties standingInstructionProperties = //
+                new FineractProperties.FineractStandingInstructionProperties();
+        standingInstructionProperties.setChunkSize(2);
+        standingInstructionProperties.setThreadPoolSize(1);
+        standingInstructionProperties.setBatchSize(100);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setStandingInstruction(standingInstructionProperties);
+
+        // the tasklet reuses its batch lists, so the written rows are copied
+        lenient().doAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            writtenRows.computeIfAbsent(invocation.getArgument(0), sql -> new ArrayList<>()).addAll(rows);
+            return new int[rows.size()];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        underTest = new ExecuteStandingInstructionsTasklet(standingInstructionReadPlatformService, jdbcTemplate, sqlGenerator,
+                accountTransfersWritePlatformService, fineractProperties, standingInstructionTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testDueInstructionsAreReadByKeysetAndExecutedInPriorityOrderPerAccount() throws Exception {
+        StandingInstructionData high = instruction(1L, 10L, 20L, StandingInstructionPriority.HIGH, "100", 1);
+        StandingInstructionData low = instruction(2L, 10L, 30L, StandingInstructionPriority.LOW, "200", 1);
+        StandingInstructionData notDue = instruction(3L, 40L, 50L, StandingInstructionPriority.URGENT, "300", 2);
+        when(standingInstructionReadPlatformService.retrieveAll(ACTIVE, 0L, 2)).thenReturn(List.of(high, low));
+        when(standingInstructionReadPlatformService.retrieveAll(ACTIVE, 2L, 2)).thenReturn(List.of(notDue));
+        when(sqlGenerator.escape("status")).thenReturn("status");
+
+        underTest.execute(null, null);
+
+        ArgumentCaptor<AccountTransferDTO> transfers = ArgumentCaptor.forClass(AccountTransferDTO.class);
+        verify(accountTransfersWritePlatformService, times(2)).transferFunds(transfers.capture());
+        assertEquals(new BigDecimal("200"), transfers.getAllValues().get(0).getTransactionAmount());
+        assertEquals(new BigDecimal("100"), transfers.getAllValues().get(1).getTransactionAmount());
+
+        List<Object[]> historyRows = writtenRows.get(HISTORY_SQL);
+        assertEquals(2, historyRows.size());
+        assertEquals(2L, historyRows.get(0)[0]);
+        assertEquals("success", historyRows.get(0)[1]);
+        assertEquals(1L, historyRows.get(1)[0]);
+        assertEquals("success", historyRows.get(1)[1]);
+        assertEquals(2, writtenRows.get(UPDATE_LAST_RUN_DATE_SQL).size());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    public void testFailedTransferIsRecordedWithoutLastRunDate() {
+        StandingInstructionData instruction = instruction(1L, 10L, 20L, StandingInstructionPriority.HIGH, "100", 1);
+        when(standingInstructionReadPlatformService.retrieveAll(ACTIVE, 0L, 2)).thenReturn(List.of(instruction));
+        when(sqlGenerator.escape("status")).thenReturn("status");
+        when(accountTransfersWritePlatformService.transferFunds(any(AccountTransferDTO.class)))
+                .thenThrow(new PlatformServiceUnavailableException("error.msg.unavailable", "Unavailable"));
+
+        assertThrows(JobExecutionException.class, () -> underTest.execute(null, null));
+
+        List<Object[]> historyRows = writtenRows.get(HISTORY_SQL);
+        assertEquals(1, historyRows.size());
+        assertEquals(1L, historyRows.get(0)[0]);
+        assertEquals("failed", historyRows.get(0)[1]);
+        assertFalse(writtenRows.containsKey(UPDATE_LAST_RUN_DATE_SQL));
+    }
+
+    private StandingInstructionData instruction(Long id, Long fromSavingsId, Long toSavingsId, StandingInstructionPriority priority,
+            String amount, int recurrenceInterval) {
+        return StandingInstructionData.instance(id, id, "SI " + id, null, null, null, null,
+                AccountTransferEnumerations.accountType(PortfolioAccountType.SAVINGS), PortfolioAccountData.lookup(fromSavingsId, null),
+                AccountTransferEnumerations.accountType(PortfolioAccountType.SAVINGS), PortfolioAccountData.lookup(toSavingsId, null),
+                AccountTransferEnumerations.transferType(AccountTransferType.ACCOUNT_TRANSFER),
+                AccountTransferEnumerations.standingInstructionPriority(priority),
+                AccountTransferEnumerations.standingInstructionType(StandingInstructionType.FIXED),
+                AccountTransferEnumerations.standingInstructionStatus(StandingInstructionStatus.ACTIVE), new BigDecimal(amount),
+                BUSINESS_DATE.minusDays(1), null, AccountTransferEnumerations.recurrenceType(AccountTransferRecurrenceType.PERIODIC),
+                CommonEnumerations.termFrequencyType(PeriodFrequencyType.DAYS, "recurrence"), recurrenceInterval, null);
+    }
+}
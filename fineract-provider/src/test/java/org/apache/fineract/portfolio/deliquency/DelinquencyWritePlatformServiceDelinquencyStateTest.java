@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.deliquency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.portfolio.delinquency.domain.DelinquencyBucket;
+import org.apache.fineract.portfolio.delinquency.domain.DelinquencyRange;
+import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyState;
+import org.apache.fineract.portfolio.delinquency.domain.LoanDelinquencyStateRepository;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyWritePlatformServiceImpl;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleDelinquencyData;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanSummary;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class DelinquencyWritePlatformServiceDelinquencyStateTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private LoanDelinquencyStateRepository loanDelinquencyStateRepository;
+    @Mock
+    private Loan loan;
+    @Mock
+    private LoanProduct loanProduct;
+    @Mock
+    private LoanSummary loanSummary;
+    @Mock
+    private LoanRepaymentScheduleInstallment paidInstallment;
+    @Mock
+    private LoanRepaymentScheduleInstallment overdueInstallment;
+    @Mock
+    private Money overdueAmount;
+
+    @InjectMocks
+    private DelinquencyWritePlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+
+        DelinquencyRange range1 = DelinquencyRange.instance("Range1", 1, 3);
+        DelinquencyRange range2 = DelinquencyRange.instance("Range4", 4, 10);
+        DelinquencyRange range3 = DelinquencyRange.instance("Range11", 11, null);
+        DelinquencyBucket delinquencyBucket = new DelinquencyBucket("test Bucket");
+        delinquencyBucket.setId(7L);
+        delinquencyBucket.setRanges(List.of(range1, range2, range3));
+
+        lenient().when(loan.getId()).thenReturn(1L);
+        lenient().when(loan.hasDelinquencyBucket()).thenReturn(true);
+        lenient().when(loan.getLoanProduct()).thenReturn(loanProduct);
+        lenient().when(loanProduct.getDelinquencyBucket()).thenReturn(delinquencyBucket);
+        lenient().when(loan.getLoanSummary()).thenReturn(loanSummary);
+        lenient().when(loanSummary.getTotalOutstanding()).thenReturn(new BigDecimal("500"));
+        lenient().when(loan.getRepaymentScheduleInstallments()).thenReturn(List.of(paidInstallment, overdueInstallment));
+        lenient().when(paidInstallment.isObligationsMet()).thenReturn(true);
+        lenient().when(overdueInstallment.isObligationsMet()).thenReturn(false);
+        lenient().when(overdueInstallment.getDueDate()).thenReturn(BUSINESS_DATE.minusDays(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void givenLoanWithoutDelinquencyStateThenEvaluationIsDue() {
+        when(loanDelinquencyStateRepository.findByLoanId(1L)).thenReturn(Optional.empty());
+
+        assertTrue(underTest.isLoanDelinquencyEvaluationDue(new LoanScheduleDelinquencyData(1L, null, null, loan), BUSINESS_DATE));
+    }
+
+    @Test
+    public void givenUnchangedLoanBeforeNextEvaluationDateThenEvaluationIsSkipped() {
+        LoanDelinquencyState state = currentState();
+        when(loanDelinquencyStateRepository.findByLoanId(1L)).thenReturn(Optional.of(state));
+
+        assertFalse(underTest.isLoanDelinquencyEvaluationDue(new LoanScheduleDelinquencyData(1L, null, null, loan), BUSINESS_DATE));
+
+        state.setTotalOutstanding(new BigDecimal("600"));
+        assertTrue(underTest.isLoanDelinquencyEvaluationDue(new LoanScheduleDelinquencyData(1L, null, null, loan), BUSINESS_DATE));
+
+        state.setTotalOutstanding(new BigDecimal("500"));
+        assertTrue(underTest.isLoanDelinquencyEvaluationDue(new LoanScheduleDelinquencyData(1L, null, null, loan),
+                BUSINESS_DATE.plusDays(6)));
+    }
+
+    @Test
+    public void givenDelinquentLoanThenNextEvaluationDateIsNextRangeBoundary() {
+        when(loan.getCurrency()).thenReturn(new MonetaryCurrency("USD", 2, null));
+        when(overdueInstallment.getTotalOutstanding(any(MonetaryCurrency.class))).thenReturn(overdueAmount);
+        when(overdueAmount.getAmount()).thenReturn(new BigDecimal("100"));
+        when(loanDelinquencyStateRepository.findByLoanId(1L)).thenReturn(Optional.empty());
+
+        underTest.updateLoanDelinquencyState(new LoanScheduleDelinquencyData(1L, BUSINESS_DATE.minusDays(5), 5L, loan), BUSINESS_DATE,
+                false);
+
+        ArgumentCaptor<LoanDelinquencyState> captor = ArgumentCaptor.forClass(LoanDelinquencyState.class);
+        verify(loanDelinquencyStateRepository).save(captor.capture());
+        LoanDelinquencyState state = captor.getValue();
+        assertEquals(1L, state.getLoanId());
+        assertEquals(7L, state.getDelinquencyBucketId());
+        assertEquals(BUSINESS_DATE.minusDays(5), state.getOldestUnpaidDueDate());
+        assertEquals(0, new BigDecimal("100").compareTo(state.getOverdueAmount()));
+        // 5 days overdue within the 4-10 range, it moves to the 11+ range in 6 days
+        assertEquals(BUSINESS_DATE.plusDays(6), state.getNextEvaluationDate());
+    }
+
+    @Test
+    public void givenLoanChangedByTransactionThenItIsEvaluatedOnNextBusinessDate() {
+        when(loan.getCurrency()).thenReturn(new MonetaryCurrency("USD", 2, null));
+        when(overdueInstallment.getTotalOutstanding(any(MonetaryCurrency.class))).thenReturn(overdueAmount);
+        when(overdueAmount.getAmount()).thenReturn(new BigDecimal("100"));
+        LoanDelinquencyState existing = currentState();
+        when(loanDelinquencyStateRepository.findByLoanId(1L)).thenReturn(Optional.of(existing));
+
+        underTest.updateLoanDelinquencyState(new LoanScheduleDelinquencyData(1L, BUSINESS_DATE.minusDays(5), 5L, loan), BUSINESS_DATE,
+                true);
+
+        verify(loanDelinquencyStateRepository).save(existing);
+        assertEquals(BUSINESS_DATE.plusDays(1), existing.getNextEvaluationDate());
+        assertEquals(BUSINESS_DATE, existing.getLastEvaluatedOnDate());
+    }
+
+    private LoanDelinquencyState currentState() {
+        LoanDelinquencyState state = new LoanDelinquencyState(1L);
+        state.setDelinquencyBucketId(7L);
+        state.setOldestUnpaidDueDate(BUSINESS_DATE.minusDays(5));
+        state.setOverdueDays(4L);
+        state.setOverdueAmount(new BigDecimal("100"));
+        state.setTotalOutstanding(new BigDecimal("500"));
+        state.setLastEvaluatedOnDate(BUSINESS_DATE.minusDays(1));
+        state.setNextEvaluationDate(BUSINESS_DATE.plusDays(6));
+        return state;
+    }
+}
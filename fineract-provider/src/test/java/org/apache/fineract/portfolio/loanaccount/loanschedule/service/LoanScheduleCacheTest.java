@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.loanschedule.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.commands.event.CommandProcessedEvent;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.holiday.domain.Holiday;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+public class LoanScheduleCacheTest {
+
+    private static final JsonElement QUERY = JsonParser.parseString("{\"productId\":1,\"principal\":\"1000\"}");
+
+    private LoanScheduleCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 1))));
+        underTest = new LoanScheduleCache(
+                new ConcurrentMapCacheManager(LoanScheduleCache.INPUTS_CACHE_NAME, LoanScheduleCache.PREVIEWS_CACHE_NAME));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testIdenticalPreviewIsCalculatedOnce() {
+        LoanScheduleData schedule = mock(LoanScheduleData.class);
+        AtomicInteger calculations = new AtomicInteger();
+
+        LoanScheduleData first = underTest.getPreview(QUERY, () -> {
+            calculations.incrementAndGet();
+            return schedule;
+        });
+        LoanScheduleData second = underTest.getPreview(JsonParser.parseString("{\"productId\":1,\"principal\":\"1000\"}"), () -> {
+            calculations.incrementAndGet();
+            return mock(LoanScheduleData.class);
+        });
+
+        assertSame(schedule, first);
+        assertSame(schedule, second);
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void testPreviewIsRecalculatedForOtherTermsBusinessDateAndAfterInvalidation() {
+        AtomicInteger calculations = new AtomicInteger();
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+
+        underTest.getPreview(JsonParser.parseString("{\"productId\":1,\"principal\":\"2000\"}"), () -> countedSchedule(calculations));
+        assertEquals(2, calculations.get());
+
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 1, 2))));
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        assertEquals(3, calculations.get());
+
+        underTest.invalidate();
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        assertEquals(4, calculations.get());
+    }
+
+    @Test
+    public void testCachesAreClearedByCommandsChangingScheduleInputs() {
+        AtomicInteger calculations = new AtomicInteger();
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+
+        underTest.onCommandProcessed(new CommandProcessedEvent(this, "CLIENT", "UPDATE", null));
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        assertEquals(1, calculations.get());
+
+        for (String entityName : List.of("RATE", "CURRENCY", "CONFIGURATION")) {
+            underTest.onCommandProcessed(new CommandProcessedEvent(this, entityName, "UPDATE", null));
+            underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        }
+        assertEquals(4, calculations.get());
+    }
+
+    @Test
+    public void testFailedPreviewIsNotCachedAndRethrown() {
+        assertThrows(PlatformApiDataValidationException.class, () -> underTest.getPreview(QUERY, () -> {
+            throw new PlatformApiDataValidationException(List.of());
+        }));
+
+        LoanScheduleData schedule = mock(LoanScheduleData.class);
+        assertSame(schedule, underTest.getPreview(QUERY, () -> schedule));
+    }
+
+    @Test
+    public void testInputsAreCachedPerOfficeAndDate() {
+        Holiday holiday = mock(Holiday.class);
+        AtomicInteger loads = new AtomicInteger();
+        LocalDate fromDate = LocalDate.of(2024, 1, 1);
+
+        underTest.getHolidays(1L, fromDate, () -> countedHolidays(loads, holiday));
+        List<Holiday> holidays = underTest.getHolidays(1L, fromDate, () -> countedHolidays(loads, holiday));
+        underTest.getHolidays(2L, fromDate, () -> countedHolidays(loads, holiday));
+
+        assertEquals(List.of(holiday), holidays);
+        assertEquals(2, loads.get());
+        assertNull(underTest.getBaseLendingRatePeriods(() -> null));
+        assertNull(underTest.getBaseLendingRatePeriods(() -> List.of()));
+    }
+
+    @Test
+    public void testPreviewIsCalculatedEveryTimeWhenCachesAreNotConfigured() {
+        underTest = new LoanScheduleCache(new ConcurrentMapCacheManager("otherCache"));
+        AtomicInteger calculations = new AtomicInteger();
+
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        underTest.getPreview(QUERY, () -> countedSchedule(calculations));
+        underTest.invalidate();
+
+        assertEquals(2, calculations.get());
+    }
+
+    private static LoanScheduleData countedSchedule(AtomicInteger calculations) {
+        calculations.incrementAndGet();
+        return mock(LoanScheduleData.class);
+    }
+
+    private static List<Holiday> countedHolidays(AtomicInteger loads, Holiday holiday) {
+        loads.incrementAndGet();
+        return List.of(holiday);
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.dataqueries.api.DataTableApiConstant;
+import org.apache.fineract.portfolio.account.service.AccountAssociationsReadPlatformService;
+import org.apache.fineract.portfolio.calendar.service.CalendarReadPlatformService;
+import org.apache.fineract.portfolio.collateralmanagement.service.LoanCollateralManagementReadPlatformService;
+import org.apache.fineract.portfolio.delinquency.service.DelinquencyReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountAssociationsData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanAccountData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanApplicationTimelineData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanChargeData;
+import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
+import org.apache.fineract.portfolio.loanaccount.data.RepaymentScheduleRelatedLoanData;
+import org.apache.fineract.portfolio.loanaccount.guarantor.service.GuarantorReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.data.LoanScheduleData;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleCalculationPlatformService;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleHistoryReadPlatformService;
+import org.apache.fineract.portfolio.note.data.NoteData;
+import org.apache.fineract.portfolio.note.domain.NoteType;
+import org.apache.fineract.portfolio.note.service.NoteReadPlatformService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LoanAccountAssociationsReadPlatformServiceImplTest {
+
+    private static final Long LOAN_ID = 1L;
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanChargeReadPlatformService loanChargeReadPlatformService;
+    @Mock
+    private LoanScheduleCalculationPlatformService calculationPlatformService;
+    @Mock
+    private LoanScheduleHistoryReadPlatformService loanScheduleHistoryReadPlatformService;
+    @Mock
+    private GuarantorReadPlatformService guarantorReadPlatformService;
+    @Mock
+    private LoanCollateralManagementReadPlatformService loanCollateralManagementReadPlatformService;
+    @Mock
+    private CalendarReadPlatformService calendarReadPlatformService;
+    @Mock
+    private NoteReadPlatformService noteReadPlatformService;
+    @Mock
+    private AccountAssociationsReadPlatformService accountAssociationsReadPlatformService;
+    @Mock
+    private DelinquencyReadPlatformService delinquencyReadPlatformService;
+    @Mock
+    private ThreadPoolTaskExecutor loanDetailsTaskExecutor;
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistryProvider;
+    @Mock
+    private LoanAccountData loanBasicDetails;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FineractProperties.FineractLoanDetailsProperties detailsProperties;
+    private LoanAccountAssociationsReadPlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        detailsProperties = new FineractProperties.FineractLoanDetailsProperties();
+        detailsProperties.setParallelEnabled(false);
+        detailsProperties.setThreadPoolSize(4);
+        FineractProperties.FineractLoanProperties loanProperties = new FineractProperties.FineractLoanProperties();
+        loanProperties.setDetails(detailsProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setLoan(loanProperties);
+
+        when(meterRegistryProvider.getIfAvailable(any())).thenReturn(meterRegistry);
+        when(loanBasicDetails.getId()).thenReturn(LOAN_ID);
+
+        underTest = createService(fineractProperties, loanDetailsTaskExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testRequestedAssociationsAreRetrievedAndTimed() {
+        List<LoanTransactionData> transactions = List.of(mock(LoanTransactionData.class));
+        List<LoanChargeData> charges = List.of(mock(LoanChargeData.class));
+        when(loanReadPlatformService.retrieveLoanTransactions(LOAN_ID)).thenReturn(transactions);
+        when(loanChargeReadPlatformService.retrieveLoanCharges(LOAN_ID)).thenReturn(charges);
+        when(guarantorReadPlatformService.retrieveGuarantorsForLoan(LOAN_ID)).thenReturn(List.of());
+        when(noteReadPlatformService.retrieveNotesByResource(LOAN_ID, NoteType.LOAN.getValue())).thenReturn(List.<NoteData>of());
+
+        LoanAccountAssociationsData result = underTest.retrieveAssociations(loanBasicDetails,
+                Set.of(DataTableApiConstant.transactionsAssociateParamName, DataTableApiConstant.chargesAssociateParamName,
+                        DataTableApiConstant.guarantorsAssociateParamName, DataTableApiConstant.notesAssociateParamName));
+
+        assertSame(transactions, result.getCurrentTransactions());
+        assertSame(transactions, result.getTransactions());
+        assertSame(charges, result.getCharges());
+        assertNull(result.getGuarantors());
+        assertNull(result.getNotes());
+        assertNull(result.getRepaymentSchedule());
+        assertEquals(Set.of(DataTableApiConstant.transactionsAssociateParamName, DataTableApiConstant.chargesAssociateParamName,
+                DataTableApiConstant.guarantorsAssociateParamName, DataTableApiConstant.notesAssociateParamName),
+                result.getRetrievedAssociations());
+        assertEquals(1L, meterRegistry.get(LoanAccountAssociationsReadPlatformServiceImpl.METRIC_NAME)
+                .tag("association", DataTableApiConstant.chargesAssociateParamName).timer().count());
+        verify(calendarReadPlatformService, never()).retrieveLoanCalendar(any());
+        verifyNoInteractions(loanDetailsTaskExecutor);
+    }
+
+    @Test
+    public void testFailingAssociationRethrowsOriginalException() {
+        when(loanChargeReadPlatformService.retrieveLoanCharges(LOAN_ID))
+                .thenThrow(new PlatformDataIntegrityException("error.msg.charges", "Charges could not be read"));
+
+        assertThrows(PlatformDataIntegrityException.class,
+                () -> underTest.retrieveAssociations(loanBasicDetails, Set.of(DataTableApiConstant.chargesAssociateParamName)));
+    }
+
+    @Test
+    public void testParallelRetrievalOnExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setThreadNamePrefix("loan-details-test-");
+        executor.initialize();
+        try {
+            detailsProperties.setParallelEnabled(true);
+            FineractProperties fineractProperties = new FineractProperties();
+            fineractProperties.setLoan(new FineractProperties.FineractLoanProperties());
+            fineractProperties.getLoan().setDetails(detailsProperties);
+            LoanAccountAssociationsReadPlatformServiceImpl parallel = createService(fineractProperties, executor);
+
+            FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+            ThreadLocalContextUtil.setTenant(tenant);
+            ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now())));
+            TestingAuthenticationToken authentication = new TestingAuthenticationToken("mifos", "password");
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // the tenant and the user of the request are visible to the reads on the worker threads
+            Map<String, Object> workerContext = new ConcurrentHashMap<>();
+            List<LoanChargeData> charges = List.of(mock(LoanChargeData.class));
+            when(loanChargeReadPlatformService.retrieveLoanCharges(LOAN_ID)).thenAnswer(invocation -> {
+                workerContext.put("thread", Thread.currentThread().getName());
+                workerContext.put("tenant", ThreadLocalContextUtil.getTenant());
+                workerContext.put("authentication", SecurityContextHolder.getContext().getAuthentication());
+                return charges;
+            });
+            // the repayment schedule is read with the disbursement details read before it
+            List<DisbursementData> disbursements = List.of(mock(DisbursementData.class));
+            LoanScheduleData schedule = mock(LoanScheduleData.class);
+            LoanApplicationTimelineData timeline = mock(LoanApplicationTimelineData.class);
+            RepaymentScheduleRelatedLoanData scheduleRelatedData = mock(RepaymentScheduleRelatedLoanData.class);
+            when(loanBasicDetails.getTimeline()).thenReturn(timeline);
+            when(timeline.repaymentScheduleRelatedData(any(), any(), any(), any(), any())).thenReturn(scheduleRelatedData);
+            when(loanReadPlatformService.retrieveLoanDisbursementDetails(LOAN_ID)).thenReturn(disbursements);
+            when(loanReadPlatformService.retrieveRepaymentSchedule(eq(LOAN_ID), eq(scheduleRelatedData), eq(disbursements), eq(false),
+                    any())).thenReturn(schedule);
+
+            LoanAccountAssociationsData result = parallel.retrieveAssociations(loanBasicDetails,
+                    Set.of(DataTableApiConstant.chargesAssociateParamName, DataTableApiConstant.repaymentScheduleAssociateParamName));
+
+            assertSame(charges, result.getCharges());
+            assertSame(disbursements, result.getDisbursementData());
+            assertSame(schedule, result.getRepaymentSchedule());
+            assertTrue(((String) workerContext.get("thread")).startsWith("loan-details-test-"));
+            assertSame(tenant, workerContext.get("tenant"));
+            assertSame(authentication, workerContext.get("authentication"));
+
+            // a failure on a worker thread is rethrown as it was raised, not wrapped in a CompletionException
+            when(loanChargeReadPlatformService.retrieveLoanCharges(LOAN_ID))
+                    .thenThrow(new PlatformDataIntegrityException("error.msg.charges", "Charges could not be read"));
+            assertThrows(PlatformDataIntegrityException.class,
+                    () -> parallel.retrieveAssociations(loanBasicDetails, Set.of(DataTableApiConstant.chargesAssociateParamName)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private LoanAccountAssociationsReadPlatformServiceImpl createService(FineractProperties fineractProperties,
+            ThreadPoolTaskExecutor executor) {
+        return new LoanAccountAssociationsReadPlatformServiceImpl(loanReadPlatformService, loanChargeReadPlatformService,
+                calculationPlatformService, loanScheduleHistoryReadPlatformService, guarantorReadPlatformService,
+                loanCollateralManagementReadPlatformService, calendarReadPlatformService, noteReadPlatformService,
+                accountAssociationsReadPlatformService, delinquencyReadPlatformService, fineractProperties, executor,
+                meterRegistryProvider);
+    }
+}
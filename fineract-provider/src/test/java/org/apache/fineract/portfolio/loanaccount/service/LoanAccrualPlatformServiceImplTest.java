@@ -0,0 +1,143 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.loanaccount.data.LoanScheduleAccrualData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanAccrualPlatformServiceImplTest {
+
+    private static final LocalDate TILL_DATE = LocalDate.of(2023, 6, 30);
+
+    @Mock
+    private LoanReadPlatformService loanReadPlatformService;
+    @Mock
+    private LoanAccrualWritePlatformService loanAccrualWritePlatformService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoanAccrualPlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        FineractProperties.FineractLoanAccrualProperties accrualProperties = new FineractProperties.FineractLoanAccrualProperties();
+        accrualProperties.setChunkSize(2);
+        FineractProperties.FineractLoanProperties loanProperties = new FineractProperties.FineractLoanProperties();
+        loanProperties.setAccrual(accrualProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setLoan(loanProperties);
+        underTest = new LoanAccrualPlatformServiceImpl(loanReadPlatformService, loanAccrualWritePlatformService, fineractProperties,
+                transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLoansAreAccruedInChunks() throws Exception {
+        underTest.addPeriodicAccruals(TILL_DATE, accrualData(1L, 1L, 2L, 3L, 4L, 5L));
+
+        ArgumentCaptor<Map<Long, Collection<LoanScheduleAccrualData>>> chunks = ArgumentCaptor.forClass(Map.class);
+        verify(loanAccrualWritePlatformService, times(2)).addPeriodicAccruals(eq(TILL_DATE), chunks.capture());
+        assertEquals(List.of(1L, 2L), new ArrayList<>(chunks.getAllValues().get(0).keySet()));
+        assertEquals(2, chunks.getAllValues().get(0).get(1L).size());
+        assertEquals(List.of(3L, 4L), new ArrayList<>(chunks.getAllValues().get(1).keySet()));
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(5L), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    public void testFailedChunkIsRetriedLoanByLoan() throws Exception {
+        doThrow(new IllegalStateException("chunk")).when(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), anyMap());
+        doAnswer(invocation -> {
+            if (invocation.getArgument(1, Long.class) == 2L) {
+                throw new IllegalStateException("loan");
+            }
+            return null;
+        }).when(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), any(Long.class), any());
+
+        JobExecutionException exception = assertThrows(JobExecutionException.class,
+                () -> underTest.addPeriodicAccruals(TILL_DATE, accrualData(1L, 2L)));
+
+        assertEquals(1, exception.getCauses().size());
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(1L), any());
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(2L), any());
+        verify(loanAccrualWritePlatformService, never()).addPeriodicAccruals(eq(TILL_DATE), eq(3L), any());
+    }
+
+    @Test
+    public void testFailedChunkOfJobIsRolledBackInItsOwnTransaction() throws Exception {
+        List<LoanScheduleAccrualData> accrualData = accrualData(1L, 2L, 3L);
+        when(loanReadPlatformService.retrievePeriodicAccrualData(TILL_DATE)).thenReturn(accrualData);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doThrow(new IllegalStateException("chunk")).when(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), anyMap());
+
+        underTest.addPeriodicAccruals(TILL_DATE);
+
+        // the failed chunk, then loans 1 and 2 retried one by one and the last chunk holding loan 3
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(4)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach(definition -> assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW,
+                definition.getPropagationBehavior()));
+        verify(transactionManager, times(1)).rollback(any(TransactionStatus.class));
+        verify(transactionManager, times(3)).commit(any(TransactionStatus.class));
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(1L), any());
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(2L), any());
+        verify(loanAccrualWritePlatformService).addPeriodicAccruals(eq(TILL_DATE), eq(3L), any());
+    }
+
+    private List<LoanScheduleAccrualData> accrualData(Long... loanIds) {
+        List<LoanScheduleAccrualData> accrualData = new ArrayList<>();
+        for (Long loanId : loanIds) {
+            LoanScheduleAccrualData data = mock(LoanScheduleAccrualData.class);
+            when(data.getLoanId()).thenReturn(loanId);
+            accrualData.add(data);
+        }
+        return accrualData;
+    }
+}
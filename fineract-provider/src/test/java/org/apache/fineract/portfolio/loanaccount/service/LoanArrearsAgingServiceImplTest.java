@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.loan.transaction.LoanTransactionMakeRepaymentPostBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanArrearsAgingServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private EntityManager entityManager;
+
+    private BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent> repaymentListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        lenient().when(sqlGenerator.currentBusinessDate()).thenReturn("CURRENT_DATE");
+        lenient().when(sqlGenerator.subDate(any(), any(), any())).thenReturn("CURRENT_DATE");
+        lenient().when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class))).thenReturn(List.of());
+
+        LoanArrearsAgingServiceImpl underTest = new LoanArrearsAgingServiceImpl(jdbcTemplate, businessEventNotifierService, sqlGenerator,
+                entityManager);
+        underTest.registerForNotification();
+        ArgumentCaptor<BusinessEventListener<LoanTransactionMakeRepaymentPostBusinessEvent>> listenerCaptor = ArgumentCaptor
+                .forClass(BusinessEventListener.class);
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(LoanTransactionMakeRepaymentPostBusinessEvent.class),
+                listenerCaptor.capture());
+        repaymentListener = listenerCaptor.getValue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testArrearsAreWrittenOnceBeforeCommitForAllChangedLoans() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        repaymentListener.onBusinessEvent(repaymentOf(1L));
+        repaymentListener.onBusinessEvent(repaymentOf(2L));
+        repaymentListener.onBusinessEvent(repaymentOf(1L));
+
+        verifyNoInteractions(jdbcTemplate, entityManager);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // A single delete and a single insert for both loans, within the transaction
+        verify(entityManager).flush();
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    public void testPendingArrearsAreWrittenWhenTheTransactionIsFlushed() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        repaymentListener.onBusinessEvent(repaymentOf(1L));
+        // e.g. before an external event is serialized
+        TransactionSynchronizationUtils.triggerFlush();
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+
+        // only the loans changed after the flush are written again on commit
+        repaymentListener.onBusinessEvent(repaymentOf(2L));
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        verify(entityManager, times(2)).flush();
+        verify(jdbcTemplate, times(4)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    public void testArrearsAreWrittenImmediatelyWithoutTransaction() {
+        repaymentListener.onBusinessEvent(repaymentOf(1L));
+
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+        verifyNoInteractions(entityManager);
+    }
+
+    private LoanTransactionMakeRepaymentPostBusinessEvent repaymentOf(Long loanId) {
+        Loan loan = Mockito.mock(Loan.class);
+        when(loan.getId()).thenReturn(loanId);
+        LoanTransaction loanTransaction = Mockito.mock(LoanTransaction.class);
+        when(loanTransaction.getLoan()).thenReturn(loan);
+        return new LoanTransactionMakeRepaymentPostBusinessEvent(loanTransaction);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.apache.fineract.accounting.journalentry.service.JournalEntryWritePlatformService;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrencyRepositoryWrapper;
+import org.apache.fineract.portfolio.note.domain.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SavingsAccountDomainServiceJpaTest {
+
+    @Mock
+    private SavingsAccountRepositoryWrapper savingsAccountRepository;
+    @Mock
+    private SavingsAccountTransactionRepository savingsAccountTransactionRepository;
+    @Mock
+    private ApplicationCurrencyRepositoryWrapper applicationCurrencyRepositoryWrapper;
+    @Mock
+    private JournalEntryWritePlatformService journalEntryWritePlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private DepositAccountOnHoldTransactionRepository depositAccountOnHoldTransactionRepository;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private SavingsAccountPendingCreditRepository savingsAccountPendingCreditRepository;
+    @Mock
+    private NoteRepository noteRepository;
+    @Mock
+    private SavingsAccount account;
+
+    private SavingsAccountDomainServiceJpa underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new SavingsAccountDomainServiceJpa(savingsAccountRepository, savingsAccountTransactionRepository,
+                applicationCurrencyRepositoryWrapper, journalEntryWritePlatformService, configurationDomainService, context,
+                depositAccountOnHoldTransactionRepository, businessEventNotifierService, savingsAccountPendingCreditRepository,
+                noteRepository);
+    }
+
+    @Test
+    public void testPendingCreditsOfRegularAccountAreNotLoaded() {
+        when(account.isHotAccount()).thenReturn(false);
+
+        assertEquals(0, underTest.foldPendingCredits(account, false));
+        verifyNoInteractions(savingsAccountPendingCreditRepository);
+    }
+
+    @Test
+    public void testHotAccountWithoutPendingCreditsIsLeftUntouched() {
+        when(account.isHotAccount()).thenReturn(true);
+        when(account.getId()).thenReturn(1L);
+        when(savingsAccountPendingCreditRepository.findBySavingsAccountIdOrderByIdAsc(1L)).thenReturn(List.of());
+
+        assertEquals(0, underTest.foldPendingCredits(account, false));
+        verify(savingsAccountPendingCreditRepository).deleteAllInBatch(List.of());
+        verifyNoInteractions(savingsAccountRepository, journalEntryWritePlatformService, noteRepository);
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.BDDMockito.given;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SavingsAccountTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+
+    private SavingsAccount account;
+    private long nextTransactionId;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2023, 2, 1))));
+        ConfigurationDomainService configurationDomainService = Mockito.mock(ConfigurationDomainService.class);
+        given(configurationDomainService.getRoundingMode()).willReturn(6);
+        MoneyHelper moneyHelper = new MoneyHelper();
+        ReflectionTestUtils.setField(moneyHelper, "configurationDomainService", configurationDomainService);
+        moneyHelper.initialize();
+
+        account = new SavingsAccount();
+        account.currency = CURRENCY;
+        account.summary = new SavingsAccountSummary();
+        nextTransactionId = 1L;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testBackdatedWithdrawalIsCheckedAgainstTheLaterTransactions() {
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(100), null));
+        persisted(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(80), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(5), money(50), null));
+
+        // the balance is fine on the 5th, but the persisted withdrawal of the 10th would overdraw the account
+        assertThrows(InsufficientAccountBalanceException.class, this::validate);
+    }
+
+    @Test
+    public void testWithdrawalAfterTheLastTransactionUsesTheirBalance() {
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(100), null));
+        persisted(SavingsAccountTransaction.withdrawal(account, null, null, date(5), money(30), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(70), null));
+
+        assertDoesNotThrow(() -> validate());
+
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(11), money(1), null));
+        assertThrows(InsufficientAccountBalanceException.class, this::validate);
+    }
+
+    @Test
+    public void testHoldPlacedBeforeTheReplayedTransactionsIsEnforced() {
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(100), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(70), null));
+
+        // the hold of the 3rd is only released on the 12th, after the withdrawal
+        assertThrows(InsufficientAccountBalanceException.class,
+                () -> validate(DepositAccountOnHoldTransaction.release(account, new BigDecimal("40"), date(12)),
+                        DepositAccountOnHoldTransaction.hold(account, new BigDecimal("40"), date(3))));
+    }
+
+    @Test
+    public void testHoldReleasedBeforeTheWithdrawalIsNotEnforced() {
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(100), null));
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(4), money(10), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(15), money(100), null));
+
+        // the hold spans the last persisted transaction and is released before the withdrawal
+        assertDoesNotThrow(() -> validate(DepositAccountOnHoldTransaction.hold(account, new BigDecimal("40"), date(3)),
+                DepositAccountOnHoldTransaction.release(account, new BigDecimal("40"), date(12))));
+    }
+
+    @Test
+    public void testMinRequiredBalanceIsEnforced() {
+        ReflectionTestUtils.setField(account, "enforceMinRequiredBalance", true);
+        ReflectionTestUtils.setField(account, "minRequiredBalance", new BigDecimal("50"));
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(100), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(50), null));
+
+        assertDoesNotThrow(() -> validate());
+
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(1), null));
+        assertThrows(InsufficientAccountBalanceException.class, this::validate);
+    }
+
+    @Test
+    public void testOverdraftLimitIsEnforced() {
+        ReflectionTestUtils.setField(account, "allowOverdraft", true);
+        ReflectionTestUtils.setField(account, "overdraftLimit", new BigDecimal("100"));
+        persisted(SavingsAccountTransaction.deposit(account, null, null, date(1), money(50), null));
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(150), null));
+
+        assertDoesNotThrow(() -> validate());
+
+        account.transactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(1), null));
+        assertThrows(InsufficientAccountBalanceException.class, this::validate);
+    }
+
+    @Test
+    public void testTransactionsAfterThePivotDateStartFromItsRunningBalance() {
+        account.summary.setRunningBalanceOnPivotDate(new BigDecimal("100"));
+        account.savingsAccountTransactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(100), null));
+
+        assertDoesNotThrow(() -> account.validateAccountBalanceDoesNotBecomeNegative(BigDecimal.TEN, false, List.of(), true));
+
+        account.savingsAccountTransactions.add(SavingsAccountTransaction.withdrawal(account, null, null, date(10), money(1), null));
+        assertThrows(InsufficientAccountBalanceException.class,
+                () -> account.validateAccountBalanceDoesNotBecomeNegative(BigDecimal.TEN, false, List.of(), true));
+    }
+
+    private void validate(DepositAccountOnHoldTransaction... onHoldTransactions) {
+        account.validateAccountBalanceDoesNotBecomeNegative(BigDecimal.TEN, false, List.of(onHoldTransactions), false);
+    }
+
+    private void persisted(SavingsAccountTransaction transaction) {
+        transaction.setId(nextTransactionId++);
+        account.transactions.add(transaction);
+    }
+
+    private static LocalDate date(int dayOfMonth) {
+        return LocalDate.of(2023, 1, dayOfMonth);
+    }
+
+    private static Money money(int amount) {
+        return Money.of(CURRENCY, new BigDecimal(amount));
+    }
+}
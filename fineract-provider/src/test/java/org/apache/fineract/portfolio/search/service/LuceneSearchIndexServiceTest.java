@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.data.SearchIndexDocument;
+import org.apache.fineract.portfolio.search.data.SearchIndexEntityType;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LuceneSearchIndexServiceTest {
+
+    private static final String HEAD_OFFICE = ".";
+    private static final String BRANCH_OFFICE = ".2.";
+
+    @TempDir
+    private Path indexDirectory;
+    @Mock
+    private SearchIndexDocumentReader searchIndexDocumentReader;
+
+    private LuceneSearchIndexService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+
+        FineractProperties.FineractSearchIndexProperties indexProperties = new FineractProperties.FineractSearchIndexProperties();
+        indexProperties.setBackend("lucene");
+        indexProperties.setLuceneDirectory(indexDirectory.toString());
+        FineractProperties.FineractSearchProperties searchProperties = new FineractProperties.FineractSearchProperties();
+        searchProperties.setIndex(indexProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setSearch(searchProperties);
+
+        underTest = new LuceneSearchIndexService(fineractProperties, searchIndexDocumentReader);
+        underTest.index(List.of(client(1L, "John Smith", "000000001", "EXT-1001", ".1."),
+                client(2L, "Jane Doe", "000000002", "EXT-1002", BRANCH_OFFICE), loan(3L, "000000003", ".1.")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPrefixMatchOnAccountNumber() {
+        assertEquals(List.of(3L), entityIds(search("000000003", "loans", false, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testInfixMatchOnExternalId() {
+        assertEquals(List.of(1L), entityIds(search("1001", null, false, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testFuzzyMatchOnClientName() {
+        assertEquals(List.of(1L), entityIds(search("jonh", "clients", false, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testExactMatchRequiresTheWholeValue() {
+        assertTrue(search("ext-100", "clients", true, HEAD_OFFICE).isEmpty());
+        assertEquals(List.of(2L), entityIds(search("EXT-1002", "clients", true, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testResultsAreScopedToTheOfficeHierarchy() {
+        assertEquals(List.of(2L), entityIds(search("ext-100", "clients", false, BRANCH_OFFICE)));
+    }
+
+    @Test
+    public void testReindexReplacesTheIndexContent() {
+        when(searchIndexDocumentReader.readBatch(any(SearchIndexEntityType.class), anyLong(), anyInt())).thenReturn(List.of());
+        when(searchIndexDocumentReader.readBatch(SearchIndexEntityType.CLIENT, 0L, 1000))
+                .thenReturn(List.of(client(4L, "Mary Major", "000000004", null, HEAD_OFFICE)));
+
+        underTest.reindex();
+
+        assertTrue(search("john", "clients", false, HEAD_OFFICE).isEmpty());
+        assertEquals(List.of(4L), entityIds(search("mary", "clients", false, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testIndexUpdatesAreCommitted() throws IOException {
+        try (Directory directory = FSDirectory.open(indexDirectory.resolve("default"));
+                DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(3, reader.numDocs());
+        }
+    }
+
+    @Test
+    public void testRemovedEntitiesAreNoLongerFound() {
+        underTest.remove(SearchIndexEntityType.CLIENT, List.of(1L));
+
+        assertTrue(search("1001", null, false, HEAD_OFFICE).isEmpty());
+        assertEquals(List.of(2L), entityIds(search("ext-100", "clients", false, HEAD_OFFICE)));
+    }
+
+    @Test
+    public void testReindexKeepsEntitiesUpdatedWhileItRuns() {
+        when(searchIndexDocumentReader.readBatch(any(SearchIndexEntityType.class), anyLong(), anyInt())).thenReturn(List.of());
+        when(searchIndexDocumentReader.readBatch(SearchIndexEntityType.CLIENT, 0L, 1000)).thenAnswer(invocation -> {
+            underTest.index(List.of(client(1L, "Richard Roe", "000000001", "EXT-1001", ".1.")));
+            return List.of(client(1L, "John Smith", "000000001", "EXT-1001", ".1."));
+        });
+
+        underTest.reindex();
+
+        assertTrue(search("smith", "clients", false, HEAD_OFFICE).isEmpty());
+        assertEquals(List.of(1L), entityIds(search("richard", "clients", false, HEAD_OFFICE)));
+        assertEquals(List.of(1L), entityIds(search("ext-100", "clients", false, HEAD_OFFICE)));
+    }
+
+    private Collection<SearchData> search(String query, String resource, boolean exactMatch, String hierarchy) {
+        return underTest.search(new SearchConditions(query, resource, exactMatch), hierarchy, 50);
+    }
+
+    private static List<Long> entityIds(Collection<SearchData> result) {
+        return result.stream().map(SearchData::getEntityId).sorted().collect(Collectors.toList());
+    }
+
+    private static SearchIndexDocument client(Long id, String name, String accountNo, String externalId, String hierarchy) {
+        return new SearchIndexDocument(SearchIndexEntityType.CLIENT, "CLIENT", id, name, externalId, accountNo, 1L, "Head Office",
+                "OFFICE", null, 300, null, hierarchy);
+    }
+
+    private static SearchIndexDocument loan(Long id, String accountNo, String hierarchy) {
+        return new SearchIndexDocument(SearchIndexEntityType.LOAN, "LOAN", id, "Personal Loan", null, accountNo, 1L, "John Smith",
+                "client", null, 300, null, hierarchy);
+    }
+}
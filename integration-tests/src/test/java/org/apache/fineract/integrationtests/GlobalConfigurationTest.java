@@ -119,6 +119,12 @@ public class GlobalConfigurationTest {
         ArrayList<HashMap> isCacheGlobalConfig = GlobalConfigurationHelper.getGlobalConfigurationIsCacheEnabled(this.requestSpec,
                 this.responseSpec);
         Assertions.assertNotNull(isCacheGlobalConfig);
+        Integer enabledCacheTypeId = null;
+        for (HashMap cacheConfig : isCacheGlobalConfig) {
+            if (Boolean.TRUE.equals(cacheConfig.get("enabled"))) {
+                enabledCacheTypeId = (Integer) ((HashMap) cacheConfig.get("cacheType")).get("id");
+            }
+        }
 
         for (Integer cacheType = 0; cacheType <= isCacheGlobalConfig.size() - 1; cacheType++) {
 
@@ -141,6 +147,11 @@ public class GlobalConfigurationTest {
                     cacheTypeId.toString());
             Assertions.assertEquals(cacheTypeId, changes.get("cacheType"), "Verifying Is Cache Enabled Global Config after Updation");
         }
+
+        if (enabledCacheTypeId != null) {
+            GlobalConfigurationHelper.updateIsCacheEnabledForGlobalConfiguration(this.requestSpec, this.responseSpec,
+                    enabledCacheTypeId.toString());
+        }
     }
 
     @Test